@@ -67,7 +67,7 @@ public class CommandLeave extends Command {
 
         SharedPlayerFallbackFilter.filterFallback(
                 proxiedPlayer.getUniqueId(),
-                ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProxyServerController.class).getCachedLobbyServers(),
+                ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProxyServerController.class).getFallbackCandidates(),
                 proxiedPlayer::hasPermission,
                 BungeeFallbackExtraFilter.INSTANCE,
                 proxiedPlayer.getServer().getInfo().getName()
@@ -73,7 +73,7 @@ public class CommandLeave implements Command {
 
         SharedPlayerFallbackFilter.filterFallback(
                 player.getUniqueId(),
-                ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProxyServerController.class).getCachedLobbyServers(),
+                ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProxyServerController.class).getFallbackCandidates(),
                 player::hasPermission,
                 VelocityFallbackExtraFilter.INSTANCE,
                 null // ignored because we are sure the player is not on a lobby
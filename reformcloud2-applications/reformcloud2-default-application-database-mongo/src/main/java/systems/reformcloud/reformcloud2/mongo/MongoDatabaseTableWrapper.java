@@ -56,9 +56,9 @@ public class MongoDatabaseTableWrapper implements DatabaseTableWrapper {
         Optional<JsonConfiguration> configuration = this.get(key, id);
         newData.add("_key", key).add("_identifier", id);
         if (configuration.isPresent()) {
-            this.collection.updateOne(Filters.eq("_key", key), new JsonConfiguration().getGson().fromJson(newData.toPrettyString(), Document.class));
+            this.collection.updateOne(Filters.eq("_key", key), new JsonConfiguration().getGson().fromJson(newData.toCompactString(), Document.class));
         } else {
-            this.collection.insertOne(new JsonConfiguration().getGson().fromJson(newData.toPrettyString(), Document.class));
+            this.collection.insertOne(new JsonConfiguration().getGson().fromJson(newData.toCompactString(), Document.class));
         }
     }
 
@@ -26,28 +26,30 @@ package systems.reformcloud.reformcloud2.mysql;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
-import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import systems.reformcloud.reformcloud2.mysql.config.MySQLDatabaseConfig;
 import systems.reformcloud.reformcloud2.node.database.sql.AbstractSQLDatabaseProvider;
-import systems.reformcloud.reformcloud2.node.database.util.SQLFunction;
+import systems.reformcloud.reformcloud2.node.database.sql.SQLDialect;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class MySQLDatabaseProvider extends AbstractSQLDatabaseProvider {
 
     private static final String CONNECT_ARGUMENTS = "jdbc:mysql://%s:%d/%s?serverTimezone=UTC";
+    private static final int MAX_POOL_SIZE = 10;
 
     public MySQLDatabaseProvider(@NotNull MySQLDatabaseConfig config) {
+        // the connections are pooled by hikari, pooling them again in the provider is not needed
+        super();
+
         HikariConfig hikariConfig = new HikariConfig();
 
         hikariConfig.setJdbcUrl(String.format(CONNECT_ARGUMENTS, config.getHost(), config.getPort(), config.getDatabase()));
         hikariConfig.setDriverClassName("com.mysql.cj.jdbc.Driver");
         hikariConfig.setUsername(config.getUserName());
         hikariConfig.setPassword(config.getPassword());
+        hikariConfig.setMaximumPoolSize(MAX_POOL_SIZE);
 
         hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
         hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
@@ -65,50 +67,21 @@ public class MySQLDatabaseProvider extends AbstractSQLDatabaseProvider {
 
     private final HikariDataSource hikariDataSource;
 
+    @Override
     public void close() {
+        super.close();
         this.hikariDataSource.close();
     }
 
+    @NotNull
     @Override
-    public void executeUpdate(@NotNull String query, @NonNls Object... objects) {
-        try (Connection connection = this.hikariDataSource.getConnection(); PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            int i = 1;
-            for (Object object : objects) {
-                if (object instanceof byte[]) {
-                    preparedStatement.setBytes(i++, (byte[]) object);
-                } else {
-                    preparedStatement.setString(i++, object.toString());
-                }
-            }
-
-            preparedStatement.executeUpdate();
-        } catch (SQLException exception) {
-            exception.printStackTrace();
-        }
+    public SQLDialect getDialect() {
+        return SQLDialect.MYSQL;
     }
 
-    @Override
     @NotNull
-    public <T> T executeQuery(@NotNull String query, SQLFunction<ResultSet, T> function, @NotNull T defaultValue, @NonNls Object... objects) {
-        try (Connection connection = this.hikariDataSource.getConnection(); PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            int i = 1;
-            for (Object object : objects) {
-                if (object instanceof byte[]) {
-                    preparedStatement.setBytes(i++, (byte[]) object);
-                } else {
-                    preparedStatement.setString(i++, object.toString());
-                }
-            }
-
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                return function.apply(resultSet);
-            } catch (Throwable throwable) {
-                return defaultValue;
-            }
-        } catch (SQLException exception) {
-            exception.printStackTrace();
-        }
-
-        return defaultValue;
+    @Override
+    protected Connection createConnection() throws SQLException {
+        return this.hikariDataSource.getConnection();
     }
 }
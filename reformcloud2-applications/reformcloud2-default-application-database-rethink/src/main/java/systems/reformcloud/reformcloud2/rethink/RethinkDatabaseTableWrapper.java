@@ -149,6 +149,6 @@ public class RethinkDatabaseTableWrapper implements DatabaseTableWrapper {
     }
 
     private MapObject<Object, Object> asMap(String key, String id, JsonConfiguration data) {
-        return this.asMap(key, id).with("values", data.toPrettyString());
+        return this.asMap(key, id).with("values", data.toCompactString());
     }
 }
@@ -31,6 +31,7 @@ import org.jetbrains.annotations.UnmodifiableView;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.base.Conditions;
 import systems.reformcloud.reformcloud2.executor.api.event.EventManager;
+import systems.reformcloud.reformcloud2.permissions.checks.EffectivePermissions;
 import systems.reformcloud.reformcloud2.permissions.defaults.DefaultPermissionManagement;
 import systems.reformcloud.reformcloud2.permissions.events.system.PermissionManagerSetupEvent;
 import systems.reformcloud.reformcloud2.permissions.nodes.NodeGroup;
@@ -167,6 +168,19 @@ public abstract class PermissionManagement {
      */
     public abstract boolean hasPermission(@NotNull PermissionGroup group, @NotNull String permission);
 
+    /**
+     * Gets the compiled permissions of a permission user including all permissions of the user, the groups
+     * of the user and their sub groups. The result is cached until the user or a group gets updated or
+     * another instance of the user is passed.
+     *
+     * @param permissionUser The user to get the permissions of
+     * @return The compiled permissions of the user
+     * @see PermissionUser#hasPermission(String)
+     */
+    @NotNull
+    @ApiStatus.Internal
+    public abstract EffectivePermissions getEffectivePermissions(@NotNull PermissionUser permissionUser);
+
     /**
      * Loads a specific permission user or creates a new one
      *
@@ -0,0 +1,333 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.permissions.checks;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.permissions.nodes.NodeGroup;
+import systems.reformcloud.reformcloud2.permissions.nodes.PermissionNode;
+import systems.reformcloud.reformcloud2.permissions.objects.group.PermissionGroup;
+import systems.reformcloud.reformcloud2.permissions.objects.user.PermissionUser;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * The permissions of a user compiled from the user itself, all of its groups and their sub groups.
+ * <p>
+ * Every rule gets the position at which the {@link GeneralCheck} and {@link WildcardCheck} walk would have
+ * reached it, the rule with the lowest position which matches a permission decides. Exact permissions
+ * are looked up in a hash map, wildcard permissions are stored in a prefix trie which is walked along
+ * the checked permission.
+ */
+public final class EffectivePermissions {
+
+    private final PermissionUser source;
+    private final Map<String, Rule> exact;
+    private final TrieNode wildcards;
+    private final long validUntil;
+
+    private EffectivePermissions(PermissionUser source, Map<String, Rule> exact, TrieNode wildcards, long validUntil) {
+        this.source = source;
+        this.exact = exact;
+        this.wildcards = wildcards;
+        this.validUntil = validUntil;
+    }
+
+    /**
+     * Compiles the permissions of the given user.
+     *
+     * @param permissionUser The user to compile the permissions of
+     * @param groupLookup    The function to get a permission group by its name
+     * @param processGroup   The name of the process group to include the per group permissions of
+     * @return The compiled permissions of the user
+     */
+    @NotNull
+    public static EffectivePermissions compile(@NotNull PermissionUser permissionUser,
+                                               @NotNull Function<String, PermissionGroup> groupLookup,
+                                               @Nullable String processGroup) {
+        Compiler compiler = new Compiler(processGroup);
+        compiler.addGeneralUser(permissionUser.getPermissionNodes(), permissionUser.getPerGroupPermissions());
+        compiler.addWildcards(permissionUser.getPermissionNodes(), permissionUser.getPerGroupPermissions());
+
+        Set<String> visited = new HashSet<>();
+        for (NodeGroup nodeGroup : permissionUser.getGroups()) {
+            if (!nodeGroup.isValid()) {
+                continue;
+            }
+
+            compiler.expireAt(nodeGroup.getTimeout());
+            PermissionGroup permissionGroup = groupLookup.apply(nodeGroup.getGroupName());
+            if (permissionGroup != null) {
+                compiler.addGroup(permissionGroup, groupLookup, visited);
+            }
+        }
+
+        return new EffectivePermissions(permissionUser, compiler.exact, compiler.wildcards.freeze(), compiler.validUntil);
+    }
+
+    /**
+     * @param permission The lower cased permission to check
+     * @return If the permission is granted
+     */
+    public boolean hasPermission(@NotNull String permission) {
+        Rule best = this.exact.get(permission);
+
+        TrieNode node = this.wildcards;
+        for (int i = 0; node != null; i++) {
+            if (node.rule != null && (best == null || node.rule.position < best.position)) {
+                best = node.rule;
+            }
+
+            node = i < permission.length() ? node.child(permission.charAt(i)) : null;
+        }
+
+        return best != null && best.value;
+    }
+
+    /**
+     * @param permissionUser The user to check
+     * @return If the permissions were compiled from the given user instance
+     */
+    public boolean isCompiledFrom(@NotNull PermissionUser permissionUser) {
+        return this.source == permissionUser;
+    }
+
+    /**
+     * @return If a permission node or group of the user timed out since the permissions were compiled
+     */
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= this.validUntil;
+    }
+
+    private static final class Rule {
+
+        private final int position;
+        private final boolean value;
+
+        private Rule(int position, boolean value) {
+            this.position = position;
+            this.value = value;
+        }
+    }
+
+    private static final class Compiler {
+
+        private final String processGroup;
+        private final Map<String, Rule> exact = new HashMap<>();
+        private final MutableTrieNode wildcards = new MutableTrieNode();
+
+        private int position;
+        private long validUntil = Long.MAX_VALUE;
+
+        private Compiler(String processGroup) {
+            this.processGroup = processGroup;
+        }
+
+        // see GeneralCheck#hasPermission(PermissionUser, String), a denied star permission is ignored for users
+        private void addGeneralUser(Collection<PermissionNode> nodes, Map<String, Collection<PermissionNode>> perGroupNodes) {
+            Collection<PermissionNode> groupNodes = this.getGroupNodes(perGroupNodes);
+            if (hasPositive(nodes, "*")) {
+                this.addWildcard("", true);
+            } else {
+                PermissionNode star = findFirst(groupNodes, "*");
+                if (star != null && star.isSet()) {
+                    this.addWildcard("", true);
+                }
+            }
+
+            this.addExact(nodes, groupNodes);
+        }
+
+        // see GeneralCheck#hasPermission(PermissionGroup, String)
+        private void addGeneralGroup(Collection<PermissionNode> nodes, Map<String, Collection<PermissionNode>> perGroupNodes) {
+            Collection<PermissionNode> groupNodes = this.getGroupNodes(perGroupNodes);
+            if (hasPositive(nodes, "*")) {
+                this.addWildcard("", true);
+            } else {
+                PermissionNode star = findFirst(groupNodes, "*");
+                if (star != null) {
+                    this.addWildcard("", star.isSet());
+                }
+            }
+
+            this.addExact(nodes, groupNodes);
+        }
+
+        private void addExact(Collection<PermissionNode> nodes, Collection<PermissionNode> groupNodes) {
+            // any positive node grants the permission, the position is the same for all of them
+            int positive = this.position++;
+            for (PermissionNode node : nodes) {
+                if (node.isSet()) {
+                    this.exact.putIfAbsent(node.getActualPermission().toLowerCase(), new Rule(positive, true));
+                }
+            }
+
+            if (groupNodes != null) {
+                for (PermissionNode node : groupNodes) {
+                    this.exact.putIfAbsent(node.getActualPermission().toLowerCase(), new Rule(this.position++, node.isSet()));
+                }
+            }
+        }
+
+        // see WildcardCheck
+        private void addWildcards(Collection<PermissionNode> nodes, Map<String, Collection<PermissionNode>> perGroupNodes) {
+            this.addWildcardNodes(nodes);
+
+            Collection<PermissionNode> groupNodes = this.getGroupNodes(perGroupNodes);
+            if (groupNodes != null) {
+                this.addWildcardNodes(groupNodes);
+            }
+        }
+
+        private void addWildcardNodes(Collection<PermissionNode> nodes) {
+            for (PermissionNode node : nodes) {
+                String actual = node.getActualPermission();
+                if (actual.length() > 1 && actual.endsWith("*") && node.isValid()) {
+                    this.expireAt(node.getTimeout());
+                    this.addWildcard(actual.substring(0, actual.length() - 1), node.isSet());
+                }
+            }
+        }
+
+        // see DefaultPermissionManagement#hasPermission0(PermissionGroup, String)
+        private void addGroup(PermissionGroup group, Function<String, PermissionGroup> groupLookup, Set<String> visited) {
+            if (!visited.add(group.getName())) {
+                // an already visited group did not match on the first visit and will not match now
+                return;
+            }
+
+            this.addWildcards(group.getPermissionNodes(), group.getPerGroupPermissions());
+            this.addGeneralGroup(group.getPermissionNodes(), group.getPerGroupPermissions());
+
+            for (String subGroup : group.getSubGroups()) {
+                PermissionGroup sub = groupLookup.apply(subGroup);
+                if (sub != null) {
+                    this.addGroup(sub, groupLookup, visited);
+                }
+            }
+        }
+
+        private void addWildcard(String prefix, boolean value) {
+            MutableTrieNode node = this.wildcards;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new MutableTrieNode());
+            }
+
+            int position = this.position++;
+            if (node.rule == null) {
+                node.rule = new Rule(position, value);
+            }
+        }
+
+        private void expireAt(long timeout) {
+            if (timeout != -1) {
+                this.validUntil = Math.min(this.validUntil, timeout);
+            }
+        }
+
+        @Nullable
+        private Collection<PermissionNode> getGroupNodes(Map<String, Collection<PermissionNode>> perGroupNodes) {
+            return this.processGroup == null ? null : perGroupNodes.get(this.processGroup);
+        }
+
+        private static boolean hasPositive(Collection<PermissionNode> nodes, String permission) {
+            for (PermissionNode node : nodes) {
+                if (node.isSet() && node.getActualPermission().equalsIgnoreCase(permission)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Nullable
+        private static PermissionNode findFirst(@Nullable Collection<PermissionNode> nodes, String permission) {
+            if (nodes != null) {
+                for (PermissionNode node : nodes) {
+                    if (node.getActualPermission().equalsIgnoreCase(permission)) {
+                        return node;
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private static final class MutableTrieNode {
+
+        private final TreeMap<Character, MutableTrieNode> children = new TreeMap<>();
+        private Rule rule;
+
+        private TrieNode freeze() {
+            char[] keys = new char[this.children.size()];
+            TrieNode[] nodes = new TrieNode[this.children.size()];
+
+            int i = 0;
+            for (Map.Entry<Character, MutableTrieNode> entry : this.children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().freeze();
+            }
+
+            return new TrieNode(keys, nodes, this.rule);
+        }
+    }
+
+    private static final class TrieNode {
+
+        private final char[] keys;
+        private final TrieNode[] children;
+        private final Rule rule;
+
+        private TrieNode(char[] keys, TrieNode[] children, Rule rule) {
+            this.keys = keys;
+            this.children = children;
+            this.rule = rule;
+        }
+
+        @Nullable
+        private TrieNode child(char c) {
+            int index = this.keys.length < 8 ? linearSearch(this.keys, c) : Arrays.binarySearch(this.keys, c);
+            return index < 0 ? null : this.children[index];
+        }
+
+        private static int linearSearch(char[] keys, char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+    }
+}
@@ -27,6 +27,7 @@ package systems.reformcloud.reformcloud2.permissions.defaults;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
+import systems.refomcloud.reformcloud2.embedded.Embedded;
 import systems.reformcloud.reformcloud2.executor.api.CommonHelper;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorType;
@@ -38,6 +39,7 @@ import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.DatabaseTableWrapper;
 import systems.reformcloud.reformcloud2.permissions.PermissionManagement;
+import systems.reformcloud.reformcloud2.permissions.checks.EffectivePermissions;
 import systems.reformcloud.reformcloud2.permissions.events.group.PermissionGroupCreateEvent;
 import systems.reformcloud.reformcloud2.permissions.events.group.PermissionGroupDeleteEvent;
 import systems.reformcloud.reformcloud2.permissions.events.group.PermissionGroupUpdateEvent;
@@ -55,6 +57,7 @@ import systems.reformcloud.reformcloud2.permissions.packets.util.PermissionActio
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DefaultPermissionManagement extends PermissionManagement {
 
@@ -66,6 +69,8 @@ public class DefaultPermissionManagement extends PermissionManagement {
 
     private final Map<String, PermissionGroup> nameToGroupCache = new ConcurrentHashMap<>();
     private final Map<UUID, PermissionUser> uniqueIdToUserCache = new ConcurrentHashMap<>();
+    private final Map<UUID, EffectivePermissions> effectivePermissionCache = new ConcurrentHashMap<>();
+    private final AtomicLong effectivePermissionGeneration = new AtomicLong();
 
     private final DatabaseTableWrapper permissionGroupTable;
     private final DatabaseTableWrapper permissionUserTable;
@@ -93,6 +98,7 @@ public class DefaultPermissionManagement extends PermissionManagement {
     @Override
     public void updateGroup(@NotNull PermissionGroup permissionGroup) {
         this.nameToGroupCache.put(permissionGroup.getName(), permissionGroup);
+        this.invalidateEffectivePermissions(null);
 
         if (NODE) {
             this.permissionGroupTable.update(permissionGroup.getName(), "", new JsonConfiguration().add("group", permissionGroup));
@@ -147,6 +153,7 @@ public class DefaultPermissionManagement extends PermissionManagement {
 
         this.publish(new PacketGroupAction(permissionGroup, PermissionAction.CREATE));
         this.nameToGroupCache.put(permissionGroup.getName(), permissionGroup);
+        this.invalidateEffectivePermissions(null);
 
         return permissionGroup;
     }
@@ -171,6 +178,7 @@ public class DefaultPermissionManagement extends PermissionManagement {
 
             this.publish(new PacketGroupAction(permissionGroup, PermissionAction.DELETE));
             this.nameToGroupCache.remove(name);
+            this.invalidateEffectivePermissions(null);
         });
     }
 
@@ -196,6 +204,25 @@ public class DefaultPermissionManagement extends PermissionManagement {
         return false;
     }
 
+    @NotNull
+    @Override
+    public EffectivePermissions getEffectivePermissions(@NotNull PermissionUser permissionUser) {
+        EffectivePermissions permissions = this.effectivePermissionCache.get(permissionUser.getUniqueID());
+        // another instance of the user (for example a copy loaded from the database) may hold other permissions
+        if (permissions == null || permissions.isExpired() || !permissions.isCompiledFrom(permissionUser)) {
+            long generation = this.effectivePermissionGeneration.get();
+            String processGroup = NODE ? null : Embedded.getInstance().getCurrentProcessInformation().getProcessGroup().getName();
+            permissions = EffectivePermissions.compile(permissionUser, this.nameToGroupCache::get, processGroup);
+
+            // do not cache permissions which were compiled from a user or group updated in the meantime
+            if (generation == this.effectivePermissionGeneration.get()) {
+                this.effectivePermissionCache.put(permissionUser.getUniqueID(), permissions);
+            }
+        }
+
+        return permissions;
+    }
+
     @NotNull
     @Override
     public PermissionUser loadUser(@NotNull UUID uuid) {
@@ -316,6 +343,7 @@ public class DefaultPermissionManagement extends PermissionManagement {
     @Override
     public void updateUser(@NotNull PermissionUser permissionUser) {
         this.uniqueIdToUserCache.put(permissionUser.getUniqueID(), permissionUser);
+        this.invalidateEffectivePermissions(permissionUser.getUniqueID());
 
         this.permissionUserTable.update(permissionUser.getUniqueID().toString(), "", new JsonConfiguration().add("user", permissionUser));
         this.publish(new PacketUserAction(permissionUser, PermissionAction.UPDATE));
@@ -327,28 +355,33 @@ public class DefaultPermissionManagement extends PermissionManagement {
         this.permissionUserTable.remove(uuid.toString(), "");
         this.publish(new PacketUserAction(user, PermissionAction.DELETE));
         this.uniqueIdToUserCache.remove(uuid);
+        this.invalidateEffectivePermissions(uuid);
     }
 
     @Override
     public void handleDisconnect(UUID uuid) {
         this.uniqueIdToUserCache.remove(uuid);
+        this.invalidateEffectivePermissions(uuid);
     }
 
     @Override
     public void handleInternalPermissionGroupUpdate(PermissionGroup permissionGroup) {
         this.nameToGroupCache.put(permissionGroup.getName(), permissionGroup);
+        this.invalidateEffectivePermissions(null);
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PermissionGroupUpdateEvent(permissionGroup));
     }
 
     @Override
     public void handleInternalPermissionGroupCreate(PermissionGroup permissionGroup) {
         this.nameToGroupCache.put(permissionGroup.getName(), permissionGroup);
+        this.invalidateEffectivePermissions(null);
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PermissionGroupCreateEvent(permissionGroup));
     }
 
     @Override
     public void handleInternalPermissionGroupDelete(PermissionGroup permissionGroup) {
         this.nameToGroupCache.remove(permissionGroup.getName());
+        this.invalidateEffectivePermissions(null);
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PermissionGroupDeleteEvent(permissionGroup.getName()));
     }
 
@@ -358,6 +391,8 @@ public class DefaultPermissionManagement extends PermissionManagement {
             this.uniqueIdToUserCache.put(permissionUser.getUniqueID(), permissionUser);
         }
 
+        this.invalidateEffectivePermissions(permissionUser.getUniqueID());
+
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PermissionUserUpdateEvent(permissionUser));
     }
 
@@ -369,6 +404,7 @@ public class DefaultPermissionManagement extends PermissionManagement {
     @Override
     public void handleInternalUserDelete(PermissionUser permissionUser) {
         this.uniqueIdToUserCache.remove(permissionUser.getUniqueID());
+        this.invalidateEffectivePermissions(permissionUser.getUniqueID());
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PermissionUserDeleteEvent(permissionUser.getUniqueID()));
     }
 
@@ -423,6 +459,15 @@ public class DefaultPermissionManagement extends PermissionManagement {
         }
     }
 
+    private void invalidateEffectivePermissions(@Nullable UUID uniqueId) {
+        this.effectivePermissionGeneration.incrementAndGet();
+        if (uniqueId == null) {
+            this.effectivePermissionCache.clear();
+        } else {
+            this.effectivePermissionCache.remove(uniqueId);
+        }
+    }
+
     private void pushToDB(@NotNull UUID uuid, @NotNull String name) {
         CommonHelper.EXECUTOR.execute(() -> this.nameToUniqueIdDatabase.insert(name, uuid.toString(), new JsonConfiguration().add("id", uuid)));
     }
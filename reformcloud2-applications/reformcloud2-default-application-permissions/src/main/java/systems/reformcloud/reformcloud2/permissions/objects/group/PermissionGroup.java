@@ -205,7 +205,7 @@ public class PermissionGroup implements SerializableObject {
         buffer.writeString(this.suffix);
         buffer.writeString(this.display);
         buffer.writeString(this.colour);
-        buffer.writeArray(this.getExtra().toPrettyBytes());
+        buffer.writeArray(this.getExtra().toCompactBytes());
     }
 
     @Override
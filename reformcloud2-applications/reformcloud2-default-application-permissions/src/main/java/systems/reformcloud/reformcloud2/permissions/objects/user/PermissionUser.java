@@ -32,8 +32,6 @@ import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConf
 import systems.reformcloud.reformcloud2.executor.api.network.SerializableObject;
 import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
 import systems.reformcloud.reformcloud2.permissions.PermissionManagement;
-import systems.reformcloud.reformcloud2.permissions.checks.GeneralCheck;
-import systems.reformcloud.reformcloud2.permissions.checks.WildcardCheck;
 import systems.reformcloud.reformcloud2.permissions.nodes.NodeGroup;
 import systems.reformcloud.reformcloud2.permissions.nodes.PermissionNode;
 import systems.reformcloud.reformcloud2.permissions.objects.group.PermissionGroup;
@@ -188,17 +186,7 @@ public class PermissionUser implements SerializableObject {
             return true;
         }
 
-        Boolean general = GeneralCheck.hasPermission(this, permission);
-        if (general != null) {
-            return general;
-        }
-
-        Boolean wildCard = WildcardCheck.hasWildcardPermission(this, permission);
-        if (wildCard != null) {
-            return wildCard;
-        }
-
-        return PermissionManagement.getInstance().hasPermission(this, permission);
+        return PermissionManagement.getInstance().getEffectivePermissions(this).hasPermission(permission);
     }
 
     @Override
@@ -217,7 +205,7 @@ public class PermissionUser implements SerializableObject {
         buffer.writeString(this.suffix);
         buffer.writeString(this.display);
         buffer.writeString(this.colour);
-        buffer.writeArray(this.getExtra().toPrettyBytes());
+        buffer.writeArray(this.getExtra().toCompactBytes());
     }
 
     @Override
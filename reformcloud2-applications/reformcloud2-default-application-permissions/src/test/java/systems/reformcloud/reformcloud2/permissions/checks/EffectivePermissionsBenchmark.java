@@ -0,0 +1,66 @@
+package systems.reformcloud.reformcloud2.permissions.checks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import systems.reformcloud.reformcloud2.permissions.objects.user.PermissionUser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a permission check walking the user, its groups and their sub groups (as the permission user
+ * did before) with a check against the compiled {@link EffectivePermissions}. Run using {@link #main(String[])}
+ * from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EffectivePermissionsBenchmark {
+
+    @Param({"5", "20"})
+    public int groupCount;
+
+    @Param({"26"})
+    public int nodesPerGroup;
+
+    private PermissionUser permissionUser;
+    private LegacyPermissionResolver resolver;
+    private EffectivePermissions permissions;
+    private String[] checkedPermissions;
+    private int next;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EffectivePermissionsBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        RandomPermissionHierarchy hierarchy = new RandomPermissionHierarchy(42, this.groupCount, this.nodesPerGroup);
+        this.permissionUser = hierarchy.newUser(this.nodesPerGroup, 2);
+        this.resolver = new LegacyPermissionResolver(hierarchy::getGroup, RandomPermissionHierarchy.PROCESS_GROUP);
+        this.permissions = EffectivePermissions.compile(this.permissionUser, hierarchy::getGroup, RandomPermissionHierarchy.PROCESS_GROUP);
+
+        this.checkedPermissions = new String[1024];
+        for (int i = 0; i < this.checkedPermissions.length; i++) {
+            this.checkedPermissions[i] = hierarchy.permission().toLowerCase();
+        }
+    }
+
+    @Benchmark
+    public boolean walk() {
+        return this.resolver.hasPermission(this.permissionUser, this.nextPermission());
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return this.permissions.hasPermission(this.nextPermission());
+    }
+
+    private String nextPermission() {
+        return this.checkedPermissions[this.next++ & (this.checkedPermissions.length - 1)];
+    }
+}
@@ -0,0 +1,94 @@
+package systems.reformcloud.reformcloud2.permissions.checks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.permissions.nodes.NodeGroup;
+import systems.reformcloud.reformcloud2.permissions.nodes.PermissionNode;
+import systems.reformcloud.reformcloud2.permissions.objects.group.PermissionGroup;
+import systems.reformcloud.reformcloud2.permissions.objects.user.PermissionUser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class EffectivePermissionsTest {
+
+    @Test
+    void testRandomHierarchiesMatchPreviousResolver() {
+        for (long seed = 0; seed < 200; seed++) {
+            RandomPermissionHierarchy hierarchy = new RandomPermissionHierarchy(seed, 12, 8);
+            LegacyPermissionResolver resolver = new LegacyPermissionResolver(hierarchy::getGroup, RandomPermissionHierarchy.PROCESS_GROUP);
+
+            for (int user = 0; user < 10; user++) {
+                PermissionUser permissionUser = hierarchy.newUser(6, 3);
+                EffectivePermissions permissions = EffectivePermissions.compile(permissionUser, hierarchy::getGroup, RandomPermissionHierarchy.PROCESS_GROUP);
+
+                for (int check = 0; check < 50; check++) {
+                    String permission = hierarchy.permission();
+                    Assertions.assertEquals(
+                            resolver.hasPermission(permissionUser, permission),
+                            permissions.hasPermission(permission.toLowerCase()),
+                            "seed " + seed + ", permission " + permission
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFirstMatchingRuleDecides() {
+        PermissionGroup admin = group("admin", Collections.emptyList(), node("plugin.*", true));
+        PermissionGroup user = group("user", Collections.singletonList("admin"), node("plugin.admin*", false));
+        Map<String, PermissionGroup> groups = new HashMap<>();
+        groups.put(admin.getName(), admin);
+        groups.put(user.getName(), user);
+
+        PermissionUser permissionUser = new PermissionUser(UUID.randomUUID(), new ArrayList<>(), new ArrayList<>(Collections.singletonList(
+                new NodeGroup(System.currentTimeMillis(), -1, "user")
+        )));
+        EffectivePermissions permissions = EffectivePermissions.compile(permissionUser, groups::get, null);
+
+        Assertions.assertFalse(permissions.hasPermission("plugin.admin"));
+        Assertions.assertTrue(permissions.hasPermission("plugin.use"));
+        Assertions.assertFalse(permissions.hasPermission("other"));
+    }
+
+    @Test
+    void testExpiredMembershipIsNotCompiled() {
+        PermissionGroup group = group("vip", Collections.emptyList(), node("vip.join", true));
+        PermissionUser permissionUser = new PermissionUser(UUID.randomUUID(), new ArrayList<>(), new ArrayList<>(Collections.singletonList(
+                new NodeGroup(System.currentTimeMillis(), System.currentTimeMillis() + 60_000, "vip")
+        )));
+
+        EffectivePermissions permissions = EffectivePermissions.compile(permissionUser, name -> group, null);
+        Assertions.assertTrue(permissions.hasPermission("vip.join"));
+        Assertions.assertFalse(permissions.isExpired());
+
+        permissionUser.getGroups().clear();
+        permissionUser.getGroups().add(new NodeGroup(System.currentTimeMillis(), System.currentTimeMillis() - 1, "vip"));
+        Assertions.assertFalse(EffectivePermissions.compile(permissionUser, name -> group, null).hasPermission("vip.join"));
+    }
+
+    @Test
+    void testCompiledFromUserInstance() {
+        UUID uniqueId = UUID.randomUUID();
+        PermissionUser permissionUser = new PermissionUser(uniqueId, new ArrayList<>(), new ArrayList<>());
+        PermissionUser copy = new PermissionUser(uniqueId, new ArrayList<>(Collections.singletonList(node("other", true))), new ArrayList<>());
+
+        EffectivePermissions permissions = EffectivePermissions.compile(permissionUser, name -> null, null);
+        Assertions.assertTrue(permissions.isCompiledFrom(permissionUser));
+        Assertions.assertFalse(permissions.isCompiledFrom(copy));
+    }
+
+    private static PermissionGroup group(String name, List<String> subGroups, PermissionNode... nodes) {
+        return new PermissionGroup(new ArrayList<>(Arrays.asList(nodes)), new HashMap<>(), subGroups, name, 0);
+    }
+
+    private static PermissionNode node(String permission, boolean set) {
+        return new PermissionNode(System.currentTimeMillis(), -1, set, permission);
+    }
+}
@@ -0,0 +1,133 @@
+package systems.reformcloud.reformcloud2.permissions.checks;
+
+import systems.reformcloud.reformcloud2.permissions.nodes.NodeGroup;
+import systems.reformcloud.reformcloud2.permissions.nodes.PermissionNode;
+import systems.reformcloud.reformcloud2.permissions.objects.group.PermissionGroup;
+import systems.reformcloud.reformcloud2.permissions.objects.user.PermissionUser;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The walk over the user, its groups and their sub groups which was used to check a permission before the
+ * permissions got compiled into {@link EffectivePermissions}: {@link GeneralCheck} and {@link WildcardCheck}
+ * for the user followed by {@code DefaultPermissionManagement#hasPermission0} for every group. The current
+ * process group is passed in instead of being read from the embedded instance.
+ */
+final class LegacyPermissionResolver {
+
+    private final Function<String, PermissionGroup> groupLookup;
+    private final String processGroup;
+
+    LegacyPermissionResolver(Function<String, PermissionGroup> groupLookup, String processGroup) {
+        this.groupLookup = groupLookup;
+        this.processGroup = processGroup;
+    }
+
+    boolean hasPermission(PermissionUser user, String permission) {
+        permission = permission.toLowerCase();
+
+        Boolean star = this.has(user.getPermissionNodes(), user.getPerGroupPermissions(), "*");
+        if (star != null && star) {
+            return true;
+        }
+
+        Boolean general = this.has(user.getPermissionNodes(), user.getPerGroupPermissions(), permission);
+        if (general != null) {
+            return general;
+        }
+
+        Boolean wildcard = this.hasWildcard(user.getPermissionNodes(), user.getPerGroupPermissions(), permission);
+        if (wildcard != null) {
+            return wildcard;
+        }
+
+        for (NodeGroup group : user.getGroups()) {
+            if (!group.isValid()) {
+                continue;
+            }
+
+            PermissionGroup permissionGroup = this.groupLookup.apply(group.getGroupName());
+            if (permissionGroup == null) {
+                continue;
+            }
+
+            Boolean hasPermission = this.hasPermission(permissionGroup, permission);
+            if (hasPermission != null) {
+                return hasPermission;
+            }
+        }
+
+        return false;
+    }
+
+    private Boolean hasPermission(PermissionGroup group, String permission) {
+        Boolean hasPermission = this.hasWildcard(group.getPermissionNodes(), group.getPerGroupPermissions(), permission);
+        if (hasPermission == null) {
+            hasPermission = this.has(group.getPermissionNodes(), group.getPerGroupPermissions(), "*");
+        }
+
+        if (hasPermission == null) {
+            hasPermission = this.has(group.getPermissionNodes(), group.getPerGroupPermissions(), permission);
+        }
+
+        if (hasPermission != null) {
+            return hasPermission;
+        }
+
+        for (String subGroup : group.getSubGroups()) {
+            PermissionGroup sub = this.groupLookup.apply(subGroup);
+            if (sub == null) {
+                continue;
+            }
+
+            hasPermission = this.hasPermission(sub, permission);
+            if (hasPermission != null) {
+                return hasPermission;
+            }
+        }
+
+        return null;
+    }
+
+    private Boolean has(Collection<PermissionNode> nodes, Map<String, Collection<PermissionNode>> perGroupNodes, String permission) {
+        if (nodes.stream().anyMatch(e -> e.getActualPermission().equalsIgnoreCase(permission) && e.isSet())) {
+            return true;
+        }
+
+        Collection<PermissionNode> groupNodes = perGroupNodes.get(this.processGroup);
+        if (groupNodes == null) {
+            return null;
+        }
+
+        for (PermissionNode node : groupNodes) {
+            if (node.getActualPermission().equalsIgnoreCase(permission)) {
+                return node.isSet();
+            }
+        }
+
+        return null;
+    }
+
+    private Boolean hasWildcard(Collection<PermissionNode> nodes, Map<String, Collection<PermissionNode>> perGroupNodes, String permission) {
+        Boolean hasPermission = hasWildcard(nodes, permission);
+        if (hasPermission != null) {
+            return hasPermission;
+        }
+
+        Collection<PermissionNode> groupNodes = perGroupNodes.get(this.processGroup);
+        return groupNodes == null ? null : hasWildcard(groupNodes, permission);
+    }
+
+    private static Boolean hasWildcard(Collection<PermissionNode> nodes, String permission) {
+        for (PermissionNode node : nodes) {
+            String actual = node.getActualPermission();
+            if (actual.length() > 1 && actual.endsWith("*") && permission.startsWith(actual.substring(0, actual.length() - 1)) && node.isValid()) {
+                return node.isSet();
+            }
+        }
+
+        return null;
+    }
+}
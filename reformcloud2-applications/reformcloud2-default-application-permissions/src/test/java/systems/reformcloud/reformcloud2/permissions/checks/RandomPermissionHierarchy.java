@@ -0,0 +1,125 @@
+package systems.reformcloud.reformcloud2.permissions.checks;
+
+import systems.reformcloud.reformcloud2.permissions.nodes.NodeGroup;
+import systems.reformcloud.reformcloud2.permissions.nodes.PermissionNode;
+import systems.reformcloud.reformcloud2.permissions.objects.group.PermissionGroup;
+import systems.reformcloud.reformcloud2.permissions.objects.user.PermissionUser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates random permission groups and users from a small permission vocabulary, so that exact, wildcard,
+ * per process group, denied and timed out nodes overlap often.
+ */
+final class RandomPermissionHierarchy {
+
+    static final String PROCESS_GROUP = "Lobby";
+
+    private static final String[] SEGMENTS = {"a", "b", "ab", "admin"};
+
+    private final Random random;
+    private final Map<String, PermissionGroup> groups = new HashMap<>();
+
+    RandomPermissionHierarchy(long seed, int groupCount, int nodesPerGroup) {
+        this.random = new Random(seed);
+
+        for (int i = 0; i < groupCount; i++) {
+            List<String> subGroups = new ArrayList<>();
+            for (int sub = i + 1; sub < groupCount; sub++) {
+                // sub groups only point to groups with a higher index, the previous walk would loop on cycles
+                if (this.random.nextInt(4) == 0) {
+                    subGroups.add("group" + sub);
+                }
+            }
+
+            if (this.random.nextInt(8) == 0) {
+                subGroups.add("unknown" + i);
+            }
+
+            PermissionGroup group = new PermissionGroup(this.nodes(nodesPerGroup), this.perGroupNodes(nodesPerGroup), subGroups, "group" + i, i);
+            this.groups.put(group.getName(), group);
+        }
+    }
+
+    PermissionGroup getGroup(String name) {
+        return this.groups.get(name);
+    }
+
+    PermissionUser newUser(int nodeCount, int groupCount) {
+        List<NodeGroup> groups = new ArrayList<>();
+        for (int i = 0; i < groupCount; i++) {
+            String name = this.random.nextInt(10) == 0 ? "unknown" : "group" + this.random.nextInt(this.groups.size());
+            groups.add(new NodeGroup(System.currentTimeMillis(), this.timeout(), name));
+        }
+
+        PermissionUser user = new PermissionUser(UUID.randomUUID(), this.nodes(nodeCount), groups);
+        user.getPerGroupPermissions().putAll(this.perGroupNodes(nodeCount));
+        return user;
+    }
+
+    String permission() {
+        StringBuilder builder = new StringBuilder(SEGMENTS[this.random.nextInt(SEGMENTS.length)]);
+        int segments = this.random.nextInt(3);
+        for (int i = 0; i < segments; i++) {
+            builder.append('.').append(SEGMENTS[this.random.nextInt(SEGMENTS.length)]);
+        }
+
+        return this.random.nextInt(20) == 0 ? builder.toString().toUpperCase() : builder.toString();
+    }
+
+    private Collection<PermissionNode> nodes(int count) {
+        List<PermissionNode> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(new PermissionNode(System.currentTimeMillis(), this.timeout(), this.random.nextInt(4) != 0, this.nodePermission()));
+        }
+
+        return nodes;
+    }
+
+    private Map<String, Collection<PermissionNode>> perGroupNodes(int count) {
+        Map<String, Collection<PermissionNode>> perGroupNodes = new HashMap<>();
+        if (this.random.nextBoolean()) {
+            perGroupNodes.put(PROCESS_GROUP, this.nodes(this.random.nextInt(count / 2 + 1)));
+        }
+
+        if (this.random.nextBoolean()) {
+            perGroupNodes.put("Proxy", this.nodes(this.random.nextInt(count / 2 + 1)));
+        }
+
+        return perGroupNodes;
+    }
+
+    private String nodePermission() {
+        switch (this.random.nextInt(12)) {
+            case 0:
+                return "*";
+            case 1:
+            case 2:
+                // wildcards which end in the middle of a segment are matched as plain prefixes
+                String permission = this.permission();
+                return permission.substring(0, 1 + this.random.nextInt(permission.length())) + "*";
+            case 3:
+                return this.permission() + ".*";
+            default:
+                return this.permission();
+        }
+    }
+
+    private long timeout() {
+        switch (this.random.nextInt(10)) {
+            case 0:
+                return System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1);
+            case 1:
+                return System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+            default:
+                return -1;
+        }
+    }
+}
@@ -29,10 +29,8 @@ import org.jetbrains.annotations.Nullable;
 import systems.refomcloud.reformcloud2.embedded.Embedded;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.event.EventManager;
-import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.PacketProvider;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
-import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
 import systems.reformcloud.reformcloud2.signs.application.packets.PacketCreateSign;
 import systems.reformcloud.reformcloud2.signs.application.packets.PacketDeleteBulkSigns;
 import systems.reformcloud.reformcloud2.signs.application.packets.PacketDeleteSign;
@@ -48,27 +46,35 @@ import systems.reformcloud.reformcloud2.signs.util.sign.config.SignLayout;
 import systems.reformcloud.reformcloud2.signs.util.sign.config.SignSubLayout;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public abstract class SharedSignSystemAdapter<T> implements SignSystemAdapter<T> {
 
     private static final String[] EMPTY_SIGN = new String[]{"", "", "", ""};
+
+    private static final int SEARCHING = 0;
+    private static final int CONNECTING = 1;
+    private static final int EMPTY = 2;
+    private static final int ONLINE = 3;
+    private static final int FULL = 4;
+    private static final int MAINTENANCE = 5;
+
     protected final UUID ownUniqueID = Embedded.getInstance().getCurrentProcessInformation().getProcessDetail().getProcessUniqueID();
-    protected final Collection<CloudSign> signs = Collections.synchronizedCollection(new ArrayList<CloudSign>() {
-        @NotNull
-        @Override
-        public Iterator<CloudSign> iterator() {
-            synchronized (this) {
-                return super.iterator();
-            }
-        }
-    });
+    protected final Collection<CloudSign> signs = new CopyOnWriteArrayList<>();
     protected final Set<ProcessInformation> allProcesses = Collections.synchronizedSet(new HashSet<>());
-    protected final Map<String, AtomicInteger[]> perGroupLayoutCounter = new HashMap<>();
     protected SignConfig signConfig;
 
+    // indexes of the signs, only modified while holding the lock of this adapter
+    private final Map<CloudLocation, CloudSign> signsByLocation = new ConcurrentHashMap<>();
+    private final Map<UUID, CloudSign> signsByProcess = new ConcurrentHashMap<>();
+    // the last content sent for each sign, by the unique id of the sign
+    private final Map<UUID, RenderedSign> renderedSigns = new ConcurrentHashMap<>();
+    private final Map<String, LayoutFrames> layoutFrames = new ConcurrentHashMap<>();
+    private SignConfig layoutFramesConfig;
+
     public SharedSignSystemAdapter(@NotNull SignConfig signConfig) {
         this.signConfig = signConfig;
 
@@ -107,36 +113,39 @@ public abstract class SharedSignSystemAdapter<T> implements SignSystemAdapter<T>
             return;
         }
 
-        CloudSign sign = this.getSignOf(processInformation);
-        if (sign == null && Utils.canConnectPerState(processInformation)) {
-            this.tryAssign(processInformation);
-            return;
-        }
+        synchronized (this) {
+            CloudSign sign = this.signsByProcess.get(processInformation.getProcessDetail().getProcessUniqueID());
+            if (sign == null) {
+                if (Utils.canConnectPerState(processInformation)) {
+                    this.tryAssign(processInformation);
+                }
 
-        if (sign != null && !Utils.canConnectPerState(processInformation)) {
-            sign.setCurrentTarget(null);
-            this.updateSigns();
-            this.tryAssignUnassigned();
-            return;
-        }
+                return;
+            }
 
-        if (sign == null) {
-            return;
-        }
+            if (!Utils.canConnectPerState(processInformation)) {
+                this.removeAssignment(sign);
+                this.renderSign(sign);
+                this.tryAssignUnassigned();
+                return;
+            }
 
-        sign.setCurrentTarget(processInformation);
-        this.updateSigns();
+            sign.setCurrentTarget(processInformation);
+            this.renderSign(sign);
+        }
     }
 
     @Override
     public void handleProcessStop(@NotNull ProcessInformation processInformation) {
         this.allProcesses.remove(processInformation);
 
-        CloudSign sign = this.getSignOf(processInformation);
-        if (sign != null) {
-            sign.setCurrentTarget(null);
-            this.updateSigns();
-            this.tryAssignUnassigned();
+        synchronized (this) {
+            CloudSign sign = this.signsByProcess.get(processInformation.getProcessDetail().getProcessUniqueID());
+            if (sign != null) {
+                this.removeAssignment(sign);
+                this.renderSign(sign);
+                this.tryAssignUnassigned();
+            }
         }
     }
 
@@ -183,13 +192,7 @@ public abstract class SharedSignSystemAdapter<T> implements SignSystemAdapter<T>
 
     @Override
     public @Nullable CloudSign getSignAt(@NotNull CloudLocation location) {
-        for (CloudSign sign : this.signs) {
-            if (sign.getLocation().equals(location)) {
-                return sign;
-            }
-        }
-
-        return null;
+        return this.signsByLocation.get(location);
     }
 
     @Override
@@ -209,177 +212,208 @@ public abstract class SharedSignSystemAdapter<T> implements SignSystemAdapter<T>
 
     @Override
     public void handleInternalSignCreate(@NotNull CloudSign cloudSign) {
-        this.signs.add(cloudSign);
-        this.tryAssignUnassigned();
+        synchronized (this) {
+            if (!this.addSign(cloudSign)) {
+                return;
+            }
+
+            this.tryAssignUnassigned();
+            if (cloudSign.getCurrentTarget() == null) {
+                this.renderSign(cloudSign);
+            }
+        }
     }
 
     @Override
     public void handleInternalSignDelete(@NotNull CloudSign cloudSign) {
-        CloudSign other = Streams.filter(this.signs, e -> e.equals(cloudSign));
+        synchronized (this) {
+            CloudSign other = null;
+            for (CloudSign sign : this.signs) {
+                if (sign.equals(cloudSign)) {
+                    other = sign;
+                    break;
+                }
+            }
 
-        this.signs.remove(cloudSign);
-        this.setSignLines(cloudSign, EMPTY_SIGN);
-        if (other == null) {
-            return;
-        }
+            this.signs.remove(cloudSign);
+            this.signsByLocation.remove(cloudSign.getLocation(), other == null ? cloudSign : other);
+            this.renderedSigns.remove(cloudSign.getUniqueID());
+            this.setSignLines(cloudSign, EMPTY_SIGN);
+            if (other == null) {
+                return;
+            }
 
-        this.removeAssignment(other);
-        this.tryAssignUnassigned();
+            this.removeAssignment(other);
+            this.tryAssignUnassigned();
+        }
     }
 
     protected void removeAssignment(@NotNull CloudSign sign) {
-        if (sign.getCurrentTarget() == null) {
+        ProcessInformation target = sign.getCurrentTarget();
+        if (target == null) {
             return;
         }
 
+        this.signsByProcess.remove(target.getProcessDetail().getProcessUniqueID(), sign);
         sign.setCurrentTarget(null);
     }
 
     protected void tryAssignUnassigned() {
-        for (ProcessInformation notAssignedProcess : this.allProcesses) {
-            if (this.isProcessAssigned(notAssignedProcess) || !Utils.canConnectPerState(notAssignedProcess)) {
-                continue;
+        synchronized (this) {
+            ProcessInformation[] processes;
+            synchronized (this.allProcesses) {
+                processes = this.allProcesses.toArray(new ProcessInformation[0]);
             }
 
-            if (!notAssignedProcess.getProcessDetail().getTemplate().isServer() || notAssignedProcess.getProcessDetail().getProcessUniqueID().equals(this.ownUniqueID)) {
-                continue;
-            }
+            for (ProcessInformation notAssignedProcess : processes) {
+                if (this.isProcessAssigned(notAssignedProcess) || !Utils.canConnectPerState(notAssignedProcess)) {
+                    continue;
+                }
 
-            CloudSign sign = this.getFreeSignForGroup(notAssignedProcess.getProcessGroup());
-            if (sign == null) {
-                continue;
-            }
+                if (!notAssignedProcess.getProcessDetail().getTemplate().isServer() || notAssignedProcess.getProcessDetail().getProcessUniqueID().equals(this.ownUniqueID)) {
+                    continue;
+                }
+
+                CloudSign sign = this.getFreeSignForGroup(notAssignedProcess.getProcessGroup().getName());
+                if (sign == null) {
+                    continue;
+                }
 
-            sign.setCurrentTarget(notAssignedProcess);
-            this.updateSigns();
+                this.assign(sign, notAssignedProcess);
+            }
         }
     }
 
     protected abstract void setSignLines(@NotNull CloudSign cloudSign, @NotNull String[] lines);
 
+    /**
+     * Renders all signs using the current animation frame of their layout and advances the animations
+     * afterwards. This method is called by the platform specific update task on a fixed cadence, signs of
+     * which the content did not change since the last render are not sent again.
+     */
     protected void updateSigns() {
-        for (CloudSign sign : this.signs) {
-            SignLayout layout = this.getSignLayout(sign.getGroup());
-            if (layout == null) {
-                System.err.println("Unable to find global layout / sign layout for group " + sign.getGroup());
-                continue;
-            }
-
-            this.perGroupLayoutCounter.putIfAbsent(sign.getGroup(), new AtomicInteger[]{
-                    new AtomicInteger(), // start
-                    new AtomicInteger(), // connecting
-                    new AtomicInteger(), // empty
-                    new AtomicInteger(), // online
-                    new AtomicInteger(), // full
-                    new AtomicInteger()  // maintenance
-            });
-            AtomicInteger[] counter = this.perGroupLayoutCounter.get(sign.getGroup());
-
-            SignSubLayout searching = LayoutUtil.getNextAndCheckFor(layout.getSearchingLayouts(), counter[0])
-                    .orElseThrow(() -> new RuntimeException("Waiting layout for current group not present"));
-
-            SignSubLayout maintenance = LayoutUtil.getNextAndCheckFor(layout.getMaintenanceLayout(), counter[5])
-                    .orElseThrow(() -> new RuntimeException("Maintenance layout for current group not present"));
-
-            SignSubLayout connecting = LayoutUtil.getNextAndCheckFor(layout.getWaitingForConnectLayout(), counter[1])
-                    .orElseThrow(() -> new RuntimeException("Connecting layout for current group not present"));
-
-            SignSubLayout empty = LayoutUtil.getNextAndCheckFor(layout.getEmptyLayout(), counter[2])
-                    .orElseThrow(() -> new RuntimeException("Empty layout for current group not present"));
-
-            SignSubLayout full = LayoutUtil.getNextAndCheckFor(layout.getFullLayout(), counter[4])
-                    .orElseThrow(() -> new RuntimeException("Full layout for current group not present"));
-
-            SignSubLayout online = LayoutUtil.getNextAndCheckFor(layout.getOnlineLayout(), counter[3])
-                    .orElseThrow(() -> new RuntimeException("Online layout for current group not present"));
-
-            if (sign.getCurrentTarget() == null) {
-                this.setLines(sign, searching);
-                continue;
-            }
-
-            if (sign.getCurrentTarget().getProcessGroup().getPlayerAccessConfiguration().isMaintenance()) {
-                if (layout.isShowMaintenanceProcessesOnSigns()) {
-                    this.setLines(sign, maintenance);
-                    continue;
+        synchronized (this) {
+            Set<LayoutFrames> rendered = new HashSet<>();
+            for (CloudSign sign : this.signs) {
+                LayoutFrames frames = this.renderSign(sign);
+                if (frames != null) {
+                    rendered.add(frames);
                 }
-
-                this.setLines(sign, searching);
-                continue;
             }
 
-            if (!sign.getCurrentTarget().getNetworkInfo().isConnected()) {
-                this.setLines(sign, connecting);
-                continue;
+            for (LayoutFrames frames : rendered) {
+                frames.advance();
             }
+        }
+    }
 
-            if (!sign.getCurrentTarget().getProcessDetail().getProcessState().isOnline()) {
-                this.setLines(sign, searching);
-                continue;
-            }
+    protected abstract void runTasks();
 
-            if (sign.getCurrentTarget().getProcessPlayerManager().getOnlineCount() == 0) {
-                this.setLines(sign, empty);
-                continue;
-            }
+    @NotNull
+    protected abstract String replaceAll(@NotNull String line, @NotNull String group, @Nullable ProcessInformation processInformation);
 
-            if (sign.getCurrentTarget().getProcessPlayerManager().getOnlineCount() >= sign.getCurrentTarget().getProcessDetail().getMaxPlayers()) {
-                if (layout.isSearchingLayoutWhenFull()) {
-                    this.setLines(sign, searching);
-                    continue;
-                }
+    public abstract void changeBlock(@NotNull CloudSign sign, @NotNull SignSubLayout layout);
 
-                this.setLines(sign, full);
-                continue;
-            }
+    @Nullable
+    private LayoutFrames renderSign(@NotNull CloudSign sign) {
+        LayoutFrames frames = this.getLayoutFrames(sign.getGroup());
+        if (frames == null) {
+            System.err.println("Unable to find global layout / sign layout for group " + sign.getGroup());
+            return null;
+        }
 
-            this.setLines(sign, online);
+        ProcessInformation target = sign.getCurrentTarget();
+        int frame = frames.currentFrame();
+        int state = this.getLayoutState(frames.layout, target);
+        SignSubLayout layout = frames.getFrame(state, frame);
+        if (layout.getLines().length != 4) {
+            return frames;
         }
 
-        this.signs.stream().map(CloudSign::getGroup).distinct().forEach(group -> {
-            SignLayout layout = this.getSignLayout(group);
-            if (layout == null) {
-                return;
+        String[] lines;
+        if (target == null) {
+            lines = frames.getSearchingLines(frame);
+        } else {
+            lines = layout.getLines().clone();
+            for (int i = 0; i <= 3; i++) {
+                lines[i] = this.replaceAll(lines[i], sign.getGroup(), target);
             }
+        }
 
-            AtomicInteger[] counter = this.perGroupLayoutCounter.get(group);
-            if (counter == null) {
-                return;
-            }
+        RenderedSign previous = this.renderedSigns.put(sign.getUniqueID(), new RenderedSign(lines, layout));
+        if (previous == null || !Arrays.equals(previous.lines, lines)) {
+            this.setSignLines(sign, lines);
+        }
+
+        if (previous == null || !Objects.equals(previous.block, layout.getBlock()) || previous.subId != layout.getSubID()) {
+            this.changeBlock(sign, layout);
+        }
 
-            LayoutUtil.flush(layout.getSearchingLayouts(), counter[0]);
-            LayoutUtil.flush(layout.getMaintenanceLayout(), counter[5]);
-            LayoutUtil.flush(layout.getWaitingForConnectLayout(), counter[1]);
-            LayoutUtil.flush(layout.getEmptyLayout(), counter[2]);
-            LayoutUtil.flush(layout.getFullLayout(), counter[4]);
-            LayoutUtil.flush(layout.getOnlineLayout(), counter[3]);
-        });
+        return frames;
     }
 
-    protected abstract void runTasks();
+    private int getLayoutState(@NotNull SignLayout layout, @Nullable ProcessInformation target) {
+        if (target == null) {
+            return SEARCHING;
+        }
 
-    @NotNull
-    protected abstract String replaceAll(@NotNull String line, @NotNull String group, @Nullable ProcessInformation processInformation);
+        if (target.getProcessGroup().getPlayerAccessConfiguration().isMaintenance()) {
+            return layout.isShowMaintenanceProcessesOnSigns() ? MAINTENANCE : SEARCHING;
+        }
 
-    public abstract void changeBlock(@NotNull CloudSign sign, @NotNull SignSubLayout layout);
+        if (!target.getNetworkInfo().isConnected()) {
+            return CONNECTING;
+        }
 
-    private void setLines(@NotNull CloudSign sign, @NotNull SignSubLayout layout) {
-        String[] copy = layout.getLines().clone();
-        if (copy.length != 4) {
-            return;
+        if (!target.getProcessDetail().getProcessState().isOnline()) {
+            return SEARCHING;
+        }
+
+        if (target.getProcessPlayerManager().getOnlineCount() == 0) {
+            return EMPTY;
         }
 
-        for (int i = 0; i <= 3; i++) {
-            copy[i] = this.replaceAll(copy[i], sign.getGroup(), sign.getCurrentTarget());
+        if (target.getProcessPlayerManager().getOnlineCount() >= target.getProcessDetail().getMaxPlayers()) {
+            return layout.isSearchingLayoutWhenFull() ? SEARCHING : FULL;
         }
 
-        this.setSignLines(sign, copy);
-        this.changeBlock(sign, layout);
+        return ONLINE;
     }
 
     @Nullable
     protected SignLayout getSignLayout(@NotNull String group) {
-        return LayoutUtil.getLayoutFor(group, this.signConfig).orElse(null);
+        LayoutFrames frames = this.getLayoutFrames(group);
+        return frames == null ? null : frames.layout;
+    }
+
+    @Nullable
+    private LayoutFrames getLayoutFrames(@NotNull String group) {
+        SignConfig config = this.signConfig;
+        if (this.layoutFramesConfig != config) {
+            synchronized (this.layoutFrames) {
+                if (this.layoutFramesConfig != config) {
+                    this.layoutFrames.clear();
+                    this.renderedSigns.clear();
+                    this.layoutFramesConfig = config;
+                }
+            }
+        }
+
+        LayoutFrames frames = this.layoutFrames.get(group);
+        if (frames == null) {
+            SignLayout layout = LayoutUtil.getLayoutFor(group, config).orElse(null);
+            if (layout == null) {
+                return null;
+            }
+
+            frames = new LayoutFrames(layout, group);
+            LayoutFrames other = this.layoutFrames.putIfAbsent(group, frames);
+            if (other != null) {
+                frames = other;
+            }
+        }
+
+        return frames;
     }
 
     private void start() {
@@ -390,21 +424,38 @@ public abstract class SharedSignSystemAdapter<T> implements SignSystemAdapter<T>
                         return;
                     }
 
-                    this.signs.addAll(cloudSigns.stream().filter(e -> {
-                        String current = Embedded.getInstance().getCurrentProcessInformation().getProcessGroup().getName();
-                        return current.equals(e.getLocation().getGroup());
-                    }).collect(Collectors.toList()));
+                    String current = Embedded.getInstance().getCurrentProcessInformation().getProcessGroup().getName();
+                    synchronized (this) {
+                        for (CloudSign cloudSign : cloudSigns) {
+                            if (current.equals(cloudSign.getLocation().getGroup())) {
+                                this.addSign(cloudSign);
+                            }
+                        }
+                    }
 
                     ExecutorAPI.getInstance().getProcessProvider().getProcesses().forEach(this::handleProcessStart);
                     this.runTasks();
                 }));
     }
 
-    @Nullable
-    private CloudSign getSignOf(@NotNull ProcessInformation other) {
+    private boolean addSign(@NotNull CloudSign cloudSign) {
+        if (this.signsByLocation.putIfAbsent(cloudSign.getLocation(), cloudSign) != null) {
+            return false;
+        }
+
+        this.signs.add(cloudSign);
+        return true;
+    }
+
+    private void assign(@NotNull CloudSign sign, @NotNull ProcessInformation processInformation) {
+        sign.setCurrentTarget(processInformation);
+        this.signsByProcess.put(processInformation.getProcessDetail().getProcessUniqueID(), sign);
+        this.renderSign(sign);
+    }
+
+    private @Nullable CloudSign getFreeSignForGroup(@NotNull String group) {
         for (CloudSign sign : this.signs) {
-            if (sign.getCurrentTarget() != null
-                    && sign.getCurrentTarget().getProcessDetail().getProcessUniqueID().equals(other.getProcessDetail().getProcessUniqueID())) {
+            if (sign.getCurrentTarget() == null && sign.getGroup().equals(group)) {
                 return sign;
             }
         }
@@ -412,23 +463,90 @@ public abstract class SharedSignSystemAdapter<T> implements SignSystemAdapter<T>
         return null;
     }
 
-    private @Nullable CloudSign getFreeSignForGroup(@NotNull ProcessGroup processGroup) {
-        return Streams.filter(this.signs, e -> e.getCurrentTarget() == null && e.getGroup().equals(processGroup.getName()));
-    }
-
     private boolean isProcessAssigned(@NotNull ProcessInformation process) {
-        return this.getSignOf(process) != null;
+        return this.signsByProcess.containsKey(process.getProcessDetail().getProcessUniqueID());
     }
 
     private void tryAssign(@NotNull ProcessInformation processInformation) {
         synchronized (this) {
-            for (CloudSign sign : this.signs) {
-                if (sign.getCurrentTarget() == null && sign.getGroup().equals(processInformation.getProcessGroup().getName())) {
-                    sign.setCurrentTarget(processInformation);
-                    this.updateSigns();
-                    break;
+            if (this.isProcessAssigned(processInformation)) {
+                return;
+            }
+
+            CloudSign sign = this.getFreeSignForGroup(processInformation.getProcessGroup().getName());
+            if (sign != null) {
+                this.assign(sign, processInformation);
+            }
+        }
+    }
+
+    private static final class RenderedSign {
+
+        private final String[] lines;
+        private final String block;
+        private final int subId;
+
+        private RenderedSign(String[] lines, SignSubLayout layout) {
+            this.lines = lines;
+            this.block = layout.getBlock();
+            this.subId = layout.getSubID();
+        }
+    }
+
+    /**
+     * The animation frames of one layout. The frames of every state are resolved once, the lines of the
+     * searching frames are pre-rendered because they do not depend on a process.
+     */
+    private final class LayoutFrames {
+
+        private final SignLayout layout;
+        private final SignSubLayout[][] frames = new SignSubLayout[6][];
+        private final String[][] searchingLines;
+        private volatile int frame;
+
+        private LayoutFrames(@NotNull SignLayout layout, @NotNull String group) {
+            this.layout = layout;
+            this.frames[SEARCHING] = this.resolve(layout.getSearchingLayouts(), "Waiting");
+            this.frames[MAINTENANCE] = this.resolve(layout.getMaintenanceLayout(), "Maintenance");
+            this.frames[CONNECTING] = this.resolve(layout.getWaitingForConnectLayout(), "Connecting");
+            this.frames[EMPTY] = this.resolve(layout.getEmptyLayout(), "Empty");
+            this.frames[FULL] = this.resolve(layout.getFullLayout(), "Full");
+            this.frames[ONLINE] = this.resolve(layout.getOnlineLayout(), "Online");
+
+            this.searchingLines = new String[this.frames[SEARCHING].length][];
+            for (int i = 0; i < this.searchingLines.length; i++) {
+                String[] lines = this.frames[SEARCHING][i].getLines().clone();
+                for (int line = 0; line < lines.length; line++) {
+                    lines[line] = SharedSignSystemAdapter.this.replaceAll(lines[line], group, null);
                 }
+
+                this.searchingLines[i] = lines;
+            }
+        }
+
+        private @NotNull SignSubLayout[] resolve(@NotNull List<SignSubLayout> layouts, @NotNull String name) {
+            if (layouts.isEmpty()) {
+                throw new RuntimeException(name + " layout for current group not present");
             }
+
+            return layouts.toArray(new SignSubLayout[0]);
+        }
+
+        private int currentFrame() {
+            return this.frame;
+        }
+
+        private @NotNull SignSubLayout getFrame(int state, int frame) {
+            SignSubLayout[] frames = this.frames[state];
+            return frames[frame % frames.length];
+        }
+
+        private @NotNull String[] getSearchingLines(int frame) {
+            return this.searchingLines[frame % this.searchingLines.length];
+        }
+
+        private void advance() {
+            this.frame = (this.frame + 1) & Integer.MAX_VALUE;
         }
     }
 }
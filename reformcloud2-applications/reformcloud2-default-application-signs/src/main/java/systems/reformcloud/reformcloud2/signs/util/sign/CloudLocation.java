@@ -95,6 +95,11 @@ public class CloudLocation implements SerializableObject {
                 Objects.equals(this.getGroup(), that.getGroup());
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getWorld(), this.getGroup(), this.getX(), this.getY(), this.getZ(), this.getYaw(), this.getPitch());
+    }
+
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeString(this.world);
@@ -30,64 +30,38 @@ import org.apache.commons.net.ftp.FTPClient;
 import org.apache.commons.net.ftp.FTPFile;
 import org.apache.commons.net.ftp.FTPSClient;
 import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.backends.mirror.MirrorSource;
+import systems.reformcloud.reformcloud2.backends.mirror.RemoteFile;
+import systems.reformcloud.reformcloud2.backends.mirror.TemplateMirror;
+import systems.reformcloud.reformcloud2.backends.pool.ConnectionPool;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.backend.TemplateBackend;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.backend.TemplateBackendManager;
-import systems.reformcloud.reformcloud2.executor.api.io.IOUtils;
-import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
-import systems.reformcloud.reformcloud2.executor.api.task.defaults.DefaultTask;
-import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
-public final class FTPTemplateBackend implements TemplateBackend {
+public final class FTPTemplateBackend implements TemplateBackend, MirrorSource {
 
-    private static final BlockingDeque<Runnable> TASKS = new LinkedBlockingDeque<>();
-    private final FTPClient ftpClient;
     private final FTPConfig config;
+    private final ConnectionPool<FTPClient> connectionPool;
+    private final TemplateMirror mirror;
+
+    // the absolute base directory, every pooled connection returns to it after an operation
+    private volatile String remoteBaseDirectory;
 
     private FTPTemplateBackend(FTPConfig ftpConfig) {
         this.config = ftpConfig;
-        this.ftpClient = ftpConfig.isSslEnabled() ? new FTPSClient() : new FTPClient();
-        this.open(ftpConfig);
-
-        NetworkUtil.EXECUTOR.execute(() -> {
-            while (!Thread.interrupted()) {
-                try {
-                    Runnable runnable = TASKS.poll(20, TimeUnit.SECONDS);
-                    boolean available = this.ftpClient.isAvailable();
-
-                    if (runnable == null) {
-                        if (!available) {
-                            continue;
-                        }
-
-                        try {
-                            this.ftpClient.disconnect();
-                        } catch (final Throwable ignored) {
-                        }
-
-                        continue;
-                    }
-
-                    if (!available) {
-                        this.open(this.config);
-                    }
-
-                    runnable.run();
-                } catch (final InterruptedException ignored) {
-                }
-            }
-        });
+        this.connectionPool = new ConnectionPool<>(new FTPConnectionFactory(), Integer.getInteger("systems.reformcloud.ftp-pool-size", 4));
+        this.mirror = new TemplateMirror(this.getName(), this);
     }
 
     public static void load(String basePath) {
@@ -108,27 +82,18 @@ public final class FTPTemplateBackend implements TemplateBackend {
     }
 
     public static void unload() {
+        TemplateBackendManager.get("FTP").ifPresent(backend -> {
+            if (backend instanceof FTPTemplateBackend) {
+                ((FTPTemplateBackend) backend).connectionPool.close();
+            }
+        });
         TemplateBackendManager.unregisterBackend("FTP");
     }
 
-    private static Task<Void> future(@NotNull Runnable runnable) {
-        Task<Void> completableFuture = new DefaultTask<>();
-        Runnable newRunnable = () -> {
-            runnable.run();
-            completableFuture.complete(null);
-        };
-        TASKS.offerLast(newRunnable);
-        return completableFuture;
-    }
-
     @Override
     public boolean existsTemplate(@NotNull String group, @NotNull String template) {
-        if (this.ftpClient == null) {
-            return false;
-        }
-
         try {
-            return this.ftpClient.listFiles(group + "/" + template).length > 0;
+            return this.connectionPool.execute(client -> client.listFiles(group + "/" + template).length > 0);
         } catch (final IOException ex) {
             return false;
         }
@@ -136,13 +101,12 @@ public final class FTPTemplateBackend implements TemplateBackend {
 
     @Override
     public void createTemplate(@NotNull String group, @NotNull String template) {
-        if (this.ftpClient == null) {
-            return;
-        }
-
-        future(() -> {
+        Task.runAsync(() -> {
             try {
-                this.makeDirectory(group + "/" + template);
+                this.connectionPool.execute(client -> {
+                    this.makeDirectory(client, group + "/" + template);
+                    return null;
+                });
             } catch (final IOException ex) {
                 ex.printStackTrace();
             }
@@ -152,93 +116,44 @@ public final class FTPTemplateBackend implements TemplateBackend {
     @NotNull
     @Override
     public Task<Void> loadTemplate(@NotNull String group, @NotNull String template, @NotNull Path target) {
-        if (this.ftpClient == null) {
-            return Task.completedTask(null);
-        }
-
-        return future(() -> {
-            try {
-                FTPFile[] files = this.ftpClient.listFiles(group + "/" + template);
-                if (files == null || files.length == 0) {
-                    return;
-                }
-
-                for (FTPFile file : files) {
-                    this.loadFiles(file, group + "/" + template + "/" + file.getName(), Paths.get(target.toString(), file.getName()));
-                }
-            } catch (final IOException ex) {
-                ex.printStackTrace();
-            }
-        });
-    }
-
-    private void loadFiles(FTPFile file, String path, Path target) throws IOException {
-        if (file.isDirectory()) {
-            FTPFile[] files = this.ftpClient.listFiles(path);
-            if (files == null || files.length == 0) {
-                return;
-            }
-
-            for (FTPFile ftpFile : files) {
-                this.loadFiles(ftpFile, path + "/" + ftpFile.getName(), Paths.get(target.toString(), ftpFile.getName()));
-            }
-        } else if (file.isFile()) {
-            IOUtils.createDirectory(target.getParent());
-            if (Files.notExists(target)) {
-                Files.createFile(target);
-            }
-
-            try (FileOutputStream fileOutputStream = new FileOutputStream(target.toFile(), false)) {
-                this.ftpClient.retrieveFile(path, fileOutputStream);
-            }
-        }
-
-        this.ftpClient.changeWorkingDirectory(this.config.getBaseDirectory());
+        return this.loadFromMirror(group + "/" + template, target);
     }
 
     @NotNull
     @Override
     public Task<Void> loadGlobalTemplates(@NotNull ProcessGroup group, @NotNull Path target) {
-        if (this.ftpClient == null) {
-            return Task.completedTask(null);
-        }
+        return Task.supply(() -> {
+            for (Template template : group.getTemplates()) {
+                if (template.isGlobal() && template.getBackend().equals(this.getName())) {
+                    this.loadTemplate(group.getName(), template.getName(), target).awaitUninterruptedly();
+                }
+            }
 
-        return future(() ->
-                Streams.allOf(group.getTemplates(), e -> e.getBackend().equals(this.getName())
-                        && e.isGlobal()).forEach(e -> this.loadTemplate(group.getName(), e.getName(), target))
-        );
+            return null;
+        });
     }
 
     @NotNull
     @Override
     public Task<Void> loadPath(@NotNull String path, @NotNull Path target) {
-        if (this.ftpClient == null) {
-            return Task.completedTask(null);
-        }
+        return this.loadFromMirror(path, target);
+    }
 
-        return future(() -> {
+    @NotNull
+    private Task<Void> loadFromMirror(@NotNull String remoteDirectory, @NotNull Path target) {
+        return Task.supply(() -> {
             try {
-                FTPFile[] files = this.ftpClient.listFiles(path);
-                if (files == null || files.length == 0) {
-                    this.makeDirectory(path);
-                    return;
-                }
-
-                for (FTPFile file : files) {
-                    this.loadFiles(file, path + "/" + file.getName(), Paths.get(target.toString(), file.getName()));
-                }
+                this.mirror.load(remoteDirectory, target);
             } catch (final IOException ex) {
                 ex.printStackTrace();
             }
+
+            return null;
         });
     }
 
     @Override
     public void deployTemplate(@NotNull String group, @NotNull String template, @NotNull Path current, @NotNull Collection<String> collection) {
-        if (this.ftpClient == null) {
-            return;
-        }
-
         File[] localFiles = current.toFile().listFiles(e -> {
             String full = e.getAbsolutePath()
                     .replaceFirst(current.toFile().getAbsolutePath(), "")
@@ -249,18 +164,24 @@ public final class FTPTemplateBackend implements TemplateBackend {
             return;
         }
 
-        future(() -> {
+        Task.runAsync(() -> {
             try {
-                for (File localFile : localFiles) {
-                    this.writeFile(group + "/" + template, localFile);
-                }
+                this.connectionPool.execute(client -> {
+                    for (File localFile : localFiles) {
+                        this.writeFile(client, group + "/" + template, localFile);
+                    }
+
+                    return null;
+                });
             } catch (final IOException ex) {
                 ex.printStackTrace();
             }
+
+            this.mirror.invalidate(group + "/" + template);
         });
     }
 
-    private void writeFile(String path, File local) throws IOException {
+    private void writeFile(FTPClient client, String path, File local) throws IOException {
         String remotePath = path + "/" + local.getName();
         if (local.isDirectory()) {
             File[] localFiles = local.listFiles();
@@ -268,91 +189,153 @@ public final class FTPTemplateBackend implements TemplateBackend {
                 return;
             }
 
-            this.makeDirectory(remotePath);
+            this.makeDirectory(client, remotePath);
 
             for (File localFile : localFiles) {
-                this.writeFile(remotePath, localFile);
+                this.writeFile(client, remotePath, localFile);
             }
         } else if (local.isFile()) {
             try (InputStream inputStream = new FileInputStream(local)) {
-                this.ftpClient.storeFile(remotePath, inputStream);
+                client.storeFile(remotePath, inputStream);
             }
         }
 
-        this.ftpClient.changeWorkingDirectory("/" + this.config.getBaseDirectory());
+        client.changeWorkingDirectory(this.remoteBaseDirectory);
+    }
+
+    private void makeDirectory(FTPClient client, String path) throws IOException {
+        this.enterDirectory(client, path);
+        client.changeWorkingDirectory(this.remoteBaseDirectory);
     }
 
-    private void makeDirectory(String path) throws IOException {
+    private void enterDirectory(FTPClient client, String path) throws IOException {
         for (String s : path.split("/")) {
-            if (!this.ftpClient.changeWorkingDirectory(s)) {
-                this.ftpClient.makeDirectory(s);
+            if (!client.changeWorkingDirectory(s)) {
+                client.makeDirectory(s);
             }
 
-            this.ftpClient.changeWorkingDirectory(s);
+            client.changeWorkingDirectory(s);
         }
-
-        this.ftpClient.changeWorkingDirectory(this.config.getBaseDirectory());
     }
 
     @Override
     public void deleteTemplate(@NotNull String group, @NotNull String template) {
-        if (this.ftpClient == null) {
-            return;
-        }
-
-        TASKS.offerLast(() -> {
+        Task.runAsync(() -> {
             try {
-                FTPFile[] files = this.ftpClient.mlistDir(group + "/" + template);
-                if (files == null || files.length == 0) {
-                    return;
-                }
+                this.connectionPool.execute(client -> {
+                    FTPFile[] files = client.mlistDir(group + "/" + template);
+                    if (files != null) {
+                        for (FTPFile file : files) {
+                            this.deleteAll(client, group + "/" + template, file);
+                        }
+                    }
 
-                for (FTPFile file : files) {
-                    this.deleteAll(group + "/" + template, file);
-                }
+                    return null;
+                });
             } catch (final IOException ex) {
                 ex.printStackTrace();
             }
+
+            this.mirror.delete(group + "/" + template);
         });
     }
 
-    private void deleteAll(String path, FTPFile file) throws IOException {
+    private void deleteAll(FTPClient client, String path, FTPFile file) throws IOException {
         String filePath = path + "/" + file.getName();
 
         if (file.isDirectory()) {
-            FTPFile[] files = this.ftpClient.listFiles(filePath);
+            FTPFile[] files = client.listFiles(filePath);
             if (files == null || files.length == 0) {
                 return;
             }
 
             for (FTPFile ftpFile : files) {
-                this.deleteAll(filePath, ftpFile);
+                this.deleteAll(client, filePath, ftpFile);
             }
         } else {
-            this.ftpClient.deleteFile(filePath);
+            client.deleteFile(filePath);
         }
     }
 
-    private void open(FTPConfig ftpConfig) {
-        try {
-            this.ftpClient.setAutodetectUTF8(true);
+    @NotNull
+    @Override
+    public Collection<RemoteFile> list(@NotNull String directory) throws IOException {
+        return this.connectionPool.execute(client -> {
+            List<RemoteFile> files = new ArrayList<>();
+            this.list(client, directory, "", files);
+            return files;
+        });
+    }
 
-            this.ftpClient.connect(ftpConfig.getHost(), ftpConfig.getPort());
-            this.ftpClient.login(ftpConfig.getUser(), ftpConfig.getPassword());
+    private void list(FTPClient client, String path, String relativePath, Collection<RemoteFile> target) throws IOException {
+        FTPFile[] files = client.listFiles(path);
+        if (files == null) {
+            return;
+        }
 
-            this.ftpClient.sendNoOp();
-            this.ftpClient.setFileType(FTP.BINARY_FILE_TYPE);
-            this.ftpClient.setControlKeepAliveTimeout(60);
+        for (FTPFile file : files) {
+            if (file.getName().equals(".") || file.getName().equals("..")) {
+                continue;
+            }
 
-            this.makeDirectory(ftpConfig.getBaseDirectory());
-        } catch (final IOException ex) {
-            ex.printStackTrace();
+            if (file.isDirectory()) {
+                this.list(client, path + "/" + file.getName(), relativePath + file.getName() + "/", target);
+            } else if (file.isFile()) {
+                long lastModified = file.getTimestamp() == null ? 0 : file.getTimestamp().getTimeInMillis();
+                target.add(new RemoteFile(relativePath + file.getName(), file.getSize(), lastModified));
+            }
         }
     }
 
+    @Override
+    public void download(@NotNull String file, @NotNull Path target) throws IOException {
+        this.connectionPool.execute(client -> {
+            try (OutputStream outputStream = Files.newOutputStream(target)) {
+                if (!client.retrieveFile(file, outputStream)) {
+                    throw new IOException("Unable to download " + file + ": " + client.getReplyString());
+                }
+            }
+
+            return null;
+        });
+    }
+
     @NotNull
     @Override
     public String getName() {
         return "FTP";
     }
+
+    private final class FTPConnectionFactory implements ConnectionPool.ConnectionFactory<FTPClient> {
+
+        @NotNull
+        @Override
+        public FTPClient create() throws IOException {
+            FTPClient client = FTPTemplateBackend.this.config.isSslEnabled() ? new FTPSClient() : new FTPClient();
+            client.setAutodetectUTF8(true);
+
+            client.connect(FTPTemplateBackend.this.config.getHost(), FTPTemplateBackend.this.config.getPort());
+            if (!client.login(FTPTemplateBackend.this.config.getUser(), FTPTemplateBackend.this.config.getPassword())) {
+                client.disconnect();
+                throw new IOException("Unable to login to ftp server " + FTPTemplateBackend.this.config.getHost());
+            }
+
+            client.setFileType(FTP.BINARY_FILE_TYPE);
+            client.setControlKeepAliveTimeout(60);
+
+            FTPTemplateBackend.this.enterDirectory(client, FTPTemplateBackend.this.config.getBaseDirectory());
+            FTPTemplateBackend.this.remoteBaseDirectory = client.printWorkingDirectory();
+            return client;
+        }
+
+        @Override
+        public boolean isValid(@NotNull FTPClient connection) {
+            return connection.isAvailable();
+        }
+
+        @Override
+        public void close(@NotNull FTPClient connection) throws IOException {
+            connection.disconnect();
+        }
+    }
 }
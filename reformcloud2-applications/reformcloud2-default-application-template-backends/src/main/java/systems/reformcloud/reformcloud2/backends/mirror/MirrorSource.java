@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.backends.mirror;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * The remote server a {@link TemplateMirror} mirrors the files of.
+ */
+public interface MirrorSource {
+
+    /**
+     * Lists all files in the given directory and its sub directories.
+     *
+     * @param directory the remote directory
+     * @return all files in the directory, an empty collection if the directory does not exist
+     * @throws IOException if the directory could not be listed
+     */
+    @NotNull Collection<RemoteFile> list(@NotNull String directory) throws IOException;
+
+    /**
+     * Downloads a remote file.
+     *
+     * @param file   the full path of the remote file
+     * @param target the local file to write the content to
+     * @throws IOException if the file could not be downloaded
+     */
+    void download(@NotNull String file, @NotNull Path target) throws IOException;
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.backends.mirror;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A file listed by a {@link MirrorSource}.
+ */
+public final class RemoteFile {
+
+    private final String path;
+    private final long size;
+    private final long lastModified;
+
+    /**
+     * @param path         the path of the file relative to the listed directory, separated by {@code /}
+     * @param size         the size of the file in bytes
+     * @param lastModified the last modification time of the file in milliseconds
+     */
+    public RemoteFile(@NotNull String path, long size, long lastModified) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    @NotNull
+    public String getPath() {
+        return this.path;
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    public long getLastModified() {
+        return this.lastModified;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.backends.mirror;
+
+import com.google.gson.reflect.TypeToken;
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.io.IOUtils;
+import systems.reformcloud.reformcloud2.executor.api.io.TemplateFileStore;
+import systems.reformcloud.reformcloud2.executor.api.task.Task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mirrors remote template directories on the local disk. A manifest stores the size, modification time
+ * and checksum of every mirrored file, so a sync only transfers the files which changed. Processes are
+ * loaded from the mirror, only the first load of a directory waits for the remote server, later loads
+ * start a sync in the background.
+ */
+public final class TemplateMirror {
+
+    private static final long SYNC_INTERVAL = TimeUnit.SECONDS.toMillis(Integer.getInteger("systems.reformcloud.template-mirror-sync-interval-seconds", 30));
+
+    private final Path directory;
+    private final MirrorSource source;
+    private final Map<String, MirroredDirectory> directories = new ConcurrentHashMap<>();
+
+    public TemplateMirror(@NotNull String backendName, @NotNull MirrorSource source) {
+        this.directory = Paths.get("reformcloud/.cache/template-mirror", backendName.toLowerCase());
+        this.source = source;
+    }
+
+    /**
+     * Loads the files of the remote directory into the target directory.
+     *
+     * @param remoteDirectory the remote directory to load
+     * @param target          the local directory to load the files into
+     * @throws IOException if the directory was never synced and the sync failed
+     */
+    public void load(@NotNull String remoteDirectory, @NotNull Path target) throws IOException {
+        MirroredDirectory mirrored = this.directories.computeIfAbsent(remoteDirectory, MirroredDirectory::new);
+        if (Files.notExists(mirrored.manifest)) {
+            this.sync(mirrored);
+        } else if (System.currentTimeMillis() - mirrored.lastSync >= SYNC_INTERVAL) {
+            this.syncAsync(mirrored);
+        }
+
+        mirrored.lock.readLock().lock();
+        try {
+            if (Files.isDirectory(mirrored.files)) {
+                TemplateFileStore.getDefault().materializeDirectory(mirrored.files, target);
+            }
+        } finally {
+            mirrored.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Syncs the mirror of the given directory in the background, used after the remote files changed.
+     *
+     * @param remoteDirectory the remote directory which changed
+     */
+    public void invalidate(@NotNull String remoteDirectory) {
+        MirroredDirectory mirrored = this.directories.get(remoteDirectory);
+        if (mirrored != null) {
+            this.syncAsync(mirrored);
+        }
+    }
+
+    /**
+     * Deletes the mirror of the given directory.
+     *
+     * @param remoteDirectory the remote directory which got deleted
+     */
+    public void delete(@NotNull String remoteDirectory) {
+        MirroredDirectory mirrored = this.directories.computeIfAbsent(remoteDirectory, MirroredDirectory::new);
+        mirrored.lock.writeLock().lock();
+        try {
+            IOUtils.deleteFile(mirrored.manifest);
+            if (Files.exists(mirrored.files)) {
+                IOUtils.deleteDirectory(mirrored.files);
+            }
+        } finally {
+            mirrored.lock.writeLock().unlock();
+            this.directories.remove(remoteDirectory);
+        }
+    }
+
+    private void syncAsync(@NotNull MirroredDirectory mirrored) {
+        if (mirrored.syncing.compareAndSet(false, true)) {
+            Task.runAsync(() -> {
+                try {
+                    this.sync(mirrored);
+                } catch (final IOException exception) {
+                    System.err.println("Unable to sync template mirror of " + mirrored.remoteDirectory + ": " + exception.getMessage());
+                } finally {
+                    mirrored.syncing.set(false);
+                }
+            });
+        }
+    }
+
+    private void sync(@NotNull MirroredDirectory mirrored) throws IOException {
+        synchronized (mirrored) {
+            Map<String, MirroredFile> manifest = readManifest(mirrored.manifest);
+            Map<String, MirroredFile> newManifest = new HashMap<>();
+            Map<Path, Path> downloads = new HashMap<>();
+
+            Path temp = this.directory.resolve(".download");
+            Files.createDirectories(temp);
+
+            try {
+                for (RemoteFile remoteFile : this.source.list(mirrored.remoteDirectory)) {
+                    Path local = mirrored.files.resolve(remoteFile.getPath()).normalize();
+                    if (!local.startsWith(mirrored.files)) {
+                        continue;
+                    }
+
+                    MirroredFile mirroredFile = manifest.get(remoteFile.getPath());
+                    if (mirroredFile != null && mirroredFile.isUpToDate(remoteFile) && mirroredFile.isIntact(local)) {
+                        newManifest.put(remoteFile.getPath(), mirroredFile);
+                        continue;
+                    }
+
+                    Path download = Files.createTempFile(temp, "mirror", ".tmp");
+                    downloads.put(local, download);
+                    this.source.download(mirrored.remoteDirectory + "/" + remoteFile.getPath(), download);
+
+                    BasicFileAttributes attributes = Files.readAttributes(download, BasicFileAttributes.class);
+                    String checksum = checksum(download);
+                    if (mirroredFile != null && mirroredFile.checksum.equals(checksum) && mirroredFile.isIntact(local)) {
+                        // only the remote modification time changed, keep the mirrored file untouched
+                        newManifest.put(remoteFile.getPath(), new MirroredFile(remoteFile, mirroredFile.localSize, mirroredFile.localModified, checksum));
+                        Files.delete(download);
+                        downloads.remove(local);
+                        continue;
+                    }
+
+                    newManifest.put(remoteFile.getPath(), new MirroredFile(remoteFile, attributes.size(), attributes.lastModifiedTime().toMillis(), checksum));
+                }
+
+                mirrored.lock.writeLock().lock();
+                try {
+                    for (Map.Entry<Path, Path> entry : downloads.entrySet()) {
+                        Files.createDirectories(entry.getKey().getParent());
+                        Files.move(entry.getValue(), entry.getKey(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+
+                    for (String removed : manifest.keySet()) {
+                        if (!newManifest.containsKey(removed)) {
+                            Files.deleteIfExists(mirrored.files.resolve(removed).normalize());
+                        }
+                    }
+
+                    Files.createDirectories(mirrored.files);
+                    new JsonConfiguration().add("files", newManifest).write(mirrored.manifest);
+                } finally {
+                    mirrored.lock.writeLock().unlock();
+                }
+
+                mirrored.lastSync = System.currentTimeMillis();
+            } finally {
+                for (Path download : downloads.values()) {
+                    Files.deleteIfExists(download);
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static Map<String, MirroredFile> readManifest(@NotNull Path manifest) {
+        if (Files.notExists(manifest)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, MirroredFile> files = JsonConfiguration.read(manifest).get("files", new TypeToken<Map<String, MirroredFile>>() {
+        });
+        return files == null ? Collections.emptyMap() : files;
+    }
+
+    @NotNull
+    private static String checksum(@NotNull Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IOException(exception);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+        }
+
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    @NotNull
+    private static String encode(@NotNull String remoteDirectory) {
+        try {
+            return URLEncoder.encode(remoteDirectory, StandardCharsets.UTF_8.name());
+        } catch (final UnsupportedEncodingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private final class MirroredDirectory {
+
+        private final String remoteDirectory;
+        private final Path files;
+        private final Path manifest;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicBoolean syncing = new AtomicBoolean();
+
+        private volatile long lastSync;
+
+        private MirroredDirectory(String remoteDirectory) {
+            this.remoteDirectory = remoteDirectory;
+            this.files = TemplateMirror.this.directory.resolve("files").resolve(encode(remoteDirectory)).toAbsolutePath().normalize();
+            this.manifest = TemplateMirror.this.directory.resolve("manifests").resolve(encode(remoteDirectory) + ".json");
+        }
+    }
+
+    private static final class MirroredFile {
+
+        private final long remoteSize;
+        private final long remoteModified;
+        private final long localSize;
+        private final long localModified;
+        private final String checksum;
+
+        private MirroredFile(RemoteFile remoteFile, long localSize, long localModified, String checksum) {
+            this.remoteSize = remoteFile.getSize();
+            this.remoteModified = remoteFile.getLastModified();
+            this.localSize = localSize;
+            this.localModified = localModified;
+            this.checksum = checksum;
+        }
+
+        private boolean isUpToDate(@NotNull RemoteFile remoteFile) {
+            return this.remoteSize == remoteFile.getSize() && this.remoteModified == remoteFile.getLastModified();
+        }
+
+        private boolean isIntact(@NotNull Path local) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(local, BasicFileAttributes.class);
+                return this.localSize == attributes.size() && this.localModified == attributes.lastModifiedTime().toMillis();
+            } catch (final IOException exception) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.backends.pool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A bounded pool of connections to a remote server. Connections are created lazily and reused, an
+ * operation failing on a reused connection is retried once on a new connection because the server may
+ * have closed the idle connection.
+ *
+ * @param <T> the type of the pooled connections
+ */
+public final class ConnectionPool<T> {
+
+    private final ConnectionFactory<T> factory;
+    private final Semaphore permits;
+    private final Deque<T> idleConnections = new ConcurrentLinkedDeque<>();
+
+    public ConnectionPool(@NotNull ConnectionFactory<T> factory, int size) {
+        this.factory = factory;
+        this.permits = new Semaphore(Math.max(1, size), true);
+    }
+
+    public <R> R execute(@NotNull Operation<T, R> operation) throws IOException {
+        try {
+            this.permits.acquire();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection");
+        }
+
+        try {
+            T connection = this.idleConnections.pollFirst();
+            if (connection != null && !this.factory.isValid(connection)) {
+                this.close(connection);
+                connection = null;
+            }
+
+            if (connection == null) {
+                return this.execute(this.factory.create(), operation);
+            }
+
+            try {
+                return this.execute(connection, operation);
+            } catch (final IOException exception) {
+                return this.execute(this.factory.create(), operation);
+            }
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    public void close() {
+        T connection;
+        while ((connection = this.idleConnections.pollFirst()) != null) {
+            this.close(connection);
+        }
+    }
+
+    private <R> R execute(@NotNull T connection, @NotNull Operation<T, R> operation) throws IOException {
+        try {
+            R result = operation.execute(connection);
+            this.idleConnections.offerFirst(connection);
+            return result;
+        } catch (final IOException | RuntimeException exception) {
+            this.close(connection);
+            throw exception;
+        }
+    }
+
+    private void close(@NotNull T connection) {
+        try {
+            this.factory.close(connection);
+        } catch (final IOException ignored) {
+        }
+    }
+
+    public interface ConnectionFactory<T> {
+
+        @NotNull T create() throws IOException;
+
+        boolean isValid(@NotNull T connection);
+
+        void close(@NotNull T connection) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Operation<T, R> {
+
+        R execute(@NotNull T connection) throws IOException;
+    }
+}
@@ -34,6 +34,10 @@ import net.schmizz.sshj.userauth.UserAuthException;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.helpers.NOPLogger;
+import systems.reformcloud.reformcloud2.backends.mirror.MirrorSource;
+import systems.reformcloud.reformcloud2.backends.mirror.RemoteFile;
+import systems.reformcloud.reformcloud2.backends.mirror.TemplateMirror;
+import systems.reformcloud.reformcloud2.backends.pool.ConnectionPool;
 import systems.reformcloud.reformcloud2.executor.api.base.Conditions;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
@@ -53,24 +57,25 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 
-public final class SFTPTemplateBackend implements TemplateBackend {
+public final class SFTPTemplateBackend implements TemplateBackend, MirrorSource {
 
     private final SFTPConfig config;
+    private final ConnectionPool<SFTPClient> connectionPool;
+    private final TemplateMirror mirror;
 
     private SSHClient sshClient;
-    private SFTPClient sftpClient;
 
     private SFTPTemplateBackend(SFTPConfig config) {
         this.config = config;
+        this.connectionPool = new ConnectionPool<>(new SFTPConnectionFactory(), Integer.getInteger("systems.reformcloud.sftp-pool-size", 4));
+        this.mirror = new TemplateMirror(this.getName(), this);
         this.ensureConnected();
     }
 
     @Override
     public boolean existsTemplate(@NotNull String group, @NotNull String template) {
-        this.ensureConnected();
-
         try {
-            FileAttributes fileAttributes = this.sftpClient.statExistence(this.config.getBaseDirectory() + group + "/" + template);
+            FileAttributes fileAttributes = this.connectionPool.execute(client -> client.statExistence(this.config.getBaseDirectory() + group + "/" + template));
             return fileAttributes != null && fileAttributes.getType() != null && fileAttributes.getType() == FileMode.Type.DIRECTORY;
         } catch (IOException exception) {
             return false;
@@ -79,15 +84,12 @@ public final class SFTPTemplateBackend implements TemplateBackend {
 
     @Override
     public void createTemplate(@NotNull String group, @NotNull String template) {
-        Task.runAsync(() -> {
-            this.ensureConnected();
-            this.executeSilently(() -> this.sftpClient.mkdirs(this.config.getBaseDirectory() + group + "/" + template));
-        });
+        Task.runAsync(() -> this.executeSilently(client -> client.mkdirs(this.config.getBaseDirectory() + group + "/" + template)));
     }
 
     @Override
     public @NotNull Task<Void> loadTemplate(@NotNull String group, @NotNull String template, @NotNull Path target) {
-        return this.executeTask(() -> this.downloadDirectory(this.config.getBaseDirectory() + group + "/" + template, target.toString()));
+        return this.executeTask(() -> this.mirror.load(this.config.getBaseDirectory() + group + "/" + template, target));
     }
 
     @Override
@@ -114,22 +116,23 @@ public final class SFTPTemplateBackend implements TemplateBackend {
 
     @Override
     public @NotNull Task<Void> loadPath(@NotNull String path, @NotNull Path target) {
-        return this.executeTask(() -> this.downloadDirectory(this.config.getBaseDirectory() + path, target.toString()));
+        return this.executeTask(() -> this.mirror.load(this.config.getBaseDirectory() + path, target));
     }
 
     @Override
     public void deployTemplate(@NotNull String group, @NotNull String template, @NotNull Path current, @NotNull Collection<String> excluded) {
         Task.runAsync(() -> {
-            this.executeSilently(() -> this.deleteDirectory(this.config.getBaseDirectory() + group + "/" + template));
-            this.executeSilently(() -> this.uploadDirectory(this.config.getBaseDirectory() + group + "/" + template, current.toString(), excluded));
+            this.executeSilently(client -> this.deleteDirectory(client, this.config.getBaseDirectory() + group + "/" + template));
+            this.executeSilently(client -> this.uploadDirectory(client, this.config.getBaseDirectory() + group + "/" + template, current.toString(), excluded));
+            this.mirror.invalidate(this.config.getBaseDirectory() + group + "/" + template);
         });
     }
 
     @Override
     public void deleteTemplate(@NotNull String group, @NotNull String template) {
         Task.runAsync(() -> {
-            this.ensureConnected();
-            this.executeSilently(() -> this.deleteDirectory(this.config.getBaseDirectory() + group + "/" + template));
+            this.executeSilently(client -> this.deleteDirectory(client, this.config.getBaseDirectory() + group + "/" + template));
+            this.mirror.delete(this.config.getBaseDirectory() + group + "/" + template);
         });
     }
 
@@ -138,66 +141,74 @@ public final class SFTPTemplateBackend implements TemplateBackend {
         return "SFTP";
     }
 
+    @Override
+    public @NotNull Collection<RemoteFile> list(@NotNull String directory) throws IOException {
+        return this.connectionPool.execute(client -> {
+            Collection<RemoteFile> files = new ArrayList<>();
+            if (client.statExistence(directory) != null) {
+                this.list(client, directory.endsWith("/") ? directory : directory + "/", "", files);
+            }
+
+            return files;
+        });
+    }
+
+    @Override
+    public void download(@NotNull String file, @NotNull Path target) throws IOException {
+        this.connectionPool.execute(client -> {
+            client.get(file, target.toString());
+            return null;
+        });
+    }
+
     protected @NotNull Task<Void> executeTask(@NotNull ExceptionRunnable runnable) {
         return Task.supply(() -> {
-            this.ensureConnected();
             runnable.run();
             return null;
         });
     }
 
     protected boolean isReady() {
-        return this.sshClient != null && this.sftpClient != null && this.sshClient.isConnected() && this.sshClient.isAuthenticated();
+        return this.sshClient != null && this.sshClient.isConnected() && this.sshClient.isAuthenticated();
     }
 
-    protected void ensureConnected() {
+    protected synchronized void ensureConnected() {
         if (!this.isReady()) {
             this.connect();
             Conditions.isTrue(this.isReady());
         }
     }
 
-    protected void downloadDirectory(String remoteDir, String localDir) throws IOException {
-        if (!remoteDir.endsWith("/")) {
-            remoteDir += "/";
-        }
-
-        if (!localDir.endsWith("/")) {
-            localDir += "/";
-        }
-
-        Path local = Paths.get(localDir);
-        Files.createDirectories(local);
-
-        for (RemoteResourceInfo resourceInfo : this.sftpClient.ls(remoteDir)) {
+    protected void list(SFTPClient client, String remoteDir, String relativePath, Collection<RemoteFile> target) throws IOException {
+        for (RemoteResourceInfo resourceInfo : client.ls(remoteDir)) {
             if (resourceInfo.isDirectory()) {
-                this.downloadDirectory(remoteDir + resourceInfo.getName(), localDir + resourceInfo.getName());
+                this.list(client, remoteDir + resourceInfo.getName() + "/", relativePath + resourceInfo.getName() + "/", target);
                 continue;
             }
 
-            Files.createFile(local.resolve(resourceInfo.getName()));
-            this.sftpClient.get(remoteDir + resourceInfo.getName(), localDir + resourceInfo.getName());
+            FileAttributes attributes = resourceInfo.getAttributes();
+            target.add(new RemoteFile(relativePath + resourceInfo.getName(), attributes.getSize(), attributes.getMtime() * 1000));
         }
     }
 
-    protected void deleteDirectory(String remoteDir) throws IOException {
+    protected void deleteDirectory(SFTPClient client, String remoteDir) throws IOException {
         if (!remoteDir.endsWith("/")) {
             remoteDir += "/";
         }
 
-        for (RemoteResourceInfo resourceInfo : this.sftpClient.ls(remoteDir)) {
+        for (RemoteResourceInfo resourceInfo : client.ls(remoteDir)) {
             if (resourceInfo.isDirectory()) {
-                this.deleteDirectory(remoteDir + resourceInfo.getName());
+                this.deleteDirectory(client, remoteDir + resourceInfo.getName());
                 continue;
             }
 
-            this.sftpClient.rm(remoteDir + resourceInfo.getName());
+            client.rm(remoteDir + resourceInfo.getName());
         }
 
-        this.sftpClient.rmdir(remoteDir);
+        client.rmdir(remoteDir);
     }
 
-    protected void uploadDirectory(String remoteDir, String localDir, Collection<String> excluded) throws IOException {
+    protected void uploadDirectory(SFTPClient client, String remoteDir, String localDir, Collection<String> excluded) throws IOException {
         if (!remoteDir.endsWith("/")) {
             remoteDir += "/";
         }
@@ -207,7 +218,7 @@ public final class SFTPTemplateBackend implements TemplateBackend {
         }
 
         try {
-            this.sftpClient.mkdir(remoteDir);
+            client.mkdir(remoteDir);
         } catch (SFTPException ignored) {
             // discard silently
         }
@@ -220,11 +231,11 @@ public final class SFTPTemplateBackend implements TemplateBackend {
                 }
 
                 if (Files.isDirectory(path)) {
-                    this.uploadDirectory(remoteDir + path.getFileName(), path.toString(), excluded);
+                    this.uploadDirectory(client, remoteDir + path.getFileName(), path.toString(), excluded);
                     continue;
                 }
 
-                this.sftpClient.put(path.toString(), remoteDir + fileName);
+                client.put(path.toString(), remoteDir + fileName);
             }
         }
     }
@@ -264,11 +275,6 @@ public final class SFTPTemplateBackend implements TemplateBackend {
             throw new RuntimeException("Transportation exception while authenticating with remote host", exception);
         }
 
-        try {
-            this.sftpClient = this.sshClient.newSFTPClient();
-        } catch (IOException exception) {
-            throw new RuntimeException("Exception starting the sftp sub system", exception);
-        }
     }
 
     protected void executeSilently(@NotNull ExceptionRunnable runnable) {
@@ -278,6 +284,16 @@ public final class SFTPTemplateBackend implements TemplateBackend {
         }
     }
 
+    protected void executeSilently(@NotNull ClientOperation operation) {
+        try {
+            this.connectionPool.execute(client -> {
+                operation.run(client);
+                return null;
+            });
+        } catch (Exception ignored) {
+        }
+    }
+
     public static void load(String basePath) {
         if (Files.notExists(Paths.get(basePath, "sftp.json"))) {
             new JsonConfiguration().add("config", new SFTPConfig(
@@ -295,9 +311,35 @@ public final class SFTPTemplateBackend implements TemplateBackend {
     }
 
     public static void unload() {
+        TemplateBackendManager.get("SFTP").ifPresent(backend -> {
+            if (backend instanceof SFTPTemplateBackend) {
+                ((SFTPTemplateBackend) backend).connectionPool.close();
+            }
+        });
         TemplateBackendManager.unregisterBackend("SFTP");
     }
 
+    private final class SFTPConnectionFactory implements ConnectionPool.ConnectionFactory<SFTPClient> {
+
+        @NotNull
+        @Override
+        public SFTPClient create() throws IOException {
+            // all pooled sftp clients are channels of the same ssh connection
+            SFTPTemplateBackend.this.ensureConnected();
+            return SFTPTemplateBackend.this.sshClient.newSFTPClient();
+        }
+
+        @Override
+        public boolean isValid(@NotNull SFTPClient connection) {
+            return SFTPTemplateBackend.this.isReady() && connection.getSFTPEngine().getSubsystem().isOpen();
+        }
+
+        @Override
+        public void close(@NotNull SFTPClient connection) throws IOException {
+            connection.close();
+        }
+    }
+
     private static class InternalConfig extends DefaultConfig {
 
         @Override
@@ -326,4 +368,10 @@ public final class SFTPTemplateBackend implements TemplateBackend {
 
         void run() throws Exception;
     }
+
+    @FunctionalInterface
+    private interface ClientOperation {
+
+        void run(@NotNull SFTPClient client) throws IOException;
+    }
 }
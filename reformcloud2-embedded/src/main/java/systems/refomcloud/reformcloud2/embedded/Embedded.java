@@ -34,6 +34,7 @@ import systems.refomcloud.reformcloud2.embedded.network.EmbeddedEndpointChannelR
 import systems.refomcloud.reformcloud2.embedded.node.DefaultEmbeddedNodeInformationProvider;
 import systems.refomcloud.reformcloud2.embedded.player.DefaultEmbeddedPlayerProvider;
 import systems.refomcloud.reformcloud2.embedded.process.DefaultEmbeddedProcessProvider;
+import systems.refomcloud.reformcloud2.embedded.process.ProcessUpdateCoalescer;
 import systems.refomcloud.reformcloud2.embedded.processors.*;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.event.EventManager;
@@ -47,9 +48,12 @@ import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.PacketProvider;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.query.QueryManager;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDeltaDecoder;
 import systems.reformcloud.reformcloud2.executor.api.provider.*;
 import systems.reformcloud.reformcloud2.executor.api.registry.service.ServiceRegistry;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
+import systems.reformcloud.reformcloud2.protocol.api.NodeToApiDatabaseTableEntriesChunk;
+import systems.reformcloud.reformcloud2.protocol.api.NodeToApiInvalidateDatabaseEntry;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeGetIngameMessages;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeGetIngameMessagesResult;
 import systems.reformcloud.reformcloud2.protocol.processor.PacketProcessorManager;
@@ -88,6 +92,7 @@ public abstract class Embedded extends ExecutorAPI {
     private final MainGroupProvider mainGroupProvider = new DefaultEmbeddedMainGroupProvider();
     private final ProcessGroupProvider processGroupProvider = new DefaultEmbeddedProcessGroupProvider();
     private final ProcessProvider processProvider = new DefaultEmbeddedProcessProvider();
+    private final ProcessUpdateCoalescer processUpdateCoalescer = new ProcessUpdateCoalescer();
 
     protected Embedded() {
         ExecutorAPI.setInstance(this);
@@ -96,6 +101,7 @@ public abstract class Embedded extends ExecutorAPI {
         this.serviceRegistry.setProvider(ChannelManager.class, new DefaultChannelManager(), true);
         this.serviceRegistry.setProvider(PacketProvider.class, new DefaultPacketProvider(), false, true);
         this.serviceRegistry.setProvider(QueryManager.class, new DefaultQueryManager(), false, true);
+        this.serviceRegistry.setProvider(ProcessInformationDeltaDecoder.class, new ProcessInformationDeltaDecoder(), true);
 
         this.serviceRegistry.getProviderUnchecked(EventManager.class).registerListener(new CurrentProcessUpdateEventListener());
         this.processInformation = this.config.getProcessInformation();
@@ -147,9 +153,14 @@ public abstract class Embedded extends ExecutorAPI {
                 .registerProcessor(new PacketPlaySoundToPlayerProcessor(), PacketPlaySoundToPlayer.class)
                 .registerProcessor(new PacketSendPlayerMessageProcessor(), PacketSendPlayerMessage.class)
                 .registerProcessor(new PacketSendPlayerTitleProcessor(), PacketSendPlayerTitle.class)
-                .registerProcessor(new PacketSetPlayerLocationProcessor(), PacketSetPlayerLocation.class);
-
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> this.networkClient.disconnect()));
+                .registerProcessor(new PacketSetPlayerLocationProcessor(), PacketSetPlayerLocation.class)
+                .registerProcessor(new NodeToApiDatabaseTableEntriesChunkProcessor(), NodeToApiDatabaseTableEntriesChunk.class)
+                .registerProcessor(new NodeToApiInvalidateDatabaseEntryProcessor(), NodeToApiInvalidateDatabaseEntry.class);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            this.processUpdateCoalescer.close();
+            this.networkClient.disconnect();
+        }));
         this.updateCurrentProcessInformation();
     }
 
@@ -238,15 +249,31 @@ public abstract class Embedded extends ExecutorAPI {
                 .orElseGet(() -> Task.completedTask(null));
     }
 
+    @NotNull
+    public Task<Packet> sendQuery(@NotNull Packet packet, long timeout, @NotNull TimeUnit unit) {
+        Optional<NetworkChannel> channel = this.serviceRegistry.getProviderUnchecked(ChannelManager.class).getFirstChannel();
+        return channel
+                .map(networkChannel -> this.serviceRegistry.getProviderUnchecked(QueryManager.class).sendPacketQuery(networkChannel, packet, timeout, unit))
+                .orElseGet(() -> Task.completedTask(null));
+    }
+
     @NotNull
     public Optional<Packet> sendSyncQuery(@NotNull Packet packet) {
-        Packet result = this.sendQuery(packet).getUninterruptedly(TimeUnit.SECONDS, 5);
+        Packet result = this.sendQuery(packet, 5, TimeUnit.SECONDS).getUninterruptedly(TimeUnit.SECONDS, 5);
         return Optional.ofNullable(result);
     }
 
+    /**
+     * Marks the current process information as changed. Changes are merged and sent to the node at most
+     * once per interval, changes of the process state are sent immediately.
+     */
     public void updateCurrentProcessInformation() {
-        this.processInformation.updateRuntimeInformation();
-        this.processProvider.updateProcessInformation(this.processInformation);
+        this.processUpdateCoalescer.markDirty();
+    }
+
+    @NotNull
+    public ProcessUpdateCoalescer getProcessUpdateCoalescer() {
+        return this.processUpdateCoalescer;
     }
 
     protected abstract int getMaxPlayersOfEnvironment();
@@ -26,6 +26,7 @@ package systems.refomcloud.reformcloud2.embedded.controller;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
+import systems.refomcloud.reformcloud2.embedded.shared.FallbackCandidates;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 
 import java.util.List;
@@ -41,4 +42,6 @@ public interface ProxyServerController {
     @NotNull @UnmodifiableView List<ProcessInformation> getCachedLobbyServers();
 
     @NotNull @UnmodifiableView List<ProcessInformation> getCachedProxies();
+
+    @NotNull FallbackCandidates getFallbackCandidates();
 }
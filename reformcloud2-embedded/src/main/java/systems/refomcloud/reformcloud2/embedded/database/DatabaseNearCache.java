@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.refomcloud.reformcloud2.embedded.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size bounded cache for the entries of a database table which evicts the least recently used entries
+ * and entries older than the configured expire time. The cache holds a version which gets increased on
+ * every invalidation, a query result is only cached if no invalidation happened while it was running.
+ */
+final class DatabaseNearCache {
+
+    DatabaseNearCache(int maxSize, long expireAfterNanos) {
+        this.expireAfterNanos = expireAfterNanos;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    private final long expireAfterNanos;
+    private final Map<String, Entry> entries;
+
+    private Collection<String> entryNames;
+    private long entryNamesExpireTime;
+    private long version;
+
+    synchronized long getVersion() {
+        return this.version;
+    }
+
+    @Nullable
+    synchronized Entry get(@NotNull String key, @NotNull String id) {
+        Entry entry = this.entries.get(key);
+        if (entry == null || !entry.identifier.equals(id)) {
+            return null;
+        }
+
+        if (entry.expireTime - System.nanoTime() <= 0) {
+            this.entries.remove(key);
+            return null;
+        }
+
+        return entry;
+    }
+
+    synchronized boolean isKnownPresent(@NotNull String key) {
+        Entry entry = this.entries.get(key);
+        return entry != null && entry.value != null && entry.expireTime - System.nanoTime() > 0;
+    }
+
+    synchronized void put(@NotNull String key, @NotNull String id, @Nullable JsonConfiguration value, long version) {
+        if (this.version == version) {
+            this.entries.put(key, new Entry(id, value == null ? null : value.copy(), System.nanoTime() + this.expireAfterNanos));
+        }
+    }
+
+    @Nullable
+    synchronized Collection<String> getEntryNames() {
+        if (this.entryNames == null || this.entryNamesExpireTime - System.nanoTime() <= 0) {
+            this.entryNames = null;
+            return null;
+        }
+
+        return new ArrayList<>(this.entryNames);
+    }
+
+    synchronized void putEntryNames(@NotNull Collection<String> entryNames, long version) {
+        if (this.version == version) {
+            this.entryNames = new ArrayList<>(entryNames);
+            this.entryNamesExpireTime = System.nanoTime() + this.expireAfterNanos;
+        }
+    }
+
+    synchronized void invalidate(@Nullable String key) {
+        this.version++;
+        this.entryNames = null;
+
+        if (key == null) {
+            this.entries.clear();
+        } else {
+            this.entries.remove(key);
+        }
+    }
+
+    static final class Entry {
+
+        private Entry(String identifier, JsonConfiguration value, long expireTime) {
+            this.identifier = identifier;
+            this.value = value;
+            this.expireTime = expireTime;
+        }
+
+        private final String identifier;
+        private final JsonConfiguration value;
+        private final long expireTime;
+
+        /**
+         * @return A copy of the cached value or {@code null} if the entry does not exist in the database
+         */
+        @Nullable
+        JsonConfiguration getValue() {
+            return this.value == null ? null : this.value.copy();
+        }
+    }
+}
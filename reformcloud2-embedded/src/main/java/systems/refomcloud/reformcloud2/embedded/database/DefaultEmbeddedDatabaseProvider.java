@@ -25,27 +25,41 @@
 package systems.refomcloud.reformcloud2.embedded.database;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.refomcloud.reformcloud2.embedded.Embedded;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.provider.DatabaseProvider;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.DatabaseTableWrapper;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeDeleteDatabaseTable;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeGetDatabaseNames;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeGetDatabaseNamesResult;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class DefaultEmbeddedDatabaseProvider implements DatabaseProvider {
 
+    // the tables which get cached without the need of enabling the cache by the plugin using the table
+    private static final Collection<String> NEAR_CACHED_TABLES = new HashSet<>(Arrays.asList(
+            System.getProperty("systems.reformcloud.database-near-cache-tables", "").split(",")
+    ));
+    private static final int NEAR_CACHE_MAX_SIZE = Integer.getInteger("systems.reformcloud.database-near-cache-max-size", 1024);
+    private static final long NEAR_CACHE_EXPIRE_SECONDS = Long.getLong("systems.reformcloud.database-near-cache-expire-seconds", 300);
+
+    private final Map<String, DefaultEmbeddedDatabaseTableWrapper> tables = new ConcurrentHashMap<>();
+    private final Map<UUID, Collection<JsonConfiguration>> entryStreams = new ConcurrentHashMap<>();
+
     @NotNull
     @Override
     public DatabaseTableWrapper createTable(@NotNull String tableName) {
-        return new DefaultEmbeddedDatabaseTableWrapper(tableName);
+        return this.getDatabase(tableName);
     }
 
     @Override
     public void deleteTable(@NotNull String tableName) {
+        this.invalidate(tableName, null);
         Embedded.getInstance().sendPacket(new ApiToNodeDeleteDatabaseTable(tableName));
     }
 
@@ -65,6 +79,51 @@ public class DefaultEmbeddedDatabaseProvider implements DatabaseProvider {
     @NotNull
     @Override
     public DatabaseTableWrapper getDatabase(@NotNull String tableName) {
-        return new DefaultEmbeddedDatabaseTableWrapper(tableName);
+        return this.tables.computeIfAbsent(tableName, name -> {
+            DefaultEmbeddedDatabaseTableWrapper wrapper = new DefaultEmbeddedDatabaseTableWrapper(name, this);
+            if (NEAR_CACHED_TABLES.contains(name)) {
+                wrapper.enableNearCache(NEAR_CACHE_MAX_SIZE, NEAR_CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS);
+            }
+
+            return wrapper;
+        });
+    }
+
+    /**
+     * Invalidates the cached entries of the given table.
+     *
+     * @param tableName The name of the table
+     * @param key       The key of the changed entry or {@code null} to invalidate all entries of the table
+     */
+    public void invalidate(@NotNull String tableName, @Nullable String key) {
+        DefaultEmbeddedDatabaseTableWrapper wrapper = this.tables.get(tableName);
+        if (wrapper != null) {
+            wrapper.invalidate(key);
+        }
+    }
+
+    /**
+     * Adds the received entries to the stream they belong to. Chunks of streams which are no longer
+     * open are dropped silently.
+     *
+     * @param streamId The id of the stream the entries belong to
+     * @param entries  The received entries
+     */
+    public void acceptEntries(@NotNull UUID streamId, @NotNull Collection<JsonConfiguration> entries) {
+        Collection<JsonConfiguration> stream = this.entryStreams.get(streamId);
+        if (stream != null) {
+            stream.addAll(entries);
+        }
+    }
+
+    @NotNull
+    Collection<JsonConfiguration> openEntryStream(@NotNull UUID streamId) {
+        Collection<JsonConfiguration> stream = new ArrayList<>();
+        this.entryStreams.put(streamId, stream);
+        return stream;
+    }
+
+    void closeEntryStream(@NotNull UUID streamId) {
+        this.entryStreams.remove(streamId);
     }
 }
@@ -25,63 +25,98 @@
 package systems.refomcloud.reformcloud2.embedded.database;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.refomcloud.reformcloud2.embedded.Embedded;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.DatabaseTableWrapper;
 import systems.reformcloud.reformcloud2.protocol.node.*;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class DefaultEmbeddedDatabaseTableWrapper implements DatabaseTableWrapper {
 
-    public DefaultEmbeddedDatabaseTableWrapper(String tableName) {
+    private static final long STREAM_TIMEOUT_SECONDS = Long.getLong("systems.reformcloud.database-stream-timeout-seconds", 30);
+
+    public DefaultEmbeddedDatabaseTableWrapper(String tableName, DefaultEmbeddedDatabaseProvider provider) {
         this.tableName = tableName;
+        this.provider = provider;
     }
 
     private final String tableName;
+    private final DefaultEmbeddedDatabaseProvider provider;
+    private volatile DatabaseNearCache nearCache;
 
     @Override
     public void insert(@NotNull String key, @NotNull String id, @NotNull JsonConfiguration data) {
+        this.invalidate(key);
         Embedded.getInstance().sendPacket(new ApiToNodeInsertDocumentIntoTable(this.tableName, key, id, data));
     }
 
     @Override
     public void update(@NotNull String key, @NotNull String id, @NotNull JsonConfiguration newData) {
+        this.invalidate(key);
         Embedded.getInstance().sendPacket(new ApiToNodeUpdateDocumentInTable(this.tableName, key, id, newData));
     }
 
     @Override
     public void remove(@NotNull String key, @NotNull String id) {
+        this.invalidate(key);
         Embedded.getInstance().sendPacket(new ApiToNodeRemoveDocumentFromTable(this.tableName, key, id));
     }
 
     @NotNull
     @Override
     public Optional<JsonConfiguration> get(@NotNull String key, @NotNull String id) {
-        return Embedded.getInstance().sendSyncQuery(new ApiToNodeGetDatabaseDocument(this.tableName, key, id))
-                .map(result -> {
-                    if (result instanceof ApiToNodeGetDatabaseDocumentResult) {
-                        return ((ApiToNodeGetDatabaseDocumentResult) result).getResult();
-                    }
-
-                    return new JsonConfiguration();
-                });
+        DatabaseNearCache nearCache = this.nearCache;
+        if (nearCache == null) {
+            return this.query(key, id);
+        }
+
+        DatabaseNearCache.Entry entry = nearCache.get(key, id);
+        if (entry != null) {
+            return Optional.ofNullable(entry.getValue());
+        }
+
+        // read the version before sending the query, an invalidation during the query prevents the caching
+        long version = nearCache.getVersion();
+        Optional<Packet> result = Embedded.getInstance().sendSyncQuery(new ApiToNodeGetDatabaseDocument(this.tableName, key, id));
+        if (result.isPresent() && result.get() instanceof ApiToNodeGetDatabaseDocumentResult) {
+            JsonConfiguration configuration = ((ApiToNodeGetDatabaseDocumentResult) result.get()).getResult();
+            nearCache.put(key, id, configuration, version);
+            return Optional.ofNullable(configuration);
+        }
+
+        return Optional.empty();
     }
 
     @NotNull
     @Override
     public @UnmodifiableView Collection<String> getEntryNames() {
-        return Embedded.getInstance().sendSyncQuery(new ApiToNodeGetTableEntryNames(this.tableName))
-                .map(result -> {
-                    if (result instanceof ApiToNodeGetTableEntryNamesResult) {
-                        return ((ApiToNodeGetTableEntryNamesResult) result).getNames();
-                    }
-
-                    return new ArrayList<String>();
-                }).orElseGet(() -> new ArrayList<>());
+        DatabaseNearCache nearCache = this.nearCache;
+        if (nearCache == null) {
+            return this.queryEntryNames();
+        }
+
+        Collection<String> entryNames = nearCache.getEntryNames();
+        if (entryNames != null) {
+            return entryNames;
+        }
+
+        long version = nearCache.getVersion();
+        Optional<Packet> result = Embedded.getInstance().sendSyncQuery(new ApiToNodeGetTableEntryNames(this.tableName));
+        if (result.isPresent() && result.get() instanceof ApiToNodeGetTableEntryNamesResult) {
+            entryNames = ((ApiToNodeGetTableEntryNamesResult) result.get()).getNames();
+            nearCache.putEntryNames(entryNames, version);
+            return entryNames;
+        }
+
+        return new ArrayList<>();
     }
 
     @Override
@@ -98,24 +133,38 @@ public class DefaultEmbeddedDatabaseTableWrapper implements DatabaseTableWrapper
 
     @Override
     public void clear() {
+        this.invalidate(null);
         Embedded.getInstance().sendPacket(new ApiToNodeClearDatabaseTable(this.tableName));
     }
 
     @NotNull
     @Override
     public @UnmodifiableView Collection<JsonConfiguration> getAll() {
-        return Embedded.getInstance().sendSyncQuery(new ApiToNodeGetAllTableEntries(this.tableName))
-                .map(result -> {
-                    if (result instanceof ApiToNodeGetAllTableEntriesResult) {
-                        return ((ApiToNodeGetAllTableEntriesResult) result).getAll();
-                    }
-
-                    return new ArrayList<JsonConfiguration>();
-                }).orElseGet(() -> new ArrayList<>());
+        // the node streams the entries in chunks which are all received before the result of the query
+        UUID streamId = UUID.randomUUID();
+        Collection<JsonConfiguration> entries = this.provider.openEntryStream(streamId);
+        try {
+            Packet result = Embedded.getInstance()
+                    .sendQuery(new ApiToNodeGetAllTableEntries(this.tableName, streamId), STREAM_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .getUninterruptedly(TimeUnit.SECONDS, STREAM_TIMEOUT_SECONDS);
+            if (result instanceof ApiToNodeGetAllTableEntriesResult) {
+                entries.addAll(((ApiToNodeGetAllTableEntriesResult) result).getAll());
+                return entries;
+            }
+
+            return new ArrayList<>();
+        } finally {
+            this.provider.closeEntryStream(streamId);
+        }
     }
 
     @Override
     public boolean has(@NotNull String key) {
+        DatabaseNearCache nearCache = this.nearCache;
+        if (nearCache != null && nearCache.isKnownPresent(key)) {
+            return true;
+        }
+
         return Embedded.getInstance().sendSyncQuery(new ApiToNodeHasTableDocument(this.tableName, key))
                 .map(result -> {
                     if (result instanceof ApiToNodeHasTableDocumentResult) {
@@ -125,4 +174,56 @@ public class DefaultEmbeddedDatabaseTableWrapper implements DatabaseTableWrapper
                     return false;
                 }).orElseGet(() -> false);
     }
+
+    @Override
+    public synchronized boolean enableNearCache(int maxSize, long expireAfter, @NotNull TimeUnit unit) {
+        if (maxSize <= 0 || expireAfter <= 0) {
+            return false;
+        }
+
+        boolean subscribe = this.nearCache == null;
+        this.nearCache = new DatabaseNearCache(maxSize, unit.toNanos(expireAfter));
+        if (subscribe) {
+            // the subscription is handled by the node before all queries which are sent after it
+            Embedded.getInstance().sendPacket(new ApiToNodeSubscribeDatabaseTable(this.tableName));
+        }
+
+        return true;
+    }
+
+    /**
+     * Invalidates the cached entries of this table.
+     *
+     * @param key The key of the changed entry or {@code null} to invalidate all entries
+     */
+    public void invalidate(@Nullable String key) {
+        DatabaseNearCache nearCache = this.nearCache;
+        if (nearCache != null) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    @NotNull
+    private Optional<JsonConfiguration> query(@NotNull String key, @NotNull String id) {
+        return Embedded.getInstance().sendSyncQuery(new ApiToNodeGetDatabaseDocument(this.tableName, key, id))
+                .map(result -> {
+                    if (result instanceof ApiToNodeGetDatabaseDocumentResult) {
+                        return ((ApiToNodeGetDatabaseDocumentResult) result).getResult();
+                    }
+
+                    return new JsonConfiguration();
+                });
+    }
+
+    @NotNull
+    private Collection<String> queryEntryNames() {
+        return Embedded.getInstance().sendSyncQuery(new ApiToNodeGetTableEntryNames(this.tableName))
+                .map(result -> {
+                    if (result instanceof ApiToNodeGetTableEntryNamesResult) {
+                        return ((ApiToNodeGetTableEntryNamesResult) result).getNames();
+                    }
+
+                    return new ArrayList<String>();
+                }).orElseGet(() -> new ArrayList<>());
+    }
 }
@@ -25,6 +25,7 @@
 package systems.refomcloud.reformcloud2.embedded.messaging;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
 import systems.refomcloud.reformcloud2.embedded.Embedded;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
@@ -33,9 +34,18 @@ import systems.reformcloud.reformcloud2.protocol.node.ApiToNodePublishNodeChanne
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeSendChannelMessageToProcess;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeSendChannelMessageToProcessGroup;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeSendGlobalChannelMessage;
+import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeUpdateChannelSubscriptions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultEmbeddedChannelMessageProvider implements ChannelMessageProvider {
 
+    private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+
     @Override
     public void sendChannelMessage(@NotNull ProcessInformation receiver, @NotNull String channel, @NotNull JsonConfiguration data) {
         Embedded.getInstance().sendPacket(new ApiToNodeSendChannelMessageToProcess(receiver, channel, data));
@@ -55,4 +65,27 @@ public class DefaultEmbeddedChannelMessageProvider implements ChannelMessageProv
     public void publishChannelMessage(@NotNull String channel, @NotNull JsonConfiguration data) {
         Embedded.getInstance().sendPacket(new ApiToNodeSendGlobalChannelMessage(channel, data));
     }
+
+    @Override
+    public void subscribe(@NotNull String channelPattern) {
+        synchronized (this.subscriptions) {
+            if (this.subscriptions.add(channelPattern)) {
+                Embedded.getInstance().sendPacket(new ApiToNodeUpdateChannelSubscriptions(new ArrayList<>(this.subscriptions)));
+            }
+        }
+    }
+
+    @Override
+    public void unsubscribe(@NotNull String channelPattern) {
+        synchronized (this.subscriptions) {
+            if (this.subscriptions.remove(channelPattern)) {
+                Embedded.getInstance().sendPacket(new ApiToNodeUpdateChannelSubscriptions(new ArrayList<>(this.subscriptions)));
+            }
+        }
+    }
+
+    @Override
+    public @NotNull @UnmodifiableView Collection<String> getSubscriptions() {
+        return Collections.unmodifiableCollection(this.subscriptions);
+    }
 }
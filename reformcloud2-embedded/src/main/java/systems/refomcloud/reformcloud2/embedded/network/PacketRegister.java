@@ -80,6 +80,8 @@ final class PacketRegister {
         packetProvider.registerPacket(ApiToNodeUploadProcessLogResult.class);
 
         // node -> api
+        packetProvider.registerPacket(NodeToApiDatabaseTableEntriesChunk.class);
+        packetProvider.registerPacket(NodeToApiInvalidateDatabaseEntry.class);
         packetProvider.registerPacket(NodeToApiMainGroupCreate.class);
         packetProvider.registerPacket(NodeToApiMainGroupDelete.class);
         packetProvider.registerPacket(NodeToApiMainGroupUpdated.class);
@@ -29,6 +29,7 @@ import net.md_5.bungee.api.config.ServerInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.refomcloud.reformcloud2.embedded.controller.ProxyServerController;
+import systems.refomcloud.reformcloud2.embedded.shared.FallbackCandidates;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 
 import java.lang.reflect.InvocationTargetException;
@@ -66,6 +67,7 @@ public class BungeeProxyServerController implements ProxyServerController {
     }
 
     private final List<ProcessInformation> cachedLobbyServices = new CopyOnWriteArrayList<>();
+    private final FallbackCandidates fallbackCandidates = new FallbackCandidates();
     private final List<ProcessInformation> cachedProxyServices = new CopyOnWriteArrayList<>();
 
     @Override
@@ -81,6 +83,7 @@ public class BungeeProxyServerController implements ProxyServerController {
 
         if (processInformation.getProcessGroup().isCanBeUsedAsLobby()) {
             this.cachedLobbyServices.add(processInformation);
+            this.fallbackCandidates.update(processInformation);
         }
 
         this.constructServerInfo(processInformation).ifPresent(
@@ -93,6 +96,7 @@ public class BungeeProxyServerController implements ProxyServerController {
         if (!processInformation.getNetworkInfo().isConnected()) {
             this.cachedProxyServices.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
             this.cachedLobbyServices.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
+            this.fallbackCandidates.remove(processInformation.getProcessDetail().getProcessUniqueID());
             ProxyServer.getInstance().getServers().remove(processInformation.getProcessDetail().getName());
             return;
         }
@@ -106,6 +110,7 @@ public class BungeeProxyServerController implements ProxyServerController {
         if (processInformation.getProcessGroup().isCanBeUsedAsLobby()) {
             this.cachedLobbyServices.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
             this.cachedLobbyServices.add(processInformation);
+            this.fallbackCandidates.update(processInformation);
         }
 
         if (ProxyServer.getInstance().getServerInfo(processInformation.getProcessDetail().getName()) != null) {
@@ -125,6 +130,7 @@ public class BungeeProxyServerController implements ProxyServerController {
         }
 
         this.cachedLobbyServices.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
+        this.fallbackCandidates.remove(processInformation.getProcessDetail().getProcessUniqueID());
         ProxyServer.getInstance().getServers().remove(processInformation.getProcessDetail().getName());
     }
 
@@ -138,6 +144,11 @@ public class BungeeProxyServerController implements ProxyServerController {
         return Collections.unmodifiableList(this.cachedProxyServices);
     }
 
+    @Override
+    public @NotNull FallbackCandidates getFallbackCandidates() {
+        return this.fallbackCandidates;
+    }
+
     private @NotNull Optional<ServerInfo> constructServerInfo(@NotNull ProcessInformation processInformation) {
         if (constructServerInfo != null) {
             // WaterDog for Pocket Edition
@@ -25,6 +25,7 @@
 package systems.refomcloud.reformcloud2.embedded.plugin.bungee.event;
 
 import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.ReconnectHandler;
 import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.event.LoginEvent;
@@ -35,10 +36,12 @@ import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.event.EventHandler;
 import net.md_5.bungee.event.EventPriority;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import systems.refomcloud.reformcloud2.embedded.Embedded;
 import systems.refomcloud.reformcloud2.embedded.controller.ProxyServerController;
 import systems.refomcloud.reformcloud2.embedded.plugin.bungee.BungeeExecutor;
 import systems.refomcloud.reformcloud2.embedded.plugin.bungee.fallback.BungeeFallbackExtraFilter;
+import systems.refomcloud.reformcloud2.embedded.plugin.bungee.reconnect.ReformCloudReconnectHandler;
 import systems.refomcloud.reformcloud2.embedded.plugin.bungee.util.EmptyProxiedPlayer;
 import systems.refomcloud.reformcloud2.embedded.shared.SharedJoinAllowChecker;
 import systems.refomcloud.reformcloud2.embedded.shared.SharedPlayerFallbackFilter;
@@ -47,15 +50,23 @@ import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
 import systems.reformcloud.reformcloud2.executor.api.utility.list.Duo;
 
+import java.util.UUID;
+
 public final class PlayerListenerHandler implements Listener {
 
     @EventHandler
     public void handle(final @NotNull ServerConnectEvent event) {
         event.getPlayer().setReconnectServer(null);
         if (event.getPlayer().getServer() == null) {
+            String chosenServer = consumeChosenServer(event.getPlayer().getUniqueId());
+            if (chosenServer != null && event.getTarget() != null && chosenServer.equals(event.getTarget().getName())) {
+                // the reconnect handler already chose and reserved the target of the initial connect
+                return;
+            }
+
             SharedPlayerFallbackFilter.filterFallback(
                     event.getPlayer().getUniqueId(),
-                    this.getServerController().getCachedLobbyServers(),
+                    this.getServerController().getFallbackCandidates(),
                     event.getPlayer()::hasPermission,
                     BungeeFallbackExtraFilter.INSTANCE,
                     null
@@ -97,7 +108,7 @@ public final class PlayerListenerHandler implements Listener {
     public void handle(final @NotNull ServerKickEvent event) {
         SharedPlayerFallbackFilter.filterFallback(
                 event.getPlayer().getUniqueId(),
-                this.getServerController().getCachedLobbyServers(),
+                this.getServerController().getFallbackCandidates(),
                 event.getPlayer()::hasPermission,
                 BungeeFallbackExtraFilter.INSTANCE,
                 event.getKickedFrom() == null ? null : event.getKickedFrom().getName()
@@ -126,10 +137,18 @@ public final class PlayerListenerHandler implements Listener {
             current.getProcessDetail().setProcessState(ProcessState.READY);
         }
 
+        consumeChosenServer(event.getPlayer().getUniqueId());
         current.getProcessPlayerManager().onLogout(event.getPlayer().getUniqueId());
         Embedded.getInstance().updateCurrentProcessInformation();
     }
 
+    private static @Nullable String consumeChosenServer(@NotNull UUID playerUniqueId) {
+        ReconnectHandler reconnectHandler = ProxyServer.getInstance().getReconnectHandler();
+        return reconnectHandler instanceof ReformCloudReconnectHandler
+                ? ((ReformCloudReconnectHandler) reconnectHandler).consumeChosenServer(playerUniqueId)
+                : null;
+    }
+
     private @NotNull ProxyServerController getServerController() {
         return ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProxyServerController.class);
     }
@@ -29,22 +29,46 @@ import net.md_5.bungee.api.ReconnectHandler;
 import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import systems.refomcloud.reformcloud2.embedded.controller.ProxyServerController;
 import systems.refomcloud.reformcloud2.embedded.plugin.bungee.fallback.BungeeFallbackExtraFilter;
 import systems.refomcloud.reformcloud2.embedded.shared.SharedPlayerFallbackFilter;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ReformCloudReconnectHandler implements ReconnectHandler {
 
+    // the servers chosen (and reserved) for players whose connect event was not called yet
+    private final Map<UUID, String> chosenServers = new ConcurrentHashMap<>();
+
     @Override
     public ServerInfo getServer(@NotNull ProxiedPlayer proxiedPlayer) {
-        return SharedPlayerFallbackFilter.filterFallback(
+        ServerInfo serverInfo = SharedPlayerFallbackFilter.filterFallback(
                 proxiedPlayer.getUniqueId(),
-                ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProxyServerController.class).getCachedLobbyServers(),
+                ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProxyServerController.class).getFallbackCandidates(),
                 proxiedPlayer::hasPermission,
                 BungeeFallbackExtraFilter.INSTANCE,
                 proxiedPlayer.getServer() == null ? null : proxiedPlayer.getServer().getInfo().getName()
         ).map(info -> ProxyServer.getInstance().getServerInfo(info.getProcessDetail().getName())).orNothing();
+        if (serverInfo != null) {
+            this.chosenServers.put(proxiedPlayer.getUniqueId(), serverInfo.getName());
+        }
+
+        return serverInfo;
+    }
+
+    /**
+     * Removes the server which was chosen for the player by this handler.
+     *
+     * @param playerUniqueId The unique id of the player
+     * @return The name of the server chosen for the player or {@code null} if no server was chosen
+     */
+    @Nullable
+    public String consumeChosenServer(@NotNull UUID playerUniqueId) {
+        return this.chosenServers.remove(playerUniqueId);
     }
 
     @Override
@@ -30,6 +30,7 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.refomcloud.reformcloud2.embedded.controller.ProxyServerController;
+import systems.refomcloud.reformcloud2.embedded.shared.FallbackCandidates;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 
 import java.util.Collections;
@@ -46,6 +47,7 @@ public class VelocityProxyServerController implements ProxyServerController {
 
     private final List<ProcessInformation> cachedProxies = new CopyOnWriteArrayList<>();
     private final List<ProcessInformation> cachedLobbies = new CopyOnWriteArrayList<>();
+    private final FallbackCandidates fallbackCandidates = new FallbackCandidates();
 
     @Override
     public void registerProcess(@NotNull ProcessInformation processInformation) {
@@ -60,6 +62,7 @@ public class VelocityProxyServerController implements ProxyServerController {
 
         if (processInformation.getProcessGroup().isCanBeUsedAsLobby()) {
             this.cachedLobbies.add(processInformation);
+            this.fallbackCandidates.update(processInformation);
         }
 
         ServerInfo serverInfo = new ServerInfo(
@@ -74,6 +77,7 @@ public class VelocityProxyServerController implements ProxyServerController {
         if (!processInformation.getNetworkInfo().isConnected()) {
             this.cachedProxies.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
             this.cachedLobbies.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
+            this.fallbackCandidates.remove(processInformation.getProcessDetail().getProcessUniqueID());
             this.proxyServer.getServer(processInformation.getProcessDetail().getName())
                     .map(RegisteredServer::getServerInfo)
                     .ifPresent(this.proxyServer::unregisterServer);
@@ -89,6 +93,7 @@ public class VelocityProxyServerController implements ProxyServerController {
         if (processInformation.getProcessGroup().isCanBeUsedAsLobby()) {
             this.cachedLobbies.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
             this.cachedLobbies.add(processInformation);
+            this.fallbackCandidates.update(processInformation);
         }
 
         if (this.proxyServer.getServer(processInformation.getProcessDetail().getName()).isPresent()) {
@@ -110,6 +115,7 @@ public class VelocityProxyServerController implements ProxyServerController {
         }
 
         this.cachedLobbies.removeIf(e -> e.getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID()));
+        this.fallbackCandidates.remove(processInformation.getProcessDetail().getProcessUniqueID());
         this.proxyServer.getServer(processInformation.getProcessDetail().getName())
                 .map(RegisteredServer::getServerInfo)
                 .ifPresent(this.proxyServer::unregisterServer);
@@ -124,4 +130,9 @@ public class VelocityProxyServerController implements ProxyServerController {
     public @NotNull @UnmodifiableView List<ProcessInformation> getCachedProxies() {
         return Collections.unmodifiableList(this.cachedProxies);
     }
+
+    @Override
+    public @NotNull FallbackCandidates getFallbackCandidates() {
+        return this.fallbackCandidates;
+    }
 }
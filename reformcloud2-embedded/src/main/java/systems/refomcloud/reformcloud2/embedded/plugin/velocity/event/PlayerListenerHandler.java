@@ -55,7 +55,7 @@ public final class PlayerListenerHandler {
         if (!event.getPlayer().getCurrentServer().isPresent()) {
             SharedPlayerFallbackFilter.filterFallback(
                     event.getPlayer().getUniqueId(),
-                    this.getServerController().getCachedLobbyServers(),
+                    this.getServerController().getFallbackCandidates(),
                     event.getPlayer()::hasPermission,
                     VelocityFallbackExtraFilter.INSTANCE,
                     null
@@ -102,7 +102,7 @@ public final class PlayerListenerHandler {
     public void handle(final @NotNull KickedFromServerEvent event) {
         SharedPlayerFallbackFilter.filterFallback(
                 event.getPlayer().getUniqueId(),
-                this.getServerController().getCachedLobbyServers(),
+                this.getServerController().getFallbackCandidates(),
                 event.getPlayer()::hasPermission,
                 VelocityFallbackExtraFilter.INSTANCE,
                 event.getPlayer().getCurrentServer().map(e -> e.getServerInfo().getName()).orElse(null)
@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.refomcloud.reformcloud2.embedded.process;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import systems.refomcloud.reformcloud2.embedded.Embedded;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent.FastNettyThreadFactory;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Merges the updates of the current process information which are requested for example on every player
+ * login or logout. At most one update is sent to the node per interval, a change of the process state is
+ * sent immediately.
+ */
+@ApiStatus.Internal
+public final class ProcessUpdateCoalescer {
+
+    private static final long INTERVAL = Long.getLong("systems.reformcloud.process-update-interval-millis", 500);
+    private static final boolean DEBUG = Boolean.getBoolean("systems.reformcloud.debug-process-updates");
+    private static final long REPORT_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private final Supplier<ProcessState> currentState;
+    private final Runnable sender;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+    private final long interval;
+
+    private ProcessState lastState;
+    private long lastUpdate;
+    private ScheduledFuture<?> pendingUpdate;
+    private long suppressedUpdates;
+    private long reportedSuppressedUpdates;
+    private long lastReport;
+    private boolean closed;
+
+    public ProcessUpdateCoalescer() {
+        this(
+                () -> Embedded.getInstance().getCurrentProcessInformation().getProcessDetail().getProcessState(),
+                ProcessUpdateCoalescer::sendUpdate,
+                newScheduler(),
+                System::currentTimeMillis,
+                INTERVAL
+        );
+    }
+
+    ProcessUpdateCoalescer(@NotNull Supplier<ProcessState> currentState, @NotNull Runnable sender,
+                           @NotNull ScheduledExecutorService scheduler, @NotNull LongSupplier clock, long interval) {
+        this.currentState = currentState;
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.interval = interval;
+        this.lastReport = clock.getAsLong();
+    }
+
+    /**
+     * Marks the current process information as changed. The update is either sent directly or merged
+     * with all other changes until the current interval passed.
+     */
+    public void markDirty() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            long wait = this.lastUpdate + this.interval - this.clock.getAsLong();
+            if (wait > 0 && this.currentState.get() == this.lastState) {
+                if (this.pendingUpdate == null) {
+                    this.pendingUpdate = this.scheduler.schedule(this::flush, wait, TimeUnit.MILLISECONDS);
+                } else {
+                    this.suppressedUpdates++;
+                }
+
+                return;
+            }
+
+            if (this.pendingUpdate != null) {
+                // the update we are sending now contains all pending changes
+                this.pendingUpdate.cancel(false);
+                this.suppressedUpdates++;
+            }
+        }
+
+        this.flush();
+    }
+
+    /**
+     * @return The amount of updates which were merged into another update instead of being sent on their own
+     */
+    public long getSuppressedUpdates() {
+        synchronized (this) {
+            return this.suppressedUpdates;
+        }
+    }
+
+    /**
+     * Drops a pending update and shuts down the scheduler of this coalescer. Called when the process stops.
+     */
+    public void close() {
+        synchronized (this) {
+            this.closed = true;
+            if (this.pendingUpdate != null) {
+                this.pendingUpdate.cancel(false);
+                this.pendingUpdate = null;
+            }
+        }
+
+        this.scheduler.shutdown();
+    }
+
+    @NotNull
+    private static ScheduledExecutorService newScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new FastNettyThreadFactory("Process Update Coalescer #%d"));
+        // the thread is only needed while an update is pending, an idle thread must not keep the process alive
+        executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void flush() {
+        long suppressedSinceReport = -1;
+        synchronized (this) {
+            this.pendingUpdate = null;
+            this.lastUpdate = this.clock.getAsLong();
+            this.lastState = this.currentState.get();
+
+            if (this.lastUpdate - this.lastReport >= REPORT_INTERVAL) {
+                suppressedSinceReport = this.suppressedUpdates - this.reportedSuppressedUpdates;
+                this.reportedSuppressedUpdates = this.suppressedUpdates;
+                this.lastReport = this.lastUpdate;
+            }
+        }
+
+        if (DEBUG && suppressedSinceReport > 0) {
+            System.out.println("Merged " + suppressedSinceReport + " process information updates into other updates since the last report");
+        }
+
+        this.sender.run();
+    }
+
+    private static void sendUpdate() {
+        ProcessInformation processInformation = Embedded.getInstance().getCurrentProcessInformation();
+        processInformation.updateRuntimeInformation();
+        Embedded.getInstance().getProcessProvider().updateProcessInformation(processInformation);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.refomcloud.reformcloud2.embedded.processors;
+
+import org.jetbrains.annotations.NotNull;
+import systems.refomcloud.reformcloud2.embedded.Embedded;
+import systems.refomcloud.reformcloud2.embedded.database.DefaultEmbeddedDatabaseProvider;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.provider.DatabaseProvider;
+import systems.reformcloud.reformcloud2.protocol.api.NodeToApiDatabaseTableEntriesChunk;
+import systems.reformcloud.reformcloud2.protocol.processor.PacketProcessor;
+
+public class NodeToApiDatabaseTableEntriesChunkProcessor implements PacketProcessor<NodeToApiDatabaseTableEntriesChunk> {
+
+    @Override
+    public void process(@NotNull NetworkChannel channel, @NotNull NodeToApiDatabaseTableEntriesChunk packet) {
+        DatabaseProvider databaseProvider = Embedded.getInstance().getDatabaseProvider();
+        if (databaseProvider instanceof DefaultEmbeddedDatabaseProvider) {
+            ((DefaultEmbeddedDatabaseProvider) databaseProvider).acceptEntries(packet.getStreamId(), packet.getEntries());
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.refomcloud.reformcloud2.embedded.shared;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+import systems.reformcloud.reformcloud2.executor.api.CommonHelper;
+import systems.reformcloud.reformcloud2.executor.api.groups.utils.PlayerAccessConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the lobbies known to a proxy ordered by their load, grouped by the process group they belong to.
+ * The index is updated on every process update, so choosing a fallback only needs to look at the least
+ * loaded lobbies of each group instead of checking every known process.
+ * <p>
+ * Every chosen lobby gets a reservation which counts as an online player until the next update of the
+ * lobby arrives or the reservation expires. This prevents that players which are connecting at the same
+ * time are all sent to the same lobby. Every reservation is released exactly once, either by its expiry,
+ * by being moved to another lobby or by the next update of the lobby.
+ */
+@ApiStatus.Internal
+public final class FallbackCandidates {
+
+    private static final long RESERVATION_TIMEOUT = Long.getLong("systems.reformcloud.fallback-reservation-millis", 5000);
+
+    private static final Comparator<Candidate> BY_LOAD = Comparator
+            .comparingInt(Candidate::getLoad)
+            .thenComparing(candidate -> candidate.processInformation.getProcessDetail().getProcessUniqueID());
+
+    private final Map<UUID, Candidate> candidates = new ConcurrentHashMap<>();
+    private final Map<String, TreeSet<Candidate>> candidatesByGroup = new HashMap<>();
+    private final Collection<ProcessInformation> lobbies = new LobbyView();
+    private final ScheduledExecutorService scheduler;
+    private final long reservationTimeout;
+
+    public FallbackCandidates() {
+        this(CommonHelper.SCHEDULED_EXECUTOR_SERVICE, RESERVATION_TIMEOUT);
+    }
+
+    FallbackCandidates(@NotNull ScheduledExecutorService scheduler, long reservationTimeout) {
+        this.scheduler = scheduler;
+        this.reservationTimeout = reservationTimeout;
+    }
+
+    /**
+     * Adds the given process to the index or replaces the old information of it. Processes which are not
+     * able to accept players are removed from the index. All reservations of the process are released as
+     * the new information contains the current online count of it.
+     *
+     * @param processInformation The new information of the process
+     */
+    public synchronized void update(@NotNull ProcessInformation processInformation) {
+        if (!processInformation.getProcessDetail().getTemplate().isServer()
+                || !processInformation.getNetworkInfo().isConnected()
+                || processInformation.isStandby()) {
+            this.remove(processInformation.getProcessDetail().getProcessUniqueID());
+            return;
+        }
+
+        Candidate candidate = this.candidates.get(processInformation.getProcessDetail().getProcessUniqueID());
+        if (candidate == null) {
+            candidate = new Candidate(processInformation);
+            this.candidates.put(processInformation.getProcessDetail().getProcessUniqueID(), candidate);
+        } else {
+            this.detach(candidate);
+            candidate.processInformation = processInformation;
+            candidate.dropReservations();
+        }
+
+        candidate.onlineCount = processInformation.getProcessPlayerManager().getOnlineCount();
+        this.candidatesByGroup.computeIfAbsent(candidate.getGroupName(), group -> new TreeSet<>(BY_LOAD)).add(candidate);
+    }
+
+    /**
+     * Removes the process from the index.
+     *
+     * @param processUniqueId The unique id of the process to remove
+     */
+    public synchronized void remove(@NotNull UUID processUniqueId) {
+        Candidate candidate = this.candidates.remove(processUniqueId);
+        if (candidate != null) {
+            this.detach(candidate);
+            candidate.dropReservations();
+        }
+    }
+
+    /**
+     * Chooses the least loaded lobby the player is allowed to join and reserves a slot on it. Lobbies of
+     * groups which require a join permission are preferred, equal to the previous full scan of all lobbies.
+     * Maintenance and join permission are checked once per group.
+     *
+     * @param permissionChecker The permission checker of the player
+     * @param extraFilter       An additional filter which every lobby has to pass
+     * @param currentServer     The name of the server the player is currently connected to
+     * @return The chosen lobby or {@code null} if no lobby is available for the player
+     */
+    @Nullable
+    public synchronized ProcessInformation choose(@NotNull Function<String, Boolean> permissionChecker,
+                                                  @NotNull Predicate<ProcessInformation> extraFilter,
+                                                  @Nullable String currentServer) {
+        Candidate best = null;
+        for (TreeSet<Candidate> group : this.candidatesByGroup.values()) {
+            PlayerAccessConfiguration configuration = group.first().processInformation.getProcessGroup().getPlayerAccessConfiguration();
+            if (configuration.isMaintenance() && !permissionChecker.apply(configuration.getMaintenanceJoinPermission())) {
+                continue;
+            }
+
+            if (configuration.isJoinOnlyPerPermission() && !permissionChecker.apply(configuration.getJoinPermission())) {
+                continue;
+            }
+
+            if (best != null && compare(best, group.first()) <= 0) {
+                // no process of the group can be better than the process we found already
+                continue;
+            }
+
+            Boolean fullJoin = null;
+            for (Candidate candidate : group) {
+                if (best != null && compare(best, candidate) <= 0) {
+                    break;
+                }
+
+                ProcessInformation processInformation = candidate.processInformation;
+                if (processInformation.getProcessDetail().getName().equals(currentServer) || !extraFilter.test(processInformation)) {
+                    continue;
+                }
+
+                if (configuration.isUseCloudPlayerLimit() && candidate.getLoad() >= configuration.getMaxPlayers()) {
+                    if (fullJoin == null) {
+                        fullJoin = permissionChecker.apply(configuration.getFullJoinPermission());
+                    }
+
+                    if (!fullJoin) {
+                        // the candidates are ordered by their load, all following processes of the group are full too
+                        break;
+                    }
+                }
+
+                best = candidate;
+                break;
+            }
+        }
+
+        if (best == null) {
+            return null;
+        }
+
+        this.reserve(best);
+        return best.processInformation;
+    }
+
+    /**
+     * Moves a reservation made by {@link #choose(Function, Predicate, String)} to another lobby, for example
+     * if the choose result was changed by an event listener. The latest reservation of the previous lobby is
+     * released and will not expire again. If another player was sent to the same lobby in the meantime that
+     * reservation may belong to the other player, the amount of reservations of the lobby is correct anyway.
+     *
+     * @param from The lobby the reservation was made for
+     * @param to   The lobby the player gets sent to instead
+     */
+    public synchronized void moveReservation(@Nullable ProcessInformation from, @Nullable ProcessInformation to) {
+        Candidate previous = from == null ? null : this.candidates.get(from.getProcessDetail().getProcessUniqueID());
+        Candidate next = to == null ? null : this.candidates.get(to.getProcessDetail().getProcessUniqueID());
+        if (previous == next) {
+            return;
+        }
+
+        if (previous != null && !previous.reservations.isEmpty()) {
+            Reservation reservation = previous.reservations.peekLast();
+            reservation.expiry.cancel(false);
+            this.release(previous, reservation);
+        }
+
+        if (next != null) {
+            this.reserve(next);
+        }
+    }
+
+    /**
+     * @return A view of all lobbies which are currently in the index
+     */
+    @NotNull
+    @UnmodifiableView
+    public Collection<ProcessInformation> getLobbies() {
+        return this.lobbies;
+    }
+
+    /**
+     * @param processUniqueId The unique id of the lobby
+     * @return The amount of reservations of the lobby which are not released yet
+     */
+    synchronized int getReservations(@NotNull UUID processUniqueId) {
+        Candidate candidate = this.candidates.get(processUniqueId);
+        return candidate == null ? 0 : candidate.reservations.size();
+    }
+
+    private void reserve(@NotNull Candidate candidate) {
+        Reservation reservation = new Reservation();
+        TreeSet<Candidate> group = this.detach(candidate);
+        candidate.reservations.addLast(reservation);
+        if (group != null) {
+            group.add(candidate);
+        }
+
+        // the expiry waits for the monitor we are holding, the future is always set before it runs
+        reservation.expiry = this.scheduler.schedule(() -> {
+            synchronized (this) {
+                this.release(candidate, reservation);
+            }
+        }, this.reservationTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    private void release(@NotNull Candidate candidate, @NotNull Reservation reservation) {
+        // the reservations are dropped when the process was updated or removed in the meantime
+        if (this.candidates.get(candidate.getUniqueId()) != candidate || !candidate.reservations.contains(reservation)) {
+            return;
+        }
+
+        TreeSet<Candidate> group = this.detach(candidate);
+        candidate.reservations.remove(reservation);
+        if (group != null) {
+            group.add(candidate);
+        }
+    }
+
+    @Nullable
+    private TreeSet<Candidate> detach(@NotNull Candidate candidate) {
+        TreeSet<Candidate> group = this.candidatesByGroup.get(candidate.getGroupName());
+        if (group == null || !group.remove(candidate)) {
+            return null;
+        }
+
+        if (group.isEmpty()) {
+            this.candidatesByGroup.remove(candidate.getGroupName());
+        }
+
+        return group;
+    }
+
+    private static int compare(@NotNull Candidate first, @NotNull Candidate second) {
+        // lobbies which require a join permission come first
+        int result = Boolean.compare(
+                second.processInformation.getProcessGroup().getPlayerAccessConfiguration().isJoinOnlyPerPermission(),
+                first.processInformation.getProcessGroup().getPlayerAccessConfiguration().isJoinOnlyPerPermission()
+        );
+        return result != 0 ? result : Integer.compare(first.getLoad(), second.getLoad());
+    }
+
+    private static final class Candidate {
+
+        private volatile ProcessInformation processInformation;
+        private int onlineCount;
+        // ordered by their creation, a reservation is only ever compared by its identity
+        private Deque<Reservation> reservations = new ArrayDeque<>();
+
+        private Candidate(ProcessInformation processInformation) {
+            this.processInformation = processInformation;
+        }
+
+        private int getLoad() {
+            return this.onlineCount + this.reservations.size();
+        }
+
+        private void dropReservations() {
+            for (Reservation reservation : this.reservations) {
+                reservation.expiry.cancel(false);
+            }
+
+            this.reservations = new ArrayDeque<>();
+        }
+
+        private UUID getUniqueId() {
+            return this.processInformation.getProcessDetail().getProcessUniqueID();
+        }
+
+        private String getGroupName() {
+            return this.processInformation.getProcessGroup().getName();
+        }
+    }
+
+    private static final class Reservation {
+
+        private ScheduledFuture<?> expiry;
+    }
+
+    private final class LobbyView extends AbstractCollection<ProcessInformation> {
+
+        @Override
+        public @NotNull Iterator<ProcessInformation> iterator() {
+            Iterator<Candidate> iterator = FallbackCandidates.this.candidates.values().iterator();
+            return new Iterator<ProcessInformation>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public ProcessInformation next() {
+                    return iterator.next().processInformation;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return FallbackCandidates.this.candidates.size();
+        }
+    }
+}
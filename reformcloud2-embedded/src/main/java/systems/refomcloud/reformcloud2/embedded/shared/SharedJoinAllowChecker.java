@@ -57,6 +57,11 @@ public final class SharedJoinAllowChecker {
             return new Duo<>(false, messages.format(messages.getAlreadyConnectedToNetwork()));
         }
 
+        if (current.isStandby()) {
+            // the process is parked in the standby pool of the node and was not claimed yet
+            return new Duo<>(false, messages.format(messages.getProcessNotReadyToAcceptPlayersMessage()));
+        }
+
         if (current.getProcessDetail().getMaxPlayers() <= current.getProcessPlayerManager().getOnlineCount()
                 && !permissionChecker.apply(configuration.getFullJoinPermission())) {
             return new Duo<>(false, messages.format(messages.getProcessFullMessage()));
@@ -24,6 +24,7 @@
  */
 package systems.refomcloud.reformcloud2.embedded.shared;
 
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import systems.refomcloud.reformcloud2.embedded.event.PlayerFallbackChooseEvent;
@@ -44,7 +45,13 @@ public final class SharedPlayerFallbackFilter {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * @deprecated Searches all lobbies for every call and does not reserve the chosen lobby, use
+     * {@link #filterFallback(UUID, FallbackCandidates, Function, Predicate, String)} instead.
+     */
     @NotNull
+    @Deprecated
+    @ApiStatus.ScheduledForRemoval
     public static ReferencedOptional<ProcessInformation> filterFallback(@NotNull UUID playerUniqueId,
                                                                         @NotNull Collection<ProcessInformation> lobbies,
                                                                         @NotNull Function<String, Boolean> permissionChecker,
@@ -54,10 +61,38 @@ public final class SharedPlayerFallbackFilter {
             return ReferencedOptional.empty();
         }
 
-        ProcessInformation filtered = lobbies
+        ProcessInformation filtered = scanFallback(lobbies, permissionChecker, extraFilter, currentServer);
+        return ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PlayerFallbackChooseEvent(
+                playerUniqueId, filtered, lobbies
+        )).getFilteredFallback();
+    }
+
+    @NotNull
+    public static ReferencedOptional<ProcessInformation> filterFallback(@NotNull UUID playerUniqueId,
+                                                                        @NotNull FallbackCandidates candidates,
+                                                                        @NotNull Function<String, Boolean> permissionChecker,
+                                                                        @NotNull Predicate<ProcessInformation> extraFilter,
+                                                                        @Nullable String currentServer) {
+        ProcessInformation filtered = candidates.choose(permissionChecker, extraFilter, currentServer);
+        ReferencedOptional<ProcessInformation> result = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PlayerFallbackChooseEvent(
+                playerUniqueId, filtered, candidates.getLobbies()
+        )).getFilteredFallback();
+
+        candidates.moveReservation(filtered, result.orNothing());
+        return result;
+    }
+
+    // the full scan of all lobbies used by the deprecated filter method
+    @Nullable
+    static ProcessInformation scanFallback(@NotNull Collection<ProcessInformation> lobbies,
+                                           @NotNull Function<String, Boolean> permissionChecker,
+                                           @NotNull Predicate<ProcessInformation> extraFilter,
+                                           @Nullable String currentServer) {
+        return lobbies
                 .stream()
                 .filter(lobby -> lobby.getProcessDetail().getTemplate().isServer())
                 .filter(lobby -> lobby.getNetworkInfo().isConnected())
+                .filter(lobby -> !lobby.isStandby())
                 .filter(lobby -> !lobby.getProcessDetail().getName().equals(currentServer))
                 .filter(extraFilter)
                 .filter(lobby -> {
@@ -75,10 +110,6 @@ public final class SharedPlayerFallbackFilter {
                 })
                 .min(ProcessPriorityComparable.INSTANCE::compare)
                 .orElse(null);
-
-        return ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new PlayerFallbackChooseEvent(
-                playerUniqueId, filtered, lobbies
-        )).getFilteredFallback();
     }
 
     private static class ProcessPriorityComparable implements Comparator<ProcessInformation> {
@@ -0,0 +1,90 @@
+package systems.refomcloud.reformcloud2.embedded.process;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ProcessUpdateCoalescerTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicReference<ProcessState> state = new AtomicReference<>(ProcessState.READY);
+    private final Semaphore sent = new Semaphore(0);
+    private final ProcessUpdateCoalescer coalescer = new ProcessUpdateCoalescer(this.state::get, this.sent::release, this.scheduler, this.clock::get, 100);
+
+    @AfterEach
+    void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    void testUpdatesInWindowAreMerged() throws InterruptedException {
+        this.coalescer.markDirty();
+        Assertions.assertEquals(1, this.sent.availablePermits());
+
+        this.clock.set(10);
+        for (int i = 0; i < 5; i++) {
+            this.coalescer.markDirty();
+        }
+
+        // the first update of the window gets scheduled, the others are merged into it
+        Assertions.assertEquals(1, this.sent.availablePermits());
+        Assertions.assertEquals(4, this.coalescer.getSuppressedUpdates());
+
+        Assertions.assertTrue(this.sent.tryAcquire(2, 5, TimeUnit.SECONDS));
+        Assertions.assertFalse(this.sent.tryAcquire(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testStateChangeIsSentImmediately() {
+        this.coalescer.markDirty();
+        this.clock.set(10);
+        this.coalescer.markDirty();
+        Assertions.assertEquals(1, this.sent.availablePermits());
+
+        this.state.set(ProcessState.FULL);
+        this.coalescer.markDirty();
+
+        // the pending update is replaced by the update which was sent directly
+        Assertions.assertEquals(2, this.sent.availablePermits());
+        Assertions.assertEquals(1, this.coalescer.getSuppressedUpdates());
+    }
+
+    @Test
+    void testFinalUpdateOfWindowIsFlushed() throws InterruptedException {
+        this.coalescer.markDirty();
+        this.clock.set(50);
+        this.coalescer.markDirty();
+
+        // nothing else marks the process dirty, the pending update is sent anyway once the window passed
+        Assertions.assertTrue(this.sent.tryAcquire(2, 5, TimeUnit.SECONDS));
+
+        this.clock.set(200);
+        this.coalescer.markDirty();
+        Assertions.assertEquals(1, this.sent.availablePermits());
+        Assertions.assertEquals(0, this.coalescer.getSuppressedUpdates());
+    }
+
+    @Test
+    void testCloseDropsPendingUpdate() throws InterruptedException {
+        this.coalescer.markDirty();
+        this.clock.set(10);
+        this.coalescer.markDirty();
+        this.coalescer.close();
+
+        Assertions.assertTrue(this.scheduler.isShutdown());
+        Assertions.assertFalse(this.sent.tryAcquire(2, 300, TimeUnit.MILLISECONDS));
+
+        this.clock.set(200);
+        this.coalescer.markDirty();
+        Assertions.assertEquals(1, this.sent.availablePermits());
+    }
+}
@@ -0,0 +1,263 @@
+package systems.refomcloud.reformcloud2.embedded.shared;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.RuntimeConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Version;
+import systems.reformcloud.reformcloud2.executor.api.groups.utils.PlayerAccessConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.utils.StartupConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.process.NetworkInfo;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+import systems.reformcloud.reformcloud2.executor.api.process.detail.ProcessDetail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+class FallbackCandidatesTest {
+
+    private static final String[] PERMISSIONS = {"join.full", "join.maintenance", "join.vip"};
+
+    private final ManualScheduler scheduler = new ManualScheduler();
+
+    @AfterEach
+    void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    void testRandomLobbiesMatchFullScan() {
+        for (long seed = 0; seed < 300; seed++) {
+            Random random = new Random(seed);
+            List<ProcessInformation> lobbies = this.randomLobbies(random);
+
+            for (int check = 0; check < 20; check++) {
+                Set<String> granted = new HashSet<>();
+                for (String permission : PERMISSIONS) {
+                    if (random.nextBoolean()) {
+                        granted.add(permission);
+                    }
+                }
+
+                Function<String, Boolean> permissionChecker = granted::contains;
+                String currentServer = random.nextInt(4) == 0 ? lobbies.get(random.nextInt(lobbies.size())).getProcessDetail().getName() : null;
+                Set<String> excluded = new HashSet<>();
+                for (ProcessInformation lobby : lobbies) {
+                    if (random.nextInt(6) == 0) {
+                        excluded.add(lobby.getProcessDetail().getName());
+                    }
+                }
+                Predicate<ProcessInformation> extraFilter = lobby -> !excluded.contains(lobby.getProcessDetail().getName());
+
+                FallbackCandidates candidates = new FallbackCandidates(this.scheduler, 1000);
+                lobbies.forEach(candidates::update);
+
+                ProcessInformation expected = SharedPlayerFallbackFilter.scanFallback(lobbies, permissionChecker, extraFilter, currentServer);
+                ProcessInformation chosen = candidates.choose(permissionChecker, extraFilter, currentServer);
+                String message = "seed " + seed + ", check " + check;
+
+                if (expected == null) {
+                    Assertions.assertNull(chosen, message);
+                    continue;
+                }
+
+                Assertions.assertNotNull(chosen, message);
+                // ties may be broken differently, the chosen lobby has to be one the full scan accepts and as good as its result
+                Assertions.assertSame(chosen, SharedPlayerFallbackFilter.scanFallback(Collections.singletonList(chosen), permissionChecker, extraFilter, currentServer), message);
+                Assertions.assertEquals(joinOnlyPerPermission(expected), joinOnlyPerPermission(chosen), message);
+                Assertions.assertEquals(expected.getProcessPlayerManager().getOnlineCount(), chosen.getProcessPlayerManager().getOnlineCount(), message);
+            }
+        }
+    }
+
+    @Test
+    void testReservationsSpreadPlayers() {
+        ProcessGroup group = group("Lobby", false, false, true, 1);
+        ProcessInformation first = process(group, 0, true, true, false);
+        ProcessInformation second = process(group, 0, true, true, false);
+
+        FallbackCandidates candidates = new FallbackCandidates(this.scheduler, 1000);
+        candidates.update(first);
+        candidates.update(second);
+
+        ProcessInformation firstChoice = candidates.choose(permission -> false, lobby -> true, null);
+        ProcessInformation secondChoice = candidates.choose(permission -> false, lobby -> true, null);
+        Assertions.assertNotNull(firstChoice);
+        Assertions.assertNotNull(secondChoice);
+        Assertions.assertNotSame(firstChoice, secondChoice);
+
+        // the reservations count as players, both lobbies are full until the reservations expire
+        Assertions.assertNull(candidates.choose(permission -> false, lobby -> true, null));
+
+        this.scheduler.runAll();
+        Assertions.assertEquals(0, candidates.getReservations(uniqueId(first)));
+        Assertions.assertNotNull(candidates.choose(permission -> false, lobby -> true, null));
+    }
+
+    @Test
+    void testMovedReservationIsReleasedOnce() {
+        ProcessGroup group = group("Lobby", false, false, false, 50);
+        ProcessInformation first = process(group, 0, true, true, false);
+        ProcessInformation second = process(group, 10, true, true, false);
+
+        FallbackCandidates candidates = new FallbackCandidates(this.scheduler, 1000);
+        candidates.update(first);
+        candidates.update(second);
+
+        Assertions.assertSame(first, candidates.choose(permission -> false, lobby -> true, null));
+        Assertions.assertSame(first, candidates.choose(permission -> false, lobby -> true, null));
+        // an event listener sent the second player somewhere else
+        candidates.moveReservation(first, second);
+        Assertions.assertEquals(1, candidates.getReservations(uniqueId(first)));
+        Assertions.assertEquals(1, candidates.getReservations(uniqueId(second)));
+
+        // the expiry of the moved reservation must not release the reservation of the first player
+        this.scheduler.run(1);
+        Assertions.assertEquals(1, candidates.getReservations(uniqueId(first)));
+
+        this.scheduler.run(0);
+        Assertions.assertEquals(0, candidates.getReservations(uniqueId(first)));
+        Assertions.assertEquals(1, candidates.getReservations(uniqueId(second)));
+
+        this.scheduler.run(2);
+        Assertions.assertEquals(0, candidates.getReservations(uniqueId(second)));
+    }
+
+    @Test
+    void testUpdateDropsReservations() {
+        ProcessInformation lobby = process(group("Lobby", false, false, false, 50), 0, true, true, false);
+        FallbackCandidates candidates = new FallbackCandidates(this.scheduler, 1000);
+        candidates.update(lobby);
+
+        Assertions.assertSame(lobby, candidates.choose(permission -> false, process -> true, null));
+        candidates.update(lobby);
+        Assertions.assertEquals(0, candidates.getReservations(uniqueId(lobby)));
+
+        // the expiry of a dropped reservation must not release a reservation made after the update
+        Assertions.assertSame(lobby, candidates.choose(permission -> false, process -> true, null));
+        this.scheduler.run(0);
+        Assertions.assertEquals(1, candidates.getReservations(uniqueId(lobby)));
+
+        candidates.remove(uniqueId(lobby));
+        this.scheduler.run(1);
+        Assertions.assertTrue(candidates.getLobbies().isEmpty());
+    }
+
+    @NotNull
+    private List<ProcessInformation> randomLobbies(@NotNull Random random) {
+        List<ProcessInformation> lobbies = new ArrayList<>();
+        int groups = 1 + random.nextInt(5);
+        for (int i = 0; i < groups; i++) {
+            ProcessGroup group = group(
+                    "Group-" + i,
+                    random.nextInt(3) == 0,
+                    random.nextInt(5) == 0,
+                    random.nextBoolean(),
+                    1 + random.nextInt(8)
+            );
+
+            int processes = 1 + random.nextInt(6);
+            for (int process = 0; process < processes; process++) {
+                lobbies.add(process(
+                        group,
+                        random.nextInt(10),
+                        random.nextInt(8) != 0,
+                        random.nextInt(8) != 0,
+                        random.nextInt(8) == 0
+                ));
+            }
+        }
+
+        return lobbies;
+    }
+
+    private static boolean joinOnlyPerPermission(@NotNull ProcessInformation processInformation) {
+        return processInformation.getProcessGroup().getPlayerAccessConfiguration().isJoinOnlyPerPermission();
+    }
+
+    @NotNull
+    private static UUID uniqueId(@NotNull ProcessInformation processInformation) {
+        return processInformation.getProcessDetail().getProcessUniqueID();
+    }
+
+    @NotNull
+    private static ProcessGroup group(@NotNull String name, boolean joinOnlyPerPermission, boolean maintenance, boolean cloudPlayerLimit, int maxPlayers) {
+        return new ProcessGroup(
+                name, true,
+                new StartupConfiguration(-1, 1, 25565, "java", false, new ArrayList<>()),
+                Collections.singletonList(template(Version.SPIGOT_1_8)),
+                new PlayerAccessConfiguration("join.full", maintenance, "join.maintenance", joinOnlyPerPermission, "join.vip", cloudPlayerLimit, maxPlayers),
+                false
+        );
+    }
+
+    @NotNull
+    private static Template template(@NotNull Version version) {
+        return new Template(0, "default", false, "FILE", "-", new RuntimeConfiguration(512, new ArrayList<>(), new HashMap<>()), version);
+    }
+
+    @NotNull
+    private static ProcessInformation process(@NotNull ProcessGroup group, int onlineCount, boolean server, boolean connected, boolean standby) {
+        String name = group.getName() + "-" + UUID.randomUUID();
+        ProcessDetail processDetail = new ProcessDetail(
+                UUID.randomUUID(), UUID.randomUUID(), "Node-1", name, name, 1,
+                template(server ? Version.SPIGOT_1_8 : Version.BUNGEECORD), 512, ProcessState.READY
+        );
+
+        NetworkInfo networkInfo = new NetworkInfo(25565);
+        networkInfo.setConnected(connected);
+
+        JsonConfiguration extra = new JsonConfiguration();
+        if (standby) {
+            extra.add(ProcessInformation.STANDBY_KEY, true);
+        }
+
+        ProcessInformation processInformation = new ProcessInformation(processDetail, networkInfo, group, extra, new ArrayList<>());
+        for (int i = 0; i < onlineCount; i++) {
+            processInformation.getProcessPlayerManager().onLogin(UUID.randomUUID(), "Player" + i);
+        }
+
+        return processInformation;
+    }
+
+    // collects the scheduled reservation expiries, they are executed by the test even if they were cancelled
+    private static final class ManualScheduler extends ScheduledThreadPoolExecutor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        private ManualScheduler() {
+            super(1);
+        }
+
+        @Override
+        public @NotNull ScheduledFuture<?> schedule(@NotNull Runnable command, long delay, @NotNull TimeUnit unit) {
+            this.tasks.add(command);
+            return super.schedule(() -> {
+            }, 1, TimeUnit.DAYS);
+        }
+
+        private void run(int index) {
+            this.tasks.get(index).run();
+        }
+
+        private void runAll() {
+            this.tasks.forEach(Runnable::run);
+        }
+    }
+}
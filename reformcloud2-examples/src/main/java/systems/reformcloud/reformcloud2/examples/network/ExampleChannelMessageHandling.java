@@ -40,6 +40,12 @@ public class ExampleChannelMessageHandling {
         );
     }
 
+    // Only delivers messages of the given channels to the current component. Patterns like "test*" are possible too.
+    // Without any subscription the messages of all channels are delivered.
+    public static void subscribeToCustomChannel() {
+        ExecutorAPI.getInstance().getChannelMessageProvider().subscribe("testChannel");
+    }
+
     // Handles the receive of a custom channel message. Do not forgot to register the listener.
     @Listener
     public void handle(final @NotNull ChannelMessageReceiveEvent event) {
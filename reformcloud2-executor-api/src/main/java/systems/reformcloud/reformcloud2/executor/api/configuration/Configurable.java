@@ -161,6 +161,12 @@ public interface Configurable<X, V extends Configurable<X, V>> {
     @NotNull
     byte[] toPrettyBytes();
 
+    @NotNull
+    String toCompactString();
+
+    @NotNull
+    byte[] toCompactBytes();
+
     @NotNull
     Map<String, X> asMap();
 
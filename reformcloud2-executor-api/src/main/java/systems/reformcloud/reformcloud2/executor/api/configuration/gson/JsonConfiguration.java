@@ -46,16 +46,13 @@ import java.util.function.Predicate;
 
 public class JsonConfiguration implements Configurable<JsonElement, JsonConfiguration> {
 
+    // gson instances are immutable and thread safe, there is no need to create one per configuration
+    private static final Gson PRETTY_GSON = newGsonBuilder().setPrettyPrinting().create();
+    private static final Gson COMPACT_GSON = newGsonBuilder().create();
+
     public static final JsonConfiguration EMPTY = new JsonConfiguration();
 
-    private Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .serializeNulls()
-            .disableHtmlEscaping()
-            .serializeSpecialFloatingPointValues()
-            .setDateFormat(DateFormat.LONG)
-            .registerTypeAdapterFactory(TypeAdapters.newTypeHierarchyFactory(JsonConfiguration.class, new JsonConfigurationTypeAdapter()))
-            .create();
+    private Gson gson = PRETTY_GSON;
     private JsonObject jsonObject = new JsonObject();
 
     public JsonConfiguration() {
@@ -66,7 +63,7 @@ public class JsonConfiguration implements Configurable<JsonElement, JsonConfigur
     }
 
     public JsonConfiguration(@NotNull byte[] bytes) {
-        try (InputStreamReader stream = new InputStreamReader(new ByteArrayInputStream(bytes))) {
+        try (InputStreamReader stream = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
             JsonElement element = InternalJsonParser.parseReader(stream);
             if (!element.isJsonObject()) {
                 this.jsonObject = new JsonObject();
@@ -133,6 +130,16 @@ public class JsonConfiguration implements Configurable<JsonElement, JsonConfigur
         this.jsonObject = jsonObject;
     }
 
+    @NotNull
+    private static GsonBuilder newGsonBuilder() {
+        return new GsonBuilder()
+                .serializeNulls()
+                .disableHtmlEscaping()
+                .serializeSpecialFloatingPointValues()
+                .setDateFormat(DateFormat.LONG)
+                .registerTypeAdapterFactory(TypeAdapters.newTypeHierarchyFactory(JsonConfiguration.class, new JsonConfigurationTypeAdapter()));
+    }
+
     public static JsonConfiguration read(Path path) {
         if (!Files.exists(path)) {
             return new JsonConfiguration();
@@ -570,6 +577,18 @@ public class JsonConfiguration implements Configurable<JsonElement, JsonConfigur
         return this.toPrettyString().getBytes(StandardCharsets.UTF_8);
     }
 
+    @NotNull
+    @Override
+    public String toCompactString() {
+        return COMPACT_GSON.toJson(this.jsonObject);
+    }
+
+    @NotNull
+    @Override
+    public byte[] toCompactBytes() {
+        return this.toCompactString().getBytes(StandardCharsets.UTF_8);
+    }
+
     @NotNull
     @Override
     public Map<String, JsonElement> asMap() {
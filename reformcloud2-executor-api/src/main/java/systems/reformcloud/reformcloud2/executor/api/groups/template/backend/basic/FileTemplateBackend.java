@@ -29,6 +29,7 @@ import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.backend.TemplateBackend;
 import systems.reformcloud.reformcloud2.executor.api.io.IOUtils;
+import systems.reformcloud.reformcloud2.executor.api.io.TemplateFileStore;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
 import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
 
@@ -62,7 +63,7 @@ public class FileTemplateBackend implements TemplateBackend {
             return Task.completedTask(null);
         }
 
-        IOUtils.copyDirectory(this.format(group, template), target);
+        TemplateFileStore.getDefault().materializeDirectory(this.format(group, template), target);
         return Task.completedTask(null);
     }
 
@@ -83,7 +84,7 @@ public class FileTemplateBackend implements TemplateBackend {
         }
 
         if (from.isDirectory()) {
-            IOUtils.copyDirectory(from.toPath(), target);
+            TemplateFileStore.getDefault().materializeDirectory(from.toPath(), target);
         }
 
         return Task.completedTask(null);
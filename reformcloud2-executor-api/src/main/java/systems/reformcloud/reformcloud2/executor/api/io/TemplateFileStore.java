@@ -0,0 +1,265 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.io;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A content addressed store for template files. Every file is hashed once and stored under its hash,
+ * process directories are populated using hard links to the stored files, so unchanged files only cost
+ * metadata operations. Only files matching the link patterns are linked, everything else is still
+ * copied because a link shares its content with every other process using the file.
+ */
+@ApiStatus.Internal
+public final class TemplateFileStore {
+
+    private static final TemplateFileStore DEFAULT = new TemplateFileStore(
+            Paths.get("reformcloud/.cache/template-store"),
+            System.getProperty("systems.reformcloud.template-link-patterns", "*.jar")
+    );
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path storeDirectory;
+    private final Collection<PathMatcher> linkPatterns = new ArrayList<>();
+    private final Map<Path, StoredFile> storedFiles = new ConcurrentHashMap<>();
+
+    private volatile boolean linksSupported = true;
+
+    public TemplateFileStore(@NotNull Path storeDirectory, @NotNull String linkPatterns) {
+        this.storeDirectory = storeDirectory;
+        for (String pattern : linkPatterns.split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                this.linkPatterns.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern.trim()));
+            }
+        }
+
+        this.deleteTemporaryFiles();
+    }
+
+    @NotNull
+    public static TemplateFileStore getDefault() {
+        return DEFAULT;
+    }
+
+    public void materializeDirectory(@NotNull Path path, @NotNull Path target) {
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Path targetFile = Paths.get(target.toString(), path.relativize(file).toString());
+                    Path parent = targetFile.getParent();
+
+                    if (parent != null && !Files.exists(parent)) {
+                        Files.createDirectories(parent);
+                    }
+
+                    TemplateFileStore.this.materialize(file, targetFile);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    public void materialize(@NotNull Path file, @NotNull Path target) throws IOException {
+        if (!this.linksSupported || !this.isLinkable(file)) {
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        Path storedFile = this.store(file);
+        Files.deleteIfExists(target);
+
+        try {
+            Files.createLink(target, storedFile);
+        } catch (final UnsupportedOperationException | IOException exception) {
+            // the file system does not support links or the store is located on another file system
+            this.linksSupported = false;
+            System.err.println("Unable to link template files from " + this.storeDirectory + ", copying them instead: " + exception.getMessage());
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private boolean isLinkable(@NotNull Path file) {
+        Path fileName = file.getFileName();
+        for (PathMatcher linkPattern : this.linkPatterns) {
+            if (linkPattern.matches(fileName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @NotNull
+    private Path store(@NotNull Path file) throws IOException {
+        Path source = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+
+        StoredFile storedFile = this.storedFiles.get(source);
+        if (storedFile != null && storedFile.isUpToDate(attributes) && storedFile.isIntact()) {
+            return storedFile.path;
+        }
+
+        String hash = hash(source);
+        Path path = this.storeDirectory.resolve(hash.substring(0, 2)).resolve(hash);
+        if (Files.exists(path) && !this.isTrusted(path) && !hash.equals(hash(path))) {
+            // a process wrote into its link, the stored content is not the content of the hash anymore
+            Files.deleteIfExists(path);
+        }
+
+        if (Files.notExists(path)) {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), hash, ".tmp");
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final FileAlreadyExistsException ignored) {
+                // the same content was stored concurrently
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        BasicFileAttributes storedAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+        this.storedFiles.put(source, new StoredFile(path, attributes, storedAttributes));
+        if (storedFile != null && !storedFile.path.equals(path)) {
+            this.deleteIfUnused(storedFile.path);
+        }
+
+        return path;
+    }
+
+    // removes the temporary files of stores which were interrupted by a previous run, the stored files are kept
+    private void deleteTemporaryFiles() {
+        if (Files.notExists(this.storeDirectory)) {
+            return;
+        }
+
+        try (Stream<Path> stream = Files.walk(this.storeDirectory)) {
+            stream.filter(file -> file.getFileName().toString().endsWith(".tmp")).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (final IOException exception) {
+                    exception.printStackTrace();
+                }
+            });
+        } catch (final IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private boolean isTrusted(@NotNull Path path) {
+        for (StoredFile storedFile : this.storedFiles.values()) {
+            if (storedFile.path.equals(path) && storedFile.isIntact()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void deleteIfUnused(@NotNull Path path) throws IOException {
+        for (StoredFile storedFile : this.storedFiles.values()) {
+            if (storedFile.path.equals(path)) {
+                return;
+            }
+        }
+
+        // processes still using the file keep their own link to it
+        Files.deleteIfExists(path);
+    }
+
+    @NotNull
+    private static String hash(@NotNull Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IOException(exception);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+        }
+
+        byte[] hash = digest.digest();
+        char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            chars[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+
+        return new String(chars);
+    }
+
+    private static final class StoredFile {
+
+        private final Path path;
+        private final long sourceSize;
+        private final long sourceModified;
+        private final long storedSize;
+        private final long storedModified;
+
+        private StoredFile(Path path, BasicFileAttributes source, BasicFileAttributes stored) {
+            this.path = path;
+            this.sourceSize = source.size();
+            this.sourceModified = source.lastModifiedTime().toMillis();
+            this.storedSize = stored.size();
+            this.storedModified = stored.lastModifiedTime().toMillis();
+        }
+
+        private boolean isUpToDate(@NotNull BasicFileAttributes source) {
+            return this.sourceSize == source.size() && this.sourceModified == source.lastModifiedTime().toMillis();
+        }
+
+        private boolean isIntact() {
+            try {
+                BasicFileAttributes stored = Files.readAttributes(this.path, BasicFileAttributes.class);
+                return this.storedSize == stored.size() && this.storedModified == stored.lastModifiedTime().toMillis();
+            } catch (final IOException exception) {
+                return false;
+            }
+        }
+    }
+}
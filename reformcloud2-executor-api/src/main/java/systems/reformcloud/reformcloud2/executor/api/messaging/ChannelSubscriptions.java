@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.messaging;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+
+/**
+ * An immutable set of channel patterns a component is interested in. A pattern is either the exact name of
+ * a channel or contains {@code *} wildcards which match any sequence of characters, for example {@code party.*}
+ * or {@code *.chat}. The pattern {@code *} matches every channel.
+ */
+public final class ChannelSubscriptions {
+
+    public static final String WILDCARD = "*";
+
+    private static final ChannelSubscriptions ALL = new ChannelSubscriptions(Collections.singleton(WILDCARD));
+    private static final ChannelSubscriptions NONE = new ChannelSubscriptions(Collections.emptySet());
+
+    private final Set<String> patterns;
+    private final boolean matchesAll;
+    private final Set<String> exact = new HashSet<>();
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<String[]> globs = new ArrayList<>();
+
+    private ChannelSubscriptions(@NotNull Set<String> patterns) {
+        this.patterns = Collections.unmodifiableSet(patterns);
+        this.matchesAll = patterns.contains(WILDCARD);
+
+        for (String pattern : patterns) {
+            int wildcard = pattern.indexOf('*');
+            if (wildcard == -1) {
+                this.exact.add(pattern);
+            } else if (wildcard == pattern.length() - 1) {
+                this.prefixes.add(pattern.substring(0, wildcard));
+            } else {
+                this.globs.add(pattern.split("\\*", -1));
+            }
+        }
+    }
+
+    /**
+     * @return The subscriptions matching every channel
+     */
+    @NotNull
+    public static ChannelSubscriptions all() {
+        return ALL;
+    }
+
+    /**
+     * @return The subscriptions matching no channel
+     */
+    @NotNull
+    public static ChannelSubscriptions none() {
+        return NONE;
+    }
+
+    /**
+     * Creates the subscriptions of the given patterns. Empty patterns are ignored.
+     *
+     * @param patterns The channel patterns to subscribe to
+     * @return The subscriptions of the given patterns
+     */
+    @NotNull
+    public static ChannelSubscriptions of(@NotNull Collection<String> patterns) {
+        Set<String> normalized = new TreeSet<>();
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+
+            if (pattern.replace("*", "").isEmpty()) {
+                return ALL;
+            }
+
+            normalized.add(pattern);
+        }
+
+        return normalized.isEmpty() ? NONE : new ChannelSubscriptions(normalized);
+    }
+
+    /**
+     * Creates the union of the given subscriptions.
+     *
+     * @param subscriptions The subscriptions to combine
+     * @return The subscriptions matching every channel one of the given subscriptions matches
+     */
+    @NotNull
+    public static ChannelSubscriptions union(@NotNull Collection<ChannelSubscriptions> subscriptions) {
+        Collection<String> patterns = new ArrayList<>();
+        for (ChannelSubscriptions subscription : subscriptions) {
+            if (subscription.matchesAll) {
+                return ALL;
+            }
+
+            patterns.addAll(subscription.patterns);
+        }
+
+        return of(patterns);
+    }
+
+    /**
+     * Checks if the given channel is matched by one of the patterns.
+     *
+     * @param channel The name of the channel to check
+     * @return If the channel is matched by one of the patterns
+     */
+    public boolean matches(@NotNull String channel) {
+        if (this.matchesAll || this.exact.contains(channel)) {
+            return true;
+        }
+
+        for (String prefix : this.prefixes) {
+            if (channel.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        for (String[] glob : this.globs) {
+            if (matchesGlob(glob, channel)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return If every channel is matched
+     */
+    public boolean matchesAll() {
+        return this.matchesAll;
+    }
+
+    /**
+     * @return If no channel is matched
+     */
+    public boolean isEmpty() {
+        return this.patterns.isEmpty();
+    }
+
+    /**
+     * @return The sorted patterns of the subscriptions
+     */
+    @NotNull
+    public @UnmodifiableView Set<String> getPatterns() {
+        return this.patterns;
+    }
+
+    private static boolean matchesGlob(@NotNull String[] parts, @NotNull String channel) {
+        String first = parts[0];
+        String last = parts[parts.length - 1];
+        if (channel.length() < first.length() + last.length() || !channel.startsWith(first) || !channel.endsWith(last)) {
+            return false;
+        }
+
+        int position = first.length();
+        int end = channel.length() - last.length();
+        for (int i = 1; i < parts.length - 1; i++) {
+            int index = channel.indexOf(parts[i], position);
+            if (index == -1 || index + parts[i].length() > end) {
+                return false;
+            }
+
+            position = index + parts[i].length();
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChannelSubscriptions)) return false;
+        ChannelSubscriptions that = (ChannelSubscriptions) o;
+        return this.patterns.equals(that.patterns);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.patterns.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelSubscriptions{patterns=" + this.patterns + '}';
+    }
+}
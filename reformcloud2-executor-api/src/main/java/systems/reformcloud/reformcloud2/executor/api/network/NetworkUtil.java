@@ -66,13 +66,33 @@ public final class NetworkUtil {
         }
     }
 
+    public static int getVarIntSize(int value) {
+        if ((value & 0xffffff80) == 0) {
+            return 1;
+        } else if ((value & 0xffffc000) == 0) {
+            return 2;
+        } else if ((value & 0xffe00000) == 0) {
+            return 3;
+        } else if ((value & 0xf0000000) == 0) {
+            return 4;
+        } else {
+            return 5;
+        }
+    }
+
     public static int readVarInt(@NotNull ByteBuf byteBuf) {
-        Integer varInt = readVarIntUnchecked(byteBuf);
-        if (varInt == null) {
-            throw BAD_VAR_INT_RECEIVED;
+        // not using readVarIntUnchecked to prevent the boxing of every var int which gets read
+        int i = 0;
+        int maxRead = Math.min(5, byteBuf.readableBytes());
+        for (int j = 0; j < maxRead; j++) {
+            int k = byteBuf.readByte();
+            i |= (k & 127) << j * 7;
+            if ((k & 128) != 128) {
+                return i;
+            }
         }
 
-        return varInt;
+        throw BAD_VAR_INT_RECEIVED;
     }
 
     public static @Nullable Integer readVarIntUnchecked(@NotNull ByteBuf byteBuf) {
@@ -24,6 +24,7 @@
  */
 package systems.reformcloud.reformcloud2.executor.api.network.channel;
 
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -49,6 +50,16 @@ public interface NetworkChannel extends ReNameable {
      */
     void sendPackets(@NonNls Object... packets);
 
+    /**
+     * Writes an already serialized and framed packet into the channel without passing it
+     * through the packet and frame encoders again. The given buffer is not released by this
+     * method, the channel only writes a retained duplicate of it.
+     *
+     * @param framedPacket The serialized and framed packet which should get sent
+     * @see systems.reformcloud.reformcloud2.executor.api.network.netty.serialisation.PacketSerializerEncoder#serializeFramed(io.netty.buffer.ByteBufAllocator, Packet)
+     */
+    void sendFramedPacket(@NotNull ByteBuf framedPacket);
+
     void sendQueryResult(@Nullable UUID queryUniqueID, @NotNull Packet result);
 
     /**
@@ -28,6 +28,7 @@ import io.netty.channel.Channel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -56,4 +57,14 @@ public interface ChannelManager {
     }
 
     void unregisterChannel(@NotNull String name);
+
+    /**
+     * Sends the given packet to all of the given channels. The packet gets serialized only once
+     * and the resulting buffer is shared between all channels instead of encoding the packet
+     * again for every channel.
+     *
+     * @param packet   The packet to send
+     * @param channels The channels to send the packet to
+     */
+    void broadcastPacket(@NotNull Packet packet, @NotNull Collection<NetworkChannel> channels);
 }
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.network.data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Writes a json tree in a binary form into a buffer, without serializing the tree to a json string first.
+ */
+final class BinaryJsonCodec {
+
+    private static final byte NULL = 0;
+    private static final byte OBJECT = 1;
+    private static final byte ARRAY = 2;
+    private static final byte STRING = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+    private static final byte INT = 6;
+    private static final byte LONG = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    // numbers which are not exactly representable by one of the types above (for example parsed or big numbers)
+    private static final byte NUMBER = 10;
+
+    private BinaryJsonCodec() {
+        throw new AssertionError("You should not instantiate this class");
+    }
+
+    static void write(@NotNull ProtocolBuffer buffer, @NotNull JsonElement element) {
+        if (element.isJsonObject()) {
+            JsonObject jsonObject = element.getAsJsonObject();
+
+            buffer.writeByte(OBJECT);
+            buffer.writeVarInt(jsonObject.size());
+            for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+                buffer.writeString(entry.getKey());
+                write(buffer, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray jsonArray = element.getAsJsonArray();
+
+            buffer.writeByte(ARRAY);
+            buffer.writeVarInt(jsonArray.size());
+            for (JsonElement jsonElement : jsonArray) {
+                write(buffer, jsonElement);
+            }
+        } else if (element.isJsonPrimitive()) {
+            writePrimitive(buffer, element.getAsJsonPrimitive());
+        } else {
+            buffer.writeByte(NULL);
+        }
+    }
+
+    private static void writePrimitive(@NotNull ProtocolBuffer buffer, @NotNull JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            buffer.writeByte(primitive.getAsBoolean() ? TRUE : FALSE);
+        } else if (primitive.isString()) {
+            buffer.writeByte(STRING);
+            buffer.writeString(primitive.getAsString());
+        } else {
+            Number number = primitive.getAsNumber();
+            if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+                buffer.writeByte(INT);
+                buffer.writeInt(number.intValue());
+            } else if (number instanceof Long) {
+                buffer.writeByte(LONG);
+                buffer.writeLong(number.longValue());
+            } else if (number instanceof Float) {
+                buffer.writeByte(FLOAT);
+                buffer.writeFloat(number.floatValue());
+            } else if (number instanceof Double) {
+                buffer.writeByte(DOUBLE);
+                buffer.writeDouble(number.doubleValue());
+            } else {
+                buffer.writeByte(NUMBER);
+                buffer.writeString(number.toString());
+            }
+        }
+    }
+
+    @NotNull
+    static JsonElement read(@NotNull ProtocolBuffer buffer) {
+        byte type = buffer.readByte();
+        switch (type) {
+            case NULL:
+                return JsonNull.INSTANCE;
+            case OBJECT: {
+                int size = buffer.readVarInt();
+                JsonObject jsonObject = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    jsonObject.add(buffer.readString(), read(buffer));
+                }
+
+                return jsonObject;
+            }
+            case ARRAY: {
+                int size = buffer.readVarInt();
+                JsonArray jsonArray = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    jsonArray.add(read(buffer));
+                }
+
+                return jsonArray;
+            }
+            case STRING:
+                return new JsonPrimitive(buffer.readString());
+            case TRUE:
+                return new JsonPrimitive(Boolean.TRUE);
+            case FALSE:
+                return new JsonPrimitive(Boolean.FALSE);
+            case INT:
+                return new JsonPrimitive(buffer.readInt());
+            case LONG:
+                return new JsonPrimitive(buffer.readLong());
+            case FLOAT:
+                return new JsonPrimitive(buffer.readFloat());
+            case DOUBLE:
+                return new JsonPrimitive(buffer.readDouble());
+            case NUMBER:
+                return new JsonPrimitive(new LazilyParsedNumber(buffer.readString()));
+            default:
+                throw new IllegalStateException("Unknown json element type " + type);
+        }
+    }
+}
@@ -24,18 +24,21 @@
  */
 package systems.reformcloud.reformcloud2.executor.api.network.data;
 
+import com.google.gson.JsonElement;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.util.ByteProcessor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
 import systems.reformcloud.reformcloud2.executor.api.network.SerializableObject;
+import systems.reformcloud.reformcloud2.executor.api.utility.InstanceFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
@@ -46,6 +49,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 public class DefaultProtocolBuffer extends ProtocolBuffer {
 
@@ -62,9 +66,10 @@ public class DefaultProtocolBuffer extends ProtocolBuffer {
             return;
         }
 
-        byte[] bytes = stringToWrite.getBytes(StandardCharsets.UTF_8);
-        this.writeVarInt(bytes.length);
-        this.writeBytes(bytes);
+        // encode the string directly into the wrapped buffer instead of copying it from a temporary array
+        int length = ByteBufUtil.utf8Bytes(stringToWrite);
+        this.writeVarInt(length);
+        ByteBufUtil.reserveAndWriteUtf8(this.wrapped, stringToWrite, length);
     }
 
     @Override
@@ -76,9 +81,9 @@ public class DefaultProtocolBuffer extends ProtocolBuffer {
 
         int length = this.readVarInt();
 
-        byte[] bytes = new byte[length];
-        this.readBytes(bytes);
-        return new String(bytes, StandardCharsets.UTF_8);
+        String result = this.wrapped.toString(this.wrapped.readerIndex(), length, StandardCharsets.UTF_8);
+        this.wrapped.skipBytes(length);
+        return result;
     }
 
     @Override
@@ -208,18 +213,23 @@ public class DefaultProtocolBuffer extends ProtocolBuffer {
 
     @Nullable
     private <T extends SerializableObject> T readObject0(@NotNull Class<T> tClass) {
-        try {
-            T instance = tClass.getDeclaredConstructor().newInstance();
-            instance.read(this);
-            return instance;
-        } catch (final NoSuchMethodException exception) {
+        Supplier<T> factory = InstanceFactory.getFactory(tClass);
+        if (factory == null) {
             System.err.println("Unable to find NoArgsConstructor for object class " + tClass.getName());
-        } catch (final IllegalAccessException | InvocationTargetException | InstantiationException exception) {
+            return null;
+        }
+
+        T instance;
+        try {
+            instance = factory.get();
+        } catch (final Throwable throwable) {
             System.err.println("An exception occurred while reading object class " + tClass.getName());
-            exception.printStackTrace();
+            throwable.printStackTrace();
+            return null;
         }
 
-        return null;
+        instance.read(this);
+        return instance;
     }
 
     @Override
@@ -293,6 +303,18 @@ public class DefaultProtocolBuffer extends ProtocolBuffer {
         return this.readInt();
     }
 
+    @Override
+    public void writeJsonConfiguration(@NotNull JsonConfiguration configuration) {
+        BinaryJsonCodec.write(this, configuration.getJsonObject());
+    }
+
+    @NotNull
+    @Override
+    public JsonConfiguration readJsonConfiguration() {
+        JsonElement element = BinaryJsonCodec.read(this);
+        return element.isJsonObject() ? new JsonConfiguration(element.getAsJsonObject()) : new JsonConfiguration();
+    }
+
     @Override
     public int capacity() {
         return this.wrapped.capacity();
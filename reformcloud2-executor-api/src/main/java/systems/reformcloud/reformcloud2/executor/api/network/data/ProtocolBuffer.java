@@ -27,6 +27,7 @@ package systems.reformcloud.reformcloud2.executor.api.network.data;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.network.SerializableObject;
 
 import java.util.Collection;
@@ -92,4 +93,20 @@ public abstract class ProtocolBuffer extends ByteBuf {
 
     @Nullable
     public abstract Integer readInteger();
+
+    /**
+     * Writes the given configuration as a binary json tree. This is more compact and a lot faster than
+     * writing the json string of the configuration, but can only be read using {@link #readJsonConfiguration()}.
+     *
+     * @param configuration The configuration to write
+     */
+    public abstract void writeJsonConfiguration(@NotNull JsonConfiguration configuration);
+
+    /**
+     * Reads a configuration which was written using {@link #writeJsonConfiguration(JsonConfiguration)}.
+     *
+     * @return The configuration read from this buffer
+     */
+    @NotNull
+    public abstract JsonConfiguration readJsonConfiguration();
 }
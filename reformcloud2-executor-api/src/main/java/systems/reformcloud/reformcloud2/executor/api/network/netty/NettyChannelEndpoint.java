@@ -24,32 +24,74 @@
  */
 package systems.reformcloud.reformcloud2.executor.api.network.netty;
 
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.util.ReferenceCounted;
 import org.jetbrains.annotations.NotNull;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent.PacketDispatcher;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.InlinePacket;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public final class NettyChannelEndpoint extends ChannelInboundHandlerAdapter {
 
+    private static final int MAX_PENDING_PACKETS = Integer.getInteger("systems.reformcloud.packet-dispatcher-max-pending-per-channel", 1024);
+
     private final EndpointChannelReader channelReader;
+    private final Executor executor;
+    private final int maxPendingPackets;
+    private final AtomicInteger pendingPackets = new AtomicInteger();
 
     public NettyChannelEndpoint(EndpointChannelReader channelReader) {
+        this(channelReader, PacketDispatcher.newSerialExecutor());
+    }
+
+    public NettyChannelEndpoint(EndpointChannelReader channelReader, Executor executor) {
+        this(channelReader, executor, MAX_PENDING_PACKETS);
+    }
+
+    public NettyChannelEndpoint(EndpointChannelReader channelReader, Executor executor, int maxPendingPackets) {
         this.channelReader = channelReader;
+        this.executor = executor;
+        this.maxPendingPackets = maxPendingPackets;
     }
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        try {
-            if (msg instanceof Packet) {
-                Packet packet = (Packet) msg;
-                if (this.channelReader.shouldHandle(packet)) {
-                    this.channelReader.read(packet);
+        if (!(msg instanceof Packet)) {
+            this.saveRelease(msg);
+            return;
+        }
+
+        Packet packet = (Packet) msg;
+        if (packet instanceof InlinePacket) {
+            // explicitly marked as trivially cheap by the packet type, not ordered with the other packets
+            this.handle(packet);
+        } else {
+            // keep the network thread free from blocking handlers, the executor keeps the order of the packets
+            ChannelConfig config = ctx.channel().config();
+            if (this.pendingPackets.incrementAndGet() >= this.maxPendingPackets) {
+                // stop reading from the channel until the handlers caught up
+                config.setAutoRead(false);
+                if (this.pendingPackets.get() <= this.maxPendingPackets / 2) {
+                    // all handlers completed before auto read was disabled
+                    config.setAutoRead(true);
                 }
             }
-        } finally {
-            this.saveRelease(msg);
+
+            this.executor.execute(() -> {
+                try {
+                    this.handle(packet);
+                } finally {
+                    if (this.pendingPackets.decrementAndGet() <= this.maxPendingPackets / 2 && !config.isAutoRead()) {
+                        config.setAutoRead(true);
+                    }
+                }
+            });
         }
     }
 
@@ -60,12 +102,12 @@ public final class NettyChannelEndpoint extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) {
-        this.channelReader.channelActive(ctx);
+        this.executor.execute(() -> this.channelReader.channelActive(ctx));
     }
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
-        this.channelReader.channelInactive(ctx);
+        this.executor.execute(() -> this.channelReader.channelInactive(ctx));
     }
 
     @Override
@@ -73,6 +115,18 @@ public final class NettyChannelEndpoint extends ChannelInboundHandlerAdapter {
         this.channelReader.readOperationCompleted(ctx);
     }
 
+    private void handle(@NotNull Packet packet) {
+        long start = System.nanoTime();
+        try {
+            if (this.channelReader.shouldHandle(packet)) {
+                this.channelReader.read(packet);
+            }
+        } finally {
+            PacketDispatcher.recordHandlerTime(packet.getClass(), System.nanoTime() - start);
+            this.saveRelease(packet);
+        }
+    }
+
     private void saveRelease(@NotNull Object o) {
         if (!(o instanceof ReferenceCounted)) {
             return;
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the handlers of incoming packets on a bounded worker pool instead of the network threads. Every
+ * channel gets its own {@link SerialExecutor} so the packets of one channel are still handled in the order
+ * they were received. A channel stops reading once too many of its packets wait for their handler, see
+ * {@link systems.reformcloud.reformcloud2.executor.api.network.netty.NettyChannelEndpoint}.
+ */
+public final class PacketDispatcher {
+
+    private static final int THREADS = Integer.getInteger(
+            "systems.reformcloud.packet-dispatcher-threads",
+            Math.max(4, Runtime.getRuntime().availableProcessors() * 2)
+    );
+    private static final Map<Class<?>, HandlerStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private PacketDispatcher() {
+        throw new AssertionError("You should not instantiate this class");
+    }
+
+    /**
+     * @return A new executor which runs all tasks in submission order on the worker pool
+     */
+    @NotNull
+    public static Executor newSerialExecutor() {
+        return new SerialExecutor(WorkerPool.EXECUTOR);
+    }
+
+    /**
+     * Records the time the handler of a packet took
+     *
+     * @param packetClass The class of the handled packet
+     * @param nanos       The time the handler took in nanoseconds
+     */
+    public static void recordHandlerTime(@NotNull Class<? extends Packet> packetClass, long nanos) {
+        HandlerStatistics statistics = STATISTICS.get(packetClass);
+        if (statistics == null) {
+            statistics = STATISTICS.computeIfAbsent(packetClass, type -> new HandlerStatistics());
+        }
+
+        statistics.record(nanos);
+    }
+
+    /**
+     * @return The handler statistics of all packet types handled since the start
+     */
+    @NotNull
+    @UnmodifiableView
+    public static Map<Class<?>, HandlerStatistics> getHandlerStatistics() {
+        return Collections.unmodifiableMap(STATISTICS);
+    }
+
+    public static final class HandlerStatistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private HandlerStatistics() {
+        }
+
+        private void record(long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+
+            long max;
+            do {
+                max = this.maxNanos.get();
+            } while (nanos > max && !this.maxNanos.compareAndSet(max, nanos));
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public long getAverageNanos() {
+            long count = this.count.sum();
+            return count == 0 ? 0 : this.totalNanos.sum() / count;
+        }
+
+        public long getMaxNanos() {
+            return this.maxNanos.get();
+        }
+    }
+
+    private static final class WorkerPool {
+
+        // the queue holds at most one run of every serial executor, so it is bounded by the amount of channels.
+        // The packets waiting in a serial executor are bounded by the channel, which stops reading if too many are pending
+        private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+                THREADS, THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new FastNettyThreadFactory("Packet Dispatcher Thread #%d")
+        );
+
+        static {
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+}
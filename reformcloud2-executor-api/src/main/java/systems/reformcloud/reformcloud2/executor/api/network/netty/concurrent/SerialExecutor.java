@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An executor which runs all given tasks one after another in the order they were submitted using the
+ * threads of a backing executor. A run handles a limited amount of tasks and re-submits itself to the
+ * backing executor afterwards, so one busy serial executor can not take a thread forever.
+ */
+public final class SerialExecutor implements Executor {
+
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Executor executor;
+
+    public SerialExecutor(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        this.tasks.add(command);
+        this.schedule();
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::run);
+            } catch (RejectedExecutionException exception) {
+                this.scheduled.set(false);
+                throw exception;
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+                Runnable task = this.tasks.poll();
+                if (task == null) {
+                    break;
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+            }
+        } finally {
+            this.scheduled.set(false);
+            if (!this.tasks.isEmpty()) {
+                this.schedule();
+            }
+        }
+    }
+}
@@ -25,57 +25,60 @@
 package systems.reformcloud.reformcloud2.executor.api.network.netty.frame;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
-import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
+import io.netty.handler.codec.CorruptedFrameException;
 
 import java.util.List;
 
+/**
+ * Splits the incoming bytes into the frames written by the {@link VarInt21FrameEncoder}. The length prefix
+ * is read directly from the cumulation buffer and every frame is passed on as retained slice of it, so
+ * decoding a frame neither allocates nor copies the content of the frame.
+ */
 public class VarInt21FrameDecoder extends ByteToMessageDecoder {
 
+    /**
+     * The maximum amount of bytes a var int length prefix of a frame can take
+     */
+    private static final int MAX_LENGTH_PREFIX_SIZE = 5;
+
     @Override
     protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) {
-        try {
-            if (!channelHandlerContext.channel().isActive()) {
-                byteBuf.skipBytes(byteBuf.readableBytes());
-                return;
-            }
+        if (!channelHandlerContext.channel().isActive()) {
+            byteBuf.skipBytes(byteBuf.readableBytes());
+            return;
+        }
+
+        int readerIndex = byteBuf.readerIndex();
+        int writerIndex = byteBuf.writerIndex();
+        int length = 0;
 
-            if (!byteBuf.isReadable()) {
+        for (int i = 0; i < MAX_LENGTH_PREFIX_SIZE; i++) {
+            if (readerIndex + i >= writerIndex) {
+                // the length prefix is not completely received yet
                 return;
             }
 
-            int readerIndex = byteBuf.readerIndex();
-            byte[] bytes = new byte[5];
-
-            for (int i = 0; i < 5; i++) {
-                if (!byteBuf.isReadable()) {
-                    byteBuf.readerIndex(readerIndex);
-                    return;
+            byte current = byteBuf.getByte(readerIndex + i);
+            length |= (current & 127) << i * 7;
+            if (current >= 0) {
+                if (length < 0) {
+                    break;
                 }
 
-                bytes[i] = byteBuf.readByte();
-                if (bytes[i] >= 0) {
-                    ByteBuf buf = Unpooled.wrappedBuffer(bytes);
-
-                    try {
-                        int length = NetworkUtil.readVarInt(buf);
-                        if (byteBuf.readableBytes() < length) {
-                            byteBuf.readerIndex(readerIndex);
-                            return;
-                        }
-
-                        list.add(byteBuf.readBytes(length));
-                    } finally {
-                        buf.release();
-                    }
-
+                int frameStart = readerIndex + i + 1;
+                if (writerIndex - frameStart < length) {
                     return;
                 }
+
+                byteBuf.readerIndex(frameStart);
+                list.add(byteBuf.readRetainedSlice(length));
+                return;
             }
-        } catch (Throwable throwable) {
-            throwable.printStackTrace();
         }
+
+        byteBuf.skipBytes(byteBuf.readableBytes());
+        throw new CorruptedFrameException("Bad VarInt length prefix received");
     }
 }
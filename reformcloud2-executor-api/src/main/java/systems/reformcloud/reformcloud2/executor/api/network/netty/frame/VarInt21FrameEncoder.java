@@ -36,25 +36,11 @@ public class VarInt21FrameEncoder extends MessageToByteEncoder<ByteBuf> {
         try {
             int readable = msg.readableBytes();
 
-            out.ensureWritable(readable + this.getVarIntSize(readable));
+            out.ensureWritable(readable + NetworkUtil.getVarIntSize(readable));
             NetworkUtil.writeVarInt(out, readable);
             out.writeBytes(msg, msg.readerIndex(), readable);
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
     }
-
-    private int getVarIntSize(int value) {
-        if ((value & 0xffffff80) == 0) {
-            return 1;
-        } else if ((value & 0xffffc000) == 0) {
-            return 2;
-        } else if ((value & 0xffe00000) == 0) {
-            return 3;
-        } else if ((value & 0xf0000000) == 0) {
-            return 4;
-        } else {
-            return 5;
-        }
-    }
 }
@@ -25,26 +25,77 @@
 package systems.reformcloud.reformcloud2.executor.api.network.netty.serialisation;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
 import systems.reformcloud.reformcloud2.executor.api.network.data.DefaultProtocolBuffer;
 import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 
 public class PacketSerializerEncoder extends MessageToByteEncoder<Packet> {
 
+    /**
+     * The maximum amount of bytes a var int length prefix of a frame can take
+     */
+    private static final int MAX_LENGTH_PREFIX_SIZE = 5;
+
+    /**
+     * Serializes the given packet into a new buffer including the var int length prefix which is
+     * normally written by the {@link systems.reformcloud.reformcloud2.executor.api.network.netty.frame.VarInt21FrameEncoder}.
+     * The result can be written to as many channels as needed (using a retained duplicate) without
+     * serializing the packet again.
+     *
+     * @param allocator The allocator to allocate the resulting buffer from
+     * @param packet    The packet to serialize
+     * @return The serialized and framed packet, the caller is responsible to release the buffer
+     */
+    @NotNull
+    public static ByteBuf serializeFramed(@NotNull ByteBufAllocator allocator, @NotNull Packet packet) {
+        ByteBuf byteBuf = allocator.buffer();
+        try {
+            byteBuf.writerIndex(MAX_LENGTH_PREFIX_SIZE);
+            serialize(packet, byteBuf);
+
+            int length = byteBuf.writerIndex() - MAX_LENGTH_PREFIX_SIZE;
+            int start = MAX_LENGTH_PREFIX_SIZE - NetworkUtil.getVarIntSize(length);
+
+            byteBuf.markWriterIndex();
+            byteBuf.writerIndex(start);
+            NetworkUtil.writeVarInt(byteBuf, length);
+
+            byteBuf.resetWriterIndex();
+            return byteBuf.readerIndex(start);
+        } catch (Throwable throwable) {
+            byteBuf.release();
+            throw throwable;
+        }
+    }
+
+    /**
+     * Writes the id, the query unique id and the content of the given packet into the given buffer.
+     *
+     * @param packet The packet to serialize
+     * @param target The buffer to write the packet to
+     */
+    public static void serialize(@NotNull Packet packet, @NotNull ByteBuf target) {
+        ProtocolBuffer buffer = new DefaultProtocolBuffer(target);
+
+        buffer.writeVarInt(packet.getId());
+        buffer.writeUniqueId(packet.getQueryUniqueID());
+
+        packet.write(buffer);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext channelHandlerContext, Packet packet, ByteBuf byteBuf) {
         if (!byteBuf.isWritable()) {
             return;
         }
 
-        ProtocolBuffer buffer = new DefaultProtocolBuffer(byteBuf);
         try {
-            buffer.writeVarInt(packet.getId());
-            buffer.writeUniqueId(packet.getQueryUniqueID());
-
-            packet.write(buffer);
+            serialize(packet, byteBuf);
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
@@ -31,6 +31,7 @@ import systems.reformcloud.reformcloud2.executor.api.task.Task;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public interface QueryManager {
 
@@ -44,4 +45,30 @@ public interface QueryManager {
 
     @NotNull
     Task<Packet> sendPacketQuery(@NotNull NetworkChannel channel, @NotNull UUID queryUniqueId, @NotNull Packet packet);
+
+    @NotNull
+    default Task<Packet> sendPacketQuery(@NotNull NetworkChannel channel, @NotNull Packet packet, long timeout, @NotNull TimeUnit unit) {
+        return this.sendPacketQuery(channel, UUID.randomUUID(), packet, timeout, unit);
+    }
+
+    /**
+     * Sends a query to the given channel. If no response arrives before the timeout ends the returned task
+     * gets completed exceptionally.
+     *
+     * @param channel       The channel to send the query to
+     * @param queryUniqueId The unique id of the query
+     * @param packet        The packet to send
+     * @param timeout       The time to wait for a response
+     * @param unit          The unit of the timeout
+     * @return A task completed with the response of the query
+     */
+    @NotNull
+    Task<Packet> sendPacketQuery(@NotNull NetworkChannel channel, @NotNull UUID queryUniqueId, @NotNull Packet packet, long timeout, @NotNull TimeUnit unit);
+
+    /**
+     * Completes all queries which are waiting for a response of the given channel exceptionally
+     *
+     * @param channel The channel which is no longer active
+     */
+    void cancelQueries(@NotNull NetworkChannel channel);
 }
@@ -29,6 +29,11 @@ import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointCha
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 
+/**
+ * The result of a query. Results are handled in the order they were received with all other packets of the
+ * channel and complete the waiting query off the network thread, unless the result type implements
+ * {@link systems.reformcloud.reformcloud2.executor.api.network.packet.InlinePacket}.
+ */
 public abstract class QueryResultPacket extends Packet {
 
     @Override
@@ -48,6 +48,13 @@ public final class ProcessInformation implements SerializableObject {
 
     public static final TypeToken<ProcessInformation> TYPE = new TypeToken<ProcessInformation>() {
     };
+    /**
+     * The key in the extra configuration marking a process which was booted into a standby pool
+     * and is not yet claimed by the node
+     */
+    @ApiStatus.Internal
+    public static final String STANDBY_KEY = "reformcloud-standby";
+
     private ProcessPlayerManager processPlayerManager = new ProcessPlayerManager();
     private ProcessDetail processDetail;
     private NetworkInfo networkInfo;
@@ -75,6 +82,16 @@ public final class ProcessInformation implements SerializableObject {
         return this.processPlayerManager;
     }
 
+    /**
+     * Sets the player manager of this process
+     *
+     * @param processPlayerManager The player manager holding all players connected to the process
+     */
+    @ApiStatus.Internal
+    public void setProcessPlayerManager(@NotNull ProcessPlayerManager processPlayerManager) {
+        this.processPlayerManager = processPlayerManager;
+    }
+
     public ProcessDetail getProcessDetail() {
         return this.processDetail;
     }
@@ -86,6 +103,13 @@ public final class ProcessInformation implements SerializableObject {
         return this.processDetail.getTemplate().isServer() && this.processGroup.isCanBeUsedAsLobby();
     }
 
+    /**
+     * @return If the current process is booted but parked in a standby pool of the node
+     */
+    public boolean isStandby() {
+        return this.extra != null && this.extra.getBoolean(STANDBY_KEY);
+    }
+
     /**
      * @return The network information of the current process
      */
@@ -192,7 +216,7 @@ public final class ProcessInformation implements SerializableObject {
         buffer.writeObject(this.networkInfo);
         buffer.writeObjects(this.preInclusions);
         buffer.writeObject(this.processGroup);
-        buffer.writeArray(this.extra.toPrettyBytes());
+        buffer.writeArray(this.extra.toCompactBytes());
     }
 
     @Override
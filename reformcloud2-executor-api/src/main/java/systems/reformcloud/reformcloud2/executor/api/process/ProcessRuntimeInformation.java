@@ -223,6 +223,23 @@ public class ProcessRuntimeInformation implements SerializableObject {
 
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
+        this.writeMetrics(buffer);
+        this.writeEnvironment(buffer);
+    }
+
+    @Override
+    public void read(@NotNull ProtocolBuffer buffer) {
+        this.readMetrics(buffer);
+        this.readEnvironment(buffer);
+    }
+
+    /**
+     * Writes all values which are changing while the process is running (cpu, memory, threads...)
+     *
+     * @param buffer The buffer to write the metrics to
+     */
+    @ApiStatus.Internal
+    public void writeMetrics(@NotNull ProtocolBuffer buffer) {
         buffer.writeDouble(this.cpuUsageSystem);
         buffer.writeDouble(this.cpuUsageInternal);
         buffer.writeDouble(this.loadAverageSystem);
@@ -234,19 +251,12 @@ public class ProcessRuntimeInformation implements SerializableObject {
         buffer.writeInt(this.loadedClasses);
         buffer.writeLong(this.unloadedClasses);
         buffer.writeLong(this.totalLoadedClasses);
-        buffer.writeString(this.osVersion);
-        buffer.writeString(this.javaVersion);
-        buffer.writeString(this.systemArchitecture);
-        buffer.writeStringArrays(this.startParameters);
         buffer.writeInt(this.stacktraces);
         buffer.writeLongArray(this.deadLockedThreads);
-        buffer.writeStringMap(this.systemProperties);
-        buffer.writeString(this.classPath);
-        buffer.writeString(this.bootClassPath);
     }
 
-    @Override
-    public void read(@NotNull ProtocolBuffer buffer) {
+    @ApiStatus.Internal
+    public void readMetrics(@NotNull ProtocolBuffer buffer) {
         this.cpuUsageSystem = buffer.readDouble();
         this.cpuUsageInternal = buffer.readDouble();
         this.loadAverageSystem = buffer.readDouble();
@@ -258,12 +268,33 @@ public class ProcessRuntimeInformation implements SerializableObject {
         this.loadedClasses = buffer.readInt();
         this.unloadedClasses = buffer.readLong();
         this.totalLoadedClasses = buffer.readLong();
+        this.stacktraces = buffer.readInt();
+        this.deadLockedThreads = buffer.readLongArray();
+    }
+
+    /**
+     * Writes all values which are (normally) not changing while the process is running (system properties,
+     * class path, start parameters...)
+     *
+     * @param buffer The buffer to write the environment to
+     */
+    @ApiStatus.Internal
+    public void writeEnvironment(@NotNull ProtocolBuffer buffer) {
+        buffer.writeString(this.osVersion);
+        buffer.writeString(this.javaVersion);
+        buffer.writeString(this.systemArchitecture);
+        buffer.writeStringArrays(this.startParameters);
+        buffer.writeStringMap(this.systemProperties);
+        buffer.writeString(this.classPath);
+        buffer.writeString(this.bootClassPath);
+    }
+
+    @ApiStatus.Internal
+    public void readEnvironment(@NotNull ProtocolBuffer buffer) {
         this.osVersion = buffer.readString();
         this.javaVersion = buffer.readString();
         this.systemArchitecture = buffer.readString();
         this.startParameters = buffer.readStringArrays();
-        this.stacktraces = buffer.readInt();
-        this.deadLockedThreads = buffer.readLongArray();
         this.systemProperties = buffer.readStringMap();
         this.classPath = buffer.readString();
         this.bootClassPath = buffer.readString();
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.process.delta;
+
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
+import systems.reformcloud.reformcloud2.executor.api.network.SerializableObject;
+import systems.reformcloud.reformcloud2.executor.api.network.data.DefaultProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.process.NetworkInfo;
+import systems.reformcloud.reformcloud2.executor.api.process.Player;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessRuntimeInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.api.ProcessInclusion;
+import systems.reformcloud.reformcloud2.executor.api.process.detail.ProcessDetail;
+import systems.reformcloud.reformcloud2.executor.api.process.detail.ProcessPlayerManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Represents the changes of a {@link ProcessInformation} since the last update which was sent by the same
+ * {@link ProcessInformationDeltaEncoder}. A delta only contains the sections of the information which were
+ * changed and the players which joined or left the process. If the delta is a snapshot it contains all
+ * sections and all players which are currently connected to the process.
+ *
+ * @see ProcessInformationDeltaEncoder
+ * @see ProcessInformationDeltaDecoder
+ */
+@ApiStatus.Internal
+public final class ProcessInformationDelta implements SerializableObject {
+
+    static final int DETAILS = 0;
+    static final int RUNTIME_METRICS = 1;
+    static final int RUNTIME_ENVIRONMENT = 2;
+    static final int NETWORK_INFO = 3;
+    static final int PRE_INCLUSIONS = 4;
+    static final int PROCESS_GROUP = 5;
+    static final int EXTRA = 6;
+    static final int SECTION_COUNT = 7;
+
+    private UUID processUniqueId;
+    private long sequence;
+    private boolean snapshot;
+    private byte[][] sections;
+    private Collection<Player> joinedPlayers;
+    private Collection<UUID> leftPlayers;
+
+    @ApiStatus.Internal
+    public ProcessInformationDelta() {
+    }
+
+    ProcessInformationDelta(UUID processUniqueId, long sequence, boolean snapshot, byte[][] sections,
+                            Collection<Player> joinedPlayers, Collection<UUID> leftPlayers) {
+        this.processUniqueId = processUniqueId;
+        this.sequence = sequence;
+        this.snapshot = snapshot;
+        this.sections = sections;
+        this.joinedPlayers = joinedPlayers;
+        this.leftPlayers = leftPlayers;
+    }
+
+    /**
+     * @return The unique id of the process this delta belongs to
+     */
+    @NotNull
+    public UUID getProcessUniqueId() {
+        return this.processUniqueId;
+    }
+
+    /**
+     * @return The sequence number of this delta in the update stream of the process
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * @return If this delta contains the full information about the process
+     */
+    public boolean isSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * @return If this delta does not contain any changes
+     */
+    public boolean isEmpty() {
+        if (!this.joinedPlayers.isEmpty() || !this.leftPlayers.isEmpty()) {
+            return false;
+        }
+
+        for (byte[] section : this.sections) {
+            if (section != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    byte[][] getSections() {
+        return this.sections;
+    }
+
+    Collection<Player> getJoinedPlayers() {
+        return this.joinedPlayers;
+    }
+
+    Collection<UUID> getLeftPlayers() {
+        return this.leftPlayers;
+    }
+
+    @Override
+    public void write(@NotNull ProtocolBuffer buffer) {
+        buffer.writeUniqueId(this.processUniqueId);
+        buffer.writeLong(this.sequence);
+        buffer.writeBoolean(this.snapshot);
+
+        int changedSections = 0;
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            if (this.sections[i] != null) {
+                changedSections |= 1 << i;
+            }
+        }
+
+        buffer.writeVarInt(changedSections);
+        for (byte[] section : this.sections) {
+            if (section != null) {
+                buffer.writeArray(section);
+            }
+        }
+
+        buffer.writeObjects(this.joinedPlayers);
+        buffer.writeVarInt(this.leftPlayers.size());
+        for (UUID leftPlayer : this.leftPlayers) {
+            buffer.writeUniqueId(leftPlayer);
+        }
+    }
+
+    @Override
+    public void read(@NotNull ProtocolBuffer buffer) {
+        this.processUniqueId = buffer.readUniqueId();
+        this.sequence = buffer.readLong();
+        this.snapshot = buffer.readBoolean();
+
+        int changedSections = buffer.readVarInt();
+        this.sections = new byte[SECTION_COUNT][];
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            if ((changedSections & (1 << i)) != 0) {
+                this.sections[i] = buffer.readArray();
+            }
+        }
+
+        this.joinedPlayers = buffer.readObjects(Player.class);
+
+        int leftPlayers = buffer.readVarInt();
+        this.leftPlayers = new ArrayList<>(leftPlayers);
+        for (int i = 0; i < leftPlayers; i++) {
+            this.leftPlayers.add(buffer.readUniqueId());
+        }
+    }
+
+    @NotNull
+    static byte[][] writeSections(@NotNull ProcessInformation processInformation) {
+        ProcessRuntimeInformation runtimeInformation = processInformation.getProcessDetail().getProcessRuntimeInformation();
+        byte[][] sections = new byte[SECTION_COUNT][];
+
+        sections[DETAILS] = writeSection(buffer -> processInformation.getProcessDetail().writeDetails(buffer));
+        sections[RUNTIME_METRICS] = writeSection(runtimeInformation::writeMetrics);
+        sections[RUNTIME_ENVIRONMENT] = writeSection(runtimeInformation::writeEnvironment);
+        sections[NETWORK_INFO] = writeSection(buffer -> buffer.writeObject(processInformation.getNetworkInfo()));
+        sections[PRE_INCLUSIONS] = writeSection(buffer -> buffer.writeObjects(processInformation.getPreInclusions()));
+        sections[PROCESS_GROUP] = writeSection(buffer -> buffer.writeObject(processInformation.getProcessGroup()));
+        sections[EXTRA] = writeSection(buffer -> buffer.writeArray(processInformation.getExtra().toCompactBytes()));
+
+        return sections;
+    }
+
+    @NotNull
+    static ProcessInformation readSections(@NotNull byte[][] sections, @NotNull Collection<Player> players) {
+        ProcessDetail processDetail = new ProcessDetail();
+        readSection(sections[DETAILS], processDetail::readDetails);
+
+        ProcessRuntimeInformation runtimeInformation = ProcessRuntimeInformation.empty();
+        readSection(sections[RUNTIME_METRICS], runtimeInformation::readMetrics);
+        readSection(sections[RUNTIME_ENVIRONMENT], runtimeInformation::readEnvironment);
+        processDetail.setProcessRuntimeInformation(runtimeInformation);
+
+        ProtocolBuffer networkInfo = wrap(sections[NETWORK_INFO]);
+        ProtocolBuffer preInclusions = wrap(sections[PRE_INCLUSIONS]);
+        ProtocolBuffer processGroup = wrap(sections[PROCESS_GROUP]);
+
+        ProcessInformation processInformation = new ProcessInformation(
+                processDetail,
+                networkInfo.readObject(NetworkInfo.class),
+                processGroup.readObject(ProcessGroup.class),
+                readExtra(sections[EXTRA]),
+                new CopyOnWriteArrayList<>(preInclusions.readObjects(ProcessInclusion.class))
+        );
+        processInformation.setProcessPlayerManager(new ProcessPlayerManager(players));
+
+        return processInformation;
+    }
+
+    @NotNull
+    private static JsonConfiguration readExtra(@NotNull byte[] section) {
+        try (InputStream stream = new ByteArrayInputStream(wrap(section).readArray())) {
+            return new JsonConfiguration(stream);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            return new JsonConfiguration();
+        }
+    }
+
+    @NotNull
+    private static byte[] writeSection(@NotNull Consumer<ProtocolBuffer> writer) {
+        ProtocolBuffer buffer = new DefaultProtocolBuffer(Unpooled.buffer());
+        try {
+            writer.accept(buffer);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static void readSection(@NotNull byte[] section, @NotNull Consumer<ProtocolBuffer> reader) {
+        reader.accept(wrap(section));
+    }
+
+    @NotNull
+    private static ProtocolBuffer wrap(@NotNull byte[] section) {
+        return new DefaultProtocolBuffer(Unpooled.wrappedBuffer(section));
+    }
+}
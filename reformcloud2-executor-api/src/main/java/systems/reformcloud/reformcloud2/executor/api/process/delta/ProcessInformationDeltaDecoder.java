@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.process.delta;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.process.Player;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies {@link ProcessInformationDelta}s to the last known state of a process. The states are held per source
+ * because every source has its own {@link ProcessInformationDeltaEncoder} and by that its own sequence numbers.
+ * If a delta can not be applied because the base state is unknown or an update was missed, a snapshot of the
+ * process has to be requested from the source. If the snapshot does not arrive within the request timeout, it
+ * is requested again on the next delta which can not be applied.
+ */
+@ApiStatus.Internal
+public final class ProcessInformationDeltaDecoder {
+
+    private static final long SNAPSHOT_REQUEST_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("systems.reformcloud.delta-snapshot-request-timeout-millis", 5000)
+    );
+
+    private final Map<String, Map<UUID, DecoderState>> states = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long snapshotRequestTimeoutNanos;
+
+    public ProcessInformationDeltaDecoder() {
+        this(System::nanoTime, SNAPSHOT_REQUEST_TIMEOUT_NANOS);
+    }
+
+    ProcessInformationDeltaDecoder(@NotNull LongSupplier nanoClock, long snapshotRequestTimeoutNanos) {
+        this.nanoClock = nanoClock;
+        this.snapshotRequestTimeoutNanos = snapshotRequestTimeoutNanos;
+    }
+
+    /**
+     * Applies the given delta to the known state of the process.
+     *
+     * @param source          The name of the source which sent the delta
+     * @param delta           The delta to apply
+     * @param requestSnapshot Called if the delta could not be applied and a snapshot is needed to resync, at most
+     *                        once per request timeout
+     * @return The updated process information or {@code null} if the delta could not be applied
+     */
+    @Nullable
+    public ProcessInformation decode(@NotNull String source, @NotNull ProcessInformationDelta delta, @NotNull Runnable requestSnapshot) {
+        DecoderState state = this.states
+                .computeIfAbsent(source, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(delta.getProcessUniqueId(), uniqueId -> new DecoderState());
+
+        synchronized (state) {
+            if (delta.isSnapshot()) {
+                state.sequence = delta.getSequence();
+                state.sections = delta.getSections().clone();
+                state.players.clear();
+                for (Player joinedPlayer : delta.getJoinedPlayers()) {
+                    state.players.put(joinedPlayer.getUniqueID(), joinedPlayer);
+                }
+
+                state.snapshotRequested = false;
+                return ProcessInformationDelta.readSections(state.sections, state.players.values());
+            }
+
+            if (state.sections != null && delta.getSequence() <= state.sequence) {
+                // outdated delta which was sent before the last snapshot
+                return null;
+            }
+
+            if (state.sections == null || delta.getSequence() != state.sequence + 1) {
+                // the base state is unknown or updates were lost, we need a snapshot to continue
+                state.sections = null;
+                long now = this.nanoClock.getAsLong();
+                if (!state.snapshotRequested || now - state.snapshotRequestTime >= this.snapshotRequestTimeoutNanos) {
+                    // the previous request or its answer may have been lost, request the snapshot again
+                    state.snapshotRequested = true;
+                    state.snapshotRequestTime = now;
+                    requestSnapshot.run();
+                }
+
+                return null;
+            }
+
+            byte[][] sections = delta.getSections();
+            for (int i = 0; i < sections.length; i++) {
+                if (sections[i] != null) {
+                    state.sections[i] = sections[i];
+                }
+            }
+
+            for (UUID leftPlayer : delta.getLeftPlayers()) {
+                state.players.remove(leftPlayer);
+            }
+
+            for (Player joinedPlayer : delta.getJoinedPlayers()) {
+                state.players.put(joinedPlayer.getUniqueID(), joinedPlayer);
+            }
+
+            state.sequence = delta.getSequence();
+            return ProcessInformationDelta.readSections(state.sections, state.players.values());
+        }
+    }
+
+    /**
+     * Removes the known states of the given process for all sources
+     *
+     * @param processUniqueId The unique id of the process
+     */
+    public void remove(@NotNull UUID processUniqueId) {
+        for (Map<UUID, DecoderState> value : this.states.values()) {
+            value.remove(processUniqueId);
+        }
+    }
+
+    /**
+     * Removes all known states of processes which were received from the given source
+     *
+     * @param source The name of the source
+     */
+    public void removeSource(@NotNull String source) {
+        this.states.remove(source);
+    }
+
+    private static final class DecoderState {
+
+        private final Map<UUID, Player> players = new LinkedHashMap<>();
+        private long sequence;
+        private byte[][] sections;
+        private boolean snapshotRequested;
+        private long snapshotRequestTime;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.process.delta;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.process.Player;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Creates {@link ProcessInformationDelta}s for one update stream. The encoder remembers the last state which was
+ * sent for each process and only includes the changed sections in the next delta. Every delta gets a sequence
+ * number which is increased by one for every update of the process, the receiver uses it to detect lost updates.
+ */
+@ApiStatus.Internal
+public final class ProcessInformationDeltaEncoder {
+
+    private final Map<UUID, EncoderState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the delta between the last sent state of the given process and the given process information. The
+     * delta is passed to the given sender while holding the lock of the process so all deltas of one process
+     * are sent in the order of their sequence numbers. If there is no known state for the process a snapshot
+     * is created.
+     *
+     * @param processInformation The current information of the process
+     * @param sender             The sender of the created delta
+     */
+    public void encode(@NotNull ProcessInformation processInformation, @NotNull Consumer<ProcessInformationDelta> sender) {
+        UUID processUniqueId = processInformation.getProcessDetail().getProcessUniqueID();
+        EncoderState state = this.states.computeIfAbsent(processUniqueId, uniqueId -> new EncoderState());
+
+        synchronized (state) {
+            byte[][] sections = ProcessInformationDelta.writeSections(processInformation);
+            Map<UUID, Player> players = new HashMap<>();
+            for (Player onlinePlayer : processInformation.getProcessPlayerManager().getOnlinePlayers()) {
+                players.put(onlinePlayer.getUniqueID(), onlinePlayer);
+            }
+
+            if (state.sections == null) {
+                state.sections = sections;
+                state.players = players;
+                sender.accept(new ProcessInformationDelta(processUniqueId, ++state.sequence, true, sections, players.values(), Collections.emptyList()));
+                return;
+            }
+
+            byte[][] changedSections = new byte[ProcessInformationDelta.SECTION_COUNT][];
+            for (int i = 0; i < ProcessInformationDelta.SECTION_COUNT; i++) {
+                if (!Arrays.equals(state.sections[i], sections[i])) {
+                    changedSections[i] = sections[i];
+                }
+            }
+
+            // changed players are sent as joined players as well, the receiver replaces the known player
+            Collection<Player> joinedPlayers = new ArrayList<>();
+            for (Player player : players.values()) {
+                if (!isSamePlayer(state.players.get(player.getUniqueID()), player)) {
+                    joinedPlayers.add(player);
+                }
+            }
+
+            Collection<UUID> leftPlayers = new ArrayList<>();
+            for (UUID uniqueId : state.players.keySet()) {
+                if (!players.containsKey(uniqueId)) {
+                    leftPlayers.add(uniqueId);
+                }
+            }
+
+            ProcessInformationDelta delta = new ProcessInformationDelta(
+                    processUniqueId, state.sequence + 1, false, changedSections, joinedPlayers, leftPlayers
+            );
+            if (delta.isEmpty()) {
+                return;
+            }
+
+            state.sections = sections;
+            state.players = players;
+            state.sequence++;
+
+            sender.accept(delta);
+        }
+    }
+
+    /**
+     * Creates a snapshot of the last state sent for the given process, for example if a receiver missed an update.
+     * The snapshot has the sequence number of the last sent delta.
+     *
+     * @param processUniqueId The unique id of the process to create the snapshot for
+     * @param sender          The sender of the created snapshot
+     * @return {@code true} if a state of the process is known and the snapshot was created
+     */
+    public boolean snapshot(@NotNull UUID processUniqueId, @NotNull Consumer<ProcessInformationDelta> sender) {
+        EncoderState state = this.states.get(processUniqueId);
+        if (state == null) {
+            return false;
+        }
+
+        synchronized (state) {
+            if (state.sections == null) {
+                return false;
+            }
+
+            sender.accept(new ProcessInformationDelta(
+                    processUniqueId, state.sequence, true, state.sections, state.players.values(), Collections.emptyList()
+            ));
+            return true;
+        }
+    }
+
+    /**
+     * Removes the known state of the given process, the next update of the process will be a snapshot
+     *
+     * @param processUniqueId The unique id of the process
+     */
+    public void remove(@NotNull UUID processUniqueId) {
+        this.states.remove(processUniqueId);
+    }
+
+    // Player#equals only compares the unique ids
+    private static boolean isSamePlayer(@Nullable Player known, @NotNull Player current) {
+        return known != null && known.getName().equals(current.getName()) && known.getJoined() == current.getJoined();
+    }
+
+    private static final class EncoderState {
+
+        private long sequence;
+        private byte[][] sections;
+        private Map<UUID, Player> players;
+    }
+}
@@ -170,6 +170,16 @@ public final class ProcessDetail implements Nameable, SerializableObject {
         return this.initialState;
     }
 
+    /**
+     * Sets the initial state of the current process
+     *
+     * @param initialState The state which should get set after the next connect of the process
+     */
+    @ApiStatus.Internal
+    public void setInitialState(@NotNull ProcessState initialState) {
+        this.initialState = initialState;
+    }
+
     /**
      * @return The current process state of the process
      */
@@ -242,6 +252,23 @@ public final class ProcessDetail implements Nameable, SerializableObject {
 
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
+        this.writeDetails(buffer);
+        buffer.writeObject(this.processRuntimeInformation);
+    }
+
+    @Override
+    public void read(@NotNull ProtocolBuffer buffer) {
+        this.readDetails(buffer);
+        this.processRuntimeInformation = buffer.readObject(ProcessRuntimeInformation.class);
+    }
+
+    /**
+     * Writes all information of this detail except the {@link ProcessRuntimeInformation} to the given buffer
+     *
+     * @param buffer The buffer to write the details to
+     */
+    @ApiStatus.Internal
+    public void writeDetails(@NotNull ProtocolBuffer buffer) {
         buffer.writeUniqueId(this.processUniqueID);
         buffer.writeString(this.name);
         buffer.writeString(this.displayName);
@@ -251,7 +278,6 @@ public final class ProcessDetail implements Nameable, SerializableObject {
         buffer.writeString(this.parentName);
 
         buffer.writeObject(this.template);
-        buffer.writeObject(this.processRuntimeInformation);
 
         buffer.writeInt(this.maxMemory);
         buffer.writeLong(this.creationTime);
@@ -263,8 +289,8 @@ public final class ProcessDetail implements Nameable, SerializableObject {
         buffer.writeString(this.messageOfTheDay);
     }
 
-    @Override
-    public void read(@NotNull ProtocolBuffer buffer) {
+    @ApiStatus.Internal
+    public void readDetails(@NotNull ProtocolBuffer buffer) {
         this.processUniqueID = buffer.readUniqueId();
         this.name = buffer.readString();
         this.displayName = buffer.readString();
@@ -274,7 +300,6 @@ public final class ProcessDetail implements Nameable, SerializableObject {
         this.parentName = buffer.readString();
 
         this.template = buffer.readObject(Template.class);
-        this.processRuntimeInformation = buffer.readObject(ProcessRuntimeInformation.class);
 
         this.maxMemory = buffer.readInt();
         this.creationTime = buffer.readLong();
@@ -25,9 +25,12 @@
 package systems.reformcloud.reformcloud2.executor.api.provider;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 
+import java.util.Collection;
+
 /**
  * Provides the possibility to communicate with other processes in the network on an event based system
  * instead of using an own packet implementation
@@ -73,4 +76,27 @@ public interface ChannelMessageProvider {
      * @param data    The data as json which should get sent to all processes
      */
     void publishChannelMessage(@NotNull String channel, @NotNull JsonConfiguration data);
+
+    /**
+     * Subscribes the current component to all channels matching the given pattern. A pattern is either
+     * the name of a channel or contains {@code *} wildcards, for example {@code party.*}. As long as a
+     * component has never subscribed to a channel it receives the messages of all channels, after the
+     * first subscription only messages of subscribed channels are delivered to it.
+     *
+     * @param channelPattern The pattern of the channels to receive messages of
+     */
+    void subscribe(@NotNull String channelPattern);
+
+    /**
+     * Removes a subscription created using {@link #subscribe(String)}
+     *
+     * @param channelPattern The pattern which was used to subscribe
+     */
+    void unsubscribe(@NotNull String channelPattern);
+
+    /**
+     * @return The channel patterns the current component subscribed to
+     */
+    @NotNull
+    @UnmodifiableView Collection<String> getSubscriptions();
 }
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.executor.api.utility;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Resolves and caches factories which create new instances of a class using its no-args constructor.
+ * If possible the factory is a generated lambda calling the constructor directly, otherwise it falls back
+ * to the cached reflective constructor.
+ */
+public final class InstanceFactory {
+
+    private static final ClassValue<Optional<Supplier<?>>> FACTORIES = new ClassValue<Optional<Supplier<?>>>() {
+        @Override
+        protected Optional<Supplier<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(createFactory(type));
+        }
+    };
+
+    private InstanceFactory() {
+        throw new AssertionError("You should not instantiate this class");
+    }
+
+    /**
+     * Gets the factory for the given class
+     *
+     * @param type The class to get the factory for
+     * @param <T>  The type of the class
+     * @return The factory for the class or {@code null} if the class has no no-args constructor
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> getFactory(@NotNull Class<T> type) {
+        return (Supplier<T>) FACTORIES.get(type).orElse(null);
+    }
+
+    @Nullable
+    private static <T> Supplier<T> createFactory(@NotNull Class<T> type) {
+        Constructor<T> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+        } catch (NoSuchMethodException exception) {
+            return null;
+        }
+
+        if (isVisible(type)) {
+            try {
+                return createLambdaFactory(type);
+            } catch (Throwable ignored) {
+                // the constructor is not accessible, use reflection instead
+            }
+        }
+
+        try {
+            constructor.setAccessible(true);
+        } catch (RuntimeException ignored) {
+        }
+
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (InvocationTargetException exception) {
+                throw new RuntimeException(exception.getCause());
+            } catch (ReflectiveOperationException exception) {
+                throw new RuntimeException(exception);
+            }
+        };
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private static <T> Supplier<T> createLambdaFactory(@NotNull Class<T> type) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+
+        CallSite callSite = LambdaMetafactory.metafactory(
+                lookup,
+                "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                constructor,
+                MethodType.methodType(type)
+        );
+        return (Supplier<T>) callSite.getTarget().invoke();
+    }
+
+    // the generated lambda is defined next to this class and can only link against classes visible to its class loader
+    private static boolean isVisible(@NotNull Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, InstanceFactory.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false;
+        }
+    }
+}
@@ -28,9 +28,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
+import systems.reformcloud.reformcloud2.executor.api.utility.list.Trio;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public interface DatabaseTableWrapper {
 
@@ -55,6 +58,41 @@ public interface DatabaseTableWrapper {
 
     boolean has(@NotNull String key);
 
+    /**
+     * Inserts all given entries, if possible using a single batch.
+     *
+     * @param entries The entries to insert, each consisting of the key, the identifier and the data of the entry
+     */
+    default void insertAll(@NotNull Collection<Trio<String, String, JsonConfiguration>> entries) {
+        for (Trio<String, String, JsonConfiguration> entry : entries) {
+            this.insert(entry.getFirst(), entry.getSecond(), entry.getThird());
+        }
+    }
+
+    /**
+     * Passes all entries of this table to the given consumer. In difference to {@link #getAll()} the
+     * implementation may load the entries page by page instead of holding all of them in memory.
+     *
+     * @param consumer The consumer of the entries
+     */
+    default void forEach(@NotNull Consumer<JsonConfiguration> consumer) {
+        this.getAll().forEach(consumer);
+    }
+
+    /**
+     * Enables a local near-cache for the reads of this table if the implementation supports it. Cached
+     * entries get invalidated when they are changed and evicted after the given time or when the cache
+     * exceeds the given size.
+     *
+     * @param maxSize     The maximum amount of entries held in the cache
+     * @param expireAfter The time after which a cached entry gets evicted
+     * @param unit        The unit of the given expire time
+     * @return If the near-cache is supported and now enabled for this table
+     */
+    default boolean enableNearCache(int maxSize, long expireAfter, @NotNull TimeUnit unit) {
+        return false;
+    }
+
     @NotNull
     default Task<Void> insertAsync(@NotNull String key, @NotNull String id, @NotNull JsonConfiguration data) {
         return Task.supply(() -> {
@@ -36,4 +36,14 @@ class JsonConfigurationTest {
         configuration.add("test", "lol");
         Assertions.assertEquals("{\n  \"test\": \"lol\"\n}", configuration.toPrettyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testToCompactString() {
+        JsonConfiguration configuration = new JsonConfiguration();
+        Assertions.assertEquals("{}", configuration.toCompactString());
+
+        configuration.add("test", "lol").add("klaro", (String) null).add("nested", new JsonConfiguration().add("a", 1));
+        Assertions.assertEquals("{\"test\":\"lol\",\"klaro\":null,\"nested\":{\"a\":1}}", configuration.toCompactString());
+        Assertions.assertEquals(configuration.getJsonObject(), new JsonConfiguration(configuration.toCompactBytes()).getJsonObject());
+    }
+}
@@ -0,0 +1,110 @@
+package systems.reformcloud.reformcloud2.executor.api.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class TemplateFileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private TemplateFileStore store;
+    private Path template;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.store = new TemplateFileStore(this.directory.resolve("store"), "*.jar");
+        this.template = this.directory.resolve("template");
+        write(this.template.resolve("plugins/plugin.jar"), "plugin");
+        write(this.template.resolve("server.properties"), "port=25565");
+    }
+
+    @Test
+    void testMaterializeDirectory() throws IOException {
+        Path first = this.directory.resolve("first");
+        Path second = this.directory.resolve("second");
+        this.store.materializeDirectory(this.template, first);
+        this.store.materializeDirectory(this.template, second);
+
+        Assertions.assertEquals("plugin", read(first.resolve("plugins/plugin.jar")));
+        Assertions.assertEquals("port=25565", read(second.resolve("server.properties")));
+
+        Assertions.assertTrue(Files.isSameFile(first.resolve("plugins/plugin.jar"), second.resolve("plugins/plugin.jar")));
+        Assertions.assertFalse(Files.isSameFile(first.resolve("plugins/plugin.jar"), this.template.resolve("plugins/plugin.jar")));
+        Assertions.assertFalse(Files.isSameFile(first.resolve("server.properties"), second.resolve("server.properties")));
+    }
+
+    @Test
+    void testChangedSourceIsStoredAgain() throws IOException {
+        Path first = this.directory.resolve("first");
+        this.store.materializeDirectory(this.template, first);
+
+        write(this.template.resolve("plugins/plugin.jar"), "updated plugin");
+        Path second = this.directory.resolve("second");
+        this.store.materializeDirectory(this.template, second);
+
+        Assertions.assertEquals("plugin", read(first.resolve("plugins/plugin.jar")));
+        Assertions.assertEquals("updated plugin", read(second.resolve("plugins/plugin.jar")));
+    }
+
+    @Test
+    void testModifiedLinkIsNotReused() throws IOException {
+        Path first = this.directory.resolve("first");
+        this.store.materializeDirectory(this.template, first);
+
+        // a process writing into its linked file changes the stored content as well
+        Files.write(first.resolve("plugins/plugin.jar"), "changed by the process".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Path second = this.directory.resolve("second");
+        this.store.materializeDirectory(this.template, second);
+
+        Assertions.assertEquals("plugin", read(second.resolve("plugins/plugin.jar")));
+        Assertions.assertFalse(Files.isSameFile(first.resolve("plugins/plugin.jar"), second.resolve("plugins/plugin.jar")));
+    }
+
+    @Test
+    void testStoredFilesAreKeptOnRestart() throws IOException {
+        Path first = this.directory.resolve("first");
+        this.store.materializeDirectory(this.template, first);
+
+        Path stale = this.directory.resolve("store/ab/abc123.tmp");
+        write(stale, "interrupted");
+
+        TemplateFileStore restarted = new TemplateFileStore(this.directory.resolve("store"), "*.jar");
+        Assertions.assertFalse(Files.exists(stale));
+
+        Path second = this.directory.resolve("second");
+        restarted.materializeDirectory(this.template, second);
+        Assertions.assertEquals("plugin", read(second.resolve("plugins/plugin.jar")));
+        Assertions.assertTrue(Files.isSameFile(first.resolve("plugins/plugin.jar"), second.resolve("plugins/plugin.jar")));
+    }
+
+    @Test
+    void testModifiedStoredFileIsReplacedOnRestart() throws IOException {
+        Path first = this.directory.resolve("first");
+        this.store.materializeDirectory(this.template, first);
+        Files.write(first.resolve("plugins/plugin.jar"), "changed by the process".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        TemplateFileStore restarted = new TemplateFileStore(this.directory.resolve("store"), "*.jar");
+        Path second = this.directory.resolve("second");
+        restarted.materializeDirectory(this.template, second);
+
+        Assertions.assertEquals("plugin", read(second.resolve("plugins/plugin.jar")));
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+package systems.reformcloud.reformcloud2.executor.api.messaging;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+class ChannelSubscriptionsTest {
+
+    @Test
+    void testExactAndWildcardPatterns() {
+        ChannelSubscriptions subscriptions = ChannelSubscriptions.of(Arrays.asList("chat", "party.*", "*.sync", "game.*.end"));
+
+        Assertions.assertTrue(subscriptions.matches("chat"));
+        Assertions.assertFalse(subscriptions.matches("chat2"));
+        Assertions.assertTrue(subscriptions.matches("party.invite"));
+        Assertions.assertTrue(subscriptions.matches("party."));
+        Assertions.assertFalse(subscriptions.matches("party"));
+        Assertions.assertTrue(subscriptions.matches("friends.sync"));
+        Assertions.assertFalse(subscriptions.matches("friends.sync.now"));
+        Assertions.assertTrue(subscriptions.matches("game.bedwars.end"));
+        Assertions.assertFalse(subscriptions.matches("game.end"));
+        Assertions.assertFalse(subscriptions.matchesAll());
+    }
+
+    @Test
+    void testWildcardMatchesEverything() {
+        Assertions.assertTrue(ChannelSubscriptions.of(Arrays.asList("chat", "**")).matchesAll());
+        Assertions.assertTrue(ChannelSubscriptions.all().matches("anything"));
+        Assertions.assertFalse(ChannelSubscriptions.none().matches("anything"));
+        Assertions.assertTrue(ChannelSubscriptions.of(Collections.singletonList("")).isEmpty());
+    }
+
+    @Test
+    void testUnion() {
+        ChannelSubscriptions union = ChannelSubscriptions.union(Arrays.asList(
+                ChannelSubscriptions.of(Collections.singletonList("chat")),
+                ChannelSubscriptions.of(Arrays.asList("party.*", "chat"))
+        ));
+
+        Assertions.assertEquals(ChannelSubscriptions.of(Arrays.asList("party.*", "chat")), union);
+        Assertions.assertEquals(2, union.getPatterns().size());
+        Assertions.assertTrue(ChannelSubscriptions.union(Arrays.asList(union, ChannelSubscriptions.all())).matchesAll());
+    }
+}
@@ -3,6 +3,7 @@ package systems.reformcloud.reformcloud2.executor.api.network.data;
 import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.*;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.network.SerializableObject;
 
 import java.util.Arrays;
@@ -22,6 +23,8 @@ class ProtocolBufferTest {
         this.buffer.writeVarInt(15);
         this.buffer.writeUniqueId(UUID.fromString("bcc582ed-494d-4b93-86cb-b58564651a26"));
         this.buffer.writeObject(new TestObject());
+        this.buffer.writeJsonConfiguration(new JsonConfiguration("{\"a\": 1.5, \"b\": [true, null, \"c\"], \"d\": {\"e\": 12345678901}}")
+                .add("f", 3).add("g", 4L).add("h", 0.25F).add("i", 0.1D));
 
         this.buffer.readerIndex(0);
     }
@@ -37,6 +40,16 @@ class ProtocolBufferTest {
         TestObject object = this.buffer.readObject(TestObject.class);
         Assertions.assertNotNull(object);
         Assertions.assertEquals("test", object.testString);
+
+        JsonConfiguration configuration = this.buffer.readJsonConfiguration();
+        Assertions.assertEquals(1.5D, configuration.getDouble("a"));
+        Assertions.assertEquals("[true,null,\"c\"]", configuration.getJsonObject().get("b").toString());
+        Assertions.assertEquals(12345678901L, configuration.get("d").getLong("e"));
+        Assertions.assertEquals(3, configuration.getInteger("f"));
+        Assertions.assertEquals(4L, configuration.getLong("g"));
+        Assertions.assertEquals(0.25F, configuration.getFloat("h"));
+        Assertions.assertEquals(0.1D, configuration.getDouble("i"));
+        Assertions.assertFalse(this.buffer.isReadable());
     }
 
     @AfterAll
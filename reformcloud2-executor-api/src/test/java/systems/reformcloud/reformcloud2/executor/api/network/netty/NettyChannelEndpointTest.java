@@ -0,0 +1,178 @@
+package systems.reformcloud.reformcloud2.executor.api.network.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.InlinePacket;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.query.QueryResultPacket;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+class NettyChannelEndpointTest {
+
+    @Test
+    void testInlinePacketIsHandledWhileHandlerBlocks() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch inlineHandled = new CountDownLatch(1);
+            CountDownLatch blockingHandled = new CountDownLatch(1);
+            EmbeddedChannel channel = new EmbeddedChannel(new NettyChannelEndpoint(new TestReader(packet -> {
+                if (packet instanceof TestInlinePacket) {
+                    inlineHandled.countDown();
+                    return;
+                }
+
+                try {
+                    // a handler waiting for the result of a query sent over the same channel
+                    if (inlineHandled.await(5, TimeUnit.SECONDS)) {
+                        blockingHandled.countDown();
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }), executor));
+
+            channel.writeInbound(new TestPacket());
+            channel.writeInbound(new TestInlinePacket());
+
+            Assertions.assertTrue(blockingHandled.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAutoReadIsDisabledWhilePacketsArePending() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyChannelEndpoint(new TestReader(packet -> {
+        }), tasks::add, 4));
+        tasks.poll().run(); // channel active
+
+        for (int i = 0; i < 3; i++) {
+            channel.writeInbound(new TestPacket());
+        }
+        Assertions.assertTrue(channel.config().isAutoRead());
+
+        channel.writeInbound(new TestPacket());
+        Assertions.assertFalse(channel.config().isAutoRead());
+
+        tasks.poll().run();
+        Assertions.assertFalse(channel.config().isAutoRead());
+
+        tasks.poll().run();
+        Assertions.assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    void testQueryResultIsOrderedWithOtherPackets() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        List<Packet> handled = new ArrayList<>();
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyChannelEndpoint(new TestReader(handled::add), tasks::add));
+        tasks.poll().run(); // channel active
+
+        Packet packet = new TestPacket();
+        Packet result = new TestResultPacket();
+        channel.writeInbound(packet);
+        channel.writeInbound(result);
+        Assertions.assertTrue(handled.isEmpty());
+
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+
+        Assertions.assertEquals(Arrays.asList(packet, result), handled);
+    }
+
+    private static class TestPacket extends Packet {
+
+        @Override
+        public int getId() {
+            return 0;
+        }
+
+        @Override
+        public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+        }
+    }
+
+    private static final class TestInlinePacket extends TestPacket implements InlinePacket {
+    }
+
+    private static final class TestResultPacket extends QueryResultPacket {
+
+        @Override
+        public int getId() {
+            return 1;
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+        }
+    }
+
+    private static final class TestReader implements EndpointChannelReader {
+
+        private final Consumer<Packet> handler;
+
+        private TestReader(Consumer<Packet> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean shouldHandle(@NotNull Packet packet) {
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public NetworkChannel getNetworkChannel() {
+            throw new UnsupportedOperationException();
+        }
+
+        @NotNull
+        @Override
+        public EndpointChannelReader setNetworkChannel(@NotNull NetworkChannel channel) {
+            return this;
+        }
+
+        @Override
+        public void channelActive(@NotNull ChannelHandlerContext context) {
+        }
+
+        @Override
+        public void channelInactive(@NotNull ChannelHandlerContext context) {
+        }
+
+        @Override
+        public void read(@NotNull Packet input) {
+            this.handler.accept(input);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SerialExecutorTest {
+
+    @Test
+    void testTasksRunInOrder() throws InterruptedException {
+        ExecutorService backingExecutor = Executors.newFixedThreadPool(4);
+        try {
+            SerialExecutor executor = new SerialExecutor(backingExecutor);
+            List<Integer> results = new ArrayList<>();
+            AtomicBoolean running = new AtomicBoolean();
+            AtomicInteger overlaps = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(1000);
+
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                executor.execute(() -> {
+                    if (!running.compareAndSet(false, true)) {
+                        overlaps.incrementAndGet();
+                    }
+
+                    results.add(value);
+                    running.set(false);
+                    latch.countDown();
+                });
+            }
+
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, overlaps.get());
+            for (int i = 0; i < 1000; i++) {
+                Assertions.assertEquals(i, results.get(i));
+            }
+        } finally {
+            backingExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailingTaskDoesNotStopExecutor() throws InterruptedException {
+        SerialExecutor executor = new SerialExecutor(Runnable::run);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(latch::countDown);
+
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testHandlerStatistics() {
+        PacketDispatcher.recordHandlerTime(TestPacket.class, 100);
+        PacketDispatcher.recordHandlerTime(TestPacket.class, 300);
+
+        PacketDispatcher.HandlerStatistics statistics = PacketDispatcher.getHandlerStatistics().get(TestPacket.class);
+        Assertions.assertNotNull(statistics);
+        Assertions.assertEquals(2, statistics.getCount());
+        Assertions.assertEquals(200, statistics.getAverageNanos());
+        Assertions.assertEquals(300, statistics.getMaxNanos());
+    }
+
+    private abstract static class TestPacket extends Packet {
+    }
+}
@@ -0,0 +1,78 @@
+package systems.reformcloud.reformcloud2.executor.api.network.netty.frame;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
+
+class VarInt21FrameDecoderTest {
+
+    @Test
+    void testDecodeFrames() {
+        ByteBuf frames = PooledByteBufAllocator.DEFAULT.directBuffer();
+        writeFrame(frames, 3);
+        writeFrame(frames, 300);
+        writeFrame(frames, 0);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new VarInt21FrameDecoder());
+        // split in the middle of the length prefix of the second frame
+        channel.writeInbound(frames.readRetainedSlice(5));
+        channel.writeInbound(frames.retainedSlice());
+        frames.release();
+
+        ByteBuf first = channel.readInbound();
+        Assertions.assertEquals(3, first.readableBytes());
+        Assertions.assertEquals(2, first.getByte(2));
+        first.release();
+
+        ByteBuf second = channel.readInbound();
+        Assertions.assertEquals(300, second.readableBytes());
+        Assertions.assertEquals((byte) 299, second.getByte(299));
+        second.release();
+
+        ByteBuf third = channel.readInbound();
+        Assertions.assertEquals(0, third.readableBytes());
+        third.release();
+
+        Assertions.assertNull(channel.readInbound());
+        Assertions.assertFalse(channel.finish());
+    }
+
+    @Test
+    void testDecodeKeepsIncompleteFrame() {
+        ByteBuf frame = Unpooled.buffer();
+        writeFrame(frame, 10);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new VarInt21FrameDecoder());
+        Assertions.assertFalse(channel.writeInbound(frame.readRetainedSlice(6)));
+        Assertions.assertTrue(channel.writeInbound(frame));
+
+        ByteBuf decoded = channel.readInbound();
+        Assertions.assertEquals(10, decoded.readableBytes());
+        decoded.release();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void testBadLengthPrefix() {
+        ByteBuf frame = Unpooled.buffer();
+        for (int i = 0; i < 5; i++) {
+            frame.writeByte(0x80);
+        }
+
+        EmbeddedChannel channel = new EmbeddedChannel(new VarInt21FrameDecoder());
+        Assertions.assertThrows(DecoderException.class, () -> channel.writeInbound(frame));
+        channel.finishAndReleaseAll();
+    }
+
+    private static void writeFrame(ByteBuf target, int length) {
+        NetworkUtil.writeVarInt(target, length);
+        for (int i = 0; i < length; i++) {
+            target.writeByte(i);
+        }
+    }
+}
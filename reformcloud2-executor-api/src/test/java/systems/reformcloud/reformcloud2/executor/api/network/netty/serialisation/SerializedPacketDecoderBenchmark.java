@@ -0,0 +1,367 @@
+package systems.reformcloud.reformcloud2.executor.api.network.netty.serialisation;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
+import systems.reformcloud.reformcloud2.executor.api.network.SerializableObject;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.PacketProvider;
+import systems.reformcloud.reformcloud2.executor.api.provider.*;
+import systems.reformcloud.reformcloud2.executor.api.registry.service.ServiceRegistry;
+import systems.reformcloud.reformcloud2.executor.api.registry.service.ServiceRegistryEntry;
+import systems.reformcloud.reformcloud2.executor.api.utility.InstanceFactory;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the decode throughput of the {@link SerializedPacketDecoder} when the packets are created
+ * reflectively (the old behaviour) and when they are created using the factories of the {@link InstanceFactory}.
+ * Run using {@link #main(String[])} from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializedPacketDecoderBenchmark {
+
+    @Param({"reflective", "factory"})
+    public String instantiation;
+
+    private final SerializedPacketDecoder decoder = new SerializedPacketDecoder();
+    private final List<Object> results = new ArrayList<>(1);
+
+    private EmbeddedChannel channel;
+    private ChannelHandlerContext context;
+    private ByteBuf smallPacket;
+    private ByteBuf nestedPacket;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SerializedPacketDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        ExecutorAPI.setInstance(new BenchmarkExecutorAPI(new BenchmarkPacketProvider(this.instantiation.equals("factory"))));
+
+        this.channel = new EmbeddedChannel(this.decoder);
+        this.context = this.channel.pipeline().context(this.decoder);
+
+        PacketSerializerEncoder encoder = new PacketSerializerEncoder();
+
+        this.smallPacket = Unpooled.buffer();
+        encoder.encode(this.context, new SmallPacket(UUID.randomUUID(), "Lobby-1"), this.smallPacket);
+
+        List<PlayerEntry> players = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            players.add(new PlayerEntry(UUID.randomUUID(), "Player-" + i, System.currentTimeMillis()));
+        }
+
+        this.nestedPacket = Unpooled.buffer();
+        encoder.encode(this.context, new NestedPacket(players), this.nestedPacket);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.smallPacket.release();
+        this.nestedPacket.release();
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public void decodeSmallPacket(Blackhole blackhole) {
+        this.decode(this.smallPacket, blackhole);
+    }
+
+    @Benchmark
+    public void decodeNestedPacket(Blackhole blackhole) {
+        this.decode(this.nestedPacket, blackhole);
+    }
+
+    private void decode(@NotNull ByteBuf byteBuf, @NotNull Blackhole blackhole) {
+        this.decoder.decode(this.context, byteBuf.readerIndex(0), this.results);
+        blackhole.consume(this.results.get(0));
+        this.results.clear();
+    }
+
+    // plain implementations instead of mocks, the service registry is queried on every decode
+    private static final class BenchmarkExecutorAPI extends ExecutorAPI {
+
+        private final ServiceRegistry serviceRegistry;
+
+        private BenchmarkExecutorAPI(@NotNull PacketProvider packetProvider) {
+            this.serviceRegistry = new BenchmarkServiceRegistry(packetProvider);
+        }
+
+        @Override
+        public ChannelMessageProvider getChannelMessageProvider() {
+            return null;
+        }
+
+        @Override
+        public DatabaseProvider getDatabaseProvider() {
+            return null;
+        }
+
+        @Override
+        public MainGroupProvider getMainGroupProvider() {
+            return null;
+        }
+
+        @Override
+        public NodeInformationProvider getNodeInformationProvider() {
+            return null;
+        }
+
+        @Override
+        public PlayerProvider getPlayerProvider() {
+            return null;
+        }
+
+        @Override
+        public ProcessGroupProvider getProcessGroupProvider() {
+            return null;
+        }
+
+        @Override
+        public ProcessProvider getProcessProvider() {
+            return null;
+        }
+
+        @Override
+        public ServiceRegistry getServiceRegistry() {
+            return this.serviceRegistry;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+    }
+
+    private static final class BenchmarkServiceRegistry implements ServiceRegistry {
+
+        private final PacketProvider packetProvider;
+
+        private BenchmarkServiceRegistry(@NotNull PacketProvider packetProvider) {
+            this.packetProvider = packetProvider;
+        }
+
+        @Override
+        public <T> void setProvider(@NotNull Class<T> service, @NotNull T provider, boolean immutable, boolean needsReplacement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @NotNull
+        @Override
+        public <T> Optional<T> getProvider(@NotNull Class<T> service) {
+            return Optional.of(this.getProviderUnchecked(service));
+        }
+
+        @NotNull
+        @Override
+        public <T> Optional<ServiceRegistryEntry<T>> getRegisteredEntry(@NotNull Class<T> service) {
+            throw new UnsupportedOperationException();
+        }
+
+        @NotNull
+        @Override
+        public <T> T getProviderUnchecked(@NotNull Class<T> service) {
+            return service.cast(this.packetProvider);
+        }
+
+        @NotNull
+        @Override
+        public Collection<ServiceRegistryEntry<?>> getRegisteredServices() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> void unregisterService(@NotNull Class<T> service, @Nullable T replacement) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class BenchmarkPacketProvider implements PacketProvider {
+
+        private final Supplier<? extends Packet> smallPacketFactory;
+        private final Supplier<? extends Packet> nestedPacketFactory;
+
+        private BenchmarkPacketProvider(boolean useFactories) {
+            this.smallPacketFactory = useFactories ? InstanceFactory.getFactory(SmallPacket.class) : reflective(SmallPacket.class);
+            this.nestedPacketFactory = useFactories ? InstanceFactory.getFactory(NestedPacket.class) : reflective(NestedPacket.class);
+        }
+
+        @NotNull
+        private static <T> Supplier<T> reflective(@NotNull Class<T> type) {
+            return () -> {
+                try {
+                    Constructor<T> constructor = type.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException exception) {
+                    throw new RuntimeException(exception);
+                }
+            };
+        }
+
+        @Override
+        public void registerPacket(@NotNull Class<? extends Packet> packetClass) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void registerPacket(@NotNull Packet packet) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void registerPackets(@NotNull Collection<Class<? extends Packet>> packetClasses) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void registerPacket(@NotNull Collection<Packet> packets) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void unregisterPacket(int id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @NotNull
+        @Override
+        public Optional<Packet> getPacketById(int id) {
+            switch (id) {
+                case 1:
+                    return Optional.of(this.smallPacketFactory.get());
+                case 2:
+                    return Optional.of(this.nestedPacketFactory.get());
+                default:
+                    return Optional.empty();
+            }
+        }
+
+        @Override
+        public void clearRegisteredPackets() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static class SmallPacket extends Packet {
+
+        private UUID uniqueId;
+        private String name;
+
+        public SmallPacket() {
+        }
+
+        public SmallPacket(UUID uniqueId, String name) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+        }
+
+        @Override
+        public int getId() {
+            return 1;
+        }
+
+        @Override
+        public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+            buffer.writeUniqueId(this.uniqueId);
+            buffer.writeString(this.name);
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+            this.uniqueId = buffer.readUniqueId();
+            this.name = buffer.readString();
+        }
+    }
+
+    public static class NestedPacket extends Packet {
+
+        private List<PlayerEntry> players;
+
+        public NestedPacket() {
+        }
+
+        public NestedPacket(List<PlayerEntry> players) {
+            this.players = players;
+        }
+
+        @Override
+        public int getId() {
+            return 2;
+        }
+
+        @Override
+        public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+            buffer.writeObjects(this.players);
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+            this.players = buffer.readObjects(PlayerEntry.class);
+        }
+    }
+
+    public static class PlayerEntry implements SerializableObject {
+
+        private UUID uniqueId;
+        private String name;
+        private long joined;
+
+        public PlayerEntry() {
+        }
+
+        public PlayerEntry(UUID uniqueId, String name, long joined) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+            this.joined = joined;
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+            buffer.writeUniqueId(this.uniqueId);
+            buffer.writeString(this.name);
+            buffer.writeLong(this.joined);
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+            this.uniqueId = buffer.readUniqueId();
+            this.name = buffer.readString();
+            this.joined = buffer.readLong();
+        }
+    }
+}
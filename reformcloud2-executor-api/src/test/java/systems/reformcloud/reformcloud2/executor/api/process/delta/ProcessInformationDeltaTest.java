@@ -0,0 +1,256 @@
+package systems.reformcloud.reformcloud2.executor.api.process.delta;
+
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.RuntimeConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Version;
+import systems.reformcloud.reformcloud2.executor.api.groups.utils.PlayerAccessConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.utils.StartupConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.network.data.DefaultProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.process.NetworkInfo;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+import systems.reformcloud.reformcloud2.executor.api.process.detail.ProcessDetail;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ProcessInformationDeltaTest {
+
+    @Test
+    void testRoundTrip() {
+        ProcessInformation processInformation = this.createProcessInformation();
+        ProcessInformationDeltaEncoder encoder = new ProcessInformationDeltaEncoder();
+        ProcessInformationDeltaDecoder decoder = new ProcessInformationDeltaDecoder();
+
+        List<ProcessInformationDelta> sent = new ArrayList<>();
+        encoder.encode(processInformation, sent::add);
+
+        processInformation.getProcessDetail().setProcessState(ProcessState.READY);
+        processInformation.getProcessPlayerManager().onLogin(UUID.randomUUID(), "derklaro");
+        encoder.encode(processInformation, sent::add);
+
+        Assertions.assertEquals(2, sent.size());
+        Assertions.assertTrue(sent.get(0).isSnapshot());
+        Assertions.assertFalse(sent.get(1).isSnapshot());
+
+        ProcessInformation decoded = null;
+        for (ProcessInformationDelta delta : sent) {
+            decoded = decoder.decode("node", copy(delta), () -> Assertions.fail("Unexpected snapshot request"));
+            Assertions.assertNotNull(decoded);
+        }
+
+        Assertions.assertEquals(processInformation.getProcessDetail().getProcessUniqueID(), decoded.getProcessDetail().getProcessUniqueID());
+        Assertions.assertEquals(ProcessState.READY, decoded.getProcessDetail().getProcessState());
+        Assertions.assertEquals(25565, decoded.getNetworkInfo().getPort());
+        Assertions.assertEquals("Lobby", decoded.getProcessGroup().getName());
+        Assertions.assertEquals("value", decoded.getExtra().getString("key"));
+        Assertions.assertEquals(1, decoded.getProcessPlayerManager().getOnlineCount());
+        Assertions.assertTrue(decoded.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess("derklaro"));
+    }
+
+    @Test
+    void testUnchangedInformationIsNotSent() {
+        ProcessInformation processInformation = this.createProcessInformation();
+        ProcessInformationDeltaEncoder encoder = new ProcessInformationDeltaEncoder();
+
+        AtomicInteger sent = new AtomicInteger();
+        encoder.encode(processInformation, delta -> sent.incrementAndGet());
+        encoder.encode(processInformation, delta -> sent.incrementAndGet());
+
+        Assertions.assertEquals(1, sent.get());
+    }
+
+    @Test
+    void testSnapshotRequestedOnGap() {
+        ProcessInformation processInformation = this.createProcessInformation();
+        ProcessInformationDeltaEncoder encoder = new ProcessInformationDeltaEncoder();
+        ProcessInformationDeltaDecoder decoder = new ProcessInformationDeltaDecoder();
+
+        List<ProcessInformationDelta> sent = new ArrayList<>();
+        encoder.encode(processInformation, sent::add);
+        processInformation.getProcessPlayerManager().onLogin(UUID.randomUUID(), "first");
+        encoder.encode(processInformation, sent::add);
+        processInformation.getProcessPlayerManager().onLogin(UUID.randomUUID(), "second");
+        encoder.encode(processInformation, sent::add);
+        processInformation.getProcessPlayerManager().onLogin(UUID.randomUUID(), "third");
+        encoder.encode(processInformation, sent::add);
+
+        AtomicInteger snapshotRequests = new AtomicInteger();
+        Assertions.assertNotNull(decoder.decode("node", sent.get(0), snapshotRequests::incrementAndGet));
+        // the second update got lost
+        Assertions.assertNull(decoder.decode("node", sent.get(2), snapshotRequests::incrementAndGet));
+        Assertions.assertNull(decoder.decode("node", sent.get(3), snapshotRequests::incrementAndGet));
+        Assertions.assertEquals(1, snapshotRequests.get());
+
+        UUID processUniqueId = processInformation.getProcessDetail().getProcessUniqueID();
+        Assertions.assertTrue(encoder.snapshot(processUniqueId, sent::add));
+
+        ProcessInformation decoded = decoder.decode("node", sent.get(4), snapshotRequests::incrementAndGet);
+        Assertions.assertNotNull(decoded);
+        Assertions.assertEquals(3, decoded.getProcessPlayerManager().getOnlineCount());
+        Assertions.assertEquals(1, snapshotRequests.get());
+    }
+
+    @Test
+    void testSnapshotRequestedAgainAfterTimeout() {
+        ProcessInformation processInformation = this.createProcessInformation();
+        ProcessInformationDeltaEncoder encoder = new ProcessInformationDeltaEncoder();
+        AtomicLong clock = new AtomicLong();
+        ProcessInformationDeltaDecoder decoder = new ProcessInformationDeltaDecoder(clock::get, 100);
+
+        List<ProcessInformationDelta> sent = new ArrayList<>();
+        encoder.encode(processInformation, sent::add);
+        for (int i = 0; i < 3; i++) {
+            processInformation.getProcessPlayerManager().onLogin(UUID.randomUUID(), "player-" + i);
+            encoder.encode(processInformation, sent::add);
+        }
+
+        // the snapshot is not received, the decoder never saw the base state
+        AtomicInteger snapshotRequests = new AtomicInteger();
+        Assertions.assertNull(decoder.decode("node", sent.get(1), snapshotRequests::incrementAndGet));
+        Assertions.assertNull(decoder.decode("node", sent.get(2), snapshotRequests::incrementAndGet));
+        Assertions.assertEquals(1, snapshotRequests.get());
+
+        // the request or its answer got lost
+        clock.addAndGet(100);
+        Assertions.assertNull(decoder.decode("node", sent.get(3), snapshotRequests::incrementAndGet));
+        Assertions.assertEquals(2, snapshotRequests.get());
+
+        UUID processUniqueId = processInformation.getProcessDetail().getProcessUniqueID();
+        Assertions.assertTrue(encoder.snapshot(processUniqueId, sent::add));
+        ProcessInformation decoded = decoder.decode("node", sent.get(4), snapshotRequests::incrementAndGet);
+        Assertions.assertNotNull(decoded);
+        Assertions.assertEquals(3, decoded.getProcessPlayerManager().getOnlineCount());
+    }
+
+    @Test
+    void testChangedPlayerIsSent() {
+        ProcessInformation processInformation = this.createProcessInformation();
+        ProcessInformationDeltaEncoder encoder = new ProcessInformationDeltaEncoder();
+        ProcessInformationDeltaDecoder decoder = new ProcessInformationDeltaDecoder();
+
+        UUID playerUniqueId = UUID.randomUUID();
+        processInformation.getProcessPlayerManager().onLogin(playerUniqueId, "derklaro");
+
+        List<ProcessInformationDelta> sent = new ArrayList<>();
+        encoder.encode(processInformation, sent::add);
+
+        // same unique id but another name, for example after a name change and a fast reconnect
+        processInformation.getProcessPlayerManager().onLogout(playerUniqueId);
+        processInformation.getProcessPlayerManager().onLogin(playerUniqueId, "_derklaro");
+        encoder.encode(processInformation, sent::add);
+
+        Assertions.assertEquals(2, sent.size());
+        Assertions.assertNotNull(decoder.decode("node", copy(sent.get(0)), () -> Assertions.fail("Unexpected snapshot request")));
+        ProcessInformation decoded = decoder.decode("node", copy(sent.get(1)), () -> Assertions.fail("Unexpected snapshot request"));
+        Assertions.assertNotNull(decoded);
+        Assertions.assertEquals(1, decoded.getProcessPlayerManager().getOnlineCount());
+        Assertions.assertTrue(decoded.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess("_derklaro"));
+    }
+
+    @Test
+    void testPlayerJoinIsSmallerThanSnapshot() {
+        ProcessInformation processInformation = this.createProcessInformation();
+        ProcessInformationDeltaEncoder encoder = new ProcessInformationDeltaEncoder();
+
+        List<ProcessInformationDelta> sent = new ArrayList<>();
+        encoder.encode(processInformation, sent::add);
+        processInformation.getProcessPlayerManager().onLogin(UUID.randomUUID(), "derklaro");
+        encoder.encode(processInformation, sent::add);
+
+        int snapshotSize = size(sent.get(0));
+        int deltaSize = size(sent.get(1));
+        Assertions.assertTrue(deltaSize * 4 < snapshotSize, "delta " + deltaSize + " bytes, snapshot " + snapshotSize + " bytes");
+    }
+
+    @Test
+    void testStandbyClaimIsPropagated() {
+        ProcessInformation processInformation = this.createProcessInformation();
+        processInformation.getExtra().add(ProcessInformation.STANDBY_KEY, true);
+        processInformation.getProcessDetail().setInitialState(ProcessState.INVISIBLE);
+        processInformation.getProcessDetail().setProcessState(ProcessState.INVISIBLE);
+
+        ProcessInformationDeltaEncoder encoder = new ProcessInformationDeltaEncoder();
+        ProcessInformationDeltaDecoder decoder = new ProcessInformationDeltaDecoder();
+
+        List<ProcessInformationDelta> sent = new ArrayList<>();
+        encoder.encode(processInformation, sent::add);
+
+        ProcessInformation decoded = decoder.decode("node", copy(sent.get(0)), () -> Assertions.fail("Unexpected snapshot request"));
+        Assertions.assertNotNull(decoded);
+        Assertions.assertTrue(decoded.isStandby());
+
+        processInformation.getExtra().remove(ProcessInformation.STANDBY_KEY);
+        processInformation.getProcessDetail().setInitialState(ProcessState.READY);
+        processInformation.getProcessDetail().setProcessState(ProcessState.READY);
+        encoder.encode(processInformation, sent::add);
+
+        Assertions.assertEquals(2, sent.size());
+        decoded = decoder.decode("node", copy(sent.get(1)), () -> Assertions.fail("Unexpected snapshot request"));
+        Assertions.assertNotNull(decoded);
+        Assertions.assertFalse(decoded.isStandby());
+        Assertions.assertEquals(ProcessState.READY, decoded.getProcessDetail().getProcessState());
+        Assertions.assertEquals(ProcessState.READY, decoded.getProcessDetail().getInitialState());
+    }
+
+    @NotNull
+    private ProcessInformation createProcessInformation() {
+        Template template = new Template(0, "default", false, "FILE", "-", new RuntimeConfiguration(
+                512, new ArrayList<>(), new HashMap<>()
+        ), Version.SPIGOT_1_8);
+        ProcessGroup processGroup = new ProcessGroup(
+                "Lobby", true,
+                new StartupConfiguration(-1, 1, 25565, "java", false, new ArrayList<>()),
+                Collections.singletonList(template),
+                new PlayerAccessConfiguration("reformcloud.join.full", false, "reformcloud.join.maintenance", false, null, true, 50),
+                false
+        );
+        ProcessDetail processDetail = new ProcessDetail(
+                UUID.randomUUID(), UUID.randomUUID(), "Node-1", "Lobby-1", "Lobby-1", 1, template, 512, ProcessState.STARTED
+        );
+
+        NetworkInfo networkInfo = new NetworkInfo(25565);
+        networkInfo.setHost(InetAddress.getLoopbackAddress());
+
+        return new ProcessInformation(
+                processDetail, networkInfo, processGroup, new JsonConfiguration().add("key", "value"), new ArrayList<>()
+        );
+    }
+
+    @NotNull
+    private static ProcessInformationDelta copy(@NotNull ProcessInformationDelta delta) {
+        ProtocolBuffer buffer = new DefaultProtocolBuffer(Unpooled.buffer());
+        try {
+            delta.write(buffer);
+
+            ProcessInformationDelta result = new ProcessInformationDelta();
+            result.read(buffer);
+            return result;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static int size(@NotNull ProcessInformationDelta delta) {
+        ProtocolBuffer buffer = new DefaultProtocolBuffer(Unpooled.buffer());
+        try {
+            delta.write(buffer);
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
+}
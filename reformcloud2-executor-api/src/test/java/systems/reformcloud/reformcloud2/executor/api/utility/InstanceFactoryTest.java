@@ -0,0 +1,47 @@
+package systems.reformcloud.reformcloud2.executor.api.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+class InstanceFactoryTest {
+
+    @Test
+    void testFactoryCreatesNewInstances() {
+        Supplier<PublicType> factory = InstanceFactory.getFactory(PublicType.class);
+        Assertions.assertNotNull(factory);
+        Assertions.assertSame(factory, InstanceFactory.getFactory(PublicType.class));
+
+        PublicType first = factory.get();
+        Assertions.assertNotNull(first);
+        Assertions.assertNotSame(first, factory.get());
+    }
+
+    @Test
+    void testFactoryForPrivateConstructor() {
+        Supplier<PrivateType> factory = InstanceFactory.getFactory(PrivateType.class);
+        Assertions.assertNotNull(factory);
+        Assertions.assertNotNull(factory.get());
+    }
+
+    @Test
+    void testNoFactoryWithoutNoArgsConstructor() {
+        Assertions.assertNull(InstanceFactory.getFactory(NoArgsMissingType.class));
+    }
+
+    public static class PublicType {
+    }
+
+    private static final class PrivateType {
+
+        private PrivateType() {
+        }
+    }
+
+    public static class NoArgsMissingType {
+
+        public NoArgsMissingType(String value) {
+        }
+    }
+}
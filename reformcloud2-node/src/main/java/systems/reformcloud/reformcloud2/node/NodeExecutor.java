@@ -55,7 +55,10 @@ import systems.reformcloud.reformcloud2.node.commands.*;
 import systems.reformcloud.reformcloud2.node.config.NodeConfig;
 import systems.reformcloud.reformcloud2.node.config.NodeExecutorConfig;
 import systems.reformcloud.reformcloud2.node.console.DefaultNodeConsole;
+import systems.reformcloud.reformcloud2.node.database.DatabaseTableSubscriptions;
 import systems.reformcloud.reformcloud2.node.database.H2DatabaseProvider;
+import systems.reformcloud.reformcloud2.node.database.InvalidatingDatabaseProvider;
+import systems.reformcloud.reformcloud2.node.database.sql.AbstractSQLDatabaseProvider;
 import systems.reformcloud.reformcloud2.node.factory.DefaultProcessFactoryController;
 import systems.reformcloud.reformcloud2.node.factory.ProcessFactoryController;
 import systems.reformcloud.reformcloud2.node.group.DefaultNodeMainGroupProvider;
@@ -78,6 +81,9 @@ import systems.reformcloud.reformcloud2.node.runnables.*;
 import systems.reformcloud.reformcloud2.node.tick.CloudTickWorker;
 import systems.reformcloud.reformcloud2.node.tick.TickedTaskScheduler;
 import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeGetIngameMessages;
+import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeRequestProcessInformationSnapshot;
+import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeSubscribeDatabaseTable;
+import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeUpdateChannelSubscriptions;
 import systems.reformcloud.reformcloud2.protocol.processor.PacketProcessorManager;
 import systems.reformcloud.reformcloud2.protocol.shared.*;
 import systems.reformcloud.reformcloud2.shared.command.DefaultCommandManager;
@@ -106,7 +112,9 @@ public final class NodeExecutor extends ExecutorAPI {
     private final ServiceRegistry serviceRegistry = new DefaultServiceRegistry();
     private final DefaultNodeProcessProvider processProvider = new DefaultNodeProcessProvider();
     private final PlayerProvider playerProvider = new DefaultNodePlayerProvider();
-    private final ChannelMessageProvider channelMessageProvider = new DefaultNodeChannelMessageProvider();
+    private final DefaultNodeChannelMessageProvider channelMessageProvider = new DefaultNodeChannelMessageProvider();
+    private final DatabaseTableSubscriptions databaseTableSubscriptions = new DatabaseTableSubscriptions();
+    private volatile InvalidatingDatabaseProvider databaseProvider;
     private DefaultNodeMainGroupProvider mainGroupProvider;
     private DefaultNodeProcessGroupProvider processGroupProvider;
     private DefaultNodeNodeInformationProvider nodeInformationProvider;
@@ -183,8 +191,8 @@ public final class NodeExecutor extends ExecutorAPI {
         this.taskScheduler.addPermanentTask(new AutoStartRunnable());
         this.taskScheduler.addPermanentTask(new NodeInformationUpdateRunnable());
         this.taskScheduler.addPermanentTask(new ServerWatchdogRunnable());
-        this.taskScheduler.addPermanentTask(new ProcessScreenTickRunnable());
         this.taskScheduler.addPermanentTask(new OnlinePercentCheckerTask());
+        this.serviceRegistry.getProviderUnchecked(EventManager.class).registerListener(new ProcessStartLatency());
 
         this.loadCommands();
         this.serviceRegistry.getProviderUnchecked(ApplicationLoader.class).enableApplications();
@@ -247,12 +255,24 @@ public final class NodeExecutor extends ExecutorAPI {
         System.out.println(LanguageManager.get("application-net-client-close"));
         this.networkClient.disconnect();
 
+        QueryManager queryManager = this.serviceRegistry.getProviderUnchecked(QueryManager.class);
+        if (queryManager instanceof DefaultQueryManager) {
+            ((DefaultQueryManager) queryManager).close();
+        }
+
         System.out.println(LanguageManager.get("application-stop-task-scheduler"));
         this.taskScheduler.close();
         this.serviceRegistry.getProviderUnchecked(ApplicationLoader.class).disableApplications();
 
         System.out.println(LanguageManager.get("application-stop-processes"));
         this.processProvider.closeNow(); // important to close the scheduler BEFORE the processes to prevent new processes to start
+
+        DatabaseProvider databaseProvider = this.serviceRegistry.getProvider(DatabaseProvider.class).orElse(null);
+        if (databaseProvider instanceof AbstractSQLDatabaseProvider) {
+            // flush all queued database writes
+            ((AbstractSQLDatabaseProvider) databaseProvider).close();
+        }
+
         System.out.println(LanguageManager.get("application-stop-remove-temp-dir"));
         IOUtils.deleteDirectory(Paths.get("reformcloud/temp"));
 
@@ -323,7 +343,14 @@ public final class NodeExecutor extends ExecutorAPI {
     @NotNull
     @Override
     public DatabaseProvider getDatabaseProvider() {
-        return this.serviceRegistry.getProvider(DatabaseProvider.class).orElseThrow(() -> new RuntimeException("Database provider was unregistered"));
+        DatabaseProvider provider = this.serviceRegistry.getProvider(DatabaseProvider.class).orElseThrow(() -> new RuntimeException("Database provider was unregistered"));
+        // the provider may get replaced by an application, the wrapper notifies the processes caching a table about changes
+        InvalidatingDatabaseProvider databaseProvider = this.databaseProvider;
+        if (databaseProvider == null || databaseProvider.getDelegate() != provider) {
+            this.databaseProvider = databaseProvider = new InvalidatingDatabaseProvider(provider, this.databaseTableSubscriptions);
+        }
+
+        return databaseProvider;
     }
 
     @NotNull
@@ -435,6 +462,11 @@ public final class NodeExecutor extends ExecutorAPI {
         return this.processProvider;
     }
 
+    @NotNull
+    public DefaultNodeChannelMessageProvider getDefaultNodeChannelMessageProvider() {
+        return this.channelMessageProvider;
+    }
+
     public boolean isOwnIdentity(@NotNull String name) {
         return this.nodeConfig.getName().equals(name);
     }
@@ -461,7 +493,7 @@ public final class NodeExecutor extends ExecutorAPI {
 
     public boolean canStartProcesses(int neededMemory) {
         for (DefaultNodeLocalProcessWrapper processWrapper : this.processProvider.getProcessWrappers()) {
-            if (processWrapper.isStarted()) {
+            if (processWrapper.isStarted() || processWrapper.isStopping()) {
                 neededMemory += processWrapper.getProcessInformation().getProcessDetail().getMaxMemory();
             }
         }
@@ -480,6 +512,7 @@ public final class NodeExecutor extends ExecutorAPI {
         this.serviceRegistry.setProvider(DatabaseProvider.class, new H2DatabaseProvider(), false, true);
         this.serviceRegistry.setProvider(EventManager.class, new DefaultEventManager(), false, true);
         this.serviceRegistry.setProvider(ChannelManager.class, new DefaultChannelManager(), false, true);
+        this.serviceRegistry.setProvider(DatabaseTableSubscriptions.class, this.databaseTableSubscriptions, false, true);
         this.serviceRegistry.setProvider(PacketProvider.class, new DefaultPacketProvider(), false, true);
         this.serviceRegistry.setProvider(QueryManager.class, new DefaultQueryManager(), false, true);
         this.serviceRegistry.setProvider(ProcessFactoryController.class, new DefaultProcessFactoryController(this.processProvider), false, true);
@@ -496,10 +529,14 @@ public final class NodeExecutor extends ExecutorAPI {
                 .registerProcessor(new PacketSendPlayerTitleProcessor(), PacketSendPlayerTitle.class)
                 .registerProcessor(new PacketSetPlayerLocationProcessor(), PacketSetPlayerLocation.class)
                 .registerProcessor(new ApiToNodeGetIngameMessagesProcessor(), ApiToNodeGetIngameMessages.class)
+                .registerProcessor(new ApiToNodeRequestProcessInformationSnapshotProcessor(), ApiToNodeRequestProcessInformationSnapshot.class)
+                .registerProcessor(new ApiToNodeSubscribeDatabaseTableProcessor(), ApiToNodeSubscribeDatabaseTable.class)
+                .registerProcessor(new ApiToNodeUpdateChannelSubscriptionsProcessor(), ApiToNodeUpdateChannelSubscriptions.class)
                 .registerProcessor(new ChannelMessageProcessor(), PacketChannelMessage.class)
                 .registerProcessor(new NodeToNodeProcessCommandProcessor(), NodeToNodeProcessCommand.class)
                 .registerProcessor(new NodeToNodePublishChannelMessageProcessor(), NodeToNodePublishChannelMessage.class)
                 .registerProcessor(new NodeToNodeRequestNodeInformationUpdateProcessor(), NodeToNodeRequestNodeInformationUpdate.class)
-                .registerProcessor(new NodeToNodeTabCompleteCommandProcessor(), NodeToNodeTabCompleteCommand.class);
+                .registerProcessor(new NodeToNodeTabCompleteCommandProcessor(), NodeToNodeTabCompleteCommand.class)
+                .registerProcessor(new NodeToNodeUpdateChannelSubscriptionsProcessor(), NodeToNodeUpdateChannelSubscriptions.class);
     }
 }
@@ -94,7 +94,8 @@ public final class ClusterAccessController {
                     } else {
                         task.complete(null);
                     }
-                });
+                })
+                .onFailure(exception -> task.complete(null));
         return task;
     }
 
@@ -30,10 +30,12 @@ import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConf
 import systems.reformcloud.reformcloud2.executor.api.groups.MainGroup;
 import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.node.NodeInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
 import systems.reformcloud.reformcloud2.executor.api.process.api.ProcessInclusion;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDelta;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.ProcessWrapper;
 
@@ -64,6 +66,19 @@ public interface ClusterManager {
 
     void publishProcessUpdate(@NotNull ProcessInformation processInformation);
 
+    /**
+     * Applies a process update which was received from another node. If the update can not be applied because
+     * the base state of the process is unknown or updates were lost, a snapshot is requested from the sender.
+     *
+     * @param source The channel of the node which sent the update
+     * @param delta  The changes of the process since the last update sent by the node
+     */
+    void handleProcessUpdate(@NotNull NetworkChannel source, @NotNull ProcessInformationDelta delta);
+
+    void sendProcessSnapshotToNode(@NotNull NetworkChannel target, @NotNull UUID processUniqueId);
+
+    void sendProcessSnapshotToProcess(@NotNull NetworkChannel target, @NotNull UUID processUniqueId);
+
     void handleProcessUnregister(@NotNull String name);
 
     void publishProcessUnregister(@NotNull ProcessInformation processInformation);
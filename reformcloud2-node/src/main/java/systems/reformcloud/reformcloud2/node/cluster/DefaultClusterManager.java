@@ -38,12 +38,16 @@ import systems.reformcloud.reformcloud2.executor.api.event.events.process.Proces
 import systems.reformcloud.reformcloud2.executor.api.groups.MainGroup;
 import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.manager.ChannelManager;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.node.NodeInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
 import systems.reformcloud.reformcloud2.executor.api.process.api.ProcessInclusion;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDelta;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDeltaDecoder;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDeltaEncoder;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.ProcessWrapper;
 import systems.reformcloud.reformcloud2.node.NodeExecutor;
@@ -56,6 +60,7 @@ import systems.reformcloud.reformcloud2.node.protocol.*;
 import systems.reformcloud.reformcloud2.node.provider.DefaultNodeNodeInformationProvider;
 import systems.reformcloud.reformcloud2.protocol.api.*;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
 
@@ -76,6 +81,10 @@ public class DefaultClusterManager implements ClusterManager {
     private final DefaultNodeProcessGroupProvider processGroupProvider;
     private final DefaultNodeMainGroupProvider mainGroupProvider;
 
+    private final ProcessInformationDeltaEncoder nodeUpdateEncoder = new ProcessInformationDeltaEncoder();
+    private final ProcessInformationDeltaEncoder processUpdateEncoder = new ProcessInformationDeltaEncoder();
+    private final ProcessInformationDeltaDecoder nodeUpdateDecoder = new ProcessInformationDeltaDecoder();
+
     private NodeInformation head;
 
     @Override
@@ -114,6 +123,8 @@ public class DefaultClusterManager implements ClusterManager {
 
     @Override
     public void handleNodeDisconnect(@NotNull String name) {
+        this.nodeUpdateDecoder.removeSource(name);
+        NodeExecutor.getInstance().getDefaultNodeChannelMessageProvider().removeNodeSubscriptions(name);
         this.nodeInformationProvider.removeNode(name);
         this.updateHead();
     }
@@ -137,22 +148,45 @@ public class DefaultClusterManager implements ClusterManager {
     @Override
     public void handleProcessUpdate(@NotNull ProcessInformation processInformation) {
         this.processProvider.updateProcessInformation0(processInformation);
-        this.sendPacketToProcesses(new NodeToApiProcessUpdated(processInformation));
+        this.processUpdateEncoder.encode(processInformation, delta -> this.sendPacketToProcesses(new NodeToApiProcessUpdated(delta)));
 
         this.callEvent(new ProcessUpdateEvent(processInformation));
     }
 
     @Override
     public void publishProcessUpdate(@NotNull ProcessInformation processInformation) {
-        this.sendPacketToNodes(new NodeToNodeUpdateProcess(processInformation));
-        this.sendPacketToProcesses(new NodeToApiProcessUpdated(processInformation));
+        this.nodeUpdateEncoder.encode(processInformation, delta -> this.sendPacketToNodes(new NodeToNodeUpdateProcess(delta)));
+        this.processUpdateEncoder.encode(processInformation, delta -> this.sendPacketToProcesses(new NodeToApiProcessUpdated(delta)));
 
         this.callEvent(new ProcessUpdateEvent(processInformation));
     }
 
+    @Override
+    public void handleProcessUpdate(@NotNull NetworkChannel source, @NotNull ProcessInformationDelta delta) {
+        ProcessInformation processInformation = this.nodeUpdateDecoder.decode(
+                source.getName(),
+                delta,
+                () -> source.sendPacket(new NodeToNodeRequestProcessInformationSnapshot(delta.getProcessUniqueId()))
+        );
+        if (processInformation != null) {
+            this.handleProcessUpdate(processInformation);
+        }
+    }
+
+    @Override
+    public void sendProcessSnapshotToNode(@NotNull NetworkChannel target, @NotNull UUID processUniqueId) {
+        this.nodeUpdateEncoder.snapshot(processUniqueId, delta -> target.sendPacket(new NodeToNodeUpdateProcess(delta)));
+    }
+
+    @Override
+    public void sendProcessSnapshotToProcess(@NotNull NetworkChannel target, @NotNull UUID processUniqueId) {
+        this.processUpdateEncoder.snapshot(processUniqueId, delta -> target.sendPacket(new NodeToApiProcessUpdated(delta)));
+    }
+
     @Override
     public void handleProcessUnregister(@NotNull String name) {
         this.processProvider.getProcessByName(name).ifPresent(processWrapper -> {
+            this.removeDeltaStates(processWrapper.getProcessInformation().getProcessDetail().getProcessUniqueID());
             this.sendPacketToProcesses(new NodeToApiProcessUnregister(processWrapper.getProcessInformation()));
             this.callEvent(new ProcessUnregisterEvent(processWrapper.getProcessInformation()));
         });
@@ -162,6 +196,7 @@ public class DefaultClusterManager implements ClusterManager {
     @Override
     public void publishProcessUnregister(@NotNull ProcessInformation processInformation) {
         this.processProvider.unregisterProcess(processInformation.getProcessDetail().getName());
+        this.removeDeltaStates(processInformation.getProcessDetail().getProcessUniqueID());
 
         this.sendPacketToNodes(new NodeToNodeUnregisterProcess(processInformation.getProcessDetail().getName()));
         this.sendPacketToProcesses(new NodeToApiProcessUnregister(processInformation));
@@ -330,20 +365,32 @@ public class DefaultClusterManager implements ClusterManager {
         }
     }
 
+    private void removeDeltaStates(@NotNull UUID processUniqueId) {
+        this.nodeUpdateEncoder.remove(processUniqueId);
+        this.processUpdateEncoder.remove(processUniqueId);
+        this.nodeUpdateDecoder.remove(processUniqueId);
+    }
+
     private void sendPacketToNodes(@NotNull Packet packet) {
+        ChannelManager channelManager = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ChannelManager.class);
+        Collection<NetworkChannel> channels = new ArrayList<>();
+
         for (NodeInformation node : ExecutorAPI.getInstance().getNodeInformationProvider().getNodes()) {
-            ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ChannelManager.class)
-                    .getChannel(node.getName())
-                    .ifPresent(channel -> channel.sendPacket(packet));
+            channelManager.getChannel(node.getName()).ifPresent(channels::add);
         }
+
+        channelManager.broadcastPacket(packet, channels);
     }
 
     private void sendPacketToProcesses(@NotNull Packet packet) {
+        ChannelManager channelManager = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ChannelManager.class);
+        Collection<NetworkChannel> channels = new ArrayList<>();
+
         for (ProcessInformation process : ExecutorAPI.getInstance().getProcessProvider().getProcesses()) {
-            ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ChannelManager.class)
-                    .getChannel(process.getProcessDetail().getName())
-                    .ifPresent(channel -> channel.sendPacket(packet));
+            channelManager.getChannel(process.getProcessDetail().getName()).ifPresent(channels::add);
         }
+
+        channelManager.broadcastPacket(packet, channels);
     }
 
     private void callEvent(@NotNull Event event) {
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.protocol.api.NodeToApiInvalidateDatabaseEntry;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the channels of the processes which cache entries of a database table and need to get
+ * notified when an entry of the table changes.
+ */
+public final class DatabaseTableSubscriptions {
+
+    private final Map<String, Set<NetworkChannel>> subscriptions = new ConcurrentHashMap<>();
+
+    public void subscribe(@NotNull String tableName, @NotNull NetworkChannel channel) {
+        this.subscriptions.computeIfAbsent(tableName, $ -> ConcurrentHashMap.newKeySet()).add(channel);
+    }
+
+    /**
+     * Sends an invalidation to all processes which subscribed to the given table. Disconnected
+     * channels are removed while iterating.
+     *
+     * @param tableName The name of the changed table
+     * @param key       The key of the changed entry or {@code null} if the whole table changed
+     */
+    public void publishInvalidation(@NotNull String tableName, @Nullable String key) {
+        Set<NetworkChannel> channels = this.subscriptions.get(tableName);
+        if (channels == null || channels.isEmpty()) {
+            return;
+        }
+
+        NodeToApiInvalidateDatabaseEntry packet = new NodeToApiInvalidateDatabaseEntry(tableName, key);
+        for (Iterator<NetworkChannel> iterator = channels.iterator(); iterator.hasNext(); ) {
+            NetworkChannel channel = iterator.next();
+            if (channel.isConnected()) {
+                channel.sendPacket(packet);
+            } else {
+                iterator.remove();
+            }
+        }
+    }
+}
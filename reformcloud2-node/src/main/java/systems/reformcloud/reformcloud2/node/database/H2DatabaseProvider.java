@@ -25,76 +25,46 @@
 package systems.reformcloud.reformcloud2.node.database;
 
 import org.h2.Driver;
-import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import systems.reformcloud.reformcloud2.executor.api.io.IOUtils;
 import systems.reformcloud.reformcloud2.node.database.sql.AbstractSQLDatabaseProvider;
-import systems.reformcloud.reformcloud2.node.database.util.SQLFunction;
+import systems.reformcloud.reformcloud2.node.database.sql.SQLDialect;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.*;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
 
 public class H2DatabaseProvider extends AbstractSQLDatabaseProvider {
 
     private static final Path DB_PATH = Paths.get(System.getProperty("systems.reformcloud.h2-db-path", "reformcloud/.database/h2/h2_db"));
+    private static final int MAX_POOL_SIZE = Integer.getInteger("systems.reformcloud.h2-max-pool-size", 8);
 
     public H2DatabaseProvider() {
+        super(MAX_POOL_SIZE);
+
         if (Files.isDirectory(DB_PATH)) {
             IOUtils.createDirectory(DB_PATH);
         }
 
-        try {
-            Driver.load();
-            this.connection = DriverManager.getConnection("jdbc:h2:" + DB_PATH.toAbsolutePath());
-        } catch (SQLException exception) {
-            throw new RuntimeException(exception);
+        Driver.load();
+        // open the first connection directly to fail fast if the database is not accessible
+        if (!this.executeWithConnection(connection -> connection.isValid(5), Boolean.FALSE)) {
+            throw new RuntimeException("Unable to open h2 database at " + DB_PATH.toAbsolutePath());
         }
     }
 
-    private final Connection connection;
-
+    @NotNull
     @Override
-    public void executeUpdate(@NotNull String query, @NonNls Object... objects) {
-        try (PreparedStatement preparedStatement = this.connection.prepareStatement(query)) {
-            int i = 1;
-            for (Object object : objects) {
-                if (object instanceof byte[]) {
-                    preparedStatement.setBytes(i++, (byte[]) object);
-                } else {
-                    preparedStatement.setString(i++, object.toString());
-                }
-            }
-
-            preparedStatement.executeUpdate();
-        } catch (SQLException exception) {
-            exception.printStackTrace();
-        }
+    public SQLDialect getDialect() {
+        return SQLDialect.H2;
     }
 
-    @Override
     @NotNull
-    public <T> T executeQuery(@NotNull String query, SQLFunction<ResultSet, T> function, @NotNull T defaultValue, @NonNls Object... objects) {
-        try (PreparedStatement preparedStatement = this.connection.prepareStatement(query)) {
-            int i = 1;
-            for (Object object : objects) {
-                if (object instanceof byte[]) {
-                    preparedStatement.setBytes(i++, (byte[]) object);
-                } else {
-                    preparedStatement.setString(i++, object.toString());
-                }
-            }
-
-            try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                return function.apply(resultSet);
-            } catch (Throwable throwable) {
-                return defaultValue;
-            }
-        } catch (SQLException exception) {
-            exception.printStackTrace();
-        }
-
-        return defaultValue;
+    @Override
+    protected Connection createConnection() throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:" + DB_PATH.toAbsolutePath());
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+import systems.reformcloud.reformcloud2.executor.api.provider.DatabaseProvider;
+import systems.reformcloud.reformcloud2.executor.api.wrappers.DatabaseTableWrapper;
+
+import java.util.Collection;
+
+/**
+ * Wraps the database provider which is currently in use and notifies the processes caching the
+ * entries of a table about the changes of the table.
+ */
+public final class InvalidatingDatabaseProvider implements DatabaseProvider {
+
+    public InvalidatingDatabaseProvider(DatabaseProvider delegate, DatabaseTableSubscriptions subscriptions) {
+        this.delegate = delegate;
+        this.subscriptions = subscriptions;
+    }
+
+    private final DatabaseProvider delegate;
+    private final DatabaseTableSubscriptions subscriptions;
+
+    @NotNull
+    public DatabaseProvider getDelegate() {
+        return this.delegate;
+    }
+
+    @NotNull
+    @Override
+    public DatabaseTableWrapper createTable(@NotNull String tableName) {
+        return new InvalidatingDatabaseTableWrapper(tableName, this.delegate.createTable(tableName), this.subscriptions);
+    }
+
+    @Override
+    public void deleteTable(@NotNull String tableName) {
+        this.delegate.deleteTable(tableName);
+        this.subscriptions.publishInvalidation(tableName, null);
+    }
+
+    @NotNull
+    @Override
+    public @UnmodifiableView Collection<String> getTableNames() {
+        return this.delegate.getTableNames();
+    }
+
+    @NotNull
+    @Override
+    public DatabaseTableWrapper getDatabase(@NotNull String tableName) {
+        return new InvalidatingDatabaseTableWrapper(tableName, this.delegate.getDatabase(tableName), this.subscriptions);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.utility.list.Trio;
+import systems.reformcloud.reformcloud2.executor.api.wrappers.DatabaseTableWrapper;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+final class InvalidatingDatabaseTableWrapper implements DatabaseTableWrapper {
+
+    InvalidatingDatabaseTableWrapper(String tableName, DatabaseTableWrapper delegate, DatabaseTableSubscriptions subscriptions) {
+        this.tableName = tableName;
+        this.delegate = delegate;
+        this.subscriptions = subscriptions;
+    }
+
+    private final String tableName;
+    private final DatabaseTableWrapper delegate;
+    private final DatabaseTableSubscriptions subscriptions;
+
+    @Override
+    public void insert(@NotNull String key, @NotNull String id, @NotNull JsonConfiguration data) {
+        this.delegate.insert(key, id, data);
+        this.subscriptions.publishInvalidation(this.tableName, key);
+    }
+
+    @Override
+    public void update(@NotNull String key, @NotNull String id, @NotNull JsonConfiguration newData) {
+        this.delegate.update(key, id, newData);
+        this.subscriptions.publishInvalidation(this.tableName, key);
+    }
+
+    @Override
+    public void remove(@NotNull String key, @NotNull String id) {
+        this.delegate.remove(key, id);
+        this.subscriptions.publishInvalidation(this.tableName, key);
+    }
+
+    @NotNull
+    @Override
+    public Optional<JsonConfiguration> get(@NotNull String key, @NotNull String id) {
+        return this.delegate.get(key, id);
+    }
+
+    @NotNull
+    @Override
+    public @UnmodifiableView Collection<String> getEntryNames() {
+        return this.delegate.getEntryNames();
+    }
+
+    @Override
+    public long count() {
+        return this.delegate.count();
+    }
+
+    @Override
+    public void clear() {
+        this.delegate.clear();
+        this.subscriptions.publishInvalidation(this.tableName, null);
+    }
+
+    @NotNull
+    @Override
+    public @UnmodifiableView Collection<JsonConfiguration> getAll() {
+        return this.delegate.getAll();
+    }
+
+    @Override
+    public boolean has(@NotNull String key) {
+        return this.delegate.has(key);
+    }
+
+    @Override
+    public void insertAll(@NotNull Collection<Trio<String, String, JsonConfiguration>> entries) {
+        this.delegate.insertAll(entries);
+        for (Trio<String, String, JsonConfiguration> entry : entries) {
+            this.subscriptions.publishInvalidation(this.tableName, entry.getFirst());
+        }
+    }
+
+    @Override
+    public void forEach(@NotNull Consumer<JsonConfiguration> consumer) {
+        this.delegate.forEach(consumer);
+    }
+}
@@ -26,20 +26,62 @@ package systems.reformcloud.reformcloud2.node.database.sql;
 
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent.FastNettyThreadFactory;
 import systems.reformcloud.reformcloud2.executor.api.provider.DatabaseProvider;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.DatabaseTableWrapper;
 import systems.reformcloud.reformcloud2.node.database.util.SQLFunction;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractSQLDatabaseProvider implements DatabaseProvider {
 
+    // the delay after which queued writes are flushed to the database. Writes are executed directly if it is zero (the default),
+    // queued writes which are not flushed yet are lost if the node crashes
+    static final long WRITE_BEHIND_DELAY_MILLIS = Long.getLong("systems.reformcloud.sql-write-behind-delay-millis", 0);
+
     protected final Map<String, DatabaseTableWrapper> wrapperCache = new ConcurrentHashMap<>();
+    private final SQLConnectionPool connectionPool;
+    private final ScheduledThreadPoolExecutor writeBehindFlusher;
+
+    /**
+     * Creates a provider which executes all statements using connections of its own {@link SQLConnectionPool}.
+     *
+     * @param maxPoolSize The maximum amount of connections to open
+     */
+    protected AbstractSQLDatabaseProvider(int maxPoolSize) {
+        this(true, maxPoolSize);
+    }
+
+    /**
+     * Creates a provider which requests a new connection for each statement from {@link #createConnection()}
+     * and closes it afterwards. Use this if the connections are already pooled by the subclass.
+     */
+    protected AbstractSQLDatabaseProvider() {
+        this(false, 0);
+    }
+
+    private AbstractSQLDatabaseProvider(boolean pooled, int maxPoolSize) {
+        this.connectionPool = !pooled ? null : new SQLConnectionPool(this::createConnection, maxPoolSize);
+        if (WRITE_BEHIND_DELAY_MILLIS > 0) {
+            // own thread as the flushes are waiting for the database and would delay all other scheduled tasks
+            this.writeBehindFlusher = new ScheduledThreadPoolExecutor(1, new FastNettyThreadFactory("SQL Write Behind Flusher #%d"));
+            this.writeBehindFlusher.scheduleWithFixedDelay(this::flushWrites, WRITE_BEHIND_DELAY_MILLIS, WRITE_BEHIND_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            this.writeBehindFlusher = null;
+        }
+    }
 
     @NotNull
     @Override
@@ -49,6 +91,11 @@ public abstract class AbstractSQLDatabaseProvider implements DatabaseProvider {
 
     @Override
     public void deleteTable(@NotNull String tableName) {
+        DatabaseTableWrapper wrapper = this.wrapperCache.remove(tableName);
+        if (wrapper instanceof SQLDatabaseTableWrapper) {
+            ((SQLDatabaseTableWrapper) wrapper).discardWrites();
+        }
+
         this.executeUpdate("DROP TABLE " + tableName);
     }
 
@@ -71,18 +118,166 @@ public abstract class AbstractSQLDatabaseProvider implements DatabaseProvider {
     @NotNull
     @Override
     public DatabaseTableWrapper getDatabase(@NotNull String tableName) {
-        DatabaseTableWrapper wrapper = this.wrapperCache.get(tableName);
-        if (wrapper != null) {
-            return wrapper;
+        return this.wrapperCache.computeIfAbsent(tableName, name -> new SQLDatabaseTableWrapper(name, this));
+    }
+
+    public void executeUpdate(@NotNull String query, @NonNls Object... objects) {
+        try {
+            this.executeStatement(query, preparedStatement -> {
+                applyParameters(preparedStatement, objects);
+                return preparedStatement.executeUpdate();
+            });
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    @NotNull
+    public <T> T executeQuery(@NotNull String query, SQLFunction<ResultSet, T> function, @NotNull T defaultValue, @NonNls Object... objects) {
+        try {
+            return this.executeStatement(query, preparedStatement -> {
+                applyParameters(preparedStatement, objects);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    return function.apply(resultSet);
+                } catch (Throwable throwable) {
+                    return defaultValue;
+                }
+            });
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Executes the given statement once for every parameter set using a single batch.
+     *
+     * @param query   The statement to execute
+     * @param batches The parameters of each execution
+     */
+    public void executeBatch(@NotNull String query, @NotNull Collection<Object[]> batches) {
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.executeStatement(query, preparedStatement -> {
+                preparedStatement.clearBatch();
+
+                for (Object[] objects : batches) {
+                    applyParameters(preparedStatement, objects);
+                    preparedStatement.addBatch();
+                }
+
+                return preparedStatement.executeBatch();
+            });
+        } catch (SQLException exception) {
+            exception.printStackTrace();
         }
+    }
+
+    @NotNull
+    public <T> T executeWithConnection(@NotNull SQLFunction<Connection, T> function, @NotNull T defaultValue) {
+        try {
+            if (this.connectionPool != null) {
+                return this.connectionPool.execute(connection -> function.apply(connection.getConnection()));
+            }
 
-        wrapper = new SQLDatabaseTableWrapper(tableName, this);
-        this.wrapperCache.put(tableName, wrapper);
-        return wrapper;
+            try (Connection connection = this.createConnection()) {
+                return function.apply(connection);
+            }
+        } catch (SQLException exception) {
+            exception.printStackTrace();
+        }
+
+        return defaultValue;
     }
 
-    public abstract void executeUpdate(@NotNull String query, @NonNls Object... objects);
+    /**
+     * Flushes all queued writes and closes all pooled connections.
+     */
+    public void close() {
+        if (this.writeBehindFlusher != null) {
+            this.writeBehindFlusher.shutdown();
+            try {
+                // a flush which is currently running has to complete before the remaining writes are flushed
+                this.writeBehindFlusher.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        this.flushWrites();
+        if (this.connectionPool != null) {
+            this.connectionPool.close();
+        }
+    }
+
+    /**
+     * @return The connection pool of this provider or {@code null} if the connections are pooled by the subclass
+     */
+    @Nullable
+    public SQLConnectionPool getConnectionPool() {
+        return this.connectionPool;
+    }
+
+    @NotNull
+    public abstract SQLDialect getDialect();
 
+    /**
+     * Opens a new connection to the database. Without an own connection pool the connection is closed after
+     * each statement, so pooled connections of the subclass get returned to their pool.
+     *
+     * @return The opened connection
+     * @throws SQLException If the connection could not be opened
+     */
     @NotNull
-    public abstract <T> T executeQuery(@NotNull String query, SQLFunction<ResultSet, T> function, @NotNull T defaultValue, @NonNls Object... objects);
+    protected abstract Connection createConnection() throws SQLException;
+
+    private void flushWrites() {
+        for (DatabaseTableWrapper wrapper : this.wrapperCache.values()) {
+            if (wrapper instanceof SQLDatabaseTableWrapper) {
+                ((SQLDatabaseTableWrapper) wrapper).flushWrites();
+            }
+        }
+    }
+
+    @NotNull
+    private <T> T executeStatement(@NotNull String query, @NotNull SQLFunction<PreparedStatement, T> function) throws SQLException {
+        if (this.connectionPool != null) {
+            // the statement is cached by the pooled connection and must not be closed
+            return this.connectionPool.execute(connection -> function.apply(connection.prepareStatement(query)));
+        }
+
+        try (Connection connection = this.createConnection(); PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            return function.apply(preparedStatement);
+        }
+    }
+
+    protected static void applyParameters(@NotNull PreparedStatement preparedStatement, @NonNls Object... objects) throws SQLException {
+        int i = 1;
+        for (Object object : objects) {
+            if (object == null) {
+                preparedStatement.setNull(i++, Types.NULL);
+            } else if (object instanceof byte[]) {
+                preparedStatement.setBytes(i++, (byte[]) object);
+            } else if (object instanceof String) {
+                preparedStatement.setString(i++, (String) object);
+            } else if (object instanceof Integer) {
+                preparedStatement.setInt(i++, (Integer) object);
+            } else if (object instanceof Long) {
+                preparedStatement.setLong(i++, (Long) object);
+            } else if (object instanceof Boolean) {
+                preparedStatement.setBoolean(i++, (Boolean) object);
+            } else if (object instanceof Double) {
+                preparedStatement.setDouble(i++, (Double) object);
+            } else if (object instanceof Float) {
+                preparedStatement.setFloat(i++, (Float) object);
+            } else {
+                preparedStatement.setString(i++, object.toString());
+            }
+        }
+    }
 }
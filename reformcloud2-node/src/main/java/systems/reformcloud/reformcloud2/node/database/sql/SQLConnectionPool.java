@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.database.sql;
+
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.node.database.util.SQLFunction;
+import systems.reformcloud.reformcloud2.node.database.util.SQLSupplier;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A small connection pool which caches the prepared statements of each pooled connection.
+ */
+public final class SQLConnectionPool {
+
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("systems.reformcloud.sql-statement-cache-size", 64);
+    private static final long MAX_WAIT_MILLIS = Long.getLong("systems.reformcloud.sql-pool-max-wait-millis", TimeUnit.SECONDS.toMillis(30));
+    // connections are replaced after this time to not keep connections forever which the server may close
+    private static final long MAX_LIFETIME_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("systems.reformcloud.sql-connection-max-lifetime-millis", TimeUnit.MINUTES.toMillis(30)));
+    // waiting callers retry to open a connection after each slice, a released connection may have been closed instead of returned
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int LATENCY_BUCKETS = 24;
+
+    private final SQLSupplier<Connection> connectionFactory;
+    private final int maxSize;
+    // the most recently used connection is borrowed first, its statement cache is the warmest
+    private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLongArray waitTimeHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+    private final AtomicLongArray queryLatencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+    private volatile boolean closed;
+
+    public SQLConnectionPool(@NotNull SQLSupplier<Connection> connectionFactory, int maxSize) {
+        this.connectionFactory = connectionFactory;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Borrows a connection from the pool, executes the given function and returns the connection to the pool.
+     *
+     * @param function The function to execute using the borrowed connection
+     * @param <T>      The type of the result of the function
+     * @return The result of the function
+     * @throws SQLException If no connection could be borrowed or the function failed
+     */
+    @NotNull
+    public <T> T execute(@NotNull SQLFunction<PooledConnection, T> function) throws SQLException {
+        PooledConnection connection = this.borrow();
+        long start = System.nanoTime();
+
+        try {
+            return function.apply(connection);
+        } catch (SQLException exception) {
+            connection.broken = connection.getConnection().isClosed();
+            throw exception;
+        } finally {
+            record(this.queryLatencyHistogram, System.nanoTime() - start);
+            this.release(connection);
+        }
+    }
+
+    public void close() {
+        this.closed = true;
+
+        PooledConnection connection;
+        while ((connection = this.idleConnections.pollFirst()) != null) {
+            connection.close();
+            this.openConnections.decrementAndGet();
+        }
+    }
+
+    public int getOpenConnections() {
+        return this.openConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return this.idleConnections.size();
+    }
+
+    /**
+     * @return The average time in nanoseconds a caller had to wait for a connection
+     */
+    public long getAverageWaitNanos() {
+        long count = this.borrowCount.get();
+        return count == 0 ? 0 : this.totalWaitNanos.get() / count;
+    }
+
+    /**
+     * Returns the times callers had to wait for a connection. The value at index {@code i} is the amount of
+     * callers which waited less than {@code 2^i} microseconds but not less than {@code 2^(i - 1)} microseconds,
+     * the last index holds all longer waits.
+     *
+     * @return A copy of the wait time histogram
+     */
+    @NotNull
+    public long[] getWaitTimeHistogram() {
+        return copy(this.waitTimeHistogram);
+    }
+
+    /**
+     * Returns the time the connections were used per execution using the same buckets as {@link #getWaitTimeHistogram()}.
+     *
+     * @return A copy of the query latency histogram
+     */
+    @NotNull
+    public long[] getQueryLatencyHistogram() {
+        return copy(this.queryLatencyHistogram);
+    }
+
+    @NotNull
+    private PooledConnection borrow() throws SQLException {
+        if (this.closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS);
+        PooledConnection connection = this.idleConnections.pollFirst();
+
+        while (connection == null) {
+            int open = this.openConnections.get();
+            if (open < this.maxSize) {
+                if (this.openConnections.compareAndSet(open, open + 1)) {
+                    try {
+                        connection = new PooledConnection(this.connectionFactory.get());
+                    } catch (SQLException | RuntimeException exception) {
+                        this.openConnections.decrementAndGet();
+                        throw exception;
+                    }
+                }
+
+                continue;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new SQLException("No connection available after " + MAX_WAIT_MILLIS + "ms");
+            }
+
+            try {
+                connection = this.idleConnections.pollFirst(Math.min(remaining, WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", exception);
+            }
+
+            if (this.closed) {
+                if (connection != null) {
+                    this.release(connection);
+                }
+
+                throw new SQLException("Connection pool is closed");
+            }
+        }
+
+        long waited = System.nanoTime() - start;
+        this.borrowCount.incrementAndGet();
+        this.totalWaitNanos.addAndGet(waited);
+        record(this.waitTimeHistogram, waited);
+
+        return connection;
+    }
+
+    private void release(@NotNull PooledConnection connection) {
+        if (this.closed || connection.broken || System.nanoTime() - connection.creationTime > MAX_LIFETIME_NANOS) {
+            connection.close();
+            this.openConnections.decrementAndGet();
+            return;
+        }
+
+        this.idleConnections.offerFirst(connection);
+    }
+
+    private static void record(@NotNull AtomicLongArray histogram, long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = micros <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        histogram.incrementAndGet(Math.min(bucket, LATENCY_BUCKETS - 1));
+    }
+
+    @NotNull
+    private static long[] copy(@NotNull AtomicLongArray histogram) {
+        long[] result = new long[histogram.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = histogram.get(i);
+        }
+
+        return result;
+    }
+
+    public static final class PooledConnection {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (this.size() > STATEMENT_CACHE_SIZE) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+        private final long creationTime = System.nanoTime();
+        private boolean broken;
+
+        private PooledConnection(@NotNull Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Gets a cached statement or prepares a new one. The returned statement must not be closed by the caller.
+         *
+         * @param query The query to prepare
+         * @return The prepared statement with all parameters cleared
+         * @throws SQLException If the statement could not be prepared
+         */
+        @NotNull
+        public PreparedStatement prepareStatement(@NotNull String query) throws SQLException {
+            PreparedStatement statement = this.statements.get(query);
+            if (statement != null && !statement.isClosed()) {
+                statement.clearParameters();
+                return statement;
+            }
+
+            statement = this.connection.prepareStatement(query);
+            this.statements.put(query, statement);
+            return statement;
+        }
+
+        @NotNull
+        public Connection getConnection() {
+            return this.connection;
+        }
+
+        private void close() {
+            for (PreparedStatement statement : this.statements.values()) {
+                closeQuietly(statement);
+            }
+
+            this.statements.clear();
+
+            try {
+                this.connection.close();
+            } catch (SQLException exception) {
+                exception.printStackTrace();
+            }
+        }
+
+        private static void closeQuietly(@NotNull PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+}
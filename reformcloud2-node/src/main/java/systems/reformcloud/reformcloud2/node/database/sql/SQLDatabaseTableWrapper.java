@@ -25,87 +25,166 @@
 package systems.reformcloud.reformcloud2.node.database.sql;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.utility.list.Trio;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.DatabaseTableWrapper;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import static systems.reformcloud.reformcloud2.node.database.sql.AbstractSQLDatabaseProvider.WRITE_BEHIND_DELAY_MILLIS;
 
 public final class SQLDatabaseTableWrapper implements DatabaseTableWrapper {
 
+    private static final int PAGE_SIZE = Integer.getInteger("systems.reformcloud.sql-page-size", 1000);
+
     SQLDatabaseTableWrapper(@NotNull String name, @NotNull AbstractSQLDatabaseProvider provider) {
         this.name = name;
         this.provider = provider;
+        this.upsertStatement = provider.getDialect().getUpsertStatement(name);
 
-        provider.executeUpdate("CREATE TABLE IF NOT EXISTS `" + name + "` (`key` TEXT, `identifier` TEXT, `data` LONGBLOB);");
+        provider.executeWithConnection(this::createOrMigrateTable, Boolean.FALSE);
     }
 
     private final String name;
     private final AbstractSQLDatabaseProvider provider;
+    private final String upsertStatement;
+    // guards the pending and the flushing writes, never held while waiting for the database
+    private final Object lock = new Object();
+    // held while writes are executed, serializes the flushes so that the writes of a key are executed in order
+    private final Object flushLock = new Object();
+    // writes which are not flushed yet, at most one per key as repeated writes of a key are coalesced
+    private Map<String, PendingWrite> pendingWrites = new HashMap<>();
+    // writes which are currently executed by a flush
+    private Map<String, PendingWrite> flushingWrites = Collections.emptyMap();
 
     @Override
     public void insert(@NotNull String key, @NotNull String id, @NotNull JsonConfiguration data) {
-        if (this.has(key)) {
-            this.update(key, id, data);
-        } else {
-            this.provider.executeUpdate(
-                    "INSERT INTO `" + this.name + "` (`key`, `identifier`, `data`) VALUES (?, ?, ?);",
-                    key, id, data.toPrettyBytes()
-            );
+        if (WRITE_BEHIND_DELAY_MILLIS <= 0) {
+            this.provider.executeUpdate(this.upsertStatement, SQLDialect.hashKey(key), key, id, data.toCompactBytes());
+            return;
+        }
+
+        synchronized (this.lock) {
+            // an upsert replaces the entry regardless of all previous writes
+            this.pendingWrites.put(key, new PendingWrite(WriteType.UPSERT, id, data.toCompactBytes()));
         }
     }
 
+    @Override
+    public void insertAll(@NotNull Collection<Trio<String, String, JsonConfiguration>> entries) {
+        if (WRITE_BEHIND_DELAY_MILLIS > 0) {
+            synchronized (this.lock) {
+                for (Trio<String, String, JsonConfiguration> entry : entries) {
+                    this.pendingWrites.put(entry.getFirst(), new PendingWrite(WriteType.UPSERT, entry.getSecond(), entry.getThird().toCompactBytes()));
+                }
+            }
+
+            return;
+        }
+
+        Collection<Object[]> batches = new ArrayList<>(entries.size());
+        for (Trio<String, String, JsonConfiguration> entry : entries) {
+            batches.add(new Object[]{SQLDialect.hashKey(entry.getFirst()), entry.getFirst(), entry.getSecond(), entry.getThird().toCompactBytes()});
+        }
+
+        this.provider.executeBatch(this.upsertStatement, batches);
+    }
+
     @Override
     public void update(@NotNull String key, @NotNull String id, @NotNull JsonConfiguration newData) {
-        this.provider.executeUpdate(
-                "UPDATE `" + this.name + "` SET `data` = ? WHERE `key` = ? AND (`identifier` = ? OR `identifier` IS NULL)",
-                newData.toPrettyBytes(), key, id
-        );
+        if (WRITE_BEHIND_DELAY_MILLIS <= 0) {
+            this.executeWrite(key, new PendingWrite(WriteType.UPDATE, id, newData.toCompactBytes()));
+            return;
+        }
+
+        while (true) {
+            synchronized (this.lock) {
+                PendingWrite pendingWrite = this.pendingWrites.get(key);
+                if (pendingWrite == null) {
+                    this.pendingWrites.put(key, new PendingWrite(WriteType.UPDATE, id, newData.toCompactBytes()));
+                    return;
+                }
+
+                if (pendingWrite.identifier.equals(id)) {
+                    if (pendingWrite.type != WriteType.DELETE) {
+                        // the update only replaces the data of the pending upsert or update
+                        this.pendingWrites.put(key, new PendingWrite(pendingWrite.type, id, newData.toCompactBytes()));
+                    }
+
+                    // updating a deleted entry has no effect
+                    return;
+                }
+            }
+
+            // the pending write of the key has to be written first
+            this.flushWrites();
+        }
     }
 
     @Override
     public void remove(@NotNull String key, @NotNull String id) {
-        this.provider.executeUpdate(
-                "DELETE FROM `" + this.name + "` WHERE `key` = ? AND (`identifier` = ? OR `identifier` IS NULL)",
-                key, id
-        );
+        if (WRITE_BEHIND_DELAY_MILLIS <= 0) {
+            this.executeWrite(key, new PendingWrite(WriteType.DELETE, id, null));
+            return;
+        }
+
+        while (true) {
+            synchronized (this.lock) {
+                PendingWrite pendingWrite = this.pendingWrites.get(key);
+                // a pending update or delete of the same entry is superseded by the delete, everything else has to be written first
+                if (pendingWrite == null || (pendingWrite.type != WriteType.UPSERT && pendingWrite.identifier.equals(id))) {
+                    this.pendingWrites.put(key, new PendingWrite(WriteType.DELETE, id, null));
+                    return;
+                }
+            }
+
+            this.flushWrites();
+        }
     }
 
     @NotNull
     @Override
     public Optional<JsonConfiguration> get(@NotNull String key, @NotNull String id) {
-        return this.provider.executeQuery(
-                "SELECT `data` FROM `" + this.name + "` WHERE `key` = ? AND (`identifier` = ? OR `identifier` IS NULL)",
-                resultSet -> {
-                    if (!resultSet.next()) {
-                        return Optional.empty();
-                    }
+        PendingWrite pendingWrite = this.getPendingWrite(key);
+        if (pendingWrite != null) {
+            if (pendingWrite.type == WriteType.UPSERT) {
+                return pendingWrite.identifier.equals(id) ? Optional.of(new JsonConfiguration(pendingWrite.data)) : Optional.empty();
+            }
 
-                    byte[] bytes = resultSet.getBytes("data");
-                    if (bytes == null) {
-                        return Optional.empty();
-                    }
+            this.flushWrites();
+        }
 
-                    try (InputStream inputStream = new ByteArrayInputStream(bytes)) {
-                        return Optional.of(new JsonConfiguration(inputStream));
-                    } catch (final IOException ex) {
-                        ex.printStackTrace();
-                        return Optional.empty();
-                    }
-                }, Optional.empty(), key, id
+        return this.provider.executeQuery(
+                "SELECT `data` FROM `" + this.name + "` WHERE `key_hash` = ? AND (`identifier` = ? OR `identifier` IS NULL)",
+                resultSet -> resultSet.next() ? Optional.ofNullable(this.readData(resultSet)) : Optional.empty(),
+                Optional.empty(), SQLDialect.hashKey(key), id
         );
     }
 
     @NotNull
     @Override
     public @UnmodifiableView Collection<String> getEntryNames() {
+        this.flushWrites();
         return this.provider.executeQuery(
-                "SELECT `key` FROM " + this.name,
+                "SELECT `key` FROM `" + this.name + "`",
                 resultSet -> {
                     Collection<String> result = new ArrayList<>();
                     while (resultSet.next()) {
@@ -119,8 +198,9 @@ public final class SQLDatabaseTableWrapper implements DatabaseTableWrapper {
 
     @Override
     public long count() {
+        this.flushWrites();
         return this.provider.executeQuery(
-                "SELECT COUNT(*) FROM " + this.name,
+                "SELECT COUNT(*) FROM `" + this.name + "`",
                 resultSet -> {
                     if (resultSet.next()) {
                         return resultSet.getLong(1);
@@ -132,26 +212,24 @@ public final class SQLDatabaseTableWrapper implements DatabaseTableWrapper {
 
     @Override
     public void clear() {
-        this.provider.executeUpdate("TRUNCATE TABLE " + this.name);
+        synchronized (this.flushLock) {
+            this.discardWrites();
+            this.provider.executeUpdate("TRUNCATE TABLE `" + this.name + "`");
+        }
     }
 
     @NotNull
     @Override
     public @UnmodifiableView Collection<JsonConfiguration> getAll() {
+        this.flushWrites();
         return this.provider.executeQuery(
-                "SELECT `data` FROM " + this.name,
+                "SELECT `data` FROM `" + this.name + "`",
                 resultSet -> {
                     Collection<JsonConfiguration> result = new ArrayList<>();
                     while (resultSet.next()) {
-                        byte[] bytes = resultSet.getBytes("data");
-                        if (bytes == null) {
-                            continue;
-                        }
-
-                        try (InputStream inputStream = new ByteArrayInputStream(bytes)) {
-                            result.add(new JsonConfiguration(inputStream));
-                        } catch (final IOException ex) {
-                            ex.printStackTrace();
+                        JsonConfiguration configuration = this.readData(resultSet);
+                        if (configuration != null) {
+                            result.add(configuration);
                         }
                     }
 
@@ -160,13 +238,253 @@ public final class SQLDatabaseTableWrapper implements DatabaseTableWrapper {
         );
     }
 
+    @Override
+    public void forEach(@NotNull Consumer<JsonConfiguration> consumer) {
+        this.flushWrites();
+
+        // keyset pagination, every page is an index range scan on the primary key
+        String lastKeyHash = this.readPage("SELECT `key_hash`, `data` FROM `" + this.name + "` ORDER BY `key_hash` LIMIT " + PAGE_SIZE, consumer);
+        while (lastKeyHash != null) {
+            lastKeyHash = this.readPage("SELECT `key_hash`, `data` FROM `" + this.name + "` WHERE `key_hash` > ? ORDER BY `key_hash` LIMIT " + PAGE_SIZE, consumer, lastKeyHash);
+        }
+    }
+
     @Override
     public boolean has(@NotNull String key) {
+        PendingWrite pendingWrite = this.getPendingWrite(key);
+        if (pendingWrite != null) {
+            if (pendingWrite.type == WriteType.UPSERT) {
+                return true;
+            }
+
+            this.flushWrites();
+        }
+
         return this.provider.executeQuery(
-                "SELECT `key` FROM " + this.name + " WHERE `key` = ?",
-                resultSet -> resultSet.next() && resultSet.getString("key") != null,
+                "SELECT `key_hash` FROM `" + this.name + "` WHERE `key_hash` = ?",
+                resultSet -> resultSet.next() && resultSet.getString("key_hash") != null,
                 false,
-                key
+                SQLDialect.hashKey(key)
         );
     }
+
+    /**
+     * Writes all pending writes of this table to the database using one batch per type of write. Returns after
+     * all writes which were pending when this method was called are written.
+     */
+    void flushWrites() {
+        synchronized (this.flushLock) {
+            Map<String, PendingWrite> writes;
+            synchronized (this.lock) {
+                if (this.pendingWrites.isEmpty()) {
+                    return;
+                }
+
+                // readers see the writes as flushing until the batches are executed
+                writes = this.flushingWrites = this.pendingWrites;
+                this.pendingWrites = new HashMap<>();
+            }
+
+            try {
+                Collection<Object[]> upserts = new ArrayList<>();
+                Collection<Object[]> updates = new ArrayList<>();
+                Collection<Object[]> deletes = new ArrayList<>();
+
+                for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+                    PendingWrite pendingWrite = entry.getValue();
+                    String keyHash = SQLDialect.hashKey(entry.getKey());
+                    switch (pendingWrite.type) {
+                        case UPSERT:
+                            upserts.add(new Object[]{keyHash, entry.getKey(), pendingWrite.identifier, pendingWrite.data});
+                            break;
+                        case UPDATE:
+                            updates.add(new Object[]{pendingWrite.data, keyHash, pendingWrite.identifier});
+                            break;
+                        default:
+                            deletes.add(new Object[]{keyHash, pendingWrite.identifier});
+                            break;
+                    }
+                }
+
+                this.provider.executeBatch(this.upsertStatement, upserts);
+                this.provider.executeBatch(this.getUpdateStatement(), updates);
+                this.provider.executeBatch(this.getDeleteStatement(), deletes);
+            } finally {
+                synchronized (this.lock) {
+                    this.flushingWrites = Collections.emptyMap();
+                }
+            }
+        }
+    }
+
+    void discardWrites() {
+        synchronized (this.lock) {
+            this.pendingWrites.clear();
+        }
+    }
+
+    // the latest write of the key which is not completely written yet
+    @Nullable
+    private PendingWrite getPendingWrite(@NotNull String key) {
+        synchronized (this.lock) {
+            PendingWrite pendingWrite = this.pendingWrites.get(key);
+            return pendingWrite == null ? this.flushingWrites.get(key) : pendingWrite;
+        }
+    }
+
+    private void executeWrite(@NotNull String key, @NotNull PendingWrite write) {
+        String keyHash = SQLDialect.hashKey(key);
+        switch (write.type) {
+            case UPSERT:
+                this.provider.executeUpdate(this.upsertStatement, keyHash, key, write.identifier, write.data);
+                break;
+            case UPDATE:
+                this.provider.executeUpdate(this.getUpdateStatement(), write.data, keyHash, write.identifier);
+                break;
+            default:
+                this.provider.executeUpdate(this.getDeleteStatement(), keyHash, write.identifier);
+                break;
+        }
+    }
+
+    @NotNull
+    private String getUpdateStatement() {
+        return "UPDATE `" + this.name + "` SET `data` = ? WHERE `key_hash` = ? AND (`identifier` = ? OR `identifier` IS NULL)";
+    }
+
+    @NotNull
+    private String getDeleteStatement() {
+        return "DELETE FROM `" + this.name + "` WHERE `key_hash` = ? AND (`identifier` = ? OR `identifier` IS NULL)";
+    }
+
+    // returns the last key hash of the page or null if there are no more pages
+    @Nullable
+    private String readPage(@NotNull String query, @NotNull Consumer<JsonConfiguration> consumer, @NotNull Object... objects) {
+        return this.provider.executeQuery(query, resultSet -> {
+            int read = 0;
+            String lastKeyHash = null;
+
+            while (resultSet.next()) {
+                read++;
+                lastKeyHash = resultSet.getString("key_hash");
+
+                JsonConfiguration configuration = this.readData(resultSet);
+                if (configuration != null) {
+                    consumer.accept(configuration);
+                }
+            }
+
+            return Optional.ofNullable(read < PAGE_SIZE ? null : lastKeyHash);
+        }, Optional.<String>empty(), objects).orElse(null);
+    }
+
+    @Nullable
+    private JsonConfiguration readData(@NotNull ResultSet resultSet) throws SQLException {
+        byte[] bytes = resultSet.getBytes("data");
+        if (bytes == null) {
+            return null;
+        }
+
+        try (InputStream inputStream = new ByteArrayInputStream(bytes)) {
+            return new JsonConfiguration(inputStream);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            return null;
+        }
+    }
+
+    @NotNull
+    private Boolean createOrMigrateTable(@NotNull Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String storedName = metaData.storesUpperCaseIdentifiers() ? this.name.toUpperCase(Locale.ROOT)
+                : metaData.storesLowerCaseIdentifiers() ? this.name.toLowerCase(Locale.ROOT) : this.name;
+
+        boolean exists = false;
+        try (ResultSet resultSet = metaData.getTables(connection.getCatalog(), null, storedName, new String[]{"TABLE"})) {
+            while (resultSet.next()) {
+                exists |= storedName.equals(resultSet.getString("TABLE_NAME"));
+            }
+        }
+
+        if (exists) {
+            try (ResultSet resultSet = metaData.getPrimaryKeys(connection.getCatalog(), null, storedName)) {
+                if (resultSet.next() && "key_hash".equalsIgnoreCase(resultSet.getString("COLUMN_NAME"))) {
+                    // the table is already using the hashed key layout
+                    return Boolean.TRUE;
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            String legacyName = this.name + "_legacy";
+            if (exists) {
+                System.out.println("Migrating database table " + this.name + " to the hashed key table layout...");
+                statement.executeUpdate("ALTER TABLE `" + this.name + "` RENAME TO `" + legacyName + "`");
+            }
+
+            for (String createStatement : this.provider.getDialect().getCreateTableStatements(this.name)) {
+                statement.executeUpdate(createStatement);
+            }
+
+            if (exists) {
+                this.copyLegacyEntries(connection, statement, legacyName);
+                statement.executeUpdate("DROP TABLE `" + legacyName + "`");
+
+                // indexes of the legacy table may share their name with the indexes of the new table and are dropped just now
+                for (String createStatement : this.provider.getDialect().getCreateTableStatements(this.name)) {
+                    statement.executeUpdate(createStatement);
+                }
+            }
+        }
+
+        return Boolean.TRUE;
+    }
+
+    private void copyLegacyEntries(@NotNull Connection connection, @NotNull Statement statement, @NotNull String legacyName) throws SQLException {
+        try (PreparedStatement upsert = connection.prepareStatement(this.upsertStatement);
+             ResultSet resultSet = statement.executeQuery("SELECT `key`, `identifier`, `data` FROM `" + legacyName + "`")) {
+            int batchSize = 0;
+            while (resultSet.next()) {
+                String key = resultSet.getString("key");
+                if (key == null) {
+                    continue;
+                }
+
+                // the oldest layout had no unique key, duplicated keys are collapsed into a single entry
+                upsert.setString(1, SQLDialect.hashKey(key));
+                upsert.setString(2, key);
+                upsert.setString(3, resultSet.getString("identifier"));
+                upsert.setBytes(4, resultSet.getBytes("data"));
+                upsert.addBatch();
+
+                if (++batchSize >= PAGE_SIZE) {
+                    upsert.executeBatch();
+                    batchSize = 0;
+                }
+            }
+
+            if (batchSize > 0) {
+                upsert.executeBatch();
+            }
+        }
+    }
+
+    private enum WriteType {
+        UPSERT,
+        UPDATE,
+        DELETE
+    }
+
+    private static final class PendingWrite {
+
+        private final WriteType type;
+        private final String identifier;
+        private final byte[] data;
+
+        private PendingWrite(@NotNull WriteType type, @NotNull String identifier, @Nullable byte[] data) {
+            this.type = type;
+            this.identifier = identifier;
+            this.data = data;
+        }
+    }
 }
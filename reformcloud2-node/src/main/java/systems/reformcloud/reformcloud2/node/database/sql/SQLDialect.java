@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.database.sql;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * The sql statements which differ between the supported databases.
+ * <p>
+ * Tables are keyed by {@code key_hash}, the hex encoded sha-256 hash of the key (see {@link #hashKey(String)}),
+ * because an index on the key itself exceeds the 767 byte index limit of older MySQL versions when using utf8mb4
+ * and limits the length of the keys. Tables created using the previous layout, which used the {@code key} as
+ * primary key, are migrated in place when they are opened for the first time.
+ */
+public enum SQLDialect {
+
+    H2 {
+        @NotNull
+        @Override
+        public Collection<String> getCreateTableStatements(@NotNull String table) {
+            return Arrays.asList(
+                    "CREATE TABLE IF NOT EXISTS `" + table + "` (`key_hash` CHAR(64) NOT NULL PRIMARY KEY, `key` VARCHAR NOT NULL, `identifier` VARCHAR(512), `data` LONGBLOB)",
+                    // index names are unique per schema in h2
+                    "CREATE INDEX IF NOT EXISTS `" + table + "_identifier` ON `" + table + "` (`identifier`)"
+            );
+        }
+
+        @NotNull
+        @Override
+        public String getUpsertStatement(@NotNull String table) {
+            return "MERGE INTO `" + table + "` (`key_hash`, `key`, `identifier`, `data`) KEY (`key_hash`) VALUES (?, ?, ?, ?)";
+        }
+    },
+    MYSQL {
+        @NotNull
+        @Override
+        public Collection<String> getCreateTableStatements(@NotNull String table) {
+            // the identifier index is limited to a prefix of 191 characters to stay below 767 bytes using utf8mb4
+            return Collections.singletonList(
+                    "CREATE TABLE IF NOT EXISTS `" + table + "` (`key_hash` CHAR(64) NOT NULL PRIMARY KEY, `key` TEXT NOT NULL, `identifier` VARCHAR(512), `data` LONGBLOB, INDEX `identifier_index` (`identifier`(191)))"
+            );
+        }
+
+        @NotNull
+        @Override
+        public String getUpsertStatement(@NotNull String table) {
+            return "INSERT INTO `" + table + "` (`key_hash`, `key`, `identifier`, `data`) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE `identifier` = VALUES(`identifier`), `data` = VALUES(`data`)";
+        }
+    };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Gets the statements to create a table with an indexed {@code key_hash} and {@code identifier} column.
+     *
+     * @param table The name of the table to create
+     * @return The statements which have to be executed in order to create the table
+     */
+    @NotNull
+    public abstract Collection<String> getCreateTableStatements(@NotNull String table);
+
+    /**
+     * Gets a statement which inserts or replaces an entry in a single round trip. The parameters of the
+     * statement are the hash of the key, the key, the identifier and the data of the entry.
+     *
+     * @param table The name of the table to upsert the entry into
+     * @return The upsert statement for the table
+     */
+    @NotNull
+    public abstract String getUpsertStatement(@NotNull String table);
+
+    /**
+     * Hashes the given key into the fixed width value stored in the {@code key_hash} column.
+     *
+     * @param key The key to hash
+     * @return The hex encoded sha-256 hash of the utf-8 encoded key
+     */
+    @NotNull
+    public static String hashKey(@NotNull String key) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException exception) {
+            // every java platform has to support sha-256
+            throw new IllegalStateException(exception);
+        }
+
+        byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+        char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            chars[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+
+        return new String(chars);
+    }
+}
@@ -22,15 +22,15 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-package systems.reformcloud.reformcloud2.node.runnables;
+package systems.reformcloud.reformcloud2.node.database.util;
 
-import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
-import systems.reformcloud.reformcloud2.node.process.screen.ProcessScreenController;
+import org.jetbrains.annotations.NotNull;
 
-public class ProcessScreenTickRunnable implements Runnable {
+import java.sql.SQLException;
 
-    @Override
-    public void run() {
-        ExecutorAPI.getInstance().getServiceRegistry().getProvider(ProcessScreenController.class).ifPresent(ProcessScreenController::tick);
-    }
+@FunctionalInterface
+public interface SQLSupplier<T> {
+
+    @NotNull
+    T get() throws SQLException;
 }
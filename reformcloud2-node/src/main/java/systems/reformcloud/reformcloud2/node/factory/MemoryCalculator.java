@@ -29,13 +29,13 @@ import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.RuntimeConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
 
-final class MemoryCalculator {
+public final class MemoryCalculator {
 
     private MemoryCalculator() {
         throw new UnsupportedOperationException();
     }
 
-    static int calcMemory(@NotNull String group, @NotNull Template template) {
+    public static int calcMemory(@NotNull String group, @NotNull Template template) {
         RuntimeConfiguration configuration = template.getRuntimeConfiguration();
         if (configuration.getMaxMemory() < 0 || configuration.getDynamicMemory() < 0) {
             return configuration.getMaxMemory() < 0 ? 512 : configuration.getMaxMemory();
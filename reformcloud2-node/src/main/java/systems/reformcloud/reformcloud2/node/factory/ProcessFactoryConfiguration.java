@@ -132,7 +132,7 @@ public class ProcessFactoryConfiguration implements SerializableObject {
         buffer.writeObject(this.processGroup);
         buffer.writeObject(this.template);
         buffer.writeObjects(this.inclusions);
-        buffer.writeArray(this.extra.toPrettyBytes());
+        buffer.writeArray(this.extra.toCompactBytes());
         buffer.writeInt(this.initialState.ordinal());
         buffer.writeUniqueId(this.processUniqueId);
 
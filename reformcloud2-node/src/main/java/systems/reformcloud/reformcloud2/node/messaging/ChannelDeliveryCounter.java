@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.messaging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the channel messages of one channel which were routed by the local node. A message is counted as
+ * filtered for every process or node which was skipped because it is not subscribed to the channel.
+ */
+public final class ChannelDeliveryCounter {
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+
+    ChannelDeliveryCounter() {
+    }
+
+    void countDelivered(int receivers) {
+        this.delivered.add(receivers);
+    }
+
+    void countFiltered() {
+        this.filtered.increment();
+    }
+
+    /**
+     * @return The amount of times a message of the channel was sent to a process or node
+     */
+    public long getDelivered() {
+        return this.delivered.sum();
+    }
+
+    /**
+     * @return The amount of times a message of the channel was not sent to a process or node because of its subscriptions
+     */
+    public long getFiltered() {
+        return this.filtered.sum();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.messaging;
+
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.messaging.ChannelSubscriptions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the channel subscriptions of the processes connected to the local node and the aggregated subscriptions
+ * of the other nodes. Processes and nodes which never declared their subscriptions receive all channel messages.
+ */
+final class ChannelSubscriptionTable {
+
+    private final Map<String, ChannelSubscriptions> processes = new ConcurrentHashMap<>();
+    private final Map<String, NodeSubscriptions> nodes = new ConcurrentHashMap<>();
+
+    void updateProcess(@NotNull String process, @NotNull ChannelSubscriptions subscriptions) {
+        this.processes.put(process, subscriptions);
+    }
+
+    void removeProcess(@NotNull String process) {
+        this.processes.remove(process);
+    }
+
+    void updateNode(@NotNull String node, @NotNull ChannelSubscriptions nodeSubscriptions, @NotNull ChannelSubscriptions processSubscriptions) {
+        this.nodes.put(node, new NodeSubscriptions(nodeSubscriptions, processSubscriptions));
+    }
+
+    void removeNode(@NotNull String node) {
+        this.nodes.remove(node);
+    }
+
+    /**
+     * Checks if the process or node connected using a channel with the given name wants to receive messages
+     * of the given channel.
+     *
+     * @param target  The name of the network channel of the process or node
+     * @param channel The channel of the message
+     * @return If the message should get sent to the target
+     */
+    boolean accepts(@NotNull String target, @NotNull String channel) {
+        NodeSubscriptions node = this.nodes.get(target);
+        if (node != null) {
+            return node.nodeSubscriptions.matches(channel);
+        }
+
+        ChannelSubscriptions process = this.processes.get(target);
+        return process == null || process.matches(channel);
+    }
+
+    /**
+     * Checks if one of the processes connected to the given node wants to receive messages of the given channel.
+     *
+     * @param node    The name of the node
+     * @param channel The channel of the message
+     * @return If the message should get sent to the processes of the node
+     */
+    boolean processesOfNodeAccept(@NotNull String node, @NotNull String channel) {
+        NodeSubscriptions subscriptions = this.nodes.get(node);
+        return subscriptions == null || subscriptions.processSubscriptions.matches(channel);
+    }
+
+    @NotNull
+    ChannelSubscriptions aggregateProcesses(@NotNull Collection<String> connectedProcesses) {
+        Collection<ChannelSubscriptions> subscriptions = new ArrayList<>(connectedProcesses.size());
+        for (String process : connectedProcesses) {
+            subscriptions.add(this.processes.getOrDefault(process, ChannelSubscriptions.all()));
+        }
+
+        return ChannelSubscriptions.union(subscriptions);
+    }
+
+    private static final class NodeSubscriptions {
+
+        private final ChannelSubscriptions nodeSubscriptions;
+        private final ChannelSubscriptions processSubscriptions;
+
+        private NodeSubscriptions(ChannelSubscriptions nodeSubscriptions, ChannelSubscriptions processSubscriptions) {
+            this.nodeSubscriptions = nodeSubscriptions;
+            this.processSubscriptions = processSubscriptions;
+        }
+    }
+}
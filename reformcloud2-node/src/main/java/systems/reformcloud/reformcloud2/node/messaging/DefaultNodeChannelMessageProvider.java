@@ -25,50 +25,229 @@
 package systems.reformcloud.reformcloud2.node.messaging;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.messaging.ChannelSubscriptions;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.manager.ChannelManager;
+import systems.reformcloud.reformcloud2.executor.api.node.NodeInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.provider.ChannelMessageProvider;
 import systems.reformcloud.reformcloud2.node.NodeExecutor;
+import systems.reformcloud.reformcloud2.node.process.DefaultNodeLocalProcessWrapper;
 import systems.reformcloud.reformcloud2.node.protocol.NodeToNodePublishChannelMessage;
+import systems.reformcloud.reformcloud2.node.protocol.NodeToNodeUpdateChannelSubscriptions;
 import systems.reformcloud.reformcloud2.protocol.shared.PacketChannelMessage;
 
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class DefaultNodeChannelMessageProvider implements ChannelMessageProvider {
 
+    private final ChannelSubscriptionTable subscriptionTable = new ChannelSubscriptionTable();
+    private final Map<String, ChannelDeliveryCounter> deliveryCounters = new ConcurrentHashMap<>();
+    private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean subscribed;
+    private ChannelSubscriptions publishedNodeSubscriptions;
+    private ChannelSubscriptions publishedProcessSubscriptions;
+
     @Override
     public void sendChannelMessage(@NotNull ProcessInformation receiver, @NotNull String channel, @NotNull JsonConfiguration data) {
-        this.getChannelManager().getChannel(receiver.getProcessDetail().getName()).ifPresent(netChannel -> netChannel.sendPacket(new PacketChannelMessage(channel, data)));
+        Collection<NetworkChannel> targets = new ArrayList<>(1);
+        this.addTarget(receiver.getProcessDetail().getName(), channel, targets);
+        this.deliver(channel, data, targets);
     }
 
     @Override
     public void sendChannelMessage(@NotNull String processGroup, @NotNull String channel, @NotNull JsonConfiguration data) {
+        Collection<NetworkChannel> targets = new ArrayList<>();
         for (ProcessInformation processInformation : ExecutorAPI.getInstance().getProcessProvider().getProcessesByProcessGroup(processGroup)) {
-            this.sendChannelMessage(processInformation, channel, data);
+            this.addTarget(processInformation.getProcessDetail().getName(), channel, targets);
         }
+
+        this.deliver(channel, data, targets);
     }
 
     @Override
     public void publishChannelMessageToAll(@NotNull String node, @NotNull String channel, @NotNull JsonConfiguration data) {
         if (NodeExecutor.getInstance().isOwnIdentity(node)) {
-            ExecutorAPI.getInstance().getProcessProvider().getProcesses()
-                    .stream()
-                    .filter(processInformation -> processInformation.getProcessDetail().getParentName().equals(node))
-                    .forEach(processInformation -> this.sendChannelMessage(processInformation, channel, data));
+            Collection<NetworkChannel> targets = new ArrayList<>();
+            for (DefaultNodeLocalProcessWrapper wrapper : NodeExecutor.getInstance().getDefaultNodeProcessProvider().getProcessWrappers()) {
+                this.addTarget(wrapper.getProcessInformation().getProcessDetail().getName(), channel, targets);
+            }
+
+            this.deliver(channel, data, targets);
+            return;
+        }
+
+        Optional<NetworkChannel> nodeChannel = this.getChannelManager().getChannel(node);
+        if (!nodeChannel.isPresent()) {
             return;
         }
 
-        this.getChannelManager().getChannel(node).ifPresent(netChannel -> netChannel.sendPacket(new NodeToNodePublishChannelMessage(channel, data)));
+        if (this.subscriptionTable.processesOfNodeAccept(node, channel)) {
+            nodeChannel.get().sendPacket(new NodeToNodePublishChannelMessage(channel, data));
+            this.getDeliveryCounter(channel).countDelivered(1);
+        } else {
+            this.getDeliveryCounter(channel).countFiltered();
+        }
     }
 
     @Override
     public void publishChannelMessage(@NotNull String channel, @NotNull JsonConfiguration data) {
+        Collection<NetworkChannel> targets = new ArrayList<>();
         for (NetworkChannel registeredChannel : this.getChannelManager().getRegisteredChannels()) {
-            registeredChannel.sendPacket(new PacketChannelMessage(channel, data));
+            if (this.subscriptionTable.accepts(registeredChannel.getName(), channel)) {
+                targets.add(registeredChannel);
+            } else {
+                this.getDeliveryCounter(channel).countFiltered();
+            }
+        }
+
+        this.deliver(channel, data, targets);
+    }
+
+    @Override
+    public void subscribe(@NotNull String channelPattern) {
+        synchronized (this.subscriptions) {
+            this.subscriptions.add(channelPattern);
+            this.subscribed = true;
+        }
+
+        this.publishSubscriptions();
+    }
+
+    @Override
+    public void unsubscribe(@NotNull String channelPattern) {
+        synchronized (this.subscriptions) {
+            if (!this.subscriptions.remove(channelPattern)) {
+                return;
+            }
+        }
+
+        this.publishSubscriptions();
+    }
+
+    @Override
+    public @NotNull @UnmodifiableView Collection<String> getSubscriptions() {
+        return Collections.unmodifiableCollection(this.subscriptions);
+    }
+
+    /**
+     * @return The delivery counters of all channels which were routed by this node, by the name of the channel
+     */
+    public @NotNull @UnmodifiableView Map<String, ChannelDeliveryCounter> getDeliveryCounters() {
+        return Collections.unmodifiableMap(this.deliveryCounters);
+    }
+
+    public void updateProcessSubscriptions(@NotNull String process, @NotNull Collection<String> channelPatterns) {
+        this.subscriptionTable.updateProcess(process, ChannelSubscriptions.of(channelPatterns));
+        this.publishSubscriptions();
+    }
+
+    public void removeProcessSubscriptions(@NotNull String process) {
+        this.subscriptionTable.removeProcess(process);
+        this.publishSubscriptions();
+    }
+
+    public void updateNodeSubscriptions(@NotNull String node, @NotNull Collection<String> nodePatterns, @NotNull Collection<String> processPatterns) {
+        this.subscriptionTable.updateNode(node, ChannelSubscriptions.of(nodePatterns), ChannelSubscriptions.of(processPatterns));
+    }
+
+    public void removeNodeSubscriptions(@NotNull String node) {
+        this.subscriptionTable.removeNode(node);
+    }
+
+    /**
+     * Sends the current subscriptions of this node and the processes connected to it to the given node.
+     *
+     * @param node The channel of the node to send the subscriptions to
+     */
+    public void sendSubscriptions(@NotNull NetworkChannel node) {
+        synchronized (this) {
+            this.publishSubscriptions();
+            node.sendPacket(new NodeToNodeUpdateChannelSubscriptions(
+                    this.publishedNodeSubscriptions.getPatterns(),
+                    this.publishedProcessSubscriptions.getPatterns()
+            ));
+        }
+    }
+
+    /**
+     * Sends the subscriptions of this node and the processes connected to it to all other nodes if they changed
+     * since the last time they were sent.
+     */
+    public void publishSubscriptions() {
+        synchronized (this) {
+            ChannelSubscriptions nodeSubscriptions = this.getNodeSubscriptions();
+            ChannelSubscriptions processSubscriptions = this.getProcessSubscriptions();
+            if (nodeSubscriptions.equals(this.publishedNodeSubscriptions) && processSubscriptions.equals(this.publishedProcessSubscriptions)) {
+                return;
+            }
+
+            this.publishedNodeSubscriptions = nodeSubscriptions;
+            this.publishedProcessSubscriptions = processSubscriptions;
+
+            ChannelManager channelManager = this.getChannelManager();
+            Collection<NetworkChannel> nodes = new ArrayList<>();
+            for (NodeInformation node : ExecutorAPI.getInstance().getNodeInformationProvider().getNodes()) {
+                channelManager.getChannel(node.getName()).ifPresent(nodes::add);
+            }
+
+            channelManager.broadcastPacket(new NodeToNodeUpdateChannelSubscriptions(
+                    nodeSubscriptions.getPatterns(),
+                    processSubscriptions.getPatterns()
+            ), nodes);
+        }
+    }
+
+    private @NotNull ChannelSubscriptions getNodeSubscriptions() {
+        synchronized (this.subscriptions) {
+            return this.subscribed ? ChannelSubscriptions.of(this.subscriptions) : ChannelSubscriptions.all();
         }
     }
 
+    private @NotNull ChannelSubscriptions getProcessSubscriptions() {
+        ChannelManager channelManager = this.getChannelManager();
+        Collection<String> connectedProcesses = new ArrayList<>();
+        for (DefaultNodeLocalProcessWrapper wrapper : NodeExecutor.getInstance().getDefaultNodeProcessProvider().getProcessWrappers()) {
+            String name = wrapper.getProcessInformation().getProcessDetail().getName();
+            if (channelManager.getChannel(name).isPresent()) {
+                connectedProcesses.add(name);
+            }
+        }
+
+        return this.subscriptionTable.aggregateProcesses(connectedProcesses);
+    }
+
+    private void addTarget(@NotNull String process, @NotNull String channel, @NotNull Collection<NetworkChannel> targets) {
+        Optional<NetworkChannel> processChannel = this.getChannelManager().getChannel(process);
+        if (!processChannel.isPresent()) {
+            return;
+        }
+
+        if (this.subscriptionTable.accepts(process, channel)) {
+            targets.add(processChannel.get());
+        } else {
+            this.getDeliveryCounter(channel).countFiltered();
+        }
+    }
+
+    private void deliver(@NotNull String channel, @NotNull JsonConfiguration data, @NotNull Collection<NetworkChannel> targets) {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        this.getDeliveryCounter(channel).countDelivered(targets.size());
+        this.getChannelManager().broadcastPacket(new PacketChannelMessage(channel, data), targets);
+    }
+
+    private @NotNull ChannelDeliveryCounter getDeliveryCounter(@NotNull String channel) {
+        return this.deliveryCounters.computeIfAbsent(channel, name -> new ChannelDeliveryCounter());
+    }
+
     private @NotNull ChannelManager getChannelManager() {
         return ExecutorAPI.getInstance().getServiceRegistry().getProvider(ChannelManager.class).orElseThrow(() -> new RuntimeException("Channel manager was unregistered"));
     }
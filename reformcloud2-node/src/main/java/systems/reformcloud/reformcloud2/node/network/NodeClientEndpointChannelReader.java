@@ -33,6 +33,7 @@ import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.manager.ChannelManager;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.shared.SharedEndpointChannelReader;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.query.QueryManager;
 import systems.reformcloud.reformcloud2.executor.api.node.NodeInformation;
 import systems.reformcloud.reformcloud2.node.NodeExecutor;
 import systems.reformcloud.reformcloud2.node.cluster.ClusterManager;
@@ -60,6 +61,7 @@ public final class NodeClientEndpointChannelReader extends SharedEndpointChannel
             return;
         }
 
+        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(QueryManager.class).cancelQueries(super.networkChannel);
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ChannelManager.class).unregisterChannel(super.networkChannel);
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).handleNodeDisconnect(super.networkChannel.getName());
     }
@@ -111,6 +113,7 @@ public final class NodeClientEndpointChannelReader extends SharedEndpointChannel
             ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).publishMainGroupSet(
                     ExecutorAPI.getInstance().getMainGroupProvider().getMainGroups()
             );
+            NodeExecutor.getInstance().getDefaultNodeChannelMessageProvider().sendSubscriptions(super.networkChannel);
             return;
         }
 
@@ -34,6 +34,7 @@ import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.manager.ChannelManager;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.shared.SharedEndpointChannelReader;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.query.QueryManager;
 import systems.reformcloud.reformcloud2.executor.api.node.NodeInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
@@ -75,7 +76,12 @@ public class NodeServerEndpointChannelReader extends SharedEndpointChannelReader
             ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).handleNodeDisconnect(super.networkChannel.getName());
         }
 
+        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(QueryManager.class).cancelQueries(super.networkChannel);
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ChannelManager.class).unregisterChannel(super.networkChannel);
+
+        if (this.type == 2) {
+            NodeExecutor.getInstance().getDefaultNodeChannelMessageProvider().removeProcessSubscriptions(super.networkChannel.getName());
+        }
     }
 
     @Override
@@ -176,6 +182,10 @@ public class NodeServerEndpointChannelReader extends SharedEndpointChannelReader
                 ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).publishProcessSet(
                         ExecutorAPI.getInstance().getProcessProvider().getProcesses()
                 );
+                NodeExecutor.getInstance().getDefaultNodeChannelMessageProvider().sendSubscriptions(super.networkChannel);
+            } else {
+                // the process receives all channel messages until it sends its subscriptions
+                NodeExecutor.getInstance().getDefaultNodeChannelMessageProvider().publishSubscriptions();
             }
             return;
         }
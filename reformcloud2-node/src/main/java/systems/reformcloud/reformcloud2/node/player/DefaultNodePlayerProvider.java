@@ -25,12 +25,10 @@
 package systems.reformcloud.reformcloud2.node.player;
 
 import org.jetbrains.annotations.NotNull;
-import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
-import systems.reformcloud.reformcloud2.executor.api.process.Player;
-import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.provider.PlayerProvider;
-import systems.reformcloud.reformcloud2.executor.api.provider.ProcessProvider;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.PlayerWrapper;
+import systems.reformcloud.reformcloud2.node.NodeExecutor;
+import systems.reformcloud.reformcloud2.shared.player.PlayerLocationIndex;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -39,52 +37,28 @@ public class DefaultNodePlayerProvider implements PlayerProvider {
 
     @Override
     public boolean isPlayerOnline(@NotNull String name) {
-        for (ProcessInformation process : this.getProcessProvider().getProcesses()) {
-            if (process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(name)) {
-                return true;
-            }
-        }
-
-        return false;
+        return this.getIndex().getLocation(name) != null;
     }
 
     @Override
     public boolean isPlayerOnline(@NotNull UUID uniqueId) {
-        for (ProcessInformation process : this.getProcessProvider().getProcesses()) {
-            if (process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(uniqueId)) {
-                return true;
-            }
-        }
-
-        return false;
+        return this.getIndex().getLocation(uniqueId) != null;
     }
 
     @NotNull
     @Override
     public Optional<PlayerWrapper> getPlayer(@NotNull String name) {
-        for (ProcessInformation process : this.getProcessProvider().getProcesses()) {
-            Player playerByName = process.getProcessPlayerManager().getPlayerByName(name);
-            if (playerByName != null) {
-                return Optional.of(new DefaultNodePlayerWrapper(playerByName.getUniqueID()));
-            }
-        }
-
-        return Optional.empty();
+        PlayerLocationIndex.PlayerLocation location = this.getIndex().getLocation(name);
+        return location == null ? Optional.empty() : Optional.of(new DefaultNodePlayerWrapper(location.getUniqueId()));
     }
 
     @NotNull
     @Override
     public Optional<PlayerWrapper> getPlayer(@NotNull UUID uniqueId) {
-        for (ProcessInformation process : this.getProcessProvider().getProcesses()) {
-            if (process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(uniqueId)) {
-                return Optional.of(new DefaultNodePlayerWrapper(uniqueId));
-            }
-        }
-
-        return Optional.empty();
+        return this.isPlayerOnline(uniqueId) ? Optional.of(new DefaultNodePlayerWrapper(uniqueId)) : Optional.empty();
     }
 
-    private @NotNull ProcessProvider getProcessProvider() {
-        return ExecutorAPI.getInstance().getProcessProvider();
+    private @NotNull PlayerLocationIndex getIndex() {
+        return NodeExecutor.getInstance().getDefaultNodeProcessProvider().getPlayerLocationIndex();
     }
 }
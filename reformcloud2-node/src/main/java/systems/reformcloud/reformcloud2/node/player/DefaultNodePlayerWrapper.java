@@ -37,6 +37,7 @@ import systems.reformcloud.reformcloud2.executor.api.wrappers.ProcessWrapper;
 import systems.reformcloud.reformcloud2.node.NodeExecutor;
 import systems.reformcloud.reformcloud2.node.protocol.*;
 import systems.reformcloud.reformcloud2.protocol.shared.*;
+import systems.reformcloud.reformcloud2.shared.player.PlayerLocationIndex;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -51,22 +52,12 @@ public class DefaultNodePlayerWrapper implements PlayerWrapper {
 
     @NotNull
     private Optional<Duo<UUID, UUID>> getPlayerProcess() {
-        UUID proxy = null;
-        UUID server = null;
-
-        for (ProcessInformation process : ExecutorAPI.getInstance().getProcessProvider().getProcesses()) {
-            if (process.getProcessDetail().getTemplate().isServer()
-                    && process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(this.uniqueId)
-                    && server == null) {
-                server = process.getProcessDetail().getProcessUniqueID();
-            } else if (!process.getProcessDetail().getTemplate().isServer()
-                    && process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(this.uniqueId)
-                    && proxy == null) {
-                proxy = process.getProcessDetail().getProcessUniqueID();
-            }
+        PlayerLocationIndex.PlayerLocation location = this.getLocation();
+        if (location == null || location.getProxyUniqueId() == null || location.getServerUniqueId() == null) {
+            return Optional.empty();
         }
 
-        return proxy == null || server == null ? Optional.empty() : Optional.of(new Duo<>(proxy, server));
+        return Optional.of(new Duo<>(location.getProxyUniqueId(), location.getServerUniqueId()));
     }
 
     @Override
@@ -193,12 +184,9 @@ public class DefaultNodePlayerWrapper implements PlayerWrapper {
 
     @Override
     public void connect(@NotNull UUID otherPlayer) {
-        for (ProcessInformation process : ExecutorAPI.getInstance().getProcessProvider().getProcesses()) {
-            if (process.getProcessDetail().getTemplate().isServer()
-                    && process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(otherPlayer)) {
-                this.connect(process.getProcessDetail().getName());
-                break;
-            }
+        PlayerLocationIndex.PlayerLocation location = NodeExecutor.getInstance().getDefaultNodeProcessProvider().getPlayerLocationIndex().getLocation(otherPlayer);
+        if (location != null && location.getServerUniqueId() != null) {
+            this.getProcess(location.getServerUniqueId()).ifPresent(process -> this.connect(process.getProcessDetail().getName()));
         }
     }
 
@@ -219,25 +207,21 @@ public class DefaultNodePlayerWrapper implements PlayerWrapper {
                 .ifPresent(channel -> channel.sendPacket(packet));
     }
 
-    private @Nullable ProcessInformation getPlayerProxy() {
-        for (ProcessInformation process : ExecutorAPI.getInstance().getProcessProvider().getProcesses()) {
-            if (!process.getProcessDetail().getTemplate().isServer()
-                    && process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(this.uniqueId)) {
-                return process;
-            }
-        }
+    private @Nullable PlayerLocationIndex.PlayerLocation getLocation() {
+        return NodeExecutor.getInstance().getDefaultNodeProcessProvider().getPlayerLocationIndex().getLocation(this.uniqueId);
+    }
 
-        return null;
+    private @NotNull Optional<ProcessInformation> getProcess(@NotNull UUID processUniqueId) {
+        return ExecutorAPI.getInstance().getProcessProvider().getProcessByUniqueId(processUniqueId).map(ProcessWrapper::getProcessInformation);
     }
 
-    private @Nullable ProcessInformation getPlayerServer() {
-        for (ProcessInformation process : ExecutorAPI.getInstance().getProcessProvider().getProcesses()) {
-            if (process.getProcessDetail().getTemplate().isServer()
-                    && process.getProcessPlayerManager().isPlayerOnlineOnCurrentProcess(this.uniqueId)) {
-                return process;
-            }
-        }
+    private @Nullable ProcessInformation getPlayerProxy() {
+        PlayerLocationIndex.PlayerLocation location = this.getLocation();
+        return location == null || location.getProxyUniqueId() == null ? null : this.getProcess(location.getProxyUniqueId()).orElse(null);
+    }
 
-        return null;
+    private @Nullable ProcessInformation getPlayerServer() {
+        PlayerLocationIndex.PlayerLocation location = this.getLocation();
+        return location == null || location.getServerUniqueId() == null ? null : this.getProcess(location.getServerUniqueId()).orElse(null);
     }
 }
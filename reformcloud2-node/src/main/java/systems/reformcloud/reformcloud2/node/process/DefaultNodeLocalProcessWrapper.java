@@ -40,9 +40,10 @@ import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessRuntimeInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
 import systems.reformcloud.reformcloud2.executor.api.process.api.ProcessInclusion;
+import systems.reformcloud.reformcloud2.executor.api.task.Task;
+import systems.reformcloud.reformcloud2.executor.api.task.defaults.DefaultTask;
 import systems.reformcloud.reformcloud2.executor.api.utility.StringUtil;
 import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
-import systems.reformcloud.reformcloud2.executor.api.utility.process.JavaProcessHelper;
 import systems.reformcloud.reformcloud2.node.NodeExecutor;
 import systems.reformcloud.reformcloud2.node.cluster.ClusterManager;
 import systems.reformcloud.reformcloud2.node.event.process.LocalProcessPrePrepareEvent;
@@ -91,6 +92,8 @@ public class DefaultNodeLocalProcessWrapper extends DefaultNodeRemoteProcessWrap
 
     private ProcessState runtimeState = ProcessState.CREATED;
     private Process process;
+    private volatile boolean stopping;
+    private volatile Task<Void> finalStopTask;
 
     @NotNull
     @Override
@@ -103,7 +106,7 @@ public class DefaultNodeLocalProcessWrapper extends DefaultNodeRemoteProcessWrap
         }
 
         Packet result = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(QueryManager.class)
-                .sendPacketQuery(channel, new NodeToApiRequestProcessInformationUpdate())
+                .sendPacketQuery(channel, new NodeToApiRequestProcessInformationUpdate(), 5, TimeUnit.SECONDS)
                 .getUninterruptedly(TimeUnit.SECONDS, 5);
         if (!(result instanceof NodeToApiRequestProcessInformationUpdateResult)) {
             return Optional.empty();
@@ -150,6 +153,18 @@ public class DefaultNodeLocalProcessWrapper extends DefaultNodeRemoteProcessWrap
         ExecutorAPI.getInstance().getProcessProvider().updateProcessInformation(this.processInformation);
     }
 
+    @NotNull
+    @Override
+    public Task<Void> setRuntimeStateAsync(@NotNull ProcessState state) {
+        if (state != ProcessState.STOPPED) {
+            return super.setRuntimeStateAsync(state);
+        }
+
+        this.setRuntimeState(state);
+        Task<Void> stopTask = this.finalStopTask;
+        return stopTask == null ? Task.completedTask(null) : stopTask;
+    }
+
     @Override
     public void copy(@NotNull String templateGroup, @NotNull String templateName, @NotNull String templateBackend) {
         TemplateBackendManager.get(templateBackend).ifPresent(
@@ -195,6 +210,10 @@ public class DefaultNodeLocalProcessWrapper extends DefaultNodeRemoteProcessWrap
     }
 
     private boolean start() {
+        if (this.finalStopTask != null) {
+            return false;
+        }
+
         if (!NodeExecutor.getInstance().canStartProcesses(this.processInformation.getProcessDetail().getMaxMemory())) {
             NodeExecutor.getInstance().getTaskScheduler().queue(() -> this.setRuntimeState(ProcessState.STARTED), 20 * 5);
             return false;
@@ -238,6 +257,7 @@ public class DefaultNodeLocalProcessWrapper extends DefaultNodeRemoteProcessWrap
                     .directory(this.path.toFile())
                     .redirectErrorStream(true)
                     .start();
+            this.processScreen.connect(this.process);
         } catch (Throwable throwable) {
             if (throwable instanceof IOException) { // low level - but the best way :(
                 NodeExecutor.getInstance().getTaskScheduler().queue(() -> this.setRuntimeState(ProcessState.STARTED), 20 * 5);
@@ -252,46 +272,92 @@ public class DefaultNodeLocalProcessWrapper extends DefaultNodeRemoteProcessWrap
     }
 
     private void restart() {
-        this.stop(false);
-        this.start();
+        this.stop(false).onComplete(ignored -> {
+            try {
+                this.lock.lock();
+                this.start();
+            } finally {
+                this.lock.unlock();
+            }
+        });
     }
 
-    private void stop(boolean finalStop) {
+    @NotNull
+    private Task<Void> stop(boolean finalStop) {
+        if (this.finalStopTask != null) {
+            return this.finalStopTask;
+        }
+
         if (Files.notExists(this.path)) {
-            return;
+            return Task.completedTask(null);
         }
 
+        Task<Void> exit;
         if (this.isStarted()) {
-            JavaProcessHelper.shutdown(this.process, true, true, TimeUnit.SECONDS.toMillis(15), this.getShutdownCommands());
+            this.stopping = true;
+            exit = ProcessStopPipeline.stop(this.process, this.getShutdownCommands());
             this.process = null;
+        } else {
+            exit = Task.completedTask(null);
         }
 
+        Task<Void> result = new DefaultTask<>();
         if (finalStop) {
-            if (this.processInformation.getProcessDetail().getTemplate().isAutoReleaseOnClose()) {
-                TemplateBackendManager.getOrDefault(this.processInformation.getProcessDetail().getTemplate().getBackend()).deployTemplate(
-                        this.processInformation.getProcessGroup().getName(),
-                        this.processInformation.getProcessDetail().getTemplate().getName(),
-                        this.path,
-                        this.processInformation.getPreInclusions().stream().map(ProcessInclusion::getName).collect(Collectors.toList())
-                );
-            }
+            this.finalStopTask = result;
+        }
 
-            if (!this.processInformation.getProcessGroup().isStaticProcess()) {
-                IOUtils.deleteDirectory(this.path);
+        exit.onComplete(ignored -> ProcessStopPipeline.cleanup(() -> {
+            try {
+                this.stopping = false;
+                NodeExecutor.getInstance().getCurrentNodeInformation().removeUsedMemory(this.processInformation.getProcessDetail().getMaxMemory());
+
+                if (!finalStop) {
+                    this.resetNetworkState();
+                } else if (this.processInformation.getProcessGroup().isStaticProcess()) {
+                    // the directory of a static process is reused by the next start of it
+                    this.releaseFiles();
+                    this.unregister();
+                } else {
+                    this.unregister();
+                    this.releaseFiles();
+                }
+            } finally {
+                result.complete(null);
             }
+        }));
+        return result;
+    }
 
-            ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).publishProcessUnregister(this.processInformation);
-        } else {
-            this.processInformation.getNetworkInfo().setConnected(false);
-            for (Player onlinePlayer : this.processInformation.getProcessPlayerManager().getOnlinePlayers()) {
-                this.processInformation.getProcessPlayerManager().onLogout(onlinePlayer.getUniqueID());
-            }
+    private void resetNetworkState() {
+        this.processInformation.getNetworkInfo().setConnected(false);
+        for (Player onlinePlayer : this.processInformation.getProcessPlayerManager().getOnlinePlayers()) {
+            this.processInformation.getProcessPlayerManager().onLogout(onlinePlayer.getUniqueID());
+        }
 
-            this.processInformation.getProcessDetail().setProcessRuntimeInformation(ProcessRuntimeInformation.empty());
-            ExecutorAPI.getInstance().getProcessProvider().updateProcessInformation(this.processInformation);
+        this.processInformation.getProcessDetail().setProcessRuntimeInformation(ProcessRuntimeInformation.empty());
+        ExecutorAPI.getInstance().getProcessProvider().updateProcessInformation(this.processInformation);
+    }
+
+    private void releaseFiles() {
+        if (this.processInformation.getProcessDetail().getTemplate().isAutoReleaseOnClose()) {
+            TemplateBackendManager.getOrDefault(this.processInformation.getProcessDetail().getTemplate().getBackend()).deployTemplate(
+                    this.processInformation.getProcessGroup().getName(),
+                    this.processInformation.getProcessDetail().getTemplate().getName(),
+                    this.path,
+                    this.processInformation.getPreInclusions().stream().map(ProcessInclusion::getName).collect(Collectors.toList())
+            );
         }
 
-        NodeExecutor.getInstance().getCurrentNodeInformation().removeUsedMemory(this.processInformation.getProcessDetail().getMaxMemory());
+        if (!this.processInformation.getProcessGroup().isStaticProcess()) {
+            IOUtils.deleteDirectory(this.path);
+        }
+    }
+
+    private void unregister() {
+        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProcessScreenController.class).unregisterScreen(
+                this.processInformation.getProcessDetail().getProcessUniqueID()
+        );
+        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).publishProcessUnregister(this.processInformation);
     }
 
     private @NotNull String[] getShutdownCommands() {
@@ -315,6 +381,13 @@ public class DefaultNodeLocalProcessWrapper extends DefaultNodeRemoteProcessWrap
         return this.process != null;
     }
 
+    /**
+     * @return If the process of this wrapper was asked to stop but did not exit yet
+     */
+    public boolean isStopping() {
+        return this.stopping;
+    }
+
     public @NotNull Optional<Process> getProcess() {
         return Optional.ofNullable(this.process);
     }
@@ -33,31 +33,31 @@ import systems.reformcloud.reformcloud2.executor.api.language.LanguageManager;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
 import systems.reformcloud.reformcloud2.executor.api.provider.ProcessProvider;
+import systems.reformcloud.reformcloud2.executor.api.task.Task;
 import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
 import systems.reformcloud.reformcloud2.executor.api.wrappers.ProcessWrapper;
 import systems.reformcloud.reformcloud2.node.NodeExecutor;
 import systems.reformcloud.reformcloud2.node.cluster.ClusterManager;
+import systems.reformcloud.reformcloud2.shared.player.PlayerLocationIndex;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public final class DefaultNodeProcessProvider implements ProcessProvider {
 
-    private final Collection<DefaultNodeRemoteProcessWrapper> processes = new CopyOnWriteArrayList<>();
+    private final ProcessRegistry registry = new ProcessRegistry();
+    private final PlayerLocationIndex playerLocationIndex = new PlayerLocationIndex();
 
     @NotNull
     @Override
     public Optional<ProcessWrapper> getProcessByName(@NotNull String name) {
-        return Optional.ofNullable(Streams.filter(this.processes, process -> process.getProcessInformation().getProcessDetail().getName().equals(name)));
+        return Optional.ofNullable(this.registry.getByName(name));
     }
 
     @NotNull
     @Override
     public Optional<ProcessWrapper> getProcessByUniqueId(@NotNull UUID uniqueId) {
-        return Optional.ofNullable(Streams.filter(this.processes, process -> process.getProcessInformation().getProcessDetail().getProcessUniqueID().equals(uniqueId)));
+        return Optional.ofNullable(this.registry.getByUniqueId(uniqueId));
     }
 
     @NotNull
@@ -69,17 +69,13 @@ public final class DefaultNodeProcessProvider implements ProcessProvider {
     @NotNull
     @Override
     public @UnmodifiableView Collection<ProcessInformation> getProcesses() {
-        return Streams.map(this.processes, ProcessWrapper::getProcessInformation);
+        return Streams.map(this.registry.getProcesses(), ProcessWrapper::getProcessInformation);
     }
 
     @NotNull
     @Override
     public @UnmodifiableView Collection<ProcessInformation> getProcessesByProcessGroup(@NotNull String processGroup) {
-        return Streams.newCollection(
-                this.processes,
-                process -> process.getProcessInformation().getProcessGroup().getName().equals(processGroup),
-                ProcessWrapper::getProcessInformation
-        );
+        return Streams.map(this.registry.getByProcessGroup(processGroup), ProcessWrapper::getProcessInformation);
     }
 
     @NotNull
@@ -89,7 +85,9 @@ public final class DefaultNodeProcessProvider implements ProcessProvider {
                 .map(group -> {
                     Collection<ProcessInformation> result = new ArrayList<>();
                     for (String subGroup : group.getSubGroups()) {
-                        result.addAll(this.getProcessesByProcessGroup(subGroup));
+                        for (DefaultNodeRemoteProcessWrapper process : this.registry.getByProcessGroup(subGroup)) {
+                            result.add(process.getProcessInformation());
+                        }
                     }
 
                     return result;
@@ -100,26 +98,48 @@ public final class DefaultNodeProcessProvider implements ProcessProvider {
     @Override
     public @UnmodifiableView Collection<ProcessInformation> getProcessesByVersion(@NotNull Version version) {
         return Streams.newCollection(
-                this.processes,
+                this.registry.getProcesses(),
                 process -> process.getProcessInformation().getProcessDetail().getTemplate().getVersion() == version,
                 ProcessWrapper::getProcessInformation
         );
     }
 
+    /**
+     * Get all processes which are running on the given node.
+     *
+     * @param nodeUniqueId The unique id of the node
+     * @return All processes which are running on the node
+     */
+    @NotNull
+    public @UnmodifiableView Collection<ProcessInformation> getProcessesByNode(@NotNull UUID nodeUniqueId) {
+        return Streams.map(this.registry.getByNode(nodeUniqueId), ProcessWrapper::getProcessInformation);
+    }
+
+    /**
+     * Get all processes which are currently in the given state.
+     *
+     * @param state The state of the processes
+     * @return All processes which are in the given state
+     */
+    @NotNull
+    public @UnmodifiableView Collection<ProcessInformation> getProcessesByState(@NotNull ProcessState state) {
+        return Streams.map(this.registry.getByState(state), ProcessWrapper::getProcessInformation);
+    }
+
     @NotNull
     @Override
     public @UnmodifiableView Collection<UUID> getProcessUniqueIds() {
-        return Streams.map(this.processes, processWrapper -> processWrapper.getProcessInformation().getProcessDetail().getProcessUniqueID());
+        return Streams.map(this.registry.getProcesses(), processWrapper -> processWrapper.getProcessInformation().getProcessDetail().getProcessUniqueID());
     }
 
     @Override
     public long getProcessCount() {
-        return this.processes.size();
+        return this.registry.getProcesses().size();
     }
 
     @Override
     public long getProcessCount(@NotNull String processGroup) {
-        return Streams.count(this.processes, process -> process.getProcessInformation().getProcessGroup().getName().equals(processGroup));
+        return this.registry.getByProcessGroup(processGroup).size();
     }
 
     @Override
@@ -129,62 +149,73 @@ public final class DefaultNodeProcessProvider implements ProcessProvider {
     }
 
     public void registerProcess(@NotNull ProcessInformation processInformation) {
+        DefaultNodeRemoteProcessWrapper wrapper;
         if (processInformation.getProcessDetail().getParentUniqueID().equals(NodeExecutor.getInstance().getNodeConfig().getUniqueID())) {
-            this.processes.add(new DefaultNodeLocalProcessWrapper(processInformation));
+            wrapper = new DefaultNodeLocalProcessWrapper(processInformation);
         } else {
-            this.processes.add(new DefaultNodeRemoteProcessWrapper(processInformation));
+            wrapper = new DefaultNodeRemoteProcessWrapper(processInformation);
         }
-    }
 
-    public void unregisterProcess(@NotNull String name) {
-        this.processes.removeIf(process -> process.getProcessInformation().getProcessDetail().getName().equals(name));
+        synchronized (this.registry) {
+            this.registry.register(wrapper);
+            this.indexPlayers(processInformation);
+        }
     }
 
-    public @NotNull Collection<DefaultNodeLocalProcessWrapper> getProcessWrappers() {
-        Collection<DefaultNodeLocalProcessWrapper> wrappers = new CopyOnWriteArrayList<>();
-        for (DefaultNodeRemoteProcessWrapper process : this.processes) {
-            if (process instanceof DefaultNodeLocalProcessWrapper) {
-                wrappers.add((DefaultNodeLocalProcessWrapper) process);
+    public void unregisterProcess(@NotNull String name) {
+        // the registry is locked to prevent a concurrent update from indexing the players of the removed process again
+        synchronized (this.registry) {
+            DefaultNodeRemoteProcessWrapper process = this.registry.unregister(name);
+            if (process != null) {
+                this.playerLocationIndex.removeProcess(process.getProcessInformation().getProcessDetail().getProcessUniqueID());
             }
         }
+    }
 
-        return wrappers;
+    public @NotNull PlayerLocationIndex getPlayerLocationIndex() {
+        return this.playerLocationIndex;
     }
 
-    public @NotNull Optional<DefaultNodeLocalProcessWrapper> getProcessWrapperByUniqueId(@NotNull UUID uniqueId) {
-        for (DefaultNodeLocalProcessWrapper processWrapper : this.getProcessWrappers()) {
-            if (processWrapper.getProcessInformation().getProcessDetail().getProcessUniqueID().equals(uniqueId)) {
-                return Optional.of(processWrapper);
-            }
-        }
+    public @NotNull @UnmodifiableView Collection<DefaultNodeLocalProcessWrapper> getProcessWrappers() {
+        return this.registry.getLocalProcesses();
+    }
 
-        return Optional.empty();
+    public @NotNull Optional<DefaultNodeLocalProcessWrapper> getProcessWrapperByUniqueId(@NotNull UUID uniqueId) {
+        DefaultNodeRemoteProcessWrapper process = this.registry.getByUniqueId(uniqueId);
+        return process instanceof DefaultNodeLocalProcessWrapper ? Optional.of((DefaultNodeLocalProcessWrapper) process) : Optional.empty();
     }
 
     public void closeNow() {
-        ExecutorService executorService = Executors.newFixedThreadPool((this.processes.size() / 2) + 1);
+        Collection<Task<Void>> stopTasks = new ArrayList<>();
         for (DefaultNodeLocalProcessWrapper processWrapper : this.getProcessWrappers()) {
-            executorService.submit(() -> {
-                System.out.println(LanguageManager.get("application-stop-process", processWrapper.getProcessInformation().getProcessDetail().getName()));
-                processWrapper.setRuntimeState(ProcessState.STOPPED);
-            });
+            System.out.println(LanguageManager.get("application-stop-process", processWrapper.getProcessInformation().getProcessDetail().getName()));
+            stopTasks.add(processWrapper.setRuntimeStateAsync(ProcessState.STOPPED));
         }
 
-        try {
-            executorService.shutdown();
-            executorService.awaitTermination(2, TimeUnit.MINUTES);
-        } catch (InterruptedException exception) {
-            exception.printStackTrace();
+        long end = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2);
+        for (Task<Void> stopTask : stopTasks) {
+            long remaining = end - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+
+            stopTask.getUninterruptedly(TimeUnit.MILLISECONDS, remaining);
         }
     }
 
     public void updateProcessInformation0(@NotNull ProcessInformation processInformation) {
-        DefaultNodeRemoteProcessWrapper old = Streams.filter(
-                this.processes,
-                process -> process.getProcessInformation().getProcessDetail().getProcessUniqueID().equals(processInformation.getProcessDetail().getProcessUniqueID())
-        );
-        if (old != null) {
-            old.setProcessInformation(processInformation);
+        synchronized (this.registry) {
+            if (this.registry.update(processInformation)) {
+                this.indexPlayers(processInformation);
+            }
         }
     }
+
+    private void indexPlayers(@NotNull ProcessInformation processInformation) {
+        this.playerLocationIndex.updateProcess(
+                processInformation.getProcessDetail().getProcessUniqueID(),
+                processInformation.getProcessDetail().getTemplate().isServer(),
+                processInformation.getProcessPlayerManager().getOnlinePlayers()
+        );
+    }
 }
@@ -126,7 +126,9 @@ public class DefaultNodeRemoteProcessWrapper implements ProcessWrapper {
 
         return ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(QueryManager.class).sendPacketQuery(
                 networkChannel,
-                packet
+                packet,
+                5,
+                TimeUnit.SECONDS
         ).getUninterruptedly(TimeUnit.SECONDS, 5);
     }
 }
@@ -31,6 +31,7 @@ import systems.reformcloud.reformcloud2.executor.api.groups.template.backend.Tem
 import systems.reformcloud.reformcloud2.executor.api.groups.template.inclusion.Inclusion;
 import systems.reformcloud.reformcloud2.executor.api.io.DownloadHelper;
 import systems.reformcloud.reformcloud2.executor.api.io.IOUtils;
+import systems.reformcloud.reformcloud2.executor.api.io.TemplateFileStore;
 import systems.reformcloud.reformcloud2.executor.api.process.NetworkInfo;
 import systems.reformcloud.reformcloud2.executor.api.utility.NetworkAddress;
 import systems.reformcloud.reformcloud2.executor.api.utility.PortUtil;
@@ -43,16 +44,20 @@ import java.io.*;
 import java.net.Inet6Address;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.Properties;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 
 public final class EnvironmentBuilder {
 
+    private static final Map<String, Boolean> VALID_ICONS = new ConcurrentHashMap<>();
+
     private EnvironmentBuilder() {
         throw new AssertionError("You should not instantiate the class");
     }
@@ -65,42 +70,72 @@ public final class EnvironmentBuilder {
      * @param connectionKey  The connection key generated for the process
      */
     static void constructEnvFor(@NotNull DefaultNodeLocalProcessWrapper runningProcess, boolean firstStart, @NotNull String connectionKey) {
-        NetworkInfo networkInfo = runningProcess.getProcessInformation().getNetworkInfo();
-        networkInfo.setPort(PortUtil.checkPort(networkInfo.getPort()));
-
-        if (!runningProcess.getProcessInformation().getProcessGroup().isStaticProcess() || firstStart) {
-            loadTemplateInclusions(runningProcess, Inclusion.InclusionLoadType.PRE);
-            loadPathInclusions(runningProcess, Inclusion.InclusionLoadType.PRE);
-            initGlobalTemplateAndCurrentTemplate(runningProcess);
-        }
-
-        ProcessUtil.loadInclusions(runningProcess.getPath(), runningProcess.getProcessInformation().getPreInclusions());
-        if (!runningProcess.getProcessInformation().getProcessGroup().isStaticProcess() || firstStart) {
-            loadTemplateInclusions(runningProcess, Inclusion.InclusionLoadType.PAST);
-            loadPathInclusions(runningProcess, Inclusion.InclusionLoadType.PAST);
-        }
-
-        if (!Files.exists(Paths.get("reformcloud/files/runner.jar"))) {
-            DownloadHelper.downloadAndDisconnect(StringUtil.RUNNER_DOWNLOAD_URL, "reformcloud/files/runner.jar");
-        }
+        boolean loadTemplates = !runningProcess.getProcessInformation().getProcessGroup().isStaticProcess() || firstStart;
+        EnvironmentSteps steps = new EnvironmentSteps(runningProcess.getProcessInformation().getProcessDetail().getName());
 
-        IOUtils.createDirectory(Paths.get(runningProcess.getPath() + "/plugins"));
-        IOUtils.doCopy("reformcloud/files/runner.jar", runningProcess.getPath() + "/runner.jar");
-        IOUtils.doOverrideInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/embedded.jar", runningProcess.getPath() + "/plugins/executor.jar");
+        CompletableFuture<Void> port = steps.step("port", () -> {
+            NetworkInfo networkInfo = runningProcess.getProcessInformation().getNetworkInfo();
+            networkInfo.setPort(PortUtil.checkPort(networkInfo.getPort()));
+        });
+        CompletableFuture<Void> runnerDownload = steps.step("runner-download", () -> {
+            if (!Files.exists(Paths.get("reformcloud/files/runner.jar"))) {
+                DownloadHelper.downloadAndDisconnect(StringUtil.RUNNER_DOWNLOAD_URL, "reformcloud/files/runner.jar");
+            }
+        });
+        CompletableFuture<Void> inclusionDownload = steps.step("inclusion-download",
+                () -> ProcessUtil.downloadInclusions(runningProcess.getProcessInformation().getPreInclusions()));
+
+        // the templates and inclusions override each other, they have to be loaded in order
+        CompletableFuture<Void> preTemplates = steps.step("pre-templates", () -> {
+            if (loadTemplates) {
+                loadTemplateInclusions(runningProcess, Inclusion.InclusionLoadType.PRE);
+                loadPathInclusions(runningProcess, Inclusion.InclusionLoadType.PRE);
+                initGlobalTemplateAndCurrentTemplate(runningProcess);
+            }
+        });
+        CompletableFuture<Void> inclusions = steps.step("inclusions",
+                () -> ProcessUtil.copyInclusions(runningProcess.getPath(), runningProcess.getProcessInformation().getPreInclusions()),
+                preTemplates, inclusionDownload);
+        CompletableFuture<Void> templates = steps.step("past-templates", () -> {
+            if (loadTemplates) {
+                loadTemplateInclusions(runningProcess, Inclusion.InclusionLoadType.PAST);
+                loadPathInclusions(runningProcess, Inclusion.InclusionLoadType.PAST);
+            }
+        }, inclusions);
 
-        NetworkAddress connectHost = NodeExecutor.getInstance().getAnyAddress();
-        new JsonConfiguration()
-                .add("host", connectHost.getHost())
-                .add("port", connectHost.getPort())
-                .add("key", connectionKey)
-                .add("startInfo", runningProcess.getProcessInformation())
-                .write(runningProcess.getPath() + "/.reformcloud/config.json");
+        steps.step("runner", () -> {
+            try {
+                TemplateFileStore.getDefault().materialize(Paths.get("reformcloud/files/runner.jar"), Paths.get(runningProcess.getPath() + "/runner.jar"));
+            } catch (final IOException ex) {
+                ex.printStackTrace();
+            }
+        }, templates, runnerDownload);
+        steps.step("executor", () -> {
+            IOUtils.createDirectory(Paths.get(runningProcess.getPath() + "/plugins"));
+            IOUtils.doOverrideInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/embedded.jar", runningProcess.getPath() + "/plugins/executor.jar");
+        }, templates);
+        steps.step("cloud-config", () -> {
+            NetworkAddress connectHost = NodeExecutor.getInstance().getAnyAddress();
+            new JsonConfiguration()
+                    .add("host", connectHost.getHost())
+                    .add("port", connectHost.getPort())
+                    .add("key", connectionKey)
+                    .add("startInfo", runningProcess.getProcessInformation())
+                    .write(runningProcess.getPath() + "/.reformcloud/config.json");
+        }, templates, port);
 
         if (runningProcess.getProcessInformation().getProcessDetail().getTemplate().isServer()) {
-            serverStartup(runningProcess);
+            steps.step("server-config", () -> serverStartup(runningProcess), templates, port);
         } else {
-            proxyStartup(runningProcess);
+            steps.step("server-icon", () -> validateServerIcon(runningProcess), templates);
+            steps.step("proxy-config", () -> proxyStartup(runningProcess), templates, port);
         }
+
+        if (!isLogicallySpongeForge(runningProcess)) {
+            steps.step("version", () -> downloadVersion(runningProcess), templates);
+        }
+
+        steps.await();
     }
 
     private static void serverStartup(@NotNull DefaultNodeLocalProcessWrapper runningProcess) {
@@ -119,7 +154,7 @@ public final class EnvironmentBuilder {
                 IOUtils.deleteFile(new File(fileName));
             }
 
-            IOUtils.copyDirectory(Paths.get(destPath + "/mods"), Paths.get(runningProcess.getPath() + "/mods"));
+            TemplateFileStore.getDefault().materializeDirectory(Paths.get(destPath + "/mods"), Paths.get(runningProcess.getPath() + "/mods"));
         }
 
         if (isLogicallyGlowstone(runningProcess)) {
@@ -179,42 +214,58 @@ public final class EnvironmentBuilder {
                 ex.printStackTrace();
             }
         }
+    }
 
-        if (!isLogicallySpongeForge(runningProcess) && !Files.exists(Paths.get(runningProcess.getPath() + "/process.jar"))) {
-            Version version = runningProcess.getProcessInformation().getProcessDetail().getTemplate().getVersion();
-            if (!Files.exists(Paths.get("reformcloud/files/" + Version.format(version)))) {
-                Version.downloadVersion(version);
-            }
+    private static void proxyStartup(@NotNull DefaultNodeLocalProcessWrapper runningProcess) {
+        if (isLogicallyBungee(runningProcess)) {
+            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/java/bungee/internal-bungeecord-config.yml", runningProcess.getPath() + "/config.yml");
+            rewriteBungeeConfig(runningProcess);
+        } else if (isLogicallyWaterDog(runningProcess)) {
+            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/mcpe/waterdog/internal-waterdog-config.yml", runningProcess.getPath() + "/config.yml");
+            rewriteWaterDogConfig(runningProcess);
+        } else if (runningProcess.getProcessInformation().getProcessDetail().getTemplate().getVersion().equals(Version.VELOCITY)) {
+            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/java/velocity/velocity.toml", runningProcess.getPath() + "/velocity.toml");
+            rewriteVelocityConfig(runningProcess);
         }
     }
 
-    private static void proxyStartup(@NotNull DefaultNodeLocalProcessWrapper runningProcess) {
-        if (!Files.exists(Paths.get(runningProcess.getPath() + "/server-icon.png"))) {
-            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/server-icon.png", runningProcess.getPath() + "/server-icon.png");
+    private static void validateServerIcon(@NotNull DefaultNodeLocalProcessWrapper runningProcess) {
+        Path icon = Paths.get(runningProcess.getPath() + "/server-icon.png");
+        if (!Files.exists(icon)) {
+            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/server-icon.png", icon.toString());
         }
 
         try {
-            BufferedImage bufferedImage = ImageIO.read(Paths.get(runningProcess.getPath() + "/server-icon.png").toFile());
-            if (bufferedImage.getHeight() != 64 || bufferedImage.getWidth() != 64) {
+            byte[] content = Files.readAllBytes(icon);
+            String digest = digest(content);
+            Boolean valid = VALID_ICONS.get(digest);
+            if (valid == null) {
+                // the icon only gets decoded once for every version of it which is used by a template
+                BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(content));
+                valid = bufferedImage != null && bufferedImage.getHeight() == 64 && bufferedImage.getWidth() == 64;
+                VALID_ICONS.put(digest, valid);
+            }
+
+            if (!valid) {
                 System.err.println("The server icon of the process " + runningProcess.getProcessInformation().getProcessDetail().getName() + " is not correctly sized");
-                IOUtils.rename(Paths.get(runningProcess.getPath() + "/server-icon.png").toFile(), runningProcess.getPath() + "/server-icon-old.png");
-                IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/server-icon.png", runningProcess.getPath() + "/server-icon.png");
+                IOUtils.rename(icon.toFile(), runningProcess.getPath() + "/server-icon-old.png");
+                IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/server-icon.png", icon.toString());
             }
         } catch (final IOException ex) {
             ex.printStackTrace();
         }
+    }
 
-        if (isLogicallyBungee(runningProcess)) {
-            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/java/bungee/internal-bungeecord-config.yml", runningProcess.getPath() + "/config.yml");
-            rewriteBungeeConfig(runningProcess);
-        } else if (isLogicallyWaterDog(runningProcess)) {
-            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/mcpe/waterdog/internal-waterdog-config.yml", runningProcess.getPath() + "/config.yml");
-            rewriteWaterDogConfig(runningProcess);
-        } else if (runningProcess.getProcessInformation().getProcessDetail().getTemplate().getVersion().equals(Version.VELOCITY)) {
-            IOUtils.doInternalCopy(EnvironmentBuilder.class.getClassLoader(), "files/java/velocity/velocity.toml", runningProcess.getPath() + "/velocity.toml");
-            rewriteVelocityConfig(runningProcess);
+    @NotNull
+    private static String digest(byte[] content) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
         }
+    }
 
+    private static void downloadVersion(@NotNull DefaultNodeLocalProcessWrapper runningProcess) {
         if (!Files.exists(Paths.get(runningProcess.getPath() + "/process.jar"))) {
             Version version = runningProcess.getProcessInformation().getProcessDetail().getTemplate().getVersion();
             if (!Files.exists(Paths.get("reformcloud/files/" + Version.format(version)))) {
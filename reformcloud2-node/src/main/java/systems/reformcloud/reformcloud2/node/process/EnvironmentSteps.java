@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.process;
+
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent.FastNettyThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The steps to build the environment of a process. A step runs on the shared environment pool as soon as
+ * all steps it depends on are completed, so steps which are independent from each other run concurrently.
+ */
+final class EnvironmentSteps {
+
+    private static final int THREADS = Integer.getInteger("systems.reformcloud.environment-threads", Math.max(4, Runtime.getRuntime().availableProcessors()));
+    private static final long SLOW_THRESHOLD = Long.getLong("systems.reformcloud.environment-slow-threshold-millis", 10_000);
+    private static final boolean DEBUG = Boolean.getBoolean("systems.reformcloud.debug-environment");
+
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            THREADS, THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new FastNettyThreadFactory("Environment Builder Thread #%d")
+    );
+
+    static {
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final String processName;
+    private final long start = System.nanoTime();
+    private final Collection<CompletableFuture<Void>> steps = new ArrayList<>();
+    // the time each step took in the order the steps were declared
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+
+    EnvironmentSteps(@NotNull String processName) {
+        this.processName = processName;
+    }
+
+    @NotNull
+    CompletableFuture<Void> step(@NotNull String name, @NotNull Runnable action, @NotNull CompletableFuture<?>... dependencies) {
+        synchronized (this.timings) {
+            this.timings.put(name, -1L);
+        }
+
+        CompletableFuture<Void> step = CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+            long stepStart = System.nanoTime();
+            try {
+                action.run();
+            } finally {
+                synchronized (this.timings) {
+                    this.timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stepStart));
+                }
+            }
+        }, EXECUTOR);
+        this.steps.add(step);
+        return step;
+    }
+
+    /**
+     * Waits for all steps to complete. If a step failed its exception is thrown, the steps depending on it
+     * are not executed.
+     */
+    void await() {
+        try {
+            CompletableFuture.allOf(this.steps.toArray(new CompletableFuture[0])).join();
+        } catch (final CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+
+            if (exception.getCause() instanceof Error) {
+                throw (Error) exception.getCause();
+            }
+
+            throw exception;
+        } finally {
+            this.logTimings();
+        }
+    }
+
+    private void logTimings() {
+        long total = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start);
+        if (!DEBUG && total < SLOW_THRESHOLD) {
+            return;
+        }
+
+        StringJoiner joiner = new StringJoiner(", ");
+        synchronized (this.timings) {
+            for (Map.Entry<String, Long> entry : this.timings.entrySet()) {
+                joiner.add(entry.getKey() + " " + (entry.getValue() < 0 ? "skipped" : entry.getValue() + "ms"));
+            }
+        }
+
+        System.out.println("Built environment of " + this.processName + " in " + total + "ms (" + joiner + ")");
+    }
+}
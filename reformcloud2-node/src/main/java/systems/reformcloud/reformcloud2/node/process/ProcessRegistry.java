@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.process;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds all processes of the cluster indexed by their unique id and name and secondary by their process
+ * group, node and state. Lookups are lock free and return immutable snapshots, changes are serialized
+ * on the registry. Updating a process only touches the indexes whose key changed.
+ */
+final class ProcessRegistry {
+
+    private final Map<UUID, DefaultNodeRemoteProcessWrapper> byUniqueId = new ConcurrentHashMap<>();
+    private final Map<String, DefaultNodeRemoteProcessWrapper> byName = new ConcurrentHashMap<>();
+    private final Map<String, List<DefaultNodeRemoteProcessWrapper>> byProcessGroup = new ConcurrentHashMap<>();
+    private final Map<UUID, List<DefaultNodeRemoteProcessWrapper>> byNode = new ConcurrentHashMap<>();
+    private final Map<ProcessState, List<DefaultNodeRemoteProcessWrapper>> byState = new ConcurrentHashMap<>();
+    // the keys under which a process is currently indexed, the process information may be changed in place
+    private final Map<UUID, IndexKeys> indexKeys = new HashMap<>();
+
+    private volatile List<DefaultNodeRemoteProcessWrapper> processes = Collections.emptyList();
+    private volatile List<DefaultNodeLocalProcessWrapper> localProcesses = Collections.emptyList();
+
+    synchronized void register(@NotNull DefaultNodeRemoteProcessWrapper wrapper) {
+        UUID uniqueId = wrapper.getProcessInformation().getProcessDetail().getProcessUniqueID();
+        if (this.byUniqueId.containsKey(uniqueId)) {
+            this.update(wrapper.getProcessInformation());
+            return;
+        }
+
+        IndexKeys keys = new IndexKeys(wrapper.getProcessInformation());
+        this.byUniqueId.put(uniqueId, wrapper);
+        this.byName.put(keys.name, wrapper);
+        add(this.byProcessGroup, keys.processGroup, wrapper);
+        add(this.byNode, keys.node, wrapper);
+        add(this.byState, keys.state, wrapper);
+        this.indexKeys.put(uniqueId, keys);
+
+        this.processes = append(this.processes, wrapper);
+        if (wrapper instanceof DefaultNodeLocalProcessWrapper) {
+            this.localProcesses = append(this.localProcesses, (DefaultNodeLocalProcessWrapper) wrapper);
+        }
+    }
+
+    synchronized boolean update(@NotNull ProcessInformation processInformation) {
+        UUID uniqueId = processInformation.getProcessDetail().getProcessUniqueID();
+        DefaultNodeRemoteProcessWrapper wrapper = this.byUniqueId.get(uniqueId);
+        if (wrapper == null) {
+            return false;
+        }
+
+        wrapper.setProcessInformation(processInformation);
+
+        IndexKeys old = this.indexKeys.get(uniqueId);
+        IndexKeys keys = new IndexKeys(processInformation);
+        if (!old.name.equals(keys.name)) {
+            this.byName.remove(old.name, wrapper);
+            this.byName.put(keys.name, wrapper);
+        }
+
+        move(this.byProcessGroup, old.processGroup, keys.processGroup, wrapper);
+        move(this.byNode, old.node, keys.node, wrapper);
+        move(this.byState, old.state, keys.state, wrapper);
+        this.indexKeys.put(uniqueId, keys);
+        return true;
+    }
+
+    @Nullable
+    synchronized DefaultNodeRemoteProcessWrapper unregister(@NotNull String name) {
+        DefaultNodeRemoteProcessWrapper wrapper = this.byName.get(name);
+        if (wrapper == null) {
+            return null;
+        }
+
+        UUID uniqueId = wrapper.getProcessInformation().getProcessDetail().getProcessUniqueID();
+        IndexKeys keys = this.indexKeys.remove(uniqueId);
+
+        this.byUniqueId.remove(uniqueId);
+        this.byName.remove(keys.name, wrapper);
+        remove(this.byProcessGroup, keys.processGroup, wrapper);
+        remove(this.byNode, keys.node, wrapper);
+        remove(this.byState, keys.state, wrapper);
+
+        this.processes = without(this.processes, wrapper);
+        if (wrapper instanceof DefaultNodeLocalProcessWrapper) {
+            this.localProcesses = without(this.localProcesses, (DefaultNodeLocalProcessWrapper) wrapper);
+        }
+
+        return wrapper;
+    }
+
+    @Nullable
+    DefaultNodeRemoteProcessWrapper getByUniqueId(@NotNull UUID uniqueId) {
+        return this.byUniqueId.get(uniqueId);
+    }
+
+    @Nullable
+    DefaultNodeRemoteProcessWrapper getByName(@NotNull String name) {
+        return this.byName.get(name);
+    }
+
+    @NotNull
+    List<DefaultNodeRemoteProcessWrapper> getByProcessGroup(@NotNull String processGroup) {
+        return this.byProcessGroup.getOrDefault(processGroup, Collections.emptyList());
+    }
+
+    @NotNull
+    List<DefaultNodeRemoteProcessWrapper> getByNode(@NotNull UUID node) {
+        return this.byNode.getOrDefault(node, Collections.emptyList());
+    }
+
+    @NotNull
+    List<DefaultNodeRemoteProcessWrapper> getByState(@NotNull ProcessState state) {
+        return this.byState.getOrDefault(state, Collections.emptyList());
+    }
+
+    @NotNull
+    List<DefaultNodeRemoteProcessWrapper> getProcesses() {
+        return this.processes;
+    }
+
+    @NotNull
+    List<DefaultNodeLocalProcessWrapper> getLocalProcesses() {
+        return this.localProcesses;
+    }
+
+    private static <K> void move(@NotNull Map<K, List<DefaultNodeRemoteProcessWrapper>> index, @NotNull K from, @NotNull K to,
+                                 @NotNull DefaultNodeRemoteProcessWrapper wrapper) {
+        if (!from.equals(to)) {
+            remove(index, from, wrapper);
+            add(index, to, wrapper);
+        }
+    }
+
+    private static <K> void add(@NotNull Map<K, List<DefaultNodeRemoteProcessWrapper>> index, @NotNull K key,
+                                @NotNull DefaultNodeRemoteProcessWrapper wrapper) {
+        index.put(key, append(index.getOrDefault(key, Collections.emptyList()), wrapper));
+    }
+
+    private static <K> void remove(@NotNull Map<K, List<DefaultNodeRemoteProcessWrapper>> index, @NotNull K key,
+                                   @NotNull DefaultNodeRemoteProcessWrapper wrapper) {
+        List<DefaultNodeRemoteProcessWrapper> wrappers = without(index.getOrDefault(key, Collections.emptyList()), wrapper);
+        if (wrappers.isEmpty()) {
+            index.remove(key);
+        } else {
+            index.put(key, wrappers);
+        }
+    }
+
+    @NotNull
+    private static <T> List<T> append(@NotNull List<T> list, @NotNull T element) {
+        List<T> result = new ArrayList<>(list.size() + 1);
+        result.addAll(list);
+        result.add(element);
+        return Collections.unmodifiableList(result);
+    }
+
+    @NotNull
+    private static <T> List<T> without(@NotNull List<T> list, @NotNull T element) {
+        List<T> result = new ArrayList<>(list);
+        result.remove(element);
+        return Collections.unmodifiableList(result);
+    }
+
+    private static final class IndexKeys {
+
+        private IndexKeys(ProcessInformation processInformation) {
+            this.name = processInformation.getProcessDetail().getName();
+            this.processGroup = processInformation.getProcessGroup().getName();
+            this.node = processInformation.getProcessDetail().getParentUniqueID();
+            this.state = processInformation.getProcessDetail().getProcessState();
+        }
+
+        private final String name;
+        private final String processGroup;
+        private final UUID node;
+        private final ProcessState state;
+    }
+}
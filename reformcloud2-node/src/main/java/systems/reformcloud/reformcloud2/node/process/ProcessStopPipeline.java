@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.process;
+
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.concurrent.FastNettyThreadFactory;
+import systems.reformcloud.reformcloud2.executor.api.task.Task;
+import systems.reformcloud.reformcloud2.executor.api.task.defaults.DefaultTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops local processes without blocking the caller. Each stop sends the shutdown commands to the process,
+ * asks the process to terminate if it did not exit within the grace period and kills it forcefully if it is
+ * still alive after the kill period. Only a limited amount of processes shut down at the same time, the others
+ * wait in a queue. The watcher polls the processes because {@code Process#onExit()} is not available on java 8.
+ */
+final class ProcessStopPipeline {
+
+    private static final int CONCURRENT_STOPS = Integer.getInteger("systems.reformcloud.concurrent-process-stops", 8);
+    private static final int CLEANUP_THREADS = Integer.getInteger("systems.reformcloud.process-cleanup-threads", 4);
+    private static final long GRACE_PERIOD = Long.getLong("systems.reformcloud.process-stop-grace-millis", 5_000);
+    private static final long KILL_PERIOD = Long.getLong("systems.reformcloud.process-stop-kill-millis", 10_000);
+    private static final long POLL_INTERVAL = 100;
+
+    private static final ScheduledThreadPoolExecutor WATCHER = new ScheduledThreadPoolExecutor(
+            1, new FastNettyThreadFactory("Process Stop Watcher #%d")
+    );
+    private static final ThreadPoolExecutor CLEANUP = new ThreadPoolExecutor(
+            CLEANUP_THREADS, CLEANUP_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new FastNettyThreadFactory("Process Cleanup Thread #%d")
+    );
+
+    private static final Object LOCK = new Object();
+    private static final Queue<Stop> QUEUED = new ArrayDeque<>();
+    private static final Collection<Stop> ACTIVE = new ArrayList<>();
+    private static boolean scheduled;
+
+    static {
+        WATCHER.setKeepAliveTime(60, TimeUnit.SECONDS);
+        WATCHER.allowCoreThreadTimeOut(true);
+        CLEANUP.allowCoreThreadTimeOut(true);
+    }
+
+    private ProcessStopPipeline() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Queues the stop of the given process.
+     *
+     * @param process          The process to stop
+     * @param shutdownCommands The commands which should get sent to the process to shut it down gracefully
+     * @return A task completed as soon as the process exited
+     */
+    @NotNull
+    static Task<Void> stop(@NotNull Process process, @NotNull String[] shutdownCommands) {
+        Stop stop = new Stop(process, shutdownCommands);
+        synchronized (LOCK) {
+            QUEUED.add(stop);
+            schedule();
+        }
+
+        return stop.task;
+    }
+
+    /**
+     * Runs the given cleanup action on the cleanup pool.
+     *
+     * @param cleanup The cleanup action to run
+     * @return A task completed after the cleanup action ran
+     */
+    @NotNull
+    static Task<Void> cleanup(@NotNull Runnable cleanup) {
+        Task<Void> task = new DefaultTask<>();
+        CLEANUP.execute(() -> {
+            try {
+                cleanup.run();
+            } catch (Throwable throwable) {
+                throwable.printStackTrace();
+            } finally {
+                task.complete(null);
+            }
+        });
+        return task;
+    }
+
+    private static void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            WATCHER.schedule(ProcessStopPipeline::tick, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void tick() {
+        Collection<Stop> exited = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (LOCK) {
+            // processes which exited on their own do not need a slot
+            for (Iterator<Stop> iterator = QUEUED.iterator(); iterator.hasNext(); ) {
+                Stop stop = iterator.next();
+                if (!stop.process.isAlive()) {
+                    iterator.remove();
+                    exited.add(stop);
+                }
+            }
+
+            while (ACTIVE.size() < CONCURRENT_STOPS && !QUEUED.isEmpty()) {
+                Stop stop = QUEUED.poll();
+                stop.begin(now);
+                ACTIVE.add(stop);
+            }
+
+            for (Iterator<Stop> iterator = ACTIVE.iterator(); iterator.hasNext(); ) {
+                Stop stop = iterator.next();
+                if (stop.advance(now)) {
+                    iterator.remove();
+                    exited.add(stop);
+                }
+            }
+
+            scheduled = false;
+            if (!QUEUED.isEmpty() || !ACTIVE.isEmpty()) {
+                schedule();
+            }
+        }
+
+        for (Stop stop : exited) {
+            stop.task.complete(null);
+        }
+    }
+
+    private static final class Stop {
+
+        private final Process process;
+        private final String[] shutdownCommands;
+        private final Task<Void> task = new DefaultTask<>();
+
+        private Stage stage = Stage.QUEUED;
+        private long deadline;
+
+        private Stop(Process process, String[] shutdownCommands) {
+            this.process = process;
+            this.shutdownCommands = shutdownCommands;
+        }
+
+        private void begin(long now) {
+            this.stage = Stage.GRACEFUL;
+            this.deadline = now + GRACE_PERIOD;
+
+            OutputStream outputStream = this.process.getOutputStream();
+            for (String shutdownCommand : this.shutdownCommands) {
+                try {
+                    outputStream.write((shutdownCommand + "\n").getBytes(StandardCharsets.UTF_8));
+                    outputStream.flush();
+                } catch (IOException ignored) {
+                    // Ignore - pipe may be closed already
+                }
+            }
+        }
+
+        private boolean advance(long now) {
+            if (!this.process.isAlive()) {
+                return true;
+            }
+
+            if (now < this.deadline) {
+                return false;
+            }
+
+            if (this.stage == Stage.GRACEFUL) {
+                this.stage = Stage.TERMINATING;
+                this.deadline = now + KILL_PERIOD;
+                this.process.destroy();
+            } else {
+                this.stage = Stage.KILLED;
+                this.deadline = Long.MAX_VALUE;
+                this.process.destroyForcibly();
+            }
+
+            return false;
+        }
+    }
+
+    private enum Stage {
+        QUEUED,
+        GRACEFUL,
+        TERMINATING,
+        KILLED
+    }
+}
@@ -119,7 +119,7 @@ final class ProcessUtil {
         }
     }
 
-    static void loadInclusions(@NotNull Path processPath, @NotNull Collection<ProcessInclusion> inclusions) {
+    static void downloadInclusions(@NotNull Collection<ProcessInclusion> inclusions) {
         inclusions.forEach(inclusion -> {
             Path target = Paths.get("reformcloud/files/inclusions", inclusion.getName());
             if (Files.exists(target)) {
@@ -143,7 +143,9 @@ final class ProcessUtil {
                     }
             );
         });
+    }
 
+    static void copyInclusions(@NotNull Path processPath, @NotNull Collection<ProcessInclusion> inclusions) {
         inclusions.forEach(inclusion -> {
             Path path = Paths.get("reformcloud/files/inclusions", inclusion.getName());
             if (Files.notExists(path)) {
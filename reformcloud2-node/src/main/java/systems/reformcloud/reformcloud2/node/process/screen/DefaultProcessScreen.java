@@ -33,15 +33,14 @@ import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
 import systems.reformcloud.reformcloud2.node.NodeExecutor;
 import systems.reformcloud.reformcloud2.node.process.DefaultNodeLocalProcessWrapper;
 import systems.reformcloud.reformcloud2.node.protocol.NodeToNodeProcessScreenLines;
+import systems.reformcloud.reformcloud2.shared.process.ConsoleOutputPump;
+import systems.reformcloud.reformcloud2.shared.process.ConsoleRingBuffer;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -56,12 +55,11 @@ public class DefaultProcessScreen implements ProcessScreen {
     private final Collection<String> listeningNodes = new CopyOnWriteArrayList<>();
     private final Lock readLock = new ReentrantLock();
 
-    private final Queue<String> cachedLogLines = new ConcurrentLinkedQueue<>();
-    private final StringBuffer stringBuffer = new StringBuffer();
-    private final byte[] buffer = new byte[1024];
-
+    private final ConsoleRingBuffer ringBuffer = new ConsoleRingBuffer(Integer.getInteger("systems.reformcloud.screen-buffer-size", 128 * 1024));
     private final int maxCacheSize = Integer.getInteger("systems.reformcloud.screen-cache-max-size", 256);
 
+    private long readPosition;
+
     @Override
     public @NotNull ProcessInformation getTargetProcess() {
         return this.processWrapper.getProcessInformation();
@@ -69,7 +67,7 @@ public class DefaultProcessScreen implements ProcessScreen {
 
     @Override
     public @NotNull Queue<String> getCachedLogLines() {
-        return this.cachedLogLines;
+        return this.ringBuffer.getLastLines(this.maxCacheSize);
     }
 
     @Override
@@ -88,63 +86,35 @@ public class DefaultProcessScreen implements ProcessScreen {
     }
 
     @Override
-    public void tick() {
-        try {
-            this.readLock.lock();
-            this.tick0();
-        } finally {
-            this.readLock.unlock();
-        }
-    }
-
-    private void tick0() {
-        this.processWrapper.getProcess().ifPresent(process -> {
-            Collection<String> lines = this.readInputStream(process.getInputStream());
-            this.printLines(lines);
-            lines = this.readInputStream(process.getErrorStream());
-            this.printLines(lines);
-        });
+    public void connect(@NotNull Process process) {
+        // the error stream of the process is redirected into the input stream
+        ConsoleOutputPump.start(
+                "Process screen - " + this.processWrapper.getProcessInformation().getProcessDetail().getName(),
+                process.getInputStream(),
+                this.ringBuffer,
+                this::publishLines
+        );
     }
 
-    private @NotNull Collection<String> readInputStream(@NotNull InputStream inputStream) {
+    private void publishLines() {
+        List<String> lines;
         try {
-            int length;
-            while (inputStream.available() > 0 && (length = inputStream.read(this.buffer, 0, this.buffer.length)) != -1) {
-                this.stringBuffer.append(new String(this.buffer, 0, length, StandardCharsets.UTF_8));
-            }
-
-            String string = this.stringBuffer.toString();
-            if (!string.contains("\n") && !string.contains("\r")) {
-                return Collections.emptyList();
-            }
-
-            Collection<String> lines = new ArrayList<>();
-            for (String s : string.split("\r")) {
-                for (String s1 : s.split("\n")) {
-                    if (!s1.trim().isEmpty()) {
-                        this.cache(s1);
-                        lines.add(s1);
-                    }
-                }
+            this.readLock.lock();
+            if (this.listeningNodes.isEmpty()) {
+                // nobody is watching, skip the output without decoding it
+                this.readPosition = this.ringBuffer.getLinePosition();
+                return;
             }
 
-            this.stringBuffer.setLength(0);
-            return lines;
-        } catch (IOException exception) {
-            if (exception.getMessage() == null || !exception.getMessage().equals("Stream closed")) {
-                exception.printStackTrace();
-            }
+            lines = new ArrayList<>();
+            this.readPosition = this.ringBuffer.readLines(this.readPosition, lines);
+        } finally {
+            this.readLock.unlock();
         }
 
-        return Collections.emptyList();
-    }
-
-    private void cache(@NotNull String text) {
-        while (this.cachedLogLines.size() > this.maxCacheSize) {
-            this.cachedLogLines.poll();
+        if (!lines.isEmpty()) {
+            this.printLines(lines);
         }
-
-        this.cachedLogLines.add(text);
     }
 
     private void printLines(@NotNull Collection<String> lines) {
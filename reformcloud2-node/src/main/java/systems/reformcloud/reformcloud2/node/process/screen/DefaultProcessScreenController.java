@@ -52,9 +52,4 @@ public class DefaultProcessScreenController implements ProcessScreenController {
     public void unregisterScreen(@NotNull UUID processUniqueId) {
         this.processScreens.remove(processUniqueId);
     }
-
-    @Override
-    public void tick() {
-        this.processScreens.values().forEach(ProcessScreen::tick);
-    }
 }
@@ -43,5 +43,10 @@ public interface ProcessScreen {
 
     void removeListeningNode(@NotNull String name);
 
-    void tick();
+    /**
+     * Starts to drain the console output of the given process, replacing the previous process.
+     *
+     * @param process the process started for the target process
+     */
+    void connect(@NotNull Process process);
 }
@@ -37,6 +37,4 @@ public interface ProcessScreenController {
     @NotNull Optional<ProcessScreen> getScreen(@NotNull UUID processUniqueId);
 
     void unregisterScreen(@NotNull UUID processUniqueId);
-
-    void tick();
 }
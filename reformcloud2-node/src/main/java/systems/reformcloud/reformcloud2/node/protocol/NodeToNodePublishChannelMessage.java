@@ -66,12 +66,12 @@ public class NodeToNodePublishChannelMessage extends ProtocolPacket {
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeString(this.channel);
-        buffer.writeArray(this.data.toPrettyBytes());
+        buffer.writeJsonConfiguration(this.data);
     }
 
     @Override
     public void read(@NotNull ProtocolBuffer buffer) {
         this.channel = buffer.readString();
-        this.data = new JsonConfiguration(buffer.readArray());
+        this.data = buffer.readJsonConfiguration();
     }
 }
@@ -30,7 +30,7 @@ import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
-import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDelta;
 import systems.reformcloud.reformcloud2.node.cluster.ClusterManager;
 import systems.reformcloud.reformcloud2.protocol.ProtocolPacket;
 
@@ -39,11 +39,11 @@ public class NodeToNodeUpdateProcess extends ProtocolPacket {
     public NodeToNodeUpdateProcess() {
     }
 
-    public NodeToNodeUpdateProcess(ProcessInformation processInformation) {
-        this.processInformation = processInformation;
+    public NodeToNodeUpdateProcess(ProcessInformationDelta delta) {
+        this.delta = delta;
     }
 
-    private ProcessInformation processInformation;
+    private ProcessInformationDelta delta;
 
     @Override
     public int getId() {
@@ -52,16 +52,16 @@ public class NodeToNodeUpdateProcess extends ProtocolPacket {
 
     @Override
     public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
-        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).handleProcessUpdate(this.processInformation);
+        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ClusterManager.class).handleProcessUpdate(channel, this.delta);
     }
 
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
-        buffer.writeObject(this.processInformation);
+        buffer.writeObject(this.delta);
     }
 
     @Override
     public void read(@NotNull ProtocolBuffer buffer) {
-        this.processInformation = buffer.readObject(ProcessInformation.class);
+        this.delta = buffer.readObject(ProcessInformationDelta.class);
     }
 }
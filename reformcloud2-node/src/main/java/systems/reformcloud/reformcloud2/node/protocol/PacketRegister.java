@@ -55,6 +55,7 @@ public final class PacketRegister {
         packetProvider.registerPacket(NodeToNodePublishChannelMessage.class);
         packetProvider.registerPacket(NodeToNodeRegisterProcess.class);
         packetProvider.registerPacket(NodeToNodeRequestNodeInformationUpdate.class);
+        packetProvider.registerPacket(NodeToNodeRequestProcessInformationSnapshot.class);
         packetProvider.registerPacket(NodeToNodeRequestProcessUpdate.class);
         packetProvider.registerPacket(NodeToNodeSendPlayerMessage.class);
         packetProvider.registerPacket(NodeToNodeSendPlayerTitle.class);
@@ -68,6 +69,7 @@ public final class PacketRegister {
         packetProvider.registerPacket(NodeToNodeTabCompleteCommand.class);
         packetProvider.registerPacket(NodeToNodeToggleProcessScreen.class);
         packetProvider.registerPacket(NodeToNodeUnregisterProcess.class);
+        packetProvider.registerPacket(NodeToNodeUpdateChannelSubscriptions.class);
         packetProvider.registerPacket(NodeToNodeUpdateMainGroup.class);
         packetProvider.registerPacket(NodeToNodeUpdateNodeInformation.class);
         packetProvider.registerPacket(NodeToNodeUpdateProcess.class);
@@ -126,12 +128,15 @@ public final class PacketRegister {
         packetProvider.registerPacket(ApiToNodePublishNodeChannelMessage.class);
         packetProvider.registerPacket(ApiToNodeRemoveDocumentFromTable.class);
         packetProvider.registerPacket(ApiToNodeRequestNodeInformationUpdate.class);
+        packetProvider.registerPacket(ApiToNodeRequestProcessInformationSnapshot.class);
         packetProvider.registerPacket(ApiToNodeRequestProcessInformationUpdate.class);
         packetProvider.registerPacket(ApiToNodeSendChannelMessageToProcess.class);
         packetProvider.registerPacket(ApiToNodeSendChannelMessageToProcessGroup.class);
         packetProvider.registerPacket(ApiToNodeSendGlobalChannelMessage.class);
         packetProvider.registerPacket(ApiToNodeSendProcessCommand.class);
         packetProvider.registerPacket(ApiToNodeSetProcessRuntimeState.class);
+        packetProvider.registerPacket(ApiToNodeSubscribeDatabaseTable.class);
+        packetProvider.registerPacket(ApiToNodeUpdateChannelSubscriptions.class);
         packetProvider.registerPacket(ApiToNodeUpdateDocumentInTable.class);
         packetProvider.registerPacket(ApiToNodeUpdateMainGroup.class);
         packetProvider.registerPacket(ApiToNodeUpdateProcessGroup.class);
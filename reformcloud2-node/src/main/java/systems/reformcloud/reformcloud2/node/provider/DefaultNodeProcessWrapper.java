@@ -63,7 +63,7 @@ public class DefaultNodeProcessWrapper implements NodeProcessWrapper {
         }
 
         Packet packet = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(QueryManager.class)
-                .sendPacketQuery(channel.get(), new NodeToNodeRequestNodeInformationUpdate())
+                .sendPacketQuery(channel.get(), new NodeToNodeRequestNodeInformationUpdate(), 5, TimeUnit.SECONDS)
                 .getUninterruptedly(TimeUnit.SECONDS, 5);
         if (!(packet instanceof NodeToNodeRequestNodeInformationUpdateResult)) {
             return Optional.empty();
@@ -81,7 +81,7 @@ public class DefaultNodeProcessWrapper implements NodeProcessWrapper {
         }
 
         Packet packet = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(QueryManager.class)
-                .sendPacketQuery(channel.get(), new NodeToNodeProcessCommand(commandLine))
+                .sendPacketQuery(channel.get(), new NodeToNodeProcessCommand(commandLine), 5, TimeUnit.SECONDS)
                 .getUninterruptedly(TimeUnit.SECONDS, 5);
         if (!(packet instanceof NodeToNodeProcessCommandResult)) {
             return Collections.emptyList();
@@ -99,7 +99,7 @@ public class DefaultNodeProcessWrapper implements NodeProcessWrapper {
         }
 
         Packet packet = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(QueryManager.class)
-                .sendPacketQuery(channel.get(), new NodeToNodeTabCompleteCommand(commandLine))
+                .sendPacketQuery(channel.get(), new NodeToNodeTabCompleteCommand(commandLine), 5, TimeUnit.SECONDS)
                 .getUninterruptedly(TimeUnit.SECONDS, 5);
         if (!(packet instanceof NodeToNodeTabCompleteCommandResult)) {
             return Collections.emptyList();
@@ -53,27 +53,34 @@ public class AutoStartRunnable implements Runnable {
             }
 
             Collection<ProcessInformation> processes = ExecutorAPI.getInstance().getProcessProvider().getProcessesByProcessGroup(processGroup.getName());
-            int runningProcesses = Streams.allOf(processes, e -> e.getProcessDetail().getProcessState().isStartedOrOnline()).size();
+            int runningProcesses = Streams.allOf(processes, e -> !e.isStandby() && e.getProcessDetail().getProcessState().isStartedOrOnline()).size();
             if (processGroup.getStartupConfiguration().getMinOnlineProcesses() > runningProcesses
                     && (processGroup.getStartupConfiguration().getMaxOnlineProcesses() == -1
                     || processGroup.getStartupConfiguration().getMaxOnlineProcesses() > runningProcesses)) {
                 startPreparedOfGroup(processes, processGroup);
             }
 
-            int prepared = Streams.allOf(processes, e -> e.getProcessDetail().getProcessState() == ProcessState.PREPARED).size();
+            int prepared = Streams.allOf(processes, e -> !e.isStandby() && e.getProcessDetail().getProcessState() == ProcessState.PREPARED).size();
             if (processGroup.getStartupConfiguration().getAlwaysPreparedProcesses() > prepared) {
                 ExecutorAPI.getInstance().getProcessProvider().createProcess().group(processGroup).prepare();
                 System.out.println(LanguageManager.get("process-preparing-new-process", processGroup.getName()));
             }
+
+            StandbyProcesses.refill(processes, processGroup);
         }
     }
 
     static void startPreparedOfGroup(@NotNull Collection<ProcessInformation> processes, @NotNull ProcessGroup processGroup) {
-        ProcessInformation prepared = Streams.filter(processes, e -> e.getProcessDetail().getProcessState() == ProcessState.PREPARED);
+        if (StandbyProcesses.claim(processes, processGroup)) {
+            return;
+        }
+
+        ProcessInformation prepared = Streams.filter(processes, e -> !e.isStandby() && e.getProcessDetail().getProcessState() == ProcessState.PREPARED);
         if (prepared != null) {
             Optional<ProcessWrapper> processWrapper = ExecutorAPI.getInstance().getProcessProvider()
                     .getProcessByUniqueId(prepared.getProcessDetail().getProcessUniqueID());
             if (processWrapper.isPresent()) {
+                ProcessStartLatency.requested(prepared.getProcessDetail().getProcessUniqueID(), false);
                 processWrapper.get().setRuntimeState(ProcessState.STARTED);
                 System.out.println(LanguageManager.get("process-start-process", processGroup.getName()));
             } else {
@@ -82,6 +89,7 @@ public class AutoStartRunnable implements Runnable {
                         .prepare()
                         .getNow(null);
                 if (wrapper != null) {
+                    ProcessStartLatency.requested(wrapper.getProcessInformation().getProcessDetail().getProcessUniqueID(), false);
                     wrapper.setRuntimeState(ProcessState.STARTED);
                     System.out.println(LanguageManager.get("process-start-process", processGroup.getName()));
                 }
@@ -92,6 +100,7 @@ public class AutoStartRunnable implements Runnable {
                     .prepare()
                     .getNow(null);
             if (wrapper != null) {
+                ProcessStartLatency.requested(wrapper.getProcessInformation().getProcessDetail().getProcessUniqueID(), false);
                 wrapper.setRuntimeState(ProcessState.STARTED);
                 System.out.println(LanguageManager.get("process-start-process", processGroup.getName()));
             }
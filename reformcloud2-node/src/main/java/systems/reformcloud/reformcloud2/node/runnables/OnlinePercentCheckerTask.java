@@ -28,6 +28,7 @@ import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
 import systems.reformcloud.reformcloud2.executor.api.groups.utils.AutomaticStartupConfiguration;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
 
 import java.util.Collection;
 import java.util.Map;
@@ -56,7 +57,8 @@ public class OnlinePercentCheckerTask implements Runnable {
                 continue;
             }
 
-            Collection<ProcessInformation> processes = ExecutorAPI.getInstance().getProcessProvider().getProcessesByProcessGroup(processGroup.getName());
+            Collection<ProcessInformation> all = ExecutorAPI.getInstance().getProcessProvider().getProcessesByProcessGroup(processGroup.getName());
+            Collection<ProcessInformation> processes = Streams.allOf(all, process -> !process.isStandby());
             if (processes.isEmpty()) {
                 this.checkGroups.put(processGroup.getName(), configuration.getCheckIntervalInSeconds());
                 continue;
@@ -75,7 +77,7 @@ public class OnlinePercentCheckerTask implements Runnable {
                 continue;
             }
 
-            AutoStartRunnable.startPreparedOfGroup(processes, processGroup);
+            AutoStartRunnable.startPreparedOfGroup(all, processGroup);
             this.checkGroups.put(processGroup.getName(), configuration.getCheckIntervalInSeconds());
         }
     }
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.runnables;
+
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.event.events.process.ProcessUnregisterEvent;
+import systems.reformcloud.reformcloud2.executor.api.event.events.process.ProcessUpdateEvent;
+import systems.reformcloud.reformcloud2.executor.api.event.handler.Listener;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the time from the request to start a process until the process is ready to accept players,
+ * separately for claimed standby processes and processes which had to boot. A claimed standby process
+ * counts as ready once the node published its new state, a booted one once it reported itself ready.
+ */
+public final class ProcessStartLatency {
+
+    private static final boolean DEBUG = Boolean.getBoolean("systems.reformcloud.debug-process-start-latency");
+    private static final Map<UUID, Request> REQUESTS = new ConcurrentHashMap<>();
+    private static final Statistics STANDBY = new Statistics();
+    private static final Statistics BOOTED = new Statistics();
+
+    static void requested(@NotNull UUID processUniqueId, boolean standby) {
+        REQUESTS.putIfAbsent(processUniqueId, new Request(System.nanoTime(), standby));
+    }
+
+    static void ready(@NotNull UUID processUniqueId, @NotNull String processName) {
+        Request request = REQUESTS.remove(processUniqueId);
+        if (request == null) {
+            return;
+        }
+
+        long nanos = System.nanoTime() - request.time;
+        Statistics statistics = request.standby ? STANDBY : BOOTED;
+        statistics.record(nanos);
+
+        if (DEBUG) {
+            System.out.println(String.format(
+                    "Process %s is ready %d ms after the start request (%s, average of %d starts: %d ms)",
+                    processName,
+                    TimeUnit.NANOSECONDS.toMillis(nanos),
+                    request.standby ? "standby" : "booted",
+                    statistics.count.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(statistics.getAverageNanos())
+            ));
+        }
+    }
+
+    @Listener
+    public void handle(@NotNull ProcessUpdateEvent event) {
+        ProcessInformation processInformation = event.getProcessInformation();
+        if (processInformation.getProcessDetail().getProcessState() == ProcessState.READY && processInformation.getNetworkInfo().isConnected()) {
+            ready(processInformation.getProcessDetail().getProcessUniqueID(), processInformation.getProcessDetail().getName());
+        }
+    }
+
+    @Listener
+    public void handle(@NotNull ProcessUnregisterEvent event) {
+        REQUESTS.remove(event.getProcessInformation().getProcessDetail().getProcessUniqueID());
+    }
+
+    private static final class Request {
+
+        private final long time;
+        private final boolean standby;
+
+        private Request(long time, boolean standby) {
+            this.time = time;
+            this.standby = standby;
+        }
+    }
+
+    private static final class Statistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        private void record(long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+        }
+
+        private long getAverageNanos() {
+            long count = this.count.sum();
+            return count == 0 ? 0 : this.totalNanos.sum() / count;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.runnables;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
+import systems.reformcloud.reformcloud2.executor.api.language.LanguageManager;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
+import systems.reformcloud.reformcloud2.node.NodeExecutor;
+import systems.reformcloud.reformcloud2.node.factory.MemoryCalculator;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an opt-in pool of processes per group which are already booted and connected to the node
+ * but hidden from players. Claiming one of them only flips the state of the process which is much
+ * faster than launching and booting a new jvm on demand.
+ */
+final class StandbyProcesses {
+
+    private static final int STANDBY_PROCESSES = Integer.getInteger("systems.reformcloud.standby-processes", 0);
+    private static final Set<String> PENDING = ConcurrentHashMap.newKeySet();
+
+    private StandbyProcesses() {
+        throw new UnsupportedOperationException();
+    }
+
+    static boolean claim(@NotNull Collection<ProcessInformation> processes, @NotNull ProcessGroup processGroup) {
+        ProcessInformation process = findClaimable(processes);
+        if (process == null) {
+            return false;
+        }
+
+        ProcessStartLatency.requested(process.getProcessDetail().getProcessUniqueID(), true);
+
+        process.getExtra().remove(ProcessInformation.STANDBY_KEY);
+        process.getProcessDetail().setInitialState(ProcessState.READY);
+        process.getProcessDetail().setProcessState(ProcessState.READY);
+        ExecutorAPI.getInstance().getProcessProvider().updateProcessInformation(process);
+
+        System.out.println(LanguageManager.get("process-start-process", processGroup.getName()));
+        return true;
+    }
+
+    static void refill(@NotNull Collection<ProcessInformation> processes, @NotNull ProcessGroup processGroup) {
+        if (!needsStandbyProcess(processes, processGroup, getStandbyTarget(processGroup))) {
+            return;
+        }
+
+        if (!NodeExecutor.getInstance().canStartProcesses(estimateMemory(processGroup)) || !PENDING.add(processGroup.getName())) {
+            return;
+        }
+
+        ExecutorAPI.getInstance().getProcessProvider().createProcess()
+                .group(processGroup)
+                .node(NodeExecutor.getInstance().getCurrentNodeInformation().getName())
+                .initialState(ProcessState.INVISIBLE)
+                .extra(new JsonConfiguration().add(ProcessInformation.STANDBY_KEY, true))
+                .prepare()
+                .onComplete(wrapper -> {
+                    PENDING.remove(processGroup.getName());
+                    if (wrapper != null) {
+                        wrapper.setRuntimeState(ProcessState.STARTED);
+                    }
+                })
+                .onFailure(exception -> PENDING.remove(processGroup.getName()));
+    }
+
+    @Nullable
+    static ProcessInformation findClaimable(@NotNull Collection<ProcessInformation> processes) {
+        for (ProcessInformation process : processes) {
+            if (process.isStandby()
+                    && process.getNetworkInfo().isConnected()
+                    && process.getProcessDetail().getProcessState() == ProcessState.INVISIBLE) {
+                return process;
+            }
+        }
+
+        return null;
+    }
+
+    static boolean needsStandbyProcess(@NotNull Collection<ProcessInformation> processes, @NotNull ProcessGroup processGroup, int target) {
+        if (target <= 0 || Streams.allOf(processes, ProcessInformation::isStandby).size() >= target) {
+            return false;
+        }
+
+        int maxOnline = processGroup.getStartupConfiguration().getMaxOnlineProcesses();
+        return maxOnline == -1 || Streams.allOf(processes, e -> e.isStandby() || e.getProcessDetail().getProcessState().isStartedOrOnline()).size() < maxOnline;
+    }
+
+    static int getStandbyTarget(@NotNull ProcessGroup processGroup) {
+        if (processGroup.isStaticProcess()) {
+            return 0;
+        }
+
+        return Integer.getInteger("systems.reformcloud.standby-processes." + processGroup.getName(), STANDBY_PROCESSES);
+    }
+
+    private static int estimateMemory(@NotNull ProcessGroup processGroup) {
+        int memory = 0;
+        for (Template template : processGroup.getTemplates()) {
+            if (!template.isGlobal()) {
+                memory = Math.max(memory, MemoryCalculator.calcMemory(processGroup.getName(), template));
+            }
+        }
+
+        return memory;
+    }
+}
@@ -25,7 +25,6 @@
 package systems.reformcloud.reformcloud2.node.tick;
 
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
 import systems.reformcloud.reformcloud2.executor.api.event.EventManager;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
@@ -34,30 +33,46 @@ import systems.reformcloud.reformcloud2.node.concurrent.AsyncCatcher;
 import systems.reformcloud.reformcloud2.node.event.scheduler.SchedulerFullHeartBeatPermanentTaskExecuteEvent;
 import systems.reformcloud.reformcloud2.node.event.scheduler.SchedulerHeartBeatTaskExecuteEvent;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class TickedTaskScheduler {
 
+    private static final long TICK_TIME_BUDGET = TimeUnit.MILLISECONDS.toNanos(Integer.getInteger("systems.reformcloud.scheduler-tick-budget-millis", 25));
+    // a value of zero or less disables the warning
+    private static final long LAG_WARNING_TICKS = Long.getLong("systems.reformcloud.scheduler-lag-warning-ticks", CloudTickWorker.TPS * 5);
+    private static final long LAG_WARNING_INTERVAL_TICKS = CloudTickWorker.TPS * 60;
+
     private final Queue<TickedTaskSchedulerTask<?>> queue = new ConcurrentLinkedQueue<>();
     private final Collection<Runnable> permanentTasks = new CopyOnWriteArrayList<>();
+    // only accessed by the main thread
+    private final Deque<TickedTaskSchedulerTask<?>> dueTasks = new ArrayDeque<>();
+    private final TimingWheel timingWheel = new TimingWheel(CloudTickWorker.currentTick);
+    private final AtomicInteger queueDepth = new AtomicInteger();
 
+    private volatile long lag = 0;
     private boolean closed = false;
+    // only accessed by the main thread
+    private long lastLagWarningTick = -LAG_WARNING_INTERVAL_TICKS;
 
     @NotNull
     public <T> Task<T> queue(@NotNull Callable<T> callable) {
         Task<T> task = new DefaultTask<>();
-        this.queue.add(new TickedTaskSchedulerTask<>(task, callable, -1));
+        this.enqueue(new TickedTaskSchedulerTask<>(task, callable, -1));
         return task;
     }
 
     @NotNull
     public <T> Task<T> queue(@NotNull Callable<T> callable, int delay) {
         Task<T> task = new DefaultTask<>();
-        this.queue.add(new TickedTaskSchedulerTask<>(task, callable, CloudTickWorker.currentTick + delay));
+        this.enqueue(new TickedTaskSchedulerTask<>(task, callable, CloudTickWorker.currentTick + delay));
         return task;
     }
 
@@ -81,6 +96,20 @@ public final class TickedTaskScheduler {
         this.permanentTasks.add(runnable);
     }
 
+    /**
+     * @return The amount of tasks which are queued or waiting for their delay and were not executed yet
+     */
+    public int getQueueDepth() {
+        return this.queueDepth.get();
+    }
+
+    /**
+     * @return The amount of ticks the oldest due task was waiting for its execution after the last heart beat
+     */
+    public long getLag() {
+        return this.lag;
+    }
+
     public void close() {
         synchronized (this) {
             if (this.closed) {
@@ -98,15 +127,38 @@ public final class TickedTaskScheduler {
 
         AsyncCatcher.ensureMainThread("scheduler heart beat");
 
-        TickedTaskSchedulerTask<?> next = this.element();
-        if (next != null) {
+        long currentTick = CloudTickWorker.currentTick;
+        this.timingWheel.advanceTo(currentTick, this.dueTasks::addLast);
+
+        TickedTaskSchedulerTask<?> queued;
+        while ((queued = this.queue.poll()) != null) {
+            if (queued.getTargetTick() <= currentTick) {
+                this.dueTasks.addLast(queued);
+            } else {
+                this.timingWheel.schedule(queued);
+            }
+        }
+
+        // run at least one task per tick but stop if the time budget of the tick is exceeded
+        long deadline = System.nanoTime() + TICK_TIME_BUDGET;
+        TickedTaskSchedulerTask<?> next;
+        while ((next = this.dueTasks.pollFirst()) != null) {
+            this.queueDepth.decrementAndGet();
+
             try {
                 ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class).callEvent(new SchedulerHeartBeatTaskExecuteEvent(next));
                 next.call();
             } catch (Throwable throwable) {
                 throwable.printStackTrace();
             }
+
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
         }
+
+        TickedTaskSchedulerTask<?> oldest = this.dueTasks.peekFirst();
+        this.lag = oldest == null ? 0 : currentTick - oldest.getDueTick();
     }
 
     void fullHeartBeat() {
@@ -124,17 +176,31 @@ public final class TickedTaskScheduler {
                 throwable.printStackTrace();
             }
         }
+
+        this.warnIfLagging();
     }
 
-    private @Nullable TickedTaskSchedulerTask<?> element() {
-        for (TickedTaskSchedulerTask<?> tickedTaskSchedulerTask : this.queue) {
-            if (tickedTaskSchedulerTask.getTargetTick() < 0 || tickedTaskSchedulerTask.getTargetTick() == CloudTickWorker.currentTick) {
-                this.queue.remove(tickedTaskSchedulerTask);
-                return tickedTaskSchedulerTask;
-            }
+    private void warnIfLagging() {
+        long lag = this.getLag();
+        if (LAG_WARNING_TICKS <= 0 || lag < LAG_WARNING_TICKS) {
+            return;
         }
 
-        return null;
+        // warn at most once a minute, the lag usually lasts for several seconds
+        if (CloudTickWorker.currentTick - this.lastLagWarningTick < LAG_WARNING_INTERVAL_TICKS) {
+            return;
+        }
+
+        this.lastLagWarningTick = CloudTickWorker.currentTick;
+        System.out.println(String.format(
+                "The scheduler is %d ticks behind (%d tasks waiting), consider raising the tick budget using -Dsystems.reformcloud.scheduler-tick-budget-millis",
+                lag, this.getQueueDepth()
+        ));
+    }
+
+    private void enqueue(@NotNull TickedTaskSchedulerTask<?> task) {
+        this.queueDepth.incrementAndGet();
+        this.queue.add(task);
     }
 
     public static class TickedTaskSchedulerTask<T> {
@@ -143,17 +209,23 @@ public final class TickedTaskScheduler {
             this.task = task;
             this.callable = callable;
             this.targetTick = targetTick;
+            this.queueTick = CloudTickWorker.currentTick;
         }
 
         private final Task<T> task;
         private final Callable<T> callable;
 
         private final long targetTick;
+        private final long queueTick;
 
         public long getTargetTick() {
             return this.targetTick;
         }
 
+        long getDueTick() {
+            return Math.max(this.targetTick, this.queueTick);
+        }
+
         public void call() {
             try {
                 this.task.complete(this.callable.call());
@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.node.tick;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel which holds the delayed tasks of the {@link TickedTaskScheduler}. Every level
+ * of the wheel has 64 slots, a slot of the first level covers one tick and a slot of every following level
+ * covers all slots of the level below. Inserting a task and expiring a slot are O(1) per task. Tasks which are
+ * further in the future than the wheel can hold are kept in the last slot of the highest level and are moved
+ * down again once that slot expires.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    // java does not allow generic array creation, the raw deques are only ever filled with scheduler tasks by this class
+    @SuppressWarnings("unchecked")
+    private final Deque<TickedTaskScheduler.TickedTaskSchedulerTask<?>>[][] wheels = new Deque[LEVELS][SLOTS];
+
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long currentTick) {
+        this.currentTick = currentTick;
+    }
+
+    /**
+     * Schedules the given task in the wheel. The target tick of the task has to be after the current tick of the wheel.
+     *
+     * @param task The task to schedule
+     */
+    void schedule(@NotNull TickedTaskScheduler.TickedTaskSchedulerTask<?> task) {
+        long target = task.getTargetTick();
+        long delay = target - this.currentTick;
+        if (delay > MAX_DELAY) {
+            target = this.currentTick + MAX_DELAY;
+            delay = MAX_DELAY;
+        }
+
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+
+        int slot = (int) (target >>> (SLOT_BITS * level)) & SLOT_MASK;
+        Deque<TickedTaskScheduler.TickedTaskSchedulerTask<?>> tasks = this.wheels[level][slot];
+        if (tasks == null) {
+            this.wheels[level][slot] = tasks = new ArrayDeque<>();
+        }
+
+        tasks.addLast(task);
+        this.size++;
+    }
+
+    /**
+     * Advances the wheel to the given tick and passes all tasks which are due at or before the tick to the consumer.
+     *
+     * @param tick    The tick to advance to
+     * @param expired The consumer for all due tasks in the order they were due
+     */
+    void advanceTo(long tick, @NotNull Consumer<TickedTaskScheduler.TickedTaskSchedulerTask<?>> expired) {
+        while (this.currentTick < tick) {
+            if (this.size == 0) {
+                this.currentTick = tick;
+                return;
+            }
+
+            this.currentTick++;
+            for (int level = 1; level < LEVELS; level++) {
+                if ((this.currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+
+                this.expire(level, (int) (this.currentTick >>> (SLOT_BITS * level)) & SLOT_MASK, expired);
+            }
+
+            this.expire(0, (int) this.currentTick & SLOT_MASK, expired);
+        }
+    }
+
+    private void expire(int level, int slot, @NotNull Consumer<TickedTaskScheduler.TickedTaskSchedulerTask<?>> expired) {
+        Deque<TickedTaskScheduler.TickedTaskSchedulerTask<?>> tasks = this.wheels[level][slot];
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+
+        this.wheels[level][slot] = null;
+        this.size -= tasks.size();
+
+        for (TickedTaskScheduler.TickedTaskSchedulerTask<?> task : tasks) {
+            if (task.getTargetTick() <= this.currentTick) {
+                expired.accept(task);
+            } else {
+                this.schedule(task);
+            }
+        }
+    }
+}
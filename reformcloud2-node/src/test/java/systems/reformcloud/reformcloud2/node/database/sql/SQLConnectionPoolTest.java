@@ -0,0 +1,64 @@
+package systems.reformcloud.reformcloud2.node.database.sql;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class SQLConnectionPoolTest {
+
+    static {
+        // read once when the pool class is initialized: every connection expires on release
+        System.setProperty("systems.reformcloud.sql-connection-max-lifetime-millis", "0");
+        System.setProperty("systems.reformcloud.sql-pool-max-wait-millis", "5000");
+    }
+
+    @Test
+    void testWaitingCallerOpensConnectionAfterExpiredRelease() throws Exception {
+        SQLConnectionPool pool = new SQLConnectionPool(() -> DriverManager.getConnection("jdbc:h2:mem:pool_test;DB_CLOSE_DELAY=-1"), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            CountDownLatch borrowed = new CountDownLatch(1);
+            Future<Integer> first = executor.submit(() -> pool.execute(connection -> {
+                borrowed.countDown();
+                sleep(200);
+                return selectOne(connection);
+            }));
+
+            Assertions.assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+            // the second caller has to wait as the only connection is borrowed
+            long start = System.nanoTime();
+            Future<Integer> second = executor.submit(() -> pool.execute(SQLConnectionPoolTest::selectOne));
+
+            Assertions.assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, second.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            Assertions.assertEquals(0, pool.getOpenConnections());
+        } finally {
+            executor.shutdownNow();
+            pool.close();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int selectOne(SQLConnectionPool.PooledConnection connection) throws SQLException {
+        try (ResultSet resultSet = connection.prepareStatement("SELECT 1").executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : -1;
+        }
+    }
+}
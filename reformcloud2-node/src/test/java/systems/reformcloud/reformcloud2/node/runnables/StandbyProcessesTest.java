@@ -0,0 +1,119 @@
+package systems.reformcloud.reformcloud2.node.runnables;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.ProcessGroup;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.RuntimeConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Template;
+import systems.reformcloud.reformcloud2.executor.api.groups.template.Version;
+import systems.reformcloud.reformcloud2.executor.api.groups.utils.PlayerAccessConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.groups.utils.StartupConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.process.NetworkInfo;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.ProcessState;
+import systems.reformcloud.reformcloud2.executor.api.process.detail.ProcessDetail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+class StandbyProcessesTest {
+
+    private final Template template = new Template(0, "default", false, "FILE", "-", new RuntimeConfiguration(
+            512, new ArrayList<>(), new HashMap<>()
+    ), Version.SPIGOT_1_8);
+
+    @Test
+    void testPoolIsFilledUpToTarget() {
+        ProcessGroup group = this.createGroup("Lobby", -1, false);
+
+        Assertions.assertFalse(StandbyProcesses.needsStandbyProcess(Collections.emptyList(), group, 0));
+        Assertions.assertTrue(StandbyProcesses.needsStandbyProcess(Collections.emptyList(), group, 2));
+        Assertions.assertTrue(StandbyProcesses.needsStandbyProcess(Collections.singletonList(this.createProcess(true, ProcessState.INVISIBLE)), group, 2));
+        Assertions.assertFalse(StandbyProcesses.needsStandbyProcess(Arrays.asList(
+                this.createProcess(true, ProcessState.INVISIBLE),
+                this.createProcess(true, ProcessState.INVISIBLE)
+        ), group, 2));
+    }
+
+    @Test
+    void testPoolRespectsMaxOnlineProcesses() {
+        ProcessGroup group = this.createGroup("Lobby", 2, false);
+
+        Assertions.assertTrue(StandbyProcesses.needsStandbyProcess(Collections.singletonList(this.createProcess(false, ProcessState.READY)), group, 2));
+        Assertions.assertFalse(StandbyProcesses.needsStandbyProcess(Arrays.asList(
+                this.createProcess(false, ProcessState.READY),
+                this.createProcess(true, ProcessState.INVISIBLE)
+        ), group, 2));
+    }
+
+    @Test
+    void testPerGroupOverride() {
+        String name = "StandbyOverride-" + UUID.randomUUID();
+        System.setProperty("systems.reformcloud.standby-processes." + name, "3");
+        try {
+            Assertions.assertEquals(3, StandbyProcesses.getStandbyTarget(this.createGroup(name, -1, false)));
+            Assertions.assertEquals(0, StandbyProcesses.getStandbyTarget(this.createGroup(name, -1, true)));
+            Assertions.assertEquals(0, StandbyProcesses.getStandbyTarget(this.createGroup("Other-" + UUID.randomUUID(), -1, false)));
+        } finally {
+            System.clearProperty("systems.reformcloud.standby-processes." + name);
+        }
+    }
+
+    @Test
+    void testClaimWithEmptyPool() {
+        ProcessGroup group = this.createGroup("Lobby", -1, false);
+        List<ProcessInformation> processes = Arrays.asList(
+                this.createProcess(false, ProcessState.READY),
+                this.createProcess(false, ProcessState.PREPARED)
+        );
+
+        Assertions.assertNull(StandbyProcesses.findClaimable(Collections.emptyList()));
+        Assertions.assertNull(StandbyProcesses.findClaimable(processes));
+        Assertions.assertFalse(StandbyProcesses.claim(processes, group));
+    }
+
+    @Test
+    void testOnlyConnectedStandbyProcessesAreClaimable() {
+        ProcessInformation booting = this.createProcess(true, ProcessState.INVISIBLE);
+        booting.getNetworkInfo().setConnected(false);
+        ProcessInformation ready = this.createProcess(true, ProcessState.INVISIBLE);
+
+        Assertions.assertNull(StandbyProcesses.findClaimable(Collections.singletonList(booting)));
+        Assertions.assertSame(ready, StandbyProcesses.findClaimable(Arrays.asList(booting, ready)));
+    }
+
+    @NotNull
+    private ProcessGroup createGroup(@NotNull String name, int maxOnlineProcesses, boolean staticProcess) {
+        return new ProcessGroup(
+                name, true,
+                new StartupConfiguration(maxOnlineProcesses, 1, 25565, "java", false, new ArrayList<>()),
+                Collections.singletonList(this.template),
+                new PlayerAccessConfiguration("reformcloud.join.full", false, "reformcloud.join.maintenance", false, null, true, 50),
+                staticProcess
+        );
+    }
+
+    @NotNull
+    private ProcessInformation createProcess(boolean standby, @NotNull ProcessState state) {
+        ProcessDetail processDetail = new ProcessDetail(
+                UUID.randomUUID(), UUID.randomUUID(), "Node-1", "Lobby-1", "Lobby-1", 1, this.template, 512, state
+        );
+        processDetail.setProcessState(state);
+
+        NetworkInfo networkInfo = new NetworkInfo(25565);
+        networkInfo.setConnected(true);
+
+        JsonConfiguration extra = new JsonConfiguration();
+        if (standby) {
+            extra.add(ProcessInformation.STANDBY_KEY, true);
+        }
+
+        return new ProcessInformation(processDetail, networkInfo, this.createGroup("Lobby", -1, false), extra, new ArrayList<>());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.protocol.api;
+
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.configuration.gson.JsonConfiguration;
+import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.protocol.ProtocolPacket;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A part of the entries of a database table which are streamed to a process. The packet gets handled
+ * in the order it was received with the query results, so all chunks of a stream are received before
+ * the result of the query which requested the entries.
+ */
+public class NodeToApiDatabaseTableEntriesChunk extends ProtocolPacket {
+
+    public NodeToApiDatabaseTableEntriesChunk() {
+    }
+
+    public NodeToApiDatabaseTableEntriesChunk(UUID streamId, Collection<JsonConfiguration> entries) {
+        this.streamId = streamId;
+        this.entries = entries;
+    }
+
+    private UUID streamId;
+    private Collection<JsonConfiguration> entries;
+
+    public UUID getStreamId() {
+        return this.streamId;
+    }
+
+    public Collection<JsonConfiguration> getEntries() {
+        return this.entries;
+    }
+
+    @Override
+    public int getId() {
+        return NetworkUtil.API_BUS + 21;
+    }
+
+    @Override
+    public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        super.post(channel, NodeToApiDatabaseTableEntriesChunk.class, this);
+    }
+
+    @Override
+    public void write(@NotNull ProtocolBuffer buffer) {
+        buffer.writeUniqueId(this.streamId);
+        buffer.writeVarInt(this.entries.size());
+        for (JsonConfiguration entry : this.entries) {
+            buffer.writeJsonConfiguration(entry);
+        }
+    }
+
+    @Override
+    public void read(@NotNull ProtocolBuffer buffer) {
+        this.streamId = buffer.readUniqueId();
+        int size = buffer.readVarInt();
+        this.entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.entries.add(buffer.readJsonConfiguration());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.protocol.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.InlinePacket;
+import systems.reformcloud.reformcloud2.protocol.ProtocolPacket;
+
+/**
+ * Invalidates a cached database entry of a process. The packet gets handled in the order it was
+ * received with the query results, so a result which was read before the change can never be cached
+ * after the invalidation.
+ */
+public class NodeToApiInvalidateDatabaseEntry extends ProtocolPacket implements InlinePacket {
+
+    public NodeToApiInvalidateDatabaseEntry() {
+    }
+
+    public NodeToApiInvalidateDatabaseEntry(String tableName, @Nullable String key) {
+        this.tableName = tableName;
+        this.key = key;
+    }
+
+    private String tableName;
+    private String key;
+
+    public String getTableName() {
+        return this.tableName;
+    }
+
+    /**
+     * @return The key of the changed entry or {@code null} if the whole table changed
+     */
+    @Nullable
+    public String getKey() {
+        return this.key;
+    }
+
+    @Override
+    public int getId() {
+        return NetworkUtil.API_BUS + 20;
+    }
+
+    @Override
+    public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        super.post(channel, NodeToApiInvalidateDatabaseEntry.class, this);
+    }
+
+    @Override
+    public void write(@NotNull ProtocolBuffer buffer) {
+        buffer.writeString(this.tableName);
+        buffer.writeString(this.key);
+    }
+
+    @Override
+    public void read(@NotNull ProtocolBuffer buffer) {
+        this.tableName = buffer.readString();
+        this.key = buffer.readString();
+    }
+}
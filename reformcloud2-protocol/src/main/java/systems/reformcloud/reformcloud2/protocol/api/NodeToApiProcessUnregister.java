@@ -33,6 +33,7 @@ import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointCha
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDeltaDecoder;
 import systems.reformcloud.reformcloud2.protocol.ProtocolPacket;
 
 public class NodeToApiProcessUnregister extends ProtocolPacket {
@@ -53,6 +54,8 @@ public class NodeToApiProcessUnregister extends ProtocolPacket {
 
     @Override
     public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProcessInformationDeltaDecoder.class)
+                .remove(this.processInformation.getProcessDetail().getProcessUniqueID());
         ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class)
                 .callEvent(new ProcessUnregisterEvent(this.processInformation));
     }
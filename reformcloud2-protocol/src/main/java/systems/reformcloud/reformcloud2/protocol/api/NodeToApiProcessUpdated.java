@@ -33,18 +33,21 @@ import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointCha
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
 import systems.reformcloud.reformcloud2.executor.api.process.ProcessInformation;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDelta;
+import systems.reformcloud.reformcloud2.executor.api.process.delta.ProcessInformationDeltaDecoder;
 import systems.reformcloud.reformcloud2.protocol.ProtocolPacket;
+import systems.reformcloud.reformcloud2.protocol.node.ApiToNodeRequestProcessInformationSnapshot;
 
 public class NodeToApiProcessUpdated extends ProtocolPacket {
 
     public NodeToApiProcessUpdated() {
     }
 
-    public NodeToApiProcessUpdated(ProcessInformation processInformation) {
-        this.processInformation = processInformation;
+    public NodeToApiProcessUpdated(ProcessInformationDelta delta) {
+        this.delta = delta;
     }
 
-    private ProcessInformation processInformation;
+    private ProcessInformationDelta delta;
 
     @Override
     public int getId() {
@@ -53,17 +56,24 @@ public class NodeToApiProcessUpdated extends ProtocolPacket {
 
     @Override
     public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
-        ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class)
-                .callEvent(new ProcessUpdateEvent(this.processInformation));
+        ProcessInformation processInformation = ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(ProcessInformationDeltaDecoder.class).decode(
+                channel.getName(),
+                this.delta,
+                () -> channel.sendPacket(new ApiToNodeRequestProcessInformationSnapshot(this.delta.getProcessUniqueId()))
+        );
+        if (processInformation != null) {
+            ExecutorAPI.getInstance().getServiceRegistry().getProviderUnchecked(EventManager.class)
+                    .callEvent(new ProcessUpdateEvent(processInformation));
+        }
     }
 
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
-        buffer.writeObject(this.processInformation);
+        buffer.writeObject(this.delta);
     }
 
     @Override
     public void read(@NotNull ProtocolBuffer buffer) {
-        this.processInformation = buffer.readObject(ProcessInformation.class);
+        this.delta = buffer.readObject(ProcessInformationDelta.class);
     }
 }
@@ -32,19 +32,26 @@ import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointCha
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
 import systems.reformcloud.reformcloud2.protocol.ProtocolPacket;
+import systems.reformcloud.reformcloud2.protocol.api.NodeToApiDatabaseTableEntriesChunk;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 public class ApiToNodeGetAllTableEntries extends ProtocolPacket {
 
+    private static final int CHUNK_SIZE = Math.max(1, Integer.getInteger("systems.reformcloud.database-stream-chunk-size", 256));
+
     public ApiToNodeGetAllTableEntries() {
     }
 
-    public ApiToNodeGetAllTableEntries(String tableName) {
+    public ApiToNodeGetAllTableEntries(String tableName, UUID streamId) {
         this.tableName = tableName;
+        this.streamId = streamId;
     }
 
     private String tableName;
+    private UUID streamId;
 
     @Override
     public int getId() {
@@ -53,17 +60,27 @@ public class ApiToNodeGetAllTableEntries extends ProtocolPacket {
 
     @Override
     public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
-        Collection<JsonConfiguration> all = ExecutorAPI.getInstance().getDatabaseProvider().getDatabase(this.tableName).getAll();
-        channel.sendQueryResult(this.getQueryUniqueID(), new ApiToNodeGetAllTableEntriesResult(all));
+        // stream the entries in chunks to keep the frames small, the last chunk is sent as the query result
+        List<JsonConfiguration> chunk = new ArrayList<>();
+        ExecutorAPI.getInstance().getDatabaseProvider().getDatabase(this.tableName).forEach(entry -> {
+            chunk.add(entry);
+            if (chunk.size() >= CHUNK_SIZE) {
+                channel.sendPacket(new NodeToApiDatabaseTableEntriesChunk(this.streamId, new ArrayList<>(chunk)));
+                chunk.clear();
+            }
+        });
+        channel.sendQueryResult(this.getQueryUniqueID(), new ApiToNodeGetAllTableEntriesResult(chunk));
     }
 
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeString(this.tableName);
+        buffer.writeUniqueId(this.streamId);
     }
 
     @Override
     public void read(@NotNull ProtocolBuffer buffer) {
         this.tableName = buffer.readString();
+        this.streamId = buffer.readUniqueId();
     }
 }
@@ -57,7 +57,7 @@ public class ApiToNodeGetAllTableEntriesResult extends QueryResultPacket {
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeInt(this.all.size());
         for (JsonConfiguration configuration : this.all) {
-            buffer.writeArray(configuration.toPrettyBytes());
+            buffer.writeArray(configuration.toCompactBytes());
         }
     }
 
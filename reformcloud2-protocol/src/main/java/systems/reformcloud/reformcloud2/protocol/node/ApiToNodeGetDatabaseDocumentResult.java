@@ -56,7 +56,7 @@ public class ApiToNodeGetDatabaseDocumentResult extends QueryResultPacket {
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeBoolean(this.result != null);
         if (this.result != null) {
-            buffer.writeArray(this.result.toPrettyBytes());
+            buffer.writeArray(this.result.toCompactBytes());
         }
     }
 
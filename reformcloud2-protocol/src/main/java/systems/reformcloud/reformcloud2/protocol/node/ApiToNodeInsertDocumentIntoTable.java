@@ -65,7 +65,7 @@ public class ApiToNodeInsertDocumentIntoTable extends ProtocolPacket {
         buffer.writeString(this.tableName);
         buffer.writeString(this.key);
         buffer.writeString(this.id);
-        buffer.writeArray(this.data.toPrettyBytes());
+        buffer.writeArray(this.data.toCompactBytes());
     }
 
     @Override
@@ -127,7 +127,7 @@ public class ApiToNodePrepareProcess extends ProtocolPacket {
         buffer.writeObject(this.processGroup);
         buffer.writeObject(this.template);
         buffer.writeObjects(this.inclusions);
-        buffer.writeArray(this.extra.toPrettyBytes());
+        buffer.writeArray(this.extra.toCompactBytes());
         buffer.writeInt(this.initialState.ordinal());
         buffer.writeUniqueId(this.processUniqueId);
 
@@ -72,13 +72,13 @@ public class ApiToNodeSendChannelMessageToProcess extends ProtocolPacket {
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeUniqueId(this.targetProcess);
         buffer.writeString(this.channel);
-        buffer.writeArray(this.data.toPrettyBytes());
+        buffer.writeJsonConfiguration(this.data);
     }
 
     @Override
     public void read(@NotNull ProtocolBuffer buffer) {
         this.targetProcess = buffer.readUniqueId();
         this.channel = buffer.readString();
-        this.data = new JsonConfiguration(buffer.readArray());
+        this.data = buffer.readJsonConfiguration();
     }
 }
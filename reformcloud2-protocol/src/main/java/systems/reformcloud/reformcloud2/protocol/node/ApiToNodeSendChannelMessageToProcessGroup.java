@@ -64,13 +64,13 @@ public class ApiToNodeSendChannelMessageToProcessGroup extends ProtocolPacket {
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeString(this.processGroup);
         buffer.writeString(this.channel);
-        buffer.writeArray(this.data.toPrettyBytes());
+        buffer.writeJsonConfiguration(this.data);
     }
 
     @Override
     public void read(@NotNull ProtocolBuffer buffer) {
         this.processGroup = buffer.readString();
         this.channel = buffer.readString();
-        this.data = new JsonConfiguration(buffer.readArray());
+        this.data = buffer.readJsonConfiguration();
     }
 }
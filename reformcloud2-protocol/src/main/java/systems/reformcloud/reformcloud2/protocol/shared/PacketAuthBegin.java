@@ -72,7 +72,7 @@ public class PacketAuthBegin extends ProtocolPacket {
     public void write(@NotNull ProtocolBuffer buffer) {
         buffer.writeString(this.connectionKey);
         buffer.writeInt(this.type);
-        buffer.writeArray(this.data.toPrettyBytes());
+        buffer.writeArray(this.data.toCompactBytes());
     }
 
     @Override
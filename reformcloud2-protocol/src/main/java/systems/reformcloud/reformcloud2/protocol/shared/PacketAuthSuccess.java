@@ -58,7 +58,7 @@ public class PacketAuthSuccess extends ProtocolPacket {
 
     @Override
     public void write(@NotNull ProtocolBuffer buffer) {
-        buffer.writeArray(this.data.toPrettyBytes());
+        buffer.writeArray(this.data.toCompactBytes());
     }
 
     @Override
@@ -32,46 +32,35 @@ import systems.reformcloud.reformcloud2.executor.api.event.EventManager;
 import systems.reformcloud.reformcloud2.executor.api.event.ListenerContainer;
 import systems.reformcloud.reformcloud2.executor.api.event.handler.Listener;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
+import systems.reformcloud.reformcloud2.executor.api.utility.InstanceFactory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 public final class DefaultEventManager implements EventManager {
 
-    private static final Comparator<ListenerContainer> PRIORITY_COMPARATOR = (c1, c2) -> (c1.getPriority().getPriority() > c2.getPriority().getPriority()) ? 1 : -1;
+    private static final Comparator<ListenerContainer> PRIORITY_COMPARATOR = Comparator.comparingInt(container -> container.getPriority().getPriority());
+    private static final ListenerContainer[] NO_LISTENERS = new ListenerContainer[0];
+
     private final List<ListenerContainer> registeredListeners = new CopyOnWriteArrayList<>();
+    // the sorted listeners per event class, replaced after the registered listeners changed
+    private volatile Map<Class<?>, ListenerContainer[]> dispatchCache = new ConcurrentHashMap<>();
 
     @Nullable
     @Override
     public <T extends Event> T callEvent(@NotNull Class<? extends T> event) {
-        try {
-            return this.callEvent(event.getDeclaredConstructor().newInstance());
-        } catch (final NoSuchMethodException exception) {
-            System.err.println("Missing NoArgsConstructor in event class " + event.getName());
-        } catch (final InstantiationException | IllegalAccessException | InvocationTargetException exception) {
-            exception.printStackTrace();
-        }
-
-        return null;
+        T instance = this.newInstance(event);
+        return instance == null ? null : this.callEvent(instance);
     }
 
     @NotNull
     @Override
     public <T extends Event> T callEvent(@NotNull T event) {
-        List<ListenerContainer> containers = new ArrayList<>();
-        for (ListenerContainer registeredListener : this.registeredListeners) {
-            if (registeredListener.getTargetEventClass().equals(event.getClass())) {
-                containers.add(registeredListener);
-            }
-        }
-
-        containers.sort(PRIORITY_COMPARATOR);
-        for (ListenerContainer registeredListener : containers) {
+        for (ListenerContainer registeredListener : this.getListeners(event.getClass())) {
             try {
                 registeredListener.call(event);
             } catch (final InvocationTargetException | IllegalAccessException exception) {
@@ -86,12 +75,21 @@ public final class DefaultEventManager implements EventManager {
     @NotNull
     @Override
     public <T extends Event> Task<T> callEventAsync(@NotNull Class<? extends T> event) {
+        if (this.getListeners(event).length == 0) {
+            return Task.completedTask(this.newInstance(event));
+        }
+
         return Task.supply(() -> this.callEvent(event));
     }
 
     @NotNull
     @Override
     public <T extends Event> Task<T> callEventAsync(@NotNull T event) {
+        // there is nothing to wait for if no listener handles the event
+        if (this.getListeners(event.getClass()).length == 0) {
+            return Task.completedTask(event);
+        }
+
         return Task.supply(() -> this.callEvent(event));
     }
 
@@ -117,9 +115,16 @@ public final class DefaultEventManager implements EventManager {
                 continue;
             }
 
-            ListenerContainer container = new DefaultListenerContainer(parameters[0], listener, declaredMethod, annotation.priority());
-            this.registeredListeners.add(container);
+            try {
+                ListenerContainer container = new DefaultListenerContainer(parameters[0], listener, declaredMethod, annotation.priority());
+                this.registeredListeners.add(container);
+            } catch (final IllegalAccessException | RuntimeException exception) {
+                System.err.println("Unable to register listener method " + declaredMethod.getName() + "@" + listener.getClass().getName());
+                exception.printStackTrace();
+            }
         }
+
+        this.invalidateDispatchCache();
     }
 
     @Override
@@ -136,11 +141,13 @@ public final class DefaultEventManager implements EventManager {
     @Override
     public void unregisterListener(@NotNull Object listener) {
         this.registeredListeners.removeIf(listenerContainer -> listenerContainer.getListenerInstance() == listener);
+        this.invalidateDispatchCache();
     }
 
     @Override
     public void unregisterAll() {
         this.registeredListeners.clear();
+        this.invalidateDispatchCache();
     }
 
     @NotNull
@@ -148,4 +155,48 @@ public final class DefaultEventManager implements EventManager {
     public @UnmodifiableView List<ListenerContainer> getListeners() {
         return Collections.unmodifiableList(this.registeredListeners);
     }
+
+    @NotNull
+    private ListenerContainer[] getListeners(@NotNull Class<?> eventClass) {
+        return this.dispatchCache.computeIfAbsent(eventClass, this::resolveListeners);
+    }
+
+    @NotNull
+    private ListenerContainer[] resolveListeners(@NotNull Class<?> eventClass) {
+        List<ListenerContainer> containers = new ArrayList<>();
+        for (ListenerContainer registeredListener : this.registeredListeners) {
+            if (registeredListener.getTargetEventClass().isAssignableFrom(eventClass)) {
+                containers.add(registeredListener);
+            }
+        }
+
+        if (containers.isEmpty()) {
+            return NO_LISTENERS;
+        }
+
+        // the sort is stable, listeners with the same priority are called in the order they were registered
+        containers.sort(PRIORITY_COMPARATOR);
+        return containers.toArray(NO_LISTENERS);
+    }
+
+    // a new cache is published after the listeners changed, so a resolve can never be cached based on an old listener list
+    private void invalidateDispatchCache() {
+        this.dispatchCache = new ConcurrentHashMap<>();
+    }
+
+    @Nullable
+    private <T extends Event> T newInstance(@NotNull Class<? extends T> event) {
+        Supplier<? extends T> factory = InstanceFactory.getFactory(event);
+        if (factory == null) {
+            System.err.println("Missing NoArgsConstructor in event class " + event.getName());
+            return null;
+        }
+
+        try {
+            return factory.get();
+        } catch (final RuntimeException exception) {
+            exception.printStackTrace();
+            return null;
+        }
+    }
 }
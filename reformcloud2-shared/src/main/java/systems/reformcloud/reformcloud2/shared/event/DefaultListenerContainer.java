@@ -36,16 +36,14 @@ public final class DefaultListenerContainer implements ListenerContainer {
 
     private final Class<?> eventClassTarget;
     private final Object listenerInstance;
-    private final Method method;
+    private final ListenerInvoker invoker;
     private final EventPriority priority;
 
-    DefaultListenerContainer(Class<?> eventClassTarget, Object listenerInstance, Method method, EventPriority priority) {
+    DefaultListenerContainer(Class<?> eventClassTarget, Object listenerInstance, Method method, EventPriority priority) throws IllegalAccessException {
         this.eventClassTarget = eventClassTarget;
         this.listenerInstance = listenerInstance;
-        this.method = method;
+        this.invoker = ListenerInvoker.create(method);
         this.priority = priority;
-
-        this.method.setAccessible(true);
     }
 
     @NotNull
@@ -67,7 +65,11 @@ public final class DefaultListenerContainer implements ListenerContainer {
     }
 
     @Override
-    public void call(@NotNull Event event) throws InvocationTargetException, IllegalAccessException {
-        this.method.invoke(this.listenerInstance, event);
+    public void call(@NotNull Event event) throws InvocationTargetException {
+        try {
+            this.invoker.invoke(this.listenerInstance, event);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
     }
 }
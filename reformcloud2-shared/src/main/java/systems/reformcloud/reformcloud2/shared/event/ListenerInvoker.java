@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.shared.event;
+
+import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.event.Event;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokes a listener method. The invoker is generated once when the listener gets registered, using a
+ * lambda calling the method directly if the listener is accessible from here, otherwise a method handle
+ * bound to the signature of the invoker.
+ */
+@FunctionalInterface
+interface ListenerInvoker {
+
+    void invoke(@NotNull Object listener, @NotNull Event event) throws Throwable;
+
+    @NotNull
+    static ListenerInvoker create(@NotNull Method method) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        if (isPublic(method) && isVisible(method.getDeclaringClass())) {
+            try {
+                MethodHandle handle = lookup.unreflect(method);
+                CallSite callSite = LambdaMetafactory.metafactory(
+                        lookup,
+                        "invoke",
+                        MethodType.methodType(ListenerInvoker.class),
+                        MethodType.methodType(void.class, Object.class, Event.class),
+                        handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0])
+                );
+                return (ListenerInvoker) callSite.getTarget().invoke();
+            } catch (Throwable ignored) {
+                // the lambda cannot be linked against the listener, use a method handle instead
+            }
+        }
+
+        method.setAccessible(true);
+        MethodHandle handle = lookup.unreflect(method).asType(MethodType.methodType(void.class, Object.class, Event.class));
+        // a statement lambda, the call site of invokeExact has to be typed void to match the handle
+        return (listener, event) -> {
+            handle.invokeExact(listener, event);
+        };
+    }
+
+    static boolean isPublic(@NotNull Method method) {
+        if (!Modifier.isPublic(method.getModifiers())) {
+            return false;
+        }
+
+        for (Class<?> type = method.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // the generated lambda is defined next to this class and can only link against classes visible to its class loader
+    static boolean isVisible(@NotNull Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, ListenerInvoker.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false;
+        }
+    }
+}
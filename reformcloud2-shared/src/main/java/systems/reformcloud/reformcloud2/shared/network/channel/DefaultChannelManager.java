@@ -24,11 +24,15 @@
  */
 package systems.reformcloud.reformcloud2.shared.network.channel;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.manager.ChannelManager;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.serialisation.PacketSerializerEncoder;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.utility.list.Streams;
 
 import java.util.*;
@@ -78,4 +82,27 @@ public class DefaultChannelManager implements ChannelManager {
     public void unregisterChannel(@NotNull String name) {
         this.channels.remove(name);
     }
+
+    @Override
+    public void broadcastPacket(@NotNull Packet packet, @NotNull Collection<NetworkChannel> channels) {
+        if (channels.isEmpty()) {
+            return;
+        }
+
+        ByteBuf framedPacket;
+        try {
+            framedPacket = PacketSerializerEncoder.serializeFramed(ByteBufAllocator.DEFAULT, packet);
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
+            return;
+        }
+
+        try {
+            for (NetworkChannel channel : channels) {
+                channel.sendFramedPacket(framedPacket);
+            }
+        } finally {
+            framedPacket.release();
+        }
+    }
 }
@@ -24,11 +24,14 @@
  */
 package systems.reformcloud.reformcloud2.shared.network.channel;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.frame.VarInt21FrameEncoder;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 
 import java.net.InetSocketAddress;
@@ -59,6 +62,15 @@ public final class DefaultNetworkChannel implements NetworkChannel {
         }
     }
 
+    @Override
+    public void sendFramedPacket(@NotNull ByteBuf framedPacket) {
+        // write directly in front of the frame encoder, the buffer is already serialized and framed
+        ChannelHandlerContext context = this.channel.pipeline().context(VarInt21FrameEncoder.class);
+        if (context != null) {
+            context.writeAndFlush(framedPacket.retainedDuplicate(), context.voidPromise());
+        }
+    }
+
     @Override
     public void sendQueryResult(@Nullable UUID queryUniqueID, @NotNull Packet result) {
         result.setQueryUniqueID(queryUniqueID);
@@ -25,6 +25,7 @@
 package systems.reformcloud.reformcloud2.shared.network.client;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.*;
 import org.jetbrains.annotations.NotNull;
 import systems.reformcloud.reformcloud2.executor.api.CommonHelper;
@@ -66,6 +67,7 @@ public final class DefaultNetworkClient implements NetworkClient {
                 .option(ChannelOption.AUTO_READ, true)
                 .option(ChannelOption.IP_TOS, 24)
                 .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CommonHelper.longToInt(TimeUnit.SECONDS.toMillis(5)))
                 .handler(new ClientChannelInitializer(supplier))
                 .connect(host, port)
@@ -25,33 +25,41 @@
 package systems.reformcloud.reformcloud2.shared.network.packet;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.PacketProvider;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.exception.PacketAlreadyRegisteredException;
+import systems.reformcloud.reformcloud2.executor.api.utility.InstanceFactory;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.EmptyStackException;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class DefaultPacketProvider implements PacketProvider {
 
-    private final Map<Integer, Class<? extends Packet>> packetClasses = new ConcurrentHashMap<>();
+    // packet ids below this value are stored in an array, all other ids in a map
+    private static final int MAX_INDEXED_PACKET_ID = 1 << 16;
+
+    private final Map<Integer, RegisteredPacket> otherPackets = new ConcurrentHashMap<>();
+    private volatile RegisteredPacket[] indexedPackets = new RegisteredPacket[0];
 
     @Override
     public void registerPacket(@NotNull Class<? extends Packet> packetClass) throws PacketAlreadyRegisteredException {
-        this.registerPacket(this.newInstanceFromClass(packetClass));
+        this.registerPacket(new RegisteredPacket(packetClass).newInstance());
     }
 
     @Override
-    public void registerPacket(@NotNull Packet packet) throws PacketAlreadyRegisteredException {
-        Optional<Packet> packetOptional = this.getPacketById(packet.getId());
-        if (packetOptional.isPresent()) {
-            throw new PacketAlreadyRegisteredException(packet.getClass().getName(), packetOptional.get().getClass().getName(), packet.getId());
+    public synchronized void registerPacket(@NotNull Packet packet) throws PacketAlreadyRegisteredException {
+        RegisteredPacket registeredPacket = this.getRegisteredPacket(packet.getId());
+        if (registeredPacket != null) {
+            throw new PacketAlreadyRegisteredException(packet.getClass().getName(), registeredPacket.packetClass.getName(), packet.getId());
         }
 
-        this.packetClasses.put(packet.getId(), packet.getClass());
+        this.setRegisteredPacket(packet.getId(), new RegisteredPacket(packet.getClass()));
     }
 
     @Override
@@ -69,31 +77,84 @@ public class DefaultPacketProvider implements PacketProvider {
     }
 
     @Override
-    public void unregisterPacket(int id) {
-        this.packetClasses.remove(id);
+    public synchronized void unregisterPacket(int id) {
+        this.setRegisteredPacket(id, null);
     }
 
     @NotNull
     @Override
     public Optional<Packet> getPacketById(int id) {
-        Class<? extends Packet> packetClass = this.packetClasses.get(id);
-        return packetClass != null ? Optional.of(this.newInstanceFromClass(packetClass)) : Optional.empty();
+        RegisteredPacket registeredPacket = this.getRegisteredPacket(id);
+        return registeredPacket != null ? Optional.of(registeredPacket.newInstance()) : Optional.empty();
     }
 
     @Override
-    public void clearRegisteredPackets() {
-        this.packetClasses.clear();
+    public synchronized void clearRegisteredPackets() {
+        this.indexedPackets = new RegisteredPacket[0];
+        this.otherPackets.clear();
+    }
+
+    @Nullable
+    private RegisteredPacket getRegisteredPacket(int id) {
+        if (id >= 0 && id < MAX_INDEXED_PACKET_ID) {
+            RegisteredPacket[] indexedPackets = this.indexedPackets;
+            return id < indexedPackets.length ? indexedPackets[id] : null;
+        }
+
+        return this.otherPackets.get(id);
     }
 
-    private @NotNull Packet newInstanceFromClass(@NotNull Class<? extends Packet> packetClass) {
-        try {
-            return packetClass.getDeclaredConstructor().newInstance();
-        } catch (NoSuchMethodException exception) {
-            System.err.println("Unable to load packet " + packetClass.getName() + " -> NoArgsConstructor is missing");
-            System.err.println("Please report this or fix your application before running the system again");
-            throw new EmptyStackException();
-        } catch (Throwable throwable) {
-            throw new RuntimeException(throwable);
+    private void setRegisteredPacket(int id, @Nullable RegisteredPacket registeredPacket) {
+        if (id < 0 || id >= MAX_INDEXED_PACKET_ID) {
+            if (registeredPacket == null) {
+                this.otherPackets.remove(id);
+            } else {
+                this.otherPackets.put(id, registeredPacket);
+            }
+            return;
+        }
+
+        RegisteredPacket[] indexedPackets = this.indexedPackets;
+        if (id >= indexedPackets.length) {
+            if (registeredPacket == null) {
+                return;
+            }
+
+            indexedPackets = Arrays.copyOf(indexedPackets, id + 1);
+        } else {
+            indexedPackets = indexedPackets.clone();
+        }
+
+        // copy on write, the packets are read way more often than they are registered
+        indexedPackets[id] = registeredPacket;
+        this.indexedPackets = indexedPackets;
+    }
+
+    private static final class RegisteredPacket {
+
+        private final Class<? extends Packet> packetClass;
+        private final Supplier<? extends Packet> factory;
+
+        private RegisteredPacket(@NotNull Class<? extends Packet> packetClass) {
+            this.packetClass = packetClass;
+            this.factory = InstanceFactory.getFactory(packetClass);
+        }
+
+        @NotNull
+        private Packet newInstance() {
+            if (this.factory == null) {
+                System.err.println("Unable to load packet " + this.packetClass.getName() + " -> NoArgsConstructor is missing");
+                System.err.println("Please report this or fix your application before running the system again");
+                throw new EmptyStackException();
+            }
+
+            try {
+                return this.factory.get();
+            } catch (RuntimeException exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
         }
     }
 }
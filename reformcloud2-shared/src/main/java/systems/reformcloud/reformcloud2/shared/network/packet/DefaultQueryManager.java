@@ -25,36 +25,243 @@
 package systems.reformcloud.reformcloud2.shared.network.packet;
 
 import org.jetbrains.annotations.NotNull;
+import systems.reformcloud.reformcloud2.executor.api.CommonHelper;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.query.QueryManager;
 import systems.reformcloud.reformcloud2.executor.api.task.Task;
 import systems.reformcloud.reformcloud2.executor.api.task.defaults.DefaultTask;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class DefaultQueryManager implements QueryManager {
 
-    private final Map<UUID, Task<Packet>> waitingQueries = new ConcurrentHashMap<>();
+    private static final long DEFAULT_TIMEOUT_MILLIS = Long.getLong("systems.reformcloud.query-timeout-millis", TimeUnit.SECONDS.toMillis(30));
+    private static final int MAX_IN_FLIGHT_QUERIES_PER_CHANNEL = Integer.getInteger("systems.reformcloud.query-max-in-flight-per-channel", 256);
+    private static final long REAPER_INTERVAL_MILLIS = 250;
+    private static final int LATENCY_BUCKETS = 16;
+
+    private final Map<UUID, WaitingQuery> waitingQueries = new ConcurrentHashMap<>();
+    private final Map<NetworkChannel, ChannelQueries> channelQueries = new ConcurrentHashMap<>();
+    private final AtomicLong timedOutQueries = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+    private final int maxInFlightQueriesPerChannel;
+    private final ScheduledFuture<?> reaperFuture;
+
+    public DefaultQueryManager() {
+        this(MAX_IN_FLIGHT_QUERIES_PER_CHANNEL);
+    }
+
+    public DefaultQueryManager(int maxInFlightQueriesPerChannel) {
+        this.maxInFlightQueriesPerChannel = maxInFlightQueriesPerChannel;
+        this.reaperFuture = CommonHelper.SCHEDULED_EXECUTOR_SERVICE.scheduleAtFixedRate(this::reapExpiredQueries, REAPER_INTERVAL_MILLIS, REAPER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
 
     @NotNull
     @Override
     public Optional<Task<Packet>> getWaitingQuery(@NotNull UUID queryUniqueId) {
-        return Optional.ofNullable(this.waitingQueries.remove(queryUniqueId));
+        WaitingQuery query = this.waitingQueries.remove(queryUniqueId);
+        if (query == null) {
+            return Optional.empty();
+        }
+
+        this.recordLatency(System.nanoTime() - query.sendTime);
+        this.release(query);
+        return Optional.of(query.task);
     }
 
     @NotNull
     @Override
     public Task<Packet> sendPacketQuery(@NotNull NetworkChannel channel, @NotNull UUID queryUniqueId, @NotNull Packet packet) {
+        return this.sendPacketQuery(channel, queryUniqueId, packet, DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @NotNull
+    @Override
+    public Task<Packet> sendPacketQuery(@NotNull NetworkChannel channel, @NotNull UUID queryUniqueId, @NotNull Packet packet, long timeout, @NotNull TimeUnit unit) {
         packet.setQueryUniqueID(queryUniqueId);
 
-        Task<Packet> task = new DefaultTask<>();
-        this.waitingQueries.put(queryUniqueId, task);
+        WaitingQuery query = new WaitingQuery(queryUniqueId, channel, packet, System.nanoTime() + unit.toNanos(timeout));
+        if (this.acquire(query)) {
+            query.sendTime = System.nanoTime();
+            channel.sendPacket(packet);
+        }
+
+        return query.task;
+    }
+
+    @Override
+    public void cancelQueries(@NotNull NetworkChannel channel) {
+        ChannelQueries queries = this.channelQueries.remove(channel);
+        if (queries != null) {
+            synchronized (queries) {
+                queries.removed = true;
+            }
+        }
+
+        for (WaitingQuery query : this.waitingQueries.values()) {
+            if (query.channel == channel && this.waitingQueries.remove(query.queryUniqueId, query)) {
+                query.task.completeExceptionally(new IllegalStateException("Channel " + channel.getName() + " became inactive"));
+            }
+        }
+    }
+
+    /**
+     * Stops the expiry of queries and completes all waiting queries exceptionally.
+     */
+    public void close() {
+        this.reaperFuture.cancel(false);
+
+        for (WaitingQuery query : this.waitingQueries.values()) {
+            if (this.waitingQueries.remove(query.queryUniqueId, query)) {
+                query.task.completeExceptionally(new IllegalStateException("Query manager was closed"));
+            }
+        }
+
+        this.channelQueries.clear();
+    }
+
+    /**
+     * @return The amount of queries which are waiting for a response or to get sent
+     */
+    public int getWaitingQueryCount() {
+        return this.waitingQueries.size();
+    }
+
+    /**
+     * @return The amount of queries which were completed because no response arrived in time
+     */
+    public long getTimedOutQueryCount() {
+        return this.timedOutQueries.get();
+    }
+
+    /**
+     * Returns the latencies of all answered queries. The value at index {@code i} is the amount of
+     * queries answered in less than {@code 2^i} milliseconds but not in less than {@code 2^(i - 1)}
+     * milliseconds, the last index holds all slower queries.
+     *
+     * @return A copy of the latency histogram
+     */
+    @NotNull
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[LATENCY_BUCKETS];
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            histogram[i] = this.latencyHistogram.get(i);
+        }
+
+        return histogram;
+    }
+
+    void reapExpiredQueries() {
+        long now = System.nanoTime();
+        for (WaitingQuery query : this.waitingQueries.values()) {
+            if (now - query.deadline >= 0 && this.waitingQueries.remove(query.queryUniqueId, query)) {
+                this.timedOutQueries.incrementAndGet();
+                this.release(query);
+                query.task.completeExceptionally(new TimeoutException("Query " + query.queryUniqueId + " timed out"));
+            }
+        }
+    }
+
+    private boolean acquire(@NotNull WaitingQuery query) {
+        while (true) {
+            ChannelQueries queries = this.channelQueries.computeIfAbsent(query.channel, channel -> new ChannelQueries());
+            synchronized (queries) {
+                if (queries.removed) {
+                    continue;
+                }
+
+                query.channelQueries = queries;
+                this.waitingQueries.put(query.queryUniqueId, query);
+
+                if (queries.inFlight < this.maxInFlightQueriesPerChannel) {
+                    queries.inFlight++;
+                    query.sent = true;
+                    return true;
+                }
+
+                // the channel has too many queries in flight, the query gets sent once another query completes
+                queries.pending.addLast(query);
+                return false;
+            }
+        }
+    }
+
+    private void release(@NotNull WaitingQuery query) {
+        ChannelQueries queries = query.channelQueries;
+        if (queries == null) {
+            return;
+        }
+
+        WaitingQuery next;
+        synchronized (queries) {
+            if (!query.sent) {
+                queries.pending.remove(query);
+                return;
+            }
+
+            if (queries.removed) {
+                // all queries of the channel were cancelled
+                return;
+            }
+
+            next = queries.pending.pollFirst();
+            if (next == null) {
+                if (--queries.inFlight == 0) {
+                    queries.removed = true;
+                    this.channelQueries.remove(query.channel, queries);
+                }
+
+                return;
+            }
+
+            next.sent = true;
+        }
+
+        next.sendTime = System.nanoTime();
+        next.channel.sendPacket(next.packet);
+    }
+
+    private void recordLatency(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = millis <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(millis);
+        this.latencyHistogram.incrementAndGet(Math.min(bucket, LATENCY_BUCKETS - 1));
+    }
+
+    private static final class WaitingQuery {
+
+        private final UUID queryUniqueId;
+        private final NetworkChannel channel;
+        private final Packet packet;
+        private final long deadline;
+        private final Task<Packet> task = new DefaultTask<>();
+
+        private ChannelQueries channelQueries;
+        private boolean sent;
+        private volatile long sendTime;
+
+        private WaitingQuery(UUID queryUniqueId, NetworkChannel channel, Packet packet, long deadline) {
+            this.queryUniqueId = queryUniqueId;
+            this.channel = channel;
+            this.packet = packet;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class ChannelQueries {
 
-        channel.sendPacket(packet);
-        return task;
+        private final Deque<WaitingQuery> pending = new ArrayDeque<>();
+        private int inFlight;
+        private boolean removed;
     }
 }
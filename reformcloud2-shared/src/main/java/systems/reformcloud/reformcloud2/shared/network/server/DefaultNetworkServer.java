@@ -25,6 +25,7 @@
 package systems.reformcloud.reformcloud2.shared.network.server;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
@@ -59,6 +60,7 @@ public final class DefaultNetworkServer implements NetworkServer {
                     .childOption(ChannelOption.IP_TOS, 0x18)
                     .childOption(ChannelOption.TCP_NODELAY, true)
                     .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, NetworkUtil.WATER_MARK)
+                    .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
 
                     .childHandler(new ServerChannelInitializer(readerHelper))
 
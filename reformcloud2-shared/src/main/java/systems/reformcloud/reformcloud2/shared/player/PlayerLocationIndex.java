@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.shared.player;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import systems.reformcloud.reformcloud2.executor.api.process.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the proxy and server every online player is currently connected to. The index gets
+ * updated incrementally from the player sets of the process updates and allows constant time lookups
+ * instead of scanning the players of every process. Lookups are lock free, updates are serialized.
+ */
+public final class PlayerLocationIndex {
+
+    private final Map<UUID, PlayerLocation> locations = new ConcurrentHashMap<>();
+    private final Map<String, UUID> uniqueIdsByName = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Player>> processPlayers = new HashMap<>();
+
+    /**
+     * Updates the players which are connected to the given process. Players which are no longer in the
+     * given collection are removed from the process.
+     *
+     * @param processUniqueId The unique id of the process
+     * @param server          If the process is a server or a proxy
+     * @param players         All players which are currently connected to the process
+     */
+    public synchronized void updateProcess(@NotNull UUID processUniqueId, boolean server, @NotNull Collection<Player> players) {
+        Set<Player> current = new HashSet<>(players);
+        Set<Player> previous = this.processPlayers.put(processUniqueId, current);
+
+        if (previous != null) {
+            for (Player player : previous) {
+                if (!current.contains(player)) {
+                    this.leave(player.getUniqueID(), processUniqueId);
+                }
+            }
+        }
+
+        for (Player player : current) {
+            if (previous == null || !previous.contains(player)) {
+                this.join(player, processUniqueId, server);
+            }
+        }
+    }
+
+    /**
+     * Removes all players from the given process.
+     *
+     * @param processUniqueId The unique id of the process which was unregistered
+     */
+    public synchronized void removeProcess(@NotNull UUID processUniqueId) {
+        Set<Player> previous = this.processPlayers.remove(processUniqueId);
+        if (previous != null) {
+            for (Player player : previous) {
+                this.leave(player.getUniqueID(), processUniqueId);
+            }
+        }
+    }
+
+    @Nullable
+    public PlayerLocation getLocation(@NotNull UUID uniqueId) {
+        return this.locations.get(uniqueId);
+    }
+
+    /**
+     * Get the location of a player by the name of the player ignoring the case of the name.
+     *
+     * @param name The name of the player
+     * @return The location of the player or {@code null} if no player with the name is online
+     */
+    @Nullable
+    public PlayerLocation getLocation(@NotNull String name) {
+        UUID uniqueId = this.uniqueIdsByName.get(name.toLowerCase(Locale.ROOT));
+        return uniqueId == null ? null : this.locations.get(uniqueId);
+    }
+
+    /**
+     * @return The amount of players which are currently online on at least one process
+     */
+    public int size() {
+        return this.locations.size();
+    }
+
+    private void join(@NotNull Player player, @NotNull UUID processUniqueId, boolean server) {
+        PlayerLocation old = this.locations.get(player.getUniqueID());
+        PlayerLocation location = server
+                ? new PlayerLocation(player.getUniqueID(), player.getName(), old == null ? null : old.proxyUniqueId, processUniqueId)
+                : new PlayerLocation(player.getUniqueID(), player.getName(), processUniqueId, old == null ? null : old.serverUniqueId);
+
+        this.locations.put(player.getUniqueID(), location);
+        if (old != null && !old.name.equalsIgnoreCase(player.getName())) {
+            this.uniqueIdsByName.remove(old.name.toLowerCase(Locale.ROOT), player.getUniqueID());
+        }
+
+        this.uniqueIdsByName.put(player.getName().toLowerCase(Locale.ROOT), player.getUniqueID());
+    }
+
+    private void leave(@NotNull UUID uniqueId, @NotNull UUID processUniqueId) {
+        PlayerLocation old = this.locations.get(uniqueId);
+        if (old == null) {
+            return;
+        }
+
+        // the login on the new server of a switching player may get processed before the logout from the old one
+        UUID proxy = processUniqueId.equals(old.proxyUniqueId) ? null : old.proxyUniqueId;
+        UUID server = processUniqueId.equals(old.serverUniqueId) ? null : old.serverUniqueId;
+
+        if (proxy == null && server == null) {
+            this.locations.remove(uniqueId);
+            this.uniqueIdsByName.remove(old.name.toLowerCase(Locale.ROOT), uniqueId);
+        } else if (proxy != old.proxyUniqueId || server != old.serverUniqueId) {
+            this.locations.put(uniqueId, new PlayerLocation(uniqueId, old.name, proxy, server));
+        }
+    }
+
+    /**
+     * The proxy and server a player is connected to at the time the location was created.
+     */
+    public static final class PlayerLocation {
+
+        private PlayerLocation(UUID uniqueId, String name, UUID proxyUniqueId, UUID serverUniqueId) {
+            this.uniqueId = uniqueId;
+            this.name = name;
+            this.proxyUniqueId = proxyUniqueId;
+            this.serverUniqueId = serverUniqueId;
+        }
+
+        private final UUID uniqueId;
+        private final String name;
+        private final UUID proxyUniqueId;
+        private final UUID serverUniqueId;
+
+        @NotNull
+        public UUID getUniqueId() {
+            return this.uniqueId;
+        }
+
+        @NotNull
+        public String getName() {
+            return this.name;
+        }
+
+        @Nullable
+        public UUID getProxyUniqueId() {
+            return this.proxyUniqueId;
+        }
+
+        @Nullable
+        public UUID getServerUniqueId() {
+            return this.serverUniqueId;
+        }
+    }
+}
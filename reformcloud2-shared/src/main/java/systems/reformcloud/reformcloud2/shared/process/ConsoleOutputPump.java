@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.shared.process;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Continuously drains the output of a process into a {@link ConsoleRingBuffer}. The reads are blocking,
+ * so a process writing faster than its output is consumed never blocks on a full pipe.
+ */
+public final class ConsoleOutputPump implements Runnable {
+
+    private final InputStream inputStream;
+    private final ConsoleRingBuffer ringBuffer;
+    private final Runnable dataListener;
+    private final byte[] buffer = new byte[8192];
+
+    public ConsoleOutputPump(@NotNull InputStream inputStream, @NotNull ConsoleRingBuffer ringBuffer, @Nullable Runnable dataListener) {
+        this.inputStream = inputStream;
+        this.ringBuffer = ringBuffer;
+        this.dataListener = dataListener;
+    }
+
+    @NotNull
+    public static Thread start(@NotNull String threadName, @NotNull InputStream inputStream,
+                               @NotNull ConsoleRingBuffer ringBuffer, @Nullable Runnable dataListener) {
+        Thread thread = new Thread(new ConsoleOutputPump(inputStream, ringBuffer, dataListener), threadName);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @Override
+    public void run() {
+        try {
+            int length;
+            while ((length = this.inputStream.read(this.buffer, 0, this.buffer.length)) != -1) {
+                this.ringBuffer.write(this.buffer, 0, length);
+                if (this.dataListener != null) {
+                    this.dataListener.run();
+                }
+            }
+        } catch (IOException exception) {
+            if (exception.getMessage() == null || !exception.getMessage().equals("Stream closed")) {
+                exception.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) ReformCloud-Team
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package systems.reformcloud.reformcloud2.shared.process;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+
+/**
+ * Keeps the last bytes written to the console of a process in a fixed size buffer. The bytes are only
+ * decoded into lines when they are requested, writing never allocates.
+ */
+public final class ConsoleRingBuffer {
+
+    private final byte[] buffer;
+
+    private long written;
+    private long lineEnd;
+
+    public ConsoleRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity has to be positive, got " + capacity);
+        }
+
+        this.buffer = new byte[capacity];
+    }
+
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (isLineTerminator(bytes[offset + i])) {
+                this.lineEnd = this.written + i + 1;
+                break;
+            }
+        }
+
+        if (length > this.buffer.length) {
+            // only the tail of the bytes fits into the buffer
+            int skipped = length - this.buffer.length;
+            this.written += skipped;
+            offset += skipped;
+            length = this.buffer.length;
+        }
+
+        int index = (int) (this.written % this.buffer.length);
+        int head = Math.min(length, this.buffer.length - index);
+        System.arraycopy(bytes, offset, this.buffer, index, head);
+        System.arraycopy(bytes, offset + head, this.buffer, 0, length - head);
+        this.written += length;
+    }
+
+    /**
+     * @return the position behind the last complete line written to this buffer
+     */
+    public synchronized long getLinePosition() {
+        return this.lineEnd;
+    }
+
+    /**
+     * Decodes all complete lines written since the given position. If the buffer was overwritten in the
+     * meantime only the lines which are still available are read.
+     *
+     * @param position the position to start reading from, 0 or a position returned earlier
+     * @param target   the collection to add the lines to
+     * @return the position to start the next read from
+     */
+    public long readLines(long position, @NotNull Collection<String> target) {
+        byte[] bytes;
+        boolean truncated;
+        long end;
+
+        synchronized (this) {
+            long start = Math.max(position, this.written - this.buffer.length);
+            end = this.lineEnd;
+            if (start >= end) {
+                return Math.max(position, end);
+            }
+
+            truncated = start > position;
+            bytes = new byte[(int) (end - start)];
+
+            int index = (int) (start % this.buffer.length);
+            int head = Math.min(bytes.length, this.buffer.length - index);
+            System.arraycopy(this.buffer, index, bytes, 0, head);
+            System.arraycopy(this.buffer, 0, bytes, head, bytes.length - head);
+        }
+
+        splitLines(new String(bytes, StandardCharsets.UTF_8), truncated, target);
+        return end;
+    }
+
+    @NotNull
+    public Queue<String> getLastLines(int maxLines) {
+        Queue<String> lines = new ArrayDeque<>();
+        this.readLines(0, lines);
+
+        while (lines.size() > maxLines) {
+            lines.poll();
+        }
+
+        return lines;
+    }
+
+    private static void splitLines(@NotNull String text, boolean skipFirst, @NotNull Collection<String> target) {
+        int lineStart = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\n' && c != '\r') {
+                continue;
+            }
+
+            if (skipFirst) {
+                // the start of the first line was overwritten already
+                skipFirst = false;
+            } else {
+                String line = text.substring(lineStart, i);
+                if (!line.trim().isEmpty()) {
+                    target.add(line);
+                }
+            }
+
+            lineStart = i + 1;
+        }
+    }
+
+    private static boolean isLineTerminator(byte b) {
+        return b == '\n' || b == '\r';
+    }
+}
@@ -0,0 +1,126 @@
+package systems.reformcloud.reformcloud2.shared.event;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import systems.reformcloud.reformcloud2.executor.api.event.Event;
+import systems.reformcloud.reformcloud2.executor.api.event.handler.Listener;
+import systems.reformcloud.reformcloud2.executor.api.event.priority.EventPriority;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares posting an event using the {@link DefaultEventManager} with the previous dispatch which
+ * filtered and sorted all listeners for every event and invoked them reflectively. Run using
+ * {@link #main(String[])} from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultEventManagerBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int listenerCount;
+
+    @Param({"100"})
+    public int otherListenerCount;
+
+    private final DefaultEventManager eventManager = new DefaultEventManager();
+    private final List<ReflectiveListener> reflectiveListeners = new ArrayList<>();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DefaultEventManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        EventPriority[] priorities = EventPriority.values();
+        for (int i = 0; i < this.listenerCount; i++) {
+            Object listener = i % 2 == 0 ? new BenchmarkListener() : new LateBenchmarkListener();
+            this.eventManager.registerListener(listener);
+            this.reflectiveListeners.add(new ReflectiveListener(BenchmarkEvent.class, listener, listener.getClass().getMethod("handle", BenchmarkEvent.class), priorities[i % priorities.length]));
+        }
+
+        for (int i = 0; i < this.otherListenerCount; i++) {
+            OtherListener listener = new OtherListener();
+            this.eventManager.registerListener(listener);
+            this.reflectiveListeners.add(new ReflectiveListener(OtherEvent.class, listener, OtherListener.class.getMethod("handle", OtherEvent.class), EventPriority.NORMAL));
+        }
+    }
+
+    @Benchmark
+    public BenchmarkEvent cachedInvokers() {
+        return this.eventManager.callEvent(new BenchmarkEvent());
+    }
+
+    @Benchmark
+    public BenchmarkEvent reflectiveScan() throws ReflectiveOperationException {
+        BenchmarkEvent event = new BenchmarkEvent();
+        List<ReflectiveListener> listeners = new ArrayList<>();
+        for (ReflectiveListener listener : this.reflectiveListeners) {
+            if (listener.target.equals(event.getClass())) {
+                listeners.add(listener);
+            }
+        }
+
+        listeners.sort((l1, l2) -> Integer.compare(l1.priority.getPriority(), l2.priority.getPriority()));
+        for (ReflectiveListener listener : listeners) {
+            listener.method.invoke(listener.instance, event);
+        }
+
+        return event;
+    }
+
+    public static class BenchmarkEvent extends Event {
+
+        public int counter;
+    }
+
+    public static class OtherEvent extends Event {
+    }
+
+    public static class BenchmarkListener {
+
+        @Listener
+        public void handle(BenchmarkEvent event) {
+            event.counter++;
+        }
+    }
+
+    public static class LateBenchmarkListener {
+
+        @Listener(priority = EventPriority.LAST)
+        public void handle(BenchmarkEvent event) {
+            event.counter += 2;
+        }
+    }
+
+    public static class OtherListener {
+
+        @Listener
+        public void handle(OtherEvent event) {
+        }
+    }
+
+    private static final class ReflectiveListener {
+
+        private final Class<?> target;
+        private final Object instance;
+        private final Method method;
+        private final EventPriority priority;
+
+        private ReflectiveListener(Class<?> target, Object instance, Method method, EventPriority priority) {
+            this.target = target;
+            this.instance = instance;
+            this.method = method;
+            this.priority = priority;
+        }
+    }
+}
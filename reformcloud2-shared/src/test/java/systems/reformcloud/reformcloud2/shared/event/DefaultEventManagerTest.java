@@ -77,6 +77,23 @@ class DefaultEventManagerTest {
         Assertions.assertEquals(0, this.eventManager.getListeners().size());
     }
 
+    @Test
+    @Order(8)
+    void testSupertypeAndNonPublicListeners() {
+        SupertypeListener supertypeListener = new SupertypeListener();
+        this.eventManager.registerListener(supertypeListener);
+        this.eventManager.registerListener(new PrivateListener());
+
+        TestEvent event = this.eventManager.callEvent(new TestEvent());
+        Assertions.assertEquals(1, supertypeListener.calls.get());
+        Assertions.assertEquals(10, event.counter.get());
+
+        this.eventManager.unregisterListener(supertypeListener);
+        this.eventManager.callEvent(new TestEvent());
+        Assertions.assertEquals(1, supertypeListener.calls.get());
+        this.eventManager.unregisterAll();
+    }
+
     public static class TestEvent extends Event {
 
         public final AtomicInteger counter = new AtomicInteger();
@@ -100,4 +117,22 @@ class DefaultEventManagerTest {
             Assertions.assertEquals(1, event.counter.getAndIncrement());
         }
     }
-}
\ No newline at end of file
+
+    public static class SupertypeListener {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Listener(priority = EventPriority.FIRST)
+        public void handle(Event event) {
+            this.calls.incrementAndGet();
+        }
+    }
+
+    private static final class PrivateListener {
+
+        @Listener
+        private void handle(TestEvent event) {
+            event.counter.addAndGet(10);
+        }
+    }
+}
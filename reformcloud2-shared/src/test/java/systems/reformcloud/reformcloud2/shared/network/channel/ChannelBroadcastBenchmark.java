@@ -0,0 +1,131 @@
+package systems.reformcloud.reformcloud2.shared.network.channel;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.frame.VarInt21FrameEncoder;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.serialisation.PacketSerializerEncoder;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sending a packet to every channel one by one (which encodes the packet once per channel)
+ * with {@link DefaultChannelManager#broadcastPacket(Packet, java.util.Collection)} which encodes it
+ * only once. Run using {@link #main(String[])} from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChannelBroadcastBenchmark {
+
+    @Param({"1", "10", "100", "300"})
+    public int channelCount;
+
+    private final DefaultChannelManager channelManager = new DefaultChannelManager();
+    private final List<EmbeddedChannel> embeddedChannels = new ArrayList<>();
+    private final List<NetworkChannel> networkChannels = new ArrayList<>();
+    private final Packet packet = new ProcessUpdateLikePacket();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ChannelBroadcastBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < this.channelCount; i++) {
+            EmbeddedChannel channel = new EmbeddedChannel(new VarInt21FrameEncoder(), new PacketSerializerEncoder()) {
+                @Override
+                protected SocketAddress remoteAddress0() {
+                    return new InetSocketAddress("127.0.0.1", 25565);
+                }
+            };
+
+            this.embeddedChannels.add(channel);
+            this.networkChannels.add(this.channelManager.createChannel(channel));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (EmbeddedChannel embeddedChannel : this.embeddedChannels) {
+            embeddedChannel.finishAndReleaseAll();
+        }
+    }
+
+    @Benchmark
+    public void sendToEachChannel() {
+        for (NetworkChannel networkChannel : this.networkChannels) {
+            networkChannel.sendPacket(this.packet);
+        }
+
+        this.releaseOutbound();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        this.channelManager.broadcastPacket(this.packet, this.networkChannels);
+        this.releaseOutbound();
+    }
+
+    private void releaseOutbound() {
+        for (EmbeddedChannel embeddedChannel : this.embeddedChannels) {
+            Object message;
+            while ((message = embeddedChannel.readOutbound()) != null) {
+                ReferenceCountUtil.release(message);
+            }
+        }
+    }
+
+    private static final class ProcessUpdateLikePacket extends Packet {
+
+        private final List<UUID> players = new ArrayList<>();
+        private final StringBuilder extra = new StringBuilder();
+
+        private ProcessUpdateLikePacket() {
+            for (int i = 0; i < 100; i++) {
+                this.players.add(UUID.randomUUID());
+                this.extra.append("{\n  \"key-").append(i).append("\": \"value\"\n}");
+            }
+        }
+
+        @Override
+        public int getId() {
+            return 0;
+        }
+
+        @Override
+        public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+            buffer.writeVarInt(this.players.size());
+            for (UUID player : this.players) {
+                buffer.writeUniqueId(player);
+                buffer.writeString(player.toString());
+            }
+
+            buffer.writeString(this.extra.toString());
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package systems.reformcloud.reformcloud2.shared.network.channel;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.*;
 import org.mockito.Mockito;
+import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.manager.ChannelManager;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -50,4 +59,54 @@ class DefaultChannelManagerTest {
         this.channelManager.unregisterChannel("TestChannel");
         Assertions.assertEquals(0, this.channelManager.getRegisteredChannels().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(6)
+    void testBroadcastPacket() {
+        List<ByteBuf> writtenFrames = new ArrayList<>();
+        List<NetworkChannel> channels = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            NetworkChannel channel = Mockito.mock(NetworkChannel.class);
+            Mockito.doAnswer(invocation -> writtenFrames.add(invocation.<ByteBuf>getArgument(0).copy()))
+                    .when(channel).sendFramedPacket(Mockito.any());
+            channels.add(channel);
+        }
+
+        CountingPacket packet = new CountingPacket();
+        this.channelManager.broadcastPacket(packet, channels);
+
+        Assertions.assertEquals(1, packet.writeCount.get());
+        Assertions.assertEquals(3, writtenFrames.size());
+
+        for (ByteBuf framed : writtenFrames) {
+            Assertions.assertEquals(framed.readableBytes() - 1, NetworkUtil.readVarInt(framed));
+            Assertions.assertEquals(512, NetworkUtil.readVarInt(framed));
+            framed.release();
+        }
+    }
+
+    private static final class CountingPacket extends Packet {
+
+        private final AtomicInteger writeCount = new AtomicInteger();
+
+        @Override
+        public int getId() {
+            return 512;
+        }
+
+        @Override
+        public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+            this.writeCount.incrementAndGet();
+            buffer.writeString("broadcast");
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+        }
+    }
+}
@@ -7,8 +7,12 @@ import org.mockito.Mockito;
 import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
 import systems.reformcloud.reformcloud2.executor.api.network.packet.query.QueryManager;
+import systems.reformcloud.reformcloud2.executor.api.task.Task;
 
+import java.util.Arrays;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class DefaultQueryManagerTest {
@@ -24,4 +28,74 @@ class DefaultQueryManagerTest {
         this.queryManager.sendPacketQuery(dummyChannel, queryUniqueId, dummyPacket);
         Assertions.assertTrue(this.queryManager.getWaitingQuery(queryUniqueId).isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testQueryTimeout() {
+        DefaultQueryManager queryManager = new DefaultQueryManager();
+        NetworkChannel dummyChannel = Mockito.mock(NetworkChannel.class);
+        UUID queryUniqueId = UUID.randomUUID();
+
+        Task<Packet> task = queryManager.sendPacketQuery(dummyChannel, queryUniqueId, Mockito.mock(Packet.class), 0, TimeUnit.MILLISECONDS);
+        queryManager.reapExpiredQueries();
+
+        Assertions.assertTrue(task.isCompletedExceptionally());
+        Assertions.assertFalse(queryManager.getWaitingQuery(queryUniqueId).isPresent());
+        Assertions.assertEquals(0, queryManager.getWaitingQueryCount());
+        Assertions.assertEquals(1, queryManager.getTimedOutQueryCount());
+    }
+
+    @Test
+    public void testInFlightLimit() {
+        DefaultQueryManager queryManager = new DefaultQueryManager(1);
+        NetworkChannel dummyChannel = Mockito.mock(NetworkChannel.class);
+        Packet firstPacket = Mockito.mock(Packet.class);
+        Packet secondPacket = Mockito.mock(Packet.class);
+        UUID firstQueryUniqueId = UUID.randomUUID();
+        UUID secondQueryUniqueId = UUID.randomUUID();
+
+        queryManager.sendPacketQuery(dummyChannel, firstQueryUniqueId, firstPacket);
+        queryManager.sendPacketQuery(dummyChannel, secondQueryUniqueId, secondPacket);
+
+        Mockito.verify(dummyChannel, Mockito.times(1)).sendPacket(firstPacket);
+        Mockito.verify(dummyChannel, Mockito.never()).sendPacket(secondPacket);
+
+        Assertions.assertTrue(queryManager.getWaitingQuery(firstQueryUniqueId).isPresent());
+        Mockito.verify(dummyChannel, Mockito.times(1)).sendPacket(secondPacket);
+
+        Assertions.assertTrue(queryManager.getWaitingQuery(secondQueryUniqueId).isPresent());
+        Assertions.assertEquals(2, Arrays.stream(queryManager.getLatencyHistogram()).sum());
+    }
+
+    @Test
+    public void testCancelQueries() {
+        DefaultQueryManager queryManager = new DefaultQueryManager(1);
+        NetworkChannel dummyChannel = Mockito.mock(NetworkChannel.class);
+        NetworkChannel otherChannel = Mockito.mock(NetworkChannel.class);
+        UUID otherQueryUniqueId = UUID.randomUUID();
+
+        Task<Packet> first = queryManager.sendPacketQuery(dummyChannel, Mockito.mock(Packet.class));
+        Task<Packet> second = queryManager.sendPacketQuery(dummyChannel, Mockito.mock(Packet.class));
+        queryManager.sendPacketQuery(otherChannel, otherQueryUniqueId, Mockito.mock(Packet.class));
+
+        queryManager.cancelQueries(dummyChannel);
+
+        Assertions.assertTrue(first.isCompletedExceptionally());
+        Assertions.assertTrue(second.isCompletedExceptionally());
+        Assertions.assertEquals(1, queryManager.getWaitingQueryCount());
+
+        Optional<Task<Packet>> other = queryManager.getWaitingQuery(otherQueryUniqueId);
+        Assertions.assertTrue(other.isPresent());
+        Assertions.assertFalse(other.get().isDone());
+    }
+
+    @Test
+    public void testClose() {
+        DefaultQueryManager queryManager = new DefaultQueryManager();
+        Task<Packet> task = queryManager.sendPacketQuery(Mockito.mock(NetworkChannel.class), Mockito.mock(Packet.class));
+
+        queryManager.close();
+
+        Assertions.assertTrue(task.isCompletedExceptionally());
+        Assertions.assertEquals(0, queryManager.getWaitingQueryCount());
+    }
+}
@@ -0,0 +1,224 @@
+package systems.reformcloud.reformcloud2.shared.network.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import systems.reformcloud.reformcloud2.executor.api.ExecutorAPI;
+import systems.reformcloud.reformcloud2.executor.api.network.NetworkUtil;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.EndpointChannelReader;
+import systems.reformcloud.reformcloud2.executor.api.network.channel.NetworkChannel;
+import systems.reformcloud.reformcloud2.executor.api.network.data.ProtocolBuffer;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.frame.VarInt21FrameDecoder;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.serialisation.PacketSerializerEncoder;
+import systems.reformcloud.reformcloud2.executor.api.network.netty.serialisation.SerializedPacketDecoder;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.Packet;
+import systems.reformcloud.reformcloud2.executor.api.network.packet.PacketProvider;
+import systems.reformcloud.reformcloud2.executor.api.provider.*;
+import systems.reformcloud.reformcloud2.executor.api.registry.service.ServiceRegistry;
+import systems.reformcloud.reformcloud2.shared.registry.service.DefaultServiceRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bytes allocated per decoded packet when the frames are copied out of the cumulation buffer
+ * (the old behaviour of the {@link VarInt21FrameDecoder}) and when they are passed on as retained slices.
+ * Run using {@link #main(String[])} from the test class path, the allocations per packet are reported
+ * as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketDecodeAllocationBenchmark {
+
+    @Param({"copy", "slice"})
+    public String framing;
+
+    @Param({"1", "50"})
+    public int playerCount;
+
+    private EmbeddedChannel channel;
+    private ByteBuf frame;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PacketDecodeAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+
+    @Setup
+    public void setup() {
+        PacketProvider packetProvider = new DefaultPacketProvider();
+        packetProvider.registerPacket(PlayerListPacket.class);
+
+        ServiceRegistry serviceRegistry = new DefaultServiceRegistry();
+        serviceRegistry.setProvider(PacketProvider.class, packetProvider, true);
+        ExecutorAPI.setInstance(new BenchmarkExecutorAPI(serviceRegistry));
+
+        ChannelHandler frameDecoder = this.framing.equals("slice") ? new VarInt21FrameDecoder() : new CopyingFrameDecoder();
+        this.channel = new EmbeddedChannel(frameDecoder, new SerializedPacketDecoder());
+        this.frame = PacketSerializerEncoder.serializeFramed(PooledByteBufAllocator.DEFAULT, new PlayerListPacket(this.playerCount));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.frame.release();
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public Object decode() {
+        this.channel.writeInbound(this.frame.retainedDuplicate());
+        return this.channel.readInbound();
+    }
+
+    // the frame decoder as it was before the frames were passed on as slices of the cumulation buffer
+    private static final class CopyingFrameDecoder extends ByteToMessageDecoder {
+
+        @Override
+        protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf byteBuf, List<Object> list) {
+            int readerIndex = byteBuf.readerIndex();
+            byte[] bytes = new byte[5];
+
+            for (int i = 0; i < 5; i++) {
+                if (!byteBuf.isReadable()) {
+                    byteBuf.readerIndex(readerIndex);
+                    return;
+                }
+
+                bytes[i] = byteBuf.readByte();
+                if (bytes[i] >= 0) {
+                    ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+
+                    try {
+                        int length = NetworkUtil.readVarInt(buf);
+                        if (byteBuf.readableBytes() < length) {
+                            byteBuf.readerIndex(readerIndex);
+                            return;
+                        }
+
+                        list.add(byteBuf.readBytes(length));
+                    } finally {
+                        buf.release();
+                    }
+
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class BenchmarkExecutorAPI extends ExecutorAPI {
+
+        private final ServiceRegistry serviceRegistry;
+
+        private BenchmarkExecutorAPI(@NotNull ServiceRegistry serviceRegistry) {
+            this.serviceRegistry = serviceRegistry;
+        }
+
+        @Override
+        public ChannelMessageProvider getChannelMessageProvider() {
+            return null;
+        }
+
+        @Override
+        public DatabaseProvider getDatabaseProvider() {
+            return null;
+        }
+
+        @Override
+        public MainGroupProvider getMainGroupProvider() {
+            return null;
+        }
+
+        @Override
+        public NodeInformationProvider getNodeInformationProvider() {
+            return null;
+        }
+
+        @Override
+        public PlayerProvider getPlayerProvider() {
+            return null;
+        }
+
+        @Override
+        public ProcessGroupProvider getProcessGroupProvider() {
+            return null;
+        }
+
+        @Override
+        public ProcessProvider getProcessProvider() {
+            return null;
+        }
+
+        @Override
+        public ServiceRegistry getServiceRegistry() {
+            return this.serviceRegistry;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+    }
+
+    public static class PlayerListPacket extends Packet {
+
+        private final List<UUID> uniqueIds = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+
+        public PlayerListPacket() {
+        }
+
+        public PlayerListPacket(int playerCount) {
+            for (int i = 0; i < playerCount; i++) {
+                this.uniqueIds.add(UUID.randomUUID());
+                this.names.add("Player-" + i);
+            }
+        }
+
+        @Override
+        public int getId() {
+            return 1;
+        }
+
+        @Override
+        public void handlePacketReceive(@NotNull EndpointChannelReader reader, @NotNull NetworkChannel channel) {
+        }
+
+        @Override
+        public void write(@NotNull ProtocolBuffer buffer) {
+            buffer.writeVarInt(this.uniqueIds.size());
+            for (int i = 0; i < this.uniqueIds.size(); i++) {
+                buffer.writeUniqueId(this.uniqueIds.get(i));
+                buffer.writeString(this.names.get(i));
+            }
+        }
+
+        @Override
+        public void read(@NotNull ProtocolBuffer buffer) {
+            int size = buffer.readVarInt();
+            for (int i = 0; i < size; i++) {
+                this.uniqueIds.add(buffer.readUniqueId());
+                this.names.add(buffer.readString());
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package systems.reformcloud.reformcloud2.shared.player;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import systems.reformcloud.reformcloud2.executor.api.process.Player;
+import systems.reformcloud.reformcloud2.executor.api.process.detail.ProcessPlayerManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookup of the proxy and server of a player by scanning the players of every process
+ * (as the node player wrapper did before) with a lookup in the {@link PlayerLocationIndex}. Run using
+ * {@link #main(String[])} from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerLocationIndexBenchmark {
+
+    @Param({"1000", "10000"})
+    public int playerCount;
+
+    @Param({"50"})
+    public int playersPerServer;
+
+    private final List<ScannedProcess> processes = new ArrayList<>();
+    private final PlayerLocationIndex index = new PlayerLocationIndex();
+    private final Random random = new Random(42);
+    private UUID[] players;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PlayerLocationIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        this.players = new UUID[this.playerCount];
+        ScannedProcess proxy = null;
+        ScannedProcess server = null;
+
+        for (int i = 0; i < this.playerCount; i++) {
+            if (i % (this.playersPerServer * 10) == 0) {
+                proxy = this.newProcess(false);
+            }
+
+            if (i % this.playersPerServer == 0) {
+                server = this.newProcess(true);
+            }
+
+            this.players[i] = UUID.randomUUID();
+            proxy.playerManager.onLogin(this.players[i], "Player" + i);
+            server.playerManager.onLogin(this.players[i], "Player" + i);
+        }
+
+        for (ScannedProcess process : this.processes) {
+            this.index.updateProcess(process.uniqueId, process.server, process.playerManager.getOnlinePlayers());
+        }
+    }
+
+    @Benchmark
+    public UUID[] scan() {
+        UUID player = this.players[this.random.nextInt(this.players.length)];
+        UUID proxy = null;
+        UUID server = null;
+
+        for (ScannedProcess process : this.processes) {
+            if (process.server && server == null && process.playerManager.isPlayerOnlineOnCurrentProcess(player)) {
+                server = process.uniqueId;
+            } else if (!process.server && proxy == null && process.playerManager.isPlayerOnlineOnCurrentProcess(player)) {
+                proxy = process.uniqueId;
+            }
+        }
+
+        return new UUID[]{proxy, server};
+    }
+
+    @Benchmark
+    public UUID[] index() {
+        PlayerLocationIndex.PlayerLocation location = this.index.getLocation(this.players[this.random.nextInt(this.players.length)]);
+        return new UUID[]{location.getProxyUniqueId(), location.getServerUniqueId()};
+    }
+
+    @Benchmark
+    public void reconnectOnProcess() {
+        ScannedProcess process = this.processes.get(this.random.nextInt(this.processes.size()));
+        List<Player> players = new ArrayList<>(process.playerManager.getOnlinePlayers());
+        Player player = players.remove(this.random.nextInt(players.size()));
+
+        this.index.updateProcess(process.uniqueId, process.server, players);
+        players.add(player);
+        this.index.updateProcess(process.uniqueId, process.server, players);
+    }
+
+    private ScannedProcess newProcess(boolean server) {
+        ScannedProcess process = new ScannedProcess(server);
+        this.processes.add(process);
+        return process;
+    }
+
+    private static final class ScannedProcess {
+
+        private final UUID uniqueId = UUID.randomUUID();
+        private final ProcessPlayerManager playerManager = new ProcessPlayerManager();
+        private final boolean server;
+
+        private ScannedProcess(boolean server) {
+            this.server = server;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package systems.reformcloud.reformcloud2.shared.player;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import systems.reformcloud.reformcloud2.executor.api.process.Player;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+class PlayerLocationIndexTest {
+
+    private final UUID proxy = UUID.randomUUID();
+    private final UUID lobby = UUID.randomUUID();
+    private final UUID game = UUID.randomUUID();
+    private final Player player = new Player(UUID.randomUUID(), "Derklaro");
+
+    @Test
+    void testJoinAndLookup() {
+        PlayerLocationIndex index = new PlayerLocationIndex();
+        index.updateProcess(this.proxy, false, Collections.singleton(this.player));
+        index.updateProcess(this.lobby, true, Collections.singleton(this.player));
+
+        PlayerLocationIndex.PlayerLocation location = index.getLocation(this.player.getUniqueID());
+        Assertions.assertNotNull(location);
+        Assertions.assertEquals(this.proxy, location.getProxyUniqueId());
+        Assertions.assertEquals(this.lobby, location.getServerUniqueId());
+        Assertions.assertSame(location, index.getLocation("derklaro"));
+        Assertions.assertSame(location, index.getLocation("DERKLARO"));
+        Assertions.assertNull(index.getLocation("unknown"));
+    }
+
+    @Test
+    void testServerSwitchInBothOrders() {
+        PlayerLocationIndex index = new PlayerLocationIndex();
+        index.updateProcess(this.proxy, false, Collections.singleton(this.player));
+        index.updateProcess(this.lobby, true, Collections.singleton(this.player));
+
+        // login on the new server before the logout from the old one
+        index.updateProcess(this.game, true, Collections.singleton(this.player));
+        index.updateProcess(this.lobby, true, Collections.emptyList());
+        Assertions.assertEquals(this.game, index.getLocation(this.player.getUniqueID()).getServerUniqueId());
+
+        // logout from the old server before the login on the new one
+        index.updateProcess(this.game, true, Collections.emptyList());
+        Assertions.assertNull(index.getLocation(this.player.getUniqueID()).getServerUniqueId());
+        index.updateProcess(this.lobby, true, Collections.singleton(this.player));
+        Assertions.assertEquals(this.lobby, index.getLocation(this.player.getUniqueID()).getServerUniqueId());
+        Assertions.assertEquals(this.proxy, index.getLocation(this.player.getUniqueID()).getProxyUniqueId());
+    }
+
+    @Test
+    void testDisconnectAndProcessRemoval() {
+        PlayerLocationIndex index = new PlayerLocationIndex();
+        Player other = new Player(UUID.randomUUID(), "Other");
+
+        index.updateProcess(this.proxy, false, Arrays.asList(this.player, other));
+        index.updateProcess(this.lobby, true, Arrays.asList(this.player, other));
+        Assertions.assertEquals(2, index.size());
+
+        index.updateProcess(this.proxy, false, Collections.singleton(other));
+        index.updateProcess(this.lobby, true, Collections.singleton(other));
+        Assertions.assertNull(index.getLocation(this.player.getUniqueID()));
+        Assertions.assertNull(index.getLocation(this.player.getName()));
+
+        index.removeProcess(this.lobby);
+        index.removeProcess(this.proxy);
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertNull(index.getLocation("other"));
+    }
+}
@@ -0,0 +1,62 @@
+package systems.reformcloud.reformcloud2.shared.process;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ConsoleOutputPumpTest {
+
+    private static final int LINES = 500_000;
+
+    @Test
+    @Timeout(60)
+    void testDrainFloodingProcess() throws Exception {
+        Process process = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"),
+                FloodingProcess.class.getName()
+        ).redirectErrorStream(true).start();
+
+        ConsoleRingBuffer buffer = new ConsoleRingBuffer(64 * 1024);
+        List<String> lines = new ArrayList<>();
+        AtomicLong position = new AtomicLong();
+
+        Thread pump = ConsoleOutputPump.start("Flood pump", process.getInputStream(), buffer,
+                () -> position.set(buffer.readLines(position.get(), lines)));
+
+        // the process only exits if its output is drained fast enough
+        Assertions.assertTrue(process.waitFor(50, TimeUnit.SECONDS));
+        pump.join(TimeUnit.SECONDS.toMillis(5));
+        Assertions.assertFalse(pump.isAlive());
+
+        Assertions.assertEquals(LINES, lines.size());
+        Assertions.assertEquals(FloodingProcess.line(LINES - 1), lines.get(LINES - 1));
+
+        List<String> lastLines = new ArrayList<>(buffer.getLastLines(16));
+        Assertions.assertEquals(16, lastLines.size());
+        Assertions.assertEquals(FloodingProcess.line(LINES - 1), lastLines.get(15));
+    }
+
+    public static final class FloodingProcess {
+
+        public static void main(String[] args) {
+            PrintStream out = new PrintStream(System.out, false);
+            for (int i = 0; i < LINES; i++) {
+                out.println(line(i));
+            }
+
+            out.flush();
+        }
+
+        static String line(int i) {
+            return "[12:00:00 INFO]: flooding the console with line " + i;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package systems.reformcloud.reformcloud2.shared.process;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ConsoleRingBufferTest {
+
+    @Test
+    void testIncompleteLinesAreNotRead() {
+        ConsoleRingBuffer buffer = new ConsoleRingBuffer(64);
+        write(buffer, "first\r\nsec");
+
+        List<String> lines = new ArrayList<>();
+        long position = buffer.readLines(0, lines);
+        Assertions.assertEquals(Arrays.asList("first"), lines);
+
+        write(buffer, "ond\nthird\n");
+        lines.clear();
+        buffer.readLines(position, lines);
+        Assertions.assertEquals(Arrays.asList("second", "third"), lines);
+    }
+
+    @Test
+    void testOverwrittenLinesAreSkipped() {
+        ConsoleRingBuffer buffer = new ConsoleRingBuffer(16);
+        write(buffer, "line-0\n");
+        write(buffer, "line-1\nline-2\n");
+
+        List<String> lines = new ArrayList<>();
+        long position = buffer.readLines(0, lines);
+        Assertions.assertEquals(Arrays.asList("line-1", "line-2"), lines);
+
+        write(buffer, "a-very-long-line-which-does-not-fit\nend\n");
+        lines.clear();
+        buffer.readLines(position, lines);
+        Assertions.assertEquals(Arrays.asList("end"), lines);
+    }
+
+    @Test
+    void testGetLastLines() {
+        ConsoleRingBuffer buffer = new ConsoleRingBuffer(1024);
+        for (int i = 0; i < 10; i++) {
+            write(buffer, "line-" + i + "\n\n");
+        }
+
+        Assertions.assertEquals(Arrays.asList("line-7", "line-8", "line-9"), new ArrayList<>(buffer.getLastLines(3)));
+    }
+
+    private static void write(ConsoleRingBuffer buffer, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        buffer.write(bytes, 0, bytes.length);
+    }
+}